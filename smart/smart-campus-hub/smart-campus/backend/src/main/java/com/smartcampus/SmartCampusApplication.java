@@ -3,9 +3,11 @@ package com.smartcampus;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableAspectJAutoProxy
+@EnableScheduling
 public class SmartCampusApplication {
     public static void main(String[] args) {
         SpringApplication.run(SmartCampusApplication.class, args);
@@ -0,0 +1,27 @@
+package com.smartcampus.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Runs the {@code @Scheduled} jobs on a pool with at least one thread per job, so a long retention run,
+ * analytics rebuild or SMTP drain never holds up outbox delivery or SLA escalation.
+ *
+ * The WebSocket broker registers task schedulers of its own, so without a bean named {@code taskScheduler}
+ * Spring would not pick up Boot's scheduler and would run every job on one private thread.
+ */
+@Configuration
+public class SchedulingConfig {
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${app.scheduling.pool-size:12}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduling-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(10);
+        return scheduler;
+    }
+}
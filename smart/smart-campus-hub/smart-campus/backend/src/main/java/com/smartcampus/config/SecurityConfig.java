@@ -31,13 +31,16 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final RateLimitingFilter rateLimitingFilter;
     private final CorsConfigurationSource corsConfigurationSource;
+    private final boolean statelessClaims;
 
     public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
                           RateLimitingFilter rateLimitingFilter,
-                          CorsConfigurationSource corsConfigurationSource) {
+                          CorsConfigurationSource corsConfigurationSource,
+                          @Value("${app.jwt.stateless-claims:false}") boolean statelessClaims) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
         this.rateLimitingFilter = rateLimitingFilter;
         this.corsConfigurationSource = corsConfigurationSource;
+        this.statelessClaims = statelessClaims;
     }
 
     @Bean
@@ -59,8 +62,15 @@ public class SecurityConfig {
                 .requestMatchers("/ws-campus/**").permitAll()
                 .anyRequest().authenticated()
             )
-            .addFilterBefore(rateLimitingFilter, UsernamePasswordAuthenticationFilter.class)
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(rateLimitingFilter, JwtAuthenticationFilter.class);
+
+        if (statelessClaims) {
+            // The servlet API wrapper answers getUserPrincipal() through Authentication#getPrincipal, and the
+            // dispatcher asks on every request, which would load the lazy claims principal each time. Nothing in
+            // the application uses the servlet security methods.
+            http.servletApi(servletApi -> servletApi.disable());
+        }
 
         return http.build();
     }
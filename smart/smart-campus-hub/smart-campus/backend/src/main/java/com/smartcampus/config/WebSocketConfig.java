@@ -1,14 +1,29 @@
 package com.smartcampus.config;
 
+import com.smartcampus.model.User;
+import com.smartcampus.repository.UserRepository;
+import com.smartcampus.security.JwtTokenProvider;
+import com.smartcampus.security.VerifiedToken;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
 import java.util.Arrays;
+import java.util.List;
 
 @Configuration
 @EnableWebSocketMessageBroker
@@ -17,6 +32,14 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Value("${app.cors.allowed-origin-patterns:http://localhost:[*],http://127.0.0.1:[*]}")
     private String allowedOriginPatterns;
 
+    private final JwtTokenProvider tokenProvider;
+    private final UserRepository userRepository;
+
+    public WebSocketConfig(JwtTokenProvider tokenProvider, UserRepository userRepository) {
+        this.tokenProvider = tokenProvider;
+        this.userRepository = userRepository;
+    }
+
     @Override
     public void configureMessageBroker(@NonNull MessageBrokerRegistry config) {
         // prefix for messages from server to client
@@ -37,4 +60,39 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                         .toArray(String[]::new))
                 .withSockJS();
     }
+
+    /**
+     * Authenticates the STOMP CONNECT frame with the same bearer token as the REST API. The session principal is
+     * named after the user id, which is what {@code convertAndSendToUser} addresses, so {@code /user/queue/...}
+     * frames reach every tab the user has open.
+     */
+    @Override
+    public void configureClientInboundChannel(@NonNull ChannelRegistration registration) {
+        registration.interceptors(new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+                StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+                if (accessor != null && StompCommand.CONNECT.equals(accessor.getCommand())) {
+                    accessor.setUser(authenticate(accessor.getFirstNativeHeader("Authorization")));
+                }
+                return message;
+            }
+        });
+    }
+
+    private UsernamePasswordAuthenticationToken authenticate(String header) {
+        if (header == null || !header.startsWith("Bearer ")) {
+            throw new AccessDeniedException("Missing bearer token");
+        }
+        String userId = tokenProvider.verify(header.substring(7))
+                .map(VerifiedToken::userId)
+                .orElseThrow(() -> new AccessDeniedException("Invalid token"));
+        List<SimpleGrantedAuthority> authorities = userRepository.findById(userId)
+                .filter(User::isEnabled)
+                .map(user -> user.getRoles().stream()
+                        .map(role -> new SimpleGrantedAuthority("ROLE_" + role.name()))
+                        .toList())
+                .orElseThrow(() -> new AccessDeniedException("Unknown user"));
+        return new UsernamePasswordAuthenticationToken(userId, null, authorities);
+    }
 }
@@ -2,8 +2,11 @@ package com.smartcampus.controller;
 
 import com.smartcampus.dto.ApiResponse;
 import com.smartcampus.dto.BookingRequest;
+import com.smartcampus.dto.BookingSeriesResponse;
+import com.smartcampus.dto.CursorPage;
 import com.smartcampus.model.Booking;
 import com.smartcampus.model.User;
+import com.smartcampus.service.BookingSeriesService;
 import com.smartcampus.service.BookingService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -20,9 +23,11 @@ import java.util.Map;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingSeriesService bookingSeriesService;
 
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService, BookingSeriesService bookingSeriesService) {
         this.bookingService = bookingService;
+        this.bookingSeriesService = bookingSeriesService;
     }
 
     @PostMapping
@@ -32,6 +37,39 @@ public class BookingController {
         return ResponseEntity.status(HttpStatus.CREATED).body(bookingService.createBooking(request, user));
     }
 
+    @PostMapping("/series")
+    public ResponseEntity<BookingSeriesResponse> createBookingSeries(
+            @Valid @RequestBody BookingRequest request,
+            @AuthenticationPrincipal User user) {
+        BookingSeriesResponse response = bookingSeriesService.createSeries(request, user);
+        HttpStatus status = response.bookings().isEmpty() ? HttpStatus.CONFLICT : HttpStatus.CREATED;
+        return ResponseEntity.status(status).body(response);
+    }
+
+    @GetMapping("/series/{seriesId}")
+    public ResponseEntity<List<Booking>> getBookingSeries(
+            @PathVariable String seriesId,
+            @AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(bookingSeriesService.getSeries(seriesId, user));
+    }
+
+    @PutMapping("/series/{seriesId}")
+    public ResponseEntity<List<Booking>> updateBookingSeries(
+            @PathVariable String seriesId,
+            @Valid @RequestBody BookingRequest request,
+            @AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(bookingSeriesService.updateSeries(seriesId, request, user));
+    }
+
+    @PutMapping("/series/{seriesId}/cancel")
+    public ResponseEntity<List<Booking>> cancelBookingSeries(
+            @PathVariable String seriesId,
+            @RequestBody(required = false) Map<String, String> request,
+            @AuthenticationPrincipal User user) {
+        String reason = request != null ? request.get("reason") : null;
+        return ResponseEntity.ok(bookingSeriesService.cancelSeries(seriesId, user, reason));
+    }
+
     @GetMapping("/my")
     public ResponseEntity<List<Booking>> getMyBookings(@AuthenticationPrincipal User user) {
         return ResponseEntity.ok(bookingService.getUserBookings(user.getId()));
@@ -47,6 +85,17 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.getAllBookings());
     }
 
+    @GetMapping("/page")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN', 'MANAGER')")
+    public ResponseEntity<CursorPage<Booking>> getBookingsPage(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String facilityId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        Booking.BookingStatus bookingStatus = status != null ? Booking.BookingStatus.valueOf(status) : null;
+        return ResponseEntity.ok(bookingService.getBookingsPage(bookingStatus, facilityId, cursor, limit));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Booking> getBookingById(@PathVariable String id) {
         return ResponseEntity.ok(bookingService.getBookingById(id));
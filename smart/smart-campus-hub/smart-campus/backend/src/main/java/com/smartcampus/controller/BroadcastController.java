@@ -0,0 +1,58 @@
+package com.smartcampus.controller;
+
+import com.smartcampus.dto.BroadcastRequest;
+import com.smartcampus.dto.BroadcastSummary;
+import com.smartcampus.dto.BroadcastView;
+import com.smartcampus.model.User;
+import com.smartcampus.service.BroadcastService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/broadcasts")
+public class BroadcastController {
+
+    private final BroadcastService broadcastService;
+
+    public BroadcastController(BroadcastService broadcastService) {
+        this.broadcastService = broadcastService;
+    }
+
+    /**
+     * POST: Announce something to everyone, one role, or the users booked in one building.
+     */
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<BroadcastView> sendBroadcast(@Valid @RequestBody BroadcastRequest request,
+                                                       @AuthenticationPrincipal User user) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(broadcastService.send(request, user));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<BroadcastView>> getMyBroadcasts(@AuthenticationPrincipal User user,
+                                                               @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(broadcastService.getFeed(user, limit));
+    }
+
+    @GetMapping("/sent")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<List<BroadcastSummary>> getSentBroadcasts(@RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(broadcastService.getSummaries(limit));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<BroadcastView> getBroadcast(@PathVariable String id, @AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(broadcastService.getBroadcast(id, user));
+    }
+
+    @PutMapping("/{id}/read")
+    public ResponseEntity<BroadcastView> markAsRead(@PathVariable String id, @AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(broadcastService.markAsRead(id, user));
+    }
+}
@@ -1,15 +1,22 @@
 package com.smartcampus.controller;
 
 import com.smartcampus.dto.ApiResponse;
+import com.smartcampus.dto.FacilityAvailabilityResponse;
+import com.smartcampus.dto.FacilityHeatmapResponse;
+import com.smartcampus.dto.FacilitySummary;
 import com.smartcampus.model.Facility;
 import com.smartcampus.model.User;
+import com.smartcampus.service.FacilityAvailabilityService;
 import com.smartcampus.service.FacilityService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 
 @RestController
@@ -17,9 +24,12 @@ import java.util.List;
 public class FacilityController {
 
     private final FacilityService facilityService;
+    private final FacilityAvailabilityService facilityAvailabilityService;
 
-    public FacilityController(FacilityService facilityService) {
+    public FacilityController(FacilityService facilityService,
+                              FacilityAvailabilityService facilityAvailabilityService) {
         this.facilityService = facilityService;
+        this.facilityAvailabilityService = facilityAvailabilityService;
     }
 
     @GetMapping
@@ -27,6 +37,13 @@ public class FacilityController {
         return ResponseEntity.ok(facilityService.getAllFacilities());
     }
 
+    @GetMapping("/summary")//lightweight list without descriptions, images or availability windows
+    public ResponseEntity<List<FacilitySummary>> getFacilitySummaries(
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String status) {
+        return ResponseEntity.ok(facilityService.getFacilitySummaries(type, status));
+    }
+
     @GetMapping("/{id}")//get facility by id
     public ResponseEntity<Facility> getFacilityById(@PathVariable String id) {
         return ResponseEntity.ok(facilityService.getFacilityById(id));
@@ -41,6 +58,26 @@ public class FacilityController {
         return ResponseEntity.ok(facilityService.searchFacilities(type, location, minCapacity, status));
     }
 
+    @GetMapping("/availability")//free slots per active facility for a date and optional time range
+    public ResponseEntity<List<FacilityAvailabilityResponse>> getAvailability(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime to,
+            @RequestParam(required = false) Integer minCapacity,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "false") boolean includePartial) {
+        return ResponseEntity.ok(facilityAvailabilityService.findAvailability(
+                date, from, to, minCapacity, type, includePartial || (from == null && to == null)));
+    }
+
+    @GetMapping("/heatmap")//facilities occupied per time bucket per day, for the dashboard
+    public ResponseEntity<FacilityHeatmapResponse> getOccupancyHeatmap(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "60") int slotMinutes) {
+        return ResponseEntity.ok(facilityAvailabilityService.getOccupancyHeatmap(from, to, slotMinutes));
+    }
+
     @PostMapping//create a new facility
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN', 'MANAGER')")
     public ResponseEntity<Facility> createFacility(
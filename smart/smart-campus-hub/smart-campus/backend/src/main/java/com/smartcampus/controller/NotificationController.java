@@ -1,15 +1,23 @@
 package com.smartcampus.controller;
 
 import com.smartcampus.dto.ApiResponse;
+import com.smartcampus.dto.CursorPage;
+import com.smartcampus.dto.EmailQueueStats;
 import com.smartcampus.dto.NotificationAnalyticsResponse;
+import com.smartcampus.dto.NotificationIdsRequest;
+import com.smartcampus.dto.NotificationRetentionReport;
 import com.smartcampus.model.Notification;
 import com.smartcampus.model.User;
+import com.smartcampus.service.NotificationMailer;
+import com.smartcampus.service.NotificationRetentionService;
 import com.smartcampus.service.NotificationService;
+import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -18,9 +26,14 @@ import java.util.Map;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NotificationMailer notificationMailer;
+    private final NotificationRetentionService retentionService;
 
-    public NotificationController(NotificationService notificationService) {
+    public NotificationController(NotificationService notificationService, NotificationMailer notificationMailer,
+                                  NotificationRetentionService retentionService) {
         this.notificationService = notificationService;
+        this.notificationMailer = notificationMailer;
+        this.retentionService = retentionService;
     }
 
     /**
@@ -31,6 +44,15 @@ public class NotificationController {
         return ResponseEntity.ok(notificationService.getUserNotifications(user.getId()));
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<Notification>> getMyNotificationsPage(
+            @AuthenticationPrincipal User user,
+            @RequestParam(defaultValue = "false") boolean unreadOnly,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(notificationService.getUserNotificationsPage(user.getId(), unreadOnly, cursor, limit));
+    }
+
     @GetMapping("/unread")
     public ResponseEntity<List<Notification>> getUnreadNotifications(@AuthenticationPrincipal User user) {
         return ResponseEntity.ok(notificationService.getUnreadNotifications(user.getId()));
@@ -48,6 +70,27 @@ public class NotificationController {
         return ResponseEntity.ok(notificationService.getAnalyticsSnapshot());
     }
 
+    @GetMapping("/email-queue/stats")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<EmailQueueStats> getEmailQueueStats() {
+        return ResponseEntity.ok(notificationMailer.stats());
+    }
+
+    @GetMapping("/retention")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<NotificationRetentionReport> getRetentionReport() {
+        return ResponseEntity.ok(retentionService.lastReport());
+    }
+
+    /**
+     * POST: Archive expired read notifications now instead of waiting for the nightly run.
+     */
+    @PostMapping("/retention/run")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<NotificationRetentionReport> runRetention() {
+        return ResponseEntity.ok(retentionService.run(LocalDateTime.now()));
+    }
+
     @PutMapping("/{id}/read")
     public ResponseEntity<Notification> markAsRead(@PathVariable String id) {
         return ResponseEntity.ok(notificationService.markAsRead(id));
@@ -55,8 +98,32 @@ public class NotificationController {
 
     @PutMapping("/read-all")
     public ResponseEntity<ApiResponse> markAllAsRead(@AuthenticationPrincipal User user) {
-        notificationService.markAllAsRead(user.getId());
-        return ResponseEntity.ok(ApiResponse.success("All notifications marked as read"));
+        int updated = notificationService.markAllAsRead(user.getId());
+        return ResponseEntity.ok(ApiResponse.success("All notifications marked as read", Map.of("updated", updated)));
+    }
+
+    @PutMapping("/read-by-reference")
+    public ResponseEntity<ApiResponse> markReadByReference(@AuthenticationPrincipal User user,
+                                                           @RequestParam String referenceId,
+                                                           @RequestParam(required = false) String referenceType) {
+        int updated = notificationService.markReadByReference(user.getId(), referenceId, referenceType);
+        return ResponseEntity.ok(ApiResponse.success("Notifications marked as read", Map.of("updated", updated)));
+    }
+
+    /**
+     * DELETE: Remove every notification the current user has already read.
+     */
+    @DeleteMapping("/read")
+    public ResponseEntity<ApiResponse> deleteAllRead(@AuthenticationPrincipal User user) {
+        int deleted = notificationService.deleteAllRead(user.getId());
+        return ResponseEntity.ok(ApiResponse.success("Read notifications deleted", Map.of("deleted", deleted)));
+    }
+
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<ApiResponse> deleteNotifications(@AuthenticationPrincipal User user,
+                                                           @Valid @RequestBody NotificationIdsRequest request) {
+        int deleted = notificationService.deleteNotifications(user.getId(), request.getIds());
+        return ResponseEntity.ok(ApiResponse.success("Notifications deleted", Map.of("deleted", deleted)));
     }
 
     /**
@@ -75,6 +142,7 @@ public class NotificationController {
         prefs.setTicketUpdates(user.isTicketUpdatesEnabled());
         prefs.setComments(user.isCommentAlertsEnabled());
         prefs.setEmail(user.isEmailNotificationsEnabled());
+        prefs.setEmailDigest(user.getEmailDigest().name());
         prefs.setDndMode(user.isDndEnabled());
         prefs.setDndStart(user.getDndStartTime());
         prefs.setDndEnd(user.getDndEndTime());
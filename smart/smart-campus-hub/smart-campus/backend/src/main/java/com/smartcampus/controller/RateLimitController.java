@@ -0,0 +1,36 @@
+package com.smartcampus.controller;
+
+import com.smartcampus.security.RateLimitPolicies;
+import com.smartcampus.security.RateLimitPolicy;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/rate-limits")
+public class RateLimitController {
+
+    private final RateLimitPolicies rateLimitPolicies;
+
+    public RateLimitController(RateLimitPolicies rateLimitPolicies) {
+        this.rateLimitPolicies = rateLimitPolicies;
+    }
+
+    @GetMapping("/policies")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<List<RateLimitPolicy>> getPolicies() {
+        return ResponseEntity.ok(rateLimitPolicies.current());
+    }
+
+    /**
+     * PUT: Replace the rate limit policies in match order, without a restart. The list must include the
+     * {@code auth} and {@code default} policies to keep them.
+     */
+    @PutMapping("/policies")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<List<RateLimitPolicy>> replacePolicies(@RequestBody List<RateLimitPolicy> policies) {
+        return ResponseEntity.ok(rateLimitPolicies.replace(policies));
+    }
+}
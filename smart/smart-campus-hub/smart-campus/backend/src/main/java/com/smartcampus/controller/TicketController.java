@@ -1,12 +1,17 @@
 package com.smartcampus.controller;
 
 import com.smartcampus.dto.ApiResponse;
+import com.smartcampus.dto.ClassifierTrainingResponse;
+import com.smartcampus.dto.CursorPage;
+import com.smartcampus.dto.SlaCategoryStat;
 import com.smartcampus.dto.TicketRequest;
+import com.smartcampus.dto.TicketSummary;
 import com.smartcampus.exception.BadRequestException;
 import com.smartcampus.model.Ticket;
 import com.smartcampus.model.User;
 import com.smartcampus.service.FileStorageService;
 import com.smartcampus.service.TicketService;
+import com.smartcampus.service.TrainedTicketClassifier;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -27,10 +32,13 @@ public class TicketController {
 
     private final TicketService ticketService;
     private final FileStorageService fileStorageService;
+    private final TrainedTicketClassifier trainedTicketClassifier;
 
-    public TicketController(TicketService ticketService, FileStorageService fileStorageService) {
+    public TicketController(TicketService ticketService, FileStorageService fileStorageService,
+                            TrainedTicketClassifier trainedTicketClassifier) {
         this.ticketService = ticketService;
         this.fileStorageService = fileStorageService;
+        this.trainedTicketClassifier = trainedTicketClassifier;
     }
 
     @PostMapping
@@ -82,6 +90,54 @@ public class TicketController {
         return ResponseEntity.ok(ticketService.getAllTickets());
     }
 
+    @GetMapping("/summary")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TECHNICIAN', 'SUPER_ADMIN', 'MANAGER')")
+    public ResponseEntity<List<TicketSummary>> getTicketSummaries(
+            @RequestParam(required = false) String status) {
+        return ResponseEntity.ok(ticketService.getTicketSummaries(
+                status != null ? Ticket.TicketStatus.valueOf(status) : null));
+    }
+
+    @GetMapping("/sla/breached")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TECHNICIAN', 'SUPER_ADMIN', 'MANAGER')")
+    public ResponseEntity<List<TicketSummary>> getBreachedTickets() {
+        return ResponseEntity.ok(ticketService.getBreachedOpenTickets());
+    }
+
+    @GetMapping("/sla/due-soon")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TECHNICIAN', 'SUPER_ADMIN', 'MANAGER')")
+    public ResponseEntity<List<TicketSummary>> getTicketsDueSoon(
+            @RequestParam(defaultValue = "60") int withinMinutes) {
+        return ResponseEntity.ok(ticketService.getTicketsDueWithin(withinMinutes));
+    }
+
+    @GetMapping("/sla/met-rate")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN', 'MANAGER')")
+    public ResponseEntity<List<SlaCategoryStat>> getSlaMetRate(
+            @RequestParam(defaultValue = "30") int days) {
+        return ResponseEntity.ok(ticketService.getSlaMetRateByCategory(days));
+    }
+
+    @PostMapping("/classifier/train")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<ClassifierTrainingResponse> trainClassifier() {
+        return ResponseEntity.ok(trainedTicketClassifier.train());
+    }
+
+    @GetMapping("/page")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TECHNICIAN', 'SUPER_ADMIN', 'MANAGER')")
+    public ResponseEntity<CursorPage<Ticket>> getTicketsPage(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) String assignedTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(ticketService.getTicketsPage(
+                status != null ? Ticket.TicketStatus.valueOf(status) : null,
+                priority != null ? Ticket.Priority.valueOf(priority) : null,
+                assignedTo, cursor, limit));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Ticket> getTicketById(
             @PathVariable String id,
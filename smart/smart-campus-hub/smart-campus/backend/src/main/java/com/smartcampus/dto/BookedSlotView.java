@@ -0,0 +1,11 @@
+package com.smartcampus.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public record BookedSlotView(
+        String facilityId,
+        LocalDate date,
+        LocalTime startTime,
+        LocalTime endTime
+) {}
@@ -29,6 +29,16 @@ public class BookingRequest { //booking request
 
     private String rebookedFromBookingId;
 
+    // Recurring series only: repeat every week or every other week until recurrenceEndDate or for occurrences
+    private Recurrence recurrence;
+    private LocalDate recurrenceEndDate;
+    private Integer occurrences;
+    private boolean skipConflicts;
+
+    public enum Recurrence {
+        WEEKLY, BIWEEKLY
+    }
+
     public String getFacilityId() { return facilityId; }
     public LocalDate getDate() { return date; }
     public LocalTime getStartTime() { return startTime; }
@@ -45,4 +55,13 @@ public class BookingRequest { //booking request
 
     public String getRebookedFromBookingId() { return rebookedFromBookingId; }
     public void setRebookedFromBookingId(String rebookedFromBookingId) { this.rebookedFromBookingId = rebookedFromBookingId; }
+
+    public Recurrence getRecurrence() { return recurrence; }
+    public LocalDate getRecurrenceEndDate() { return recurrenceEndDate; }
+    public Integer getOccurrences() { return occurrences; }
+    public boolean isSkipConflicts() { return skipConflicts; }
+    public void setRecurrence(Recurrence recurrence) { this.recurrence = recurrence; }
+    public void setRecurrenceEndDate(LocalDate recurrenceEndDate) { this.recurrenceEndDate = recurrenceEndDate; }
+    public void setOccurrences(Integer occurrences) { this.occurrences = occurrences; }
+    public void setSkipConflicts(boolean skipConflicts) { this.skipConflicts = skipConflicts; }
 }
@@ -0,0 +1,18 @@
+package com.smartcampus.dto;
+
+import com.smartcampus.model.Booking;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record BookingSeriesResponse(
+        String seriesId,
+        int requestedOccurrences,
+        List<Booking> bookings,
+        List<OccurrenceConflict> conflicts
+) {
+    public record OccurrenceConflict(
+            LocalDate date,
+            String reason
+    ) {}
+}
@@ -0,0 +1,30 @@
+package com.smartcampus.dto;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class BroadcastRequest {
+
+    @NotBlank(message = "Title is required")
+    @Size(max = 120, message = "Title cannot exceed 120 characters")
+    private String title;
+
+    @NotBlank(message = "Message is required")
+    @Size(max = 2000, message = "Message cannot exceed 2000 characters")
+    private String message;
+
+    /** Optional: only users with this role, e.g. {@code TECHNICIAN}. */
+    private String audienceRole;
+
+    /** Optional: only users with bookings in this building. */
+    @Size(max = 120, message = "Building cannot exceed 120 characters")
+    private String building;
+
+    @Future(message = "Expiry must be in the future")
+    private LocalDateTime expiresAt;
+}
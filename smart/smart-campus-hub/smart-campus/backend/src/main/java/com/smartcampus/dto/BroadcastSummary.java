@@ -0,0 +1,18 @@
+package com.smartcampus.dto;
+
+import com.smartcampus.model.User;
+
+import java.time.LocalDateTime;
+
+/** A sent broadcast with the number of read receipts it has collected, for admins. */
+public record BroadcastSummary(
+        String id,
+        String title,
+        User.Role audienceRole,
+        String building,
+        String createdBy,
+        LocalDateTime createdAt,
+        LocalDateTime expiresAt,
+        long reads
+) {
+}
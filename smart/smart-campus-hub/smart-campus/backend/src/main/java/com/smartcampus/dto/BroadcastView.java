@@ -0,0 +1,19 @@
+package com.smartcampus.dto;
+
+import com.smartcampus.model.User;
+
+import java.time.LocalDateTime;
+
+/** A broadcast as one user sees it; {@code readAt} is {@code null} until they have read it. */
+public record BroadcastView(
+        String id,
+        String title,
+        String message,
+        User.Role audienceRole,
+        String building,
+        String createdBy,
+        LocalDateTime createdAt,
+        LocalDateTime expiresAt,
+        LocalDateTime readAt
+) {
+}
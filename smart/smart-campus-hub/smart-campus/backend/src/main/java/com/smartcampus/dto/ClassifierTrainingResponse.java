@@ -0,0 +1,14 @@
+package com.smartcampus.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record ClassifierTrainingResponse(
+        boolean applied,
+        int documents,
+        List<String> categories,
+        long modelBytes,
+        long durationMs,
+        LocalDateTime trainedAt
+) {
+}
@@ -0,0 +1,72 @@
+package com.smartcampus.dto;
+
+import com.smartcampus.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list. {@code nextCursor} is an opaque token holding the sort key of the
+ * last item; passing it back seeks directly past that item, so every page costs the same.
+ */
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor,
+        boolean hasMore,
+        int limit
+) {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Builds a page from up to {@code limit + 1} rows; the extra row only signals that another page exists.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, String> cursorOf) {
+        boolean hasMore = rows.size() > limit;
+        List<T> items = hasMore ? List.copyOf(rows.subList(0, limit)) : rows;
+        String nextCursor = hasMore ? cursorOf.apply(items.get(items.size() - 1)) : null;
+        return new CursorPage<>(items, nextCursor, hasMore, limit);
+    }
+
+    public static int clampLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1) {
+            throw new BadRequestException("Page size must be positive");
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    public static String encode(Object... keys) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(keys[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Splits a cursor back into its keys, or returns {@code null} for the first page. */
+    public static String[] decode(String cursor, int expectedKeys) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] keys = raw.split("\\|", -1);
+            if (keys.length == expectedKeys) {
+                return keys;
+            }
+        } catch (IllegalArgumentException ignored) {
+            // fall through to the error below
+        }
+        throw new BadRequestException("Invalid page cursor");
+    }
+}
@@ -0,0 +1,14 @@
+package com.smartcampus.dto;
+
+public record EmailQueueStats(
+        long ready,
+        long deferred,
+        long dead,
+        long sent,
+        long failedAttempts,
+        long batches,
+        double messagesPerSecond,
+        double averageLatencyMs,
+        long maxLatencyMs
+) {
+}
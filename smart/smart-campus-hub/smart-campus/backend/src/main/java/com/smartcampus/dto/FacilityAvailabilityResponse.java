@@ -0,0 +1,23 @@
+package com.smartcampus.dto;
+
+import com.smartcampus.model.Facility;
+
+import java.util.List;
+
+public record FacilityAvailabilityResponse(
+        String facilityId,
+        String name,
+        Facility.FacilityType type,
+        int capacity,
+        String location,
+        String building,
+        boolean availableForRange,
+        int freeMinutes,
+        List<FreeSlot> freeSlots
+) {
+    public record FreeSlot(
+            String startTime,
+            String endTime,
+            int minutes
+    ) {}
+}
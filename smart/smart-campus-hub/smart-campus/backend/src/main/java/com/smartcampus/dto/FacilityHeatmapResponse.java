@@ -0,0 +1,18 @@
+package com.smartcampus.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record FacilityHeatmapResponse(
+        LocalDate from,
+        LocalDate to,
+        int slotMinutes,
+        long activeFacilities,
+        List<DayRow> days
+) {
+    public record DayRow(
+            LocalDate date,
+            String dayOfWeek,
+            int[] occupiedFacilities
+    ) {}
+}
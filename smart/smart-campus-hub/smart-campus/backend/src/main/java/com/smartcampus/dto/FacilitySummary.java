@@ -0,0 +1,18 @@
+package com.smartcampus.dto;
+
+import com.smartcampus.model.Facility;
+
+/**
+ * List-view projection of {@link Facility} without the description and the amenity, image and
+ * availability collections.
+ */
+public record FacilitySummary(
+        String id,
+        String name,
+        Facility.FacilityType type,
+        int capacity,
+        String location,
+        String building,
+        String floor,
+        Facility.Status status
+) {}
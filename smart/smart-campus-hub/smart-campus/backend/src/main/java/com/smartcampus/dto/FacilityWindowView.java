@@ -0,0 +1,18 @@
+package com.smartcampus.dto;
+
+import com.smartcampus.model.Facility;
+
+/**
+ * One facility joined with one of its availability windows (or with nulls when it has none).
+ */
+public record FacilityWindowView(
+        String facilityId,
+        String name,
+        Facility.FacilityType type,
+        int capacity,
+        String location,
+        String building,
+        String dayOfWeek,
+        String startTime,
+        String endTime
+) {}
@@ -0,0 +1,8 @@
+package com.smartcampus.dto;
+
+/** One row of a {@code GROUP BY} over notifications: the group key (user id, type, hour or day) and its count. */
+public record NotificationCountView(
+        Object key,
+        long count
+) {
+}
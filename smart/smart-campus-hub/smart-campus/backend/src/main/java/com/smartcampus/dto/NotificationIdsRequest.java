@@ -0,0 +1,15 @@
+package com.smartcampus.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class NotificationIdsRequest {
+
+    @NotEmpty(message = "At least one notification id is required")
+    @Size(max = 500, message = "At most 500 notifications can be deleted at once")
+    private List<String> ids;
+}
@@ -9,6 +9,7 @@ public class NotificationPreferencesRequest {
     private boolean comments;
     
     private boolean email;
+    private String emailDigest;
     private boolean dndMode;
     private String dndStart;
     private String dndEnd;
@@ -26,6 +27,9 @@ public class NotificationPreferencesRequest {
     public boolean isEmail() { return email; }
     public void setEmail(boolean email) { this.email = email; }
 
+    public String getEmailDigest() { return emailDigest; }
+    public void setEmailDigest(String emailDigest) { this.emailDigest = emailDigest; }
+
     public boolean isDndMode() { return dndMode; }
     public void setDndMode(boolean dndMode) { this.dndMode = dndMode; }
 
@@ -0,0 +1,15 @@
+package com.smartcampus.dto;
+
+import java.time.LocalDateTime;
+
+/** Outcome of the last notification retention run; {@code startedAt} is {@code null} until one has run. */
+public record NotificationRetentionReport(
+        LocalDateTime startedAt,
+        LocalDateTime cutoff,
+        long archived,
+        int batches,
+        long durationMs,
+        long longestBatchMs,
+        long archiveSize
+) {
+}
@@ -0,0 +1,22 @@
+package com.smartcampus.dto;
+
+import com.smartcampus.model.Notification;
+
+import java.time.LocalDateTime;
+
+/**
+ * The fields of a notification that the analytics counters depend on, captured before the row is changed or
+ * loaded as a projection ahead of a bulk delete.
+ */
+public record NotificationStatView(
+        String userId,
+        Notification.NotificationType type,
+        boolean read,
+        LocalDateTime createdAt
+) {
+
+    public static NotificationStatView of(Notification notification) {
+        return new NotificationStatView(notification.getUserId(), notification.getType(), notification.isRead(),
+                notification.getCreatedAt());
+    }
+}
@@ -0,0 +1,12 @@
+package com.smartcampus.dto;
+
+public record SlaCategoryStat(
+        String category,
+        long completed,
+        long met,
+        double metRate
+) {
+    public SlaCategoryStat(String category, Long completed, Long met) {
+        this(category, completed, met, completed == 0 ? 0.0 : Math.round(met * 1000.0 / completed) / 10.0);
+    }
+}
@@ -0,0 +1,9 @@
+package com.smartcampus.dto;
+
+import java.time.LocalDateTime;
+
+public record SlaDeadlineView(
+        String ticketId,
+        LocalDateTime fireAt
+) {
+}
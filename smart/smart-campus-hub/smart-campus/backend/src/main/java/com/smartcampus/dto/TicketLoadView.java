@@ -0,0 +1,10 @@
+package com.smartcampus.dto;
+
+import com.smartcampus.model.Ticket;
+
+public record TicketLoadView(
+        String ticketId,
+        String assignedTo,
+        Ticket.Priority priority
+) {
+}
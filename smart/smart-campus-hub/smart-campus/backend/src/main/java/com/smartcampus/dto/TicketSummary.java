@@ -0,0 +1,38 @@
+package com.smartcampus.dto;
+
+import com.smartcampus.model.Ticket;
+
+import java.time.LocalDateTime;
+
+/**
+ * List-view projection of {@link Ticket}: no TEXT columns and no attachment collection, only the
+ * number of attachments.
+ */
+public record TicketSummary(
+        String id,
+        String title,
+        String facilityId,
+        String facilityName,
+        String location,
+        String category,
+        Ticket.Priority priority,
+        Ticket.TicketStatus status,
+        String reportedBy,
+        String reportedByName,
+        String assignedTo,
+        String assignedToName,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        LocalDateTime resolvedAt,
+        LocalDateTime closedAt,
+        LocalDateTime slaDueAt,
+        Boolean slaBreached,
+        Boolean slaMet,
+        int attachmentCount
+) {
+    public TicketSummary withSlaState(Boolean breached, Boolean met) {
+        return new TicketSummary(id, title, facilityId, facilityName, location, category, priority, status,
+                reportedBy, reportedByName, assignedTo, assignedToName, createdAt, updatedAt, resolvedAt, closedAt,
+                slaDueAt, breached, met, attachmentCount);
+    }
+}
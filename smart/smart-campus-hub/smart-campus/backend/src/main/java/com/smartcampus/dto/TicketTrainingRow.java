@@ -0,0 +1,12 @@
+package com.smartcampus.dto;
+
+import com.smartcampus.model.Ticket;
+
+public record TicketTrainingRow(
+        String title,
+        String description,
+        String location,
+        String category,
+        Ticket.Priority priority
+) {
+}
@@ -12,7 +12,11 @@ import java.time.LocalTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_date_facility", columnList = "booking_date, facilityId"),
+        @Index(name = "idx_bookings_series", columnList = "series_id"),
+        @Index(name = "idx_bookings_date_start_id", columnList = "booking_date, startTime, id")
+})
 public class Booking {
 
     @Id
@@ -52,6 +56,9 @@ public class Booking {
     @Column(name = "rebooked_from_booking_id")
     private String rebookedFromBookingId;
 
+    @Column(name = "series_id")
+    private String seriesId;
+
     public enum BookingStatus {
         PENDING, APPROVED, REJECTED, CANCELLED
     }
@@ -98,4 +105,7 @@ public class Booking {
     
     public String getRebookedFromBookingId() { return rebookedFromBookingId; }
     public void setRebookedFromBookingId(String rebookedFromBookingId) { this.rebookedFromBookingId = rebookedFromBookingId; }
+
+    public String getSeriesId() { return seriesId; }
+    public void setSeriesId(String seriesId) { this.seriesId = seriesId; }
 }
@@ -0,0 +1,47 @@
+package com.smartcampus.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A campus-wide announcement, stored once however many users it reaches. {@code audienceRole} and
+ * {@code building} narrow the audience; both {@code null} means everyone. A building audience is the users
+ * with a pending or approved booking in that building on or after the day the broadcast went out. Who has
+ * read it is tracked by {@link BroadcastReceipt}, one row per reader.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "broadcasts", indexes = {
+        @Index(name = "idx_broadcasts_created_id", columnList = "createdAt, id")
+})
+public class Broadcast {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String message;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private User.Role audienceRole;
+
+    private String building;
+
+    private String createdBy;
+
+    private LocalDateTime createdAt;
+
+    /** Hidden from the feed after this time; {@code null} keeps it until it is deleted. */
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,37 @@
+package com.smartcampus.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/** Records that a user has read a {@link Broadcast}. Unread broadcasts have no row. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(BroadcastReceipt.Key.class)
+@Table(name = "broadcast_receipts")
+public class BroadcastReceipt {
+
+    @Id
+    @Column(length = 36)
+    private String broadcastId;
+
+    @Id
+    @Column(length = 36)
+    private String userId;
+
+    private LocalDateTime readAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String broadcastId;
+        private String userId;
+    }
+}
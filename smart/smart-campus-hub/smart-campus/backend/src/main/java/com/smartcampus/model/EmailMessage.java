@@ -0,0 +1,62 @@
+package com.smartcampus.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification email waiting to be sent. Rows are written together with the {@link Notification} they belong
+ * to and removed once the SMTP server has accepted them. {@code availableAt} holds the message back while the
+ * recipient's DND window is open and while a failed send backs off; after the configured number of attempts the
+ * row is marked {@code DEAD} and kept for inspection.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "email_queue", indexes = {
+        @Index(name = "idx_email_queue_ready", columnList = "status, availableAt"),
+        @Index(name = "idx_email_queue_claim", columnList = "claimToken")
+})
+public class EmailMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    private String userId;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    private String subject;
+
+    @Column(columnDefinition = "TEXT")
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status = Status.PENDING;
+
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(length = 36)
+    private String claimToken;
+
+    private LocalDateTime claimedUntil;
+
+    @Column(length = 500)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    public enum Status {
+        PENDING, DEAD
+    }
+}
@@ -0,0 +1,40 @@
+package com.smartcampus.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One row per facility and date that has ever been booked. Booking writes lock and version-bump this row
+ * inside their transaction, which serialises admission for the same facility-day across backend nodes and
+ * tells each node's in-memory conflict index whether its cached schedule is still current.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "facility_day_locks")
+public class FacilityDayLock {
+
+    @Id
+    private String id;
+
+    @Column(nullable = false)
+    private String facilityId;
+
+    @Column(name = "lock_date", nullable = false)
+    private LocalDate date;
+
+    @Version
+    private Long version;
+
+    private LocalDateTime updatedAt;
+
+    public static String keyOf(String facilityId, LocalDate date) {
+        return facilityId + "|" + date;
+    }
+}
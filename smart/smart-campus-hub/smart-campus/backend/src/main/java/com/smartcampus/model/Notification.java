@@ -10,7 +10,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_user_created_id", columnList = "userId, createdAt, id"),
+        @Index(name = "idx_notifications_read_created", columnList = "is_read, createdAt")
+})
 public class Notification {
 
     @Id
@@ -32,11 +35,16 @@ public class Notification {
     @Column(name = "is_read")
     private boolean read;
 
+    /** Further updates on the same reference folded into this row by the outbox worker; 0 for a single event. */
+    @Column(name = "merged_count")
+    private int mergedCount;
+
     private LocalDateTime createdAt;
 
     public enum NotificationType {
         BOOKING_APPROVED, BOOKING_REJECTED, BOOKING_CANCELLED,
         TICKET_CREATED, TICKET_ASSIGNED, TICKET_STATUS_CHANGED, TICKET_RESOLVED, TICKET_CLOSED, TICKET_REJECTED,
+        TICKET_SLA_WARNING, TICKET_SLA_BREACHED,
         COMMENT_ADDED, SYSTEM
     }
 
@@ -48,6 +56,7 @@ public class Notification {
     public String getReferenceId() { return referenceId; }
     public String getReferenceType() { return referenceType; }
     public boolean isRead() { return read; }
+    public int getMergedCount() { return mergedCount; }
     public LocalDateTime getCreatedAt() { return createdAt; }
 
     public void setId(String id) { this.id = id; }
@@ -58,5 +67,6 @@ public class Notification {
     public void setReferenceId(String referenceId) { this.referenceId = referenceId; }
     public void setReferenceType(String referenceType) { this.referenceType = referenceType; }
     public void setRead(boolean read) { this.read = read; }
+    public void setMergedCount(int mergedCount) { this.mergedCount = mergedCount; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 }
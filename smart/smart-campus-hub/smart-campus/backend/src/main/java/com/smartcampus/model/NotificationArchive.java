@@ -0,0 +1,45 @@
+package com.smartcampus.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A read {@link Notification} moved out of the live table by the retention job. It keeps the original id and
+ * only the columns worth looking up later; read state and merge counts are dropped, since every archived row
+ * was read.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "notification_archive", indexes = {
+        @Index(name = "idx_notification_archive_user_created", columnList = "userId, createdAt")
+})
+public class NotificationArchive {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    private String userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private Notification.NotificationType type;
+
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String message;
+
+    private String referenceId;
+    private String referenceType;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,69 @@
+package com.smartcampus.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification that a request has asked for but that has not been delivered yet. Requests only insert these
+ * rows; {@link com.smartcampus.service.NotificationOutboxWorker} claims them in batches, applies the recipient's
+ * preferences, stores the {@link Notification}s and fans out WebSocket frames and email off the request path.
+ *
+ * A worker claims a batch by stamping {@code claimToken} and {@code claimedUntil}; a claim that outlives its
+ * lease (e.g. the node died) becomes claimable again. Rows that keep failing are moved to {@code DEAD} after
+ * the configured number of attempts and stay in the table for inspection.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "notification_outbox", indexes = {
+        @Index(name = "idx_notification_outbox_ready", columnList = "status, availableAt"),
+        @Index(name = "idx_notification_outbox_claim", columnList = "claimToken")
+})
+public class NotificationOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(nullable = false)
+    private String userId;
+
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String message;
+
+    @Enumerated(EnumType.STRING)
+    private Notification.NotificationType type;
+
+    private String referenceId;
+    private String referenceType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status = Status.PENDING;
+
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(length = 36)
+    private String claimToken;
+
+    private LocalDateTime claimedUntil;
+
+    @Column(length = 500)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    public enum Status {
+        PENDING, DEAD
+    }
+}
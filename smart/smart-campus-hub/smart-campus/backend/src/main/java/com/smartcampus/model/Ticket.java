@@ -11,7 +11,11 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "tickets")
+@Table(name = "tickets", indexes = {
+        @Index(name = "idx_tickets_created_id", columnList = "createdAt, id"),
+        @Index(name = "idx_tickets_status_sla_due", columnList = "status, slaDueAt"),
+        @Index(name = "idx_tickets_status_sla_warning", columnList = "status, slaWarningAt")
+})
 public class Ticket {
 
     @Id
@@ -57,8 +61,17 @@ public class Ticket {
     private LocalDateTime closedAt;
     private Integer slaTargetMinutes;
     private LocalDateTime slaDueAt;
+
+    /** Set by TicketSlaMonitor's conditional UPDATEs and reset by {@code rearmSlaEscalation}; saves never write it. */
+    @Column(updatable = false)
     private Boolean slaBreached;
+
     private Boolean slaMet;
+    private LocalDateTime slaWarningAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(updatable = false)
+    private SlaEscalation slaEscalation;
 
     public enum Priority {
         LOW, MEDIUM, HIGH, CRITICAL
@@ -68,6 +81,10 @@ public class Ticket {
         OPEN, IN_PROGRESS, RESOLVED, CLOSED, REJECTED
     }
 
+    public enum SlaEscalation {
+        NONE, WARNED, BREACHED
+    }
+
     public String getId() { return id; }
     public String getTitle() { return title; }
     public String getFacilityId() { return facilityId; }
@@ -94,6 +111,8 @@ public class Ticket {
     public LocalDateTime getSlaDueAt() { return slaDueAt; }
     public Boolean getSlaBreached() { return slaBreached; }
     public Boolean getSlaMet() { return slaMet; }
+    public LocalDateTime getSlaWarningAt() { return slaWarningAt; }
+    public SlaEscalation getSlaEscalation() { return slaEscalation; }
 
     public void setId(String id) { this.id = id; }
     public void setTitle(String title) { this.title = title; }
@@ -121,4 +140,6 @@ public class Ticket {
     public void setSlaDueAt(LocalDateTime slaDueAt) { this.slaDueAt = slaDueAt; }
     public void setSlaBreached(Boolean slaBreached) { this.slaBreached = slaBreached; }
     public void setSlaMet(Boolean slaMet) { this.slaMet = slaMet; }
+    public void setSlaWarningAt(LocalDateTime slaWarningAt) { this.slaWarningAt = slaWarningAt; }
+    public void setSlaEscalation(SlaEscalation slaEscalation) { this.slaEscalation = slaEscalation; }
 }
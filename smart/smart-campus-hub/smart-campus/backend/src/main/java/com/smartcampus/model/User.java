@@ -43,6 +43,11 @@ public class User {
     private Set<String> technicianSpecialties = new HashSet<>();
 
     private boolean enabled = true;
+
+    /** In every token; only {@code UserRepository.bumpTokenVersion} changes it, which revokes older tokens. */
+    @Column(name = "token_version", nullable = false, updatable = false)
+    private long tokenVersion;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -59,6 +64,13 @@ public class User {
     @Column(name = "comment_alerts_enabled")
     private Boolean commentAlertsEnabled = true;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "email_digest", length = 16)
+    private EmailDigest emailDigest = EmailDigest.IMMEDIATE;
+
+    @Column(name = "last_digest_at")
+    private LocalDateTime lastDigestAt;
+
     @Column(name = "dnd_enabled")
     private Boolean dndEnabled = false;
 
@@ -79,6 +91,7 @@ public class User {
     public Set<Role> getRoles() { return roles; }
     public Set<String> getTechnicianSpecialties() { return technicianSpecialties; }
     public boolean isEnabled() { return enabled; }
+    public long getTokenVersion() { return tokenVersion; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
 
@@ -86,6 +99,8 @@ public class User {
     public Boolean isBookingAlertsEnabled() { return bookingAlertsEnabled != null ? bookingAlertsEnabled : true; }
     public Boolean isTicketUpdatesEnabled() { return ticketUpdatesEnabled != null ? ticketUpdatesEnabled : true; }
     public Boolean isCommentAlertsEnabled() { return commentAlertsEnabled != null ? commentAlertsEnabled : true; }
+    public EmailDigest getEmailDigest() { return emailDigest != null ? emailDigest : EmailDigest.IMMEDIATE; }
+    public LocalDateTime getLastDigestAt() { return lastDigestAt; }
     public Boolean isDndEnabled() { return dndEnabled != null ? dndEnabled : false; }
     public String getDndStartTime() { return dndStartTime; }
     public String getDndEndTime() { return dndEndTime; }
@@ -100,6 +115,7 @@ public class User {
     public void setRoles(Set<Role> roles) { this.roles = roles; }
     public void setTechnicianSpecialties(Set<String> technicianSpecialties) { this.technicianSpecialties = technicianSpecialties != null ? technicianSpecialties : new HashSet<>(); }
     public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public void setTokenVersion(long tokenVersion) { this.tokenVersion = tokenVersion; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
@@ -107,6 +123,8 @@ public class User {
     public void setBookingAlertsEnabled(Boolean bookingAlertsEnabled) { this.bookingAlertsEnabled = bookingAlertsEnabled != null ? bookingAlertsEnabled : true; }
     public void setTicketUpdatesEnabled(Boolean ticketUpdatesEnabled) { this.ticketUpdatesEnabled = ticketUpdatesEnabled != null ? ticketUpdatesEnabled : true; }
     public void setCommentAlertsEnabled(Boolean commentAlertsEnabled) { this.commentAlertsEnabled = commentAlertsEnabled != null ? commentAlertsEnabled : true; }
+    public void setEmailDigest(EmailDigest emailDigest) { this.emailDigest = emailDigest != null ? emailDigest : EmailDigest.IMMEDIATE; }
+    public void setLastDigestAt(LocalDateTime lastDigestAt) { this.lastDigestAt = lastDigestAt; }
     public void setDndEnabled(Boolean dndEnabled) { this.dndEnabled = dndEnabled != null ? dndEnabled : false; }
     public void setDndStartTime(String dndStartTime) { this.dndStartTime = dndStartTime; }
     public void setDndEndTime(String dndEndTime) { this.dndEndTime = dndEndTime; }
@@ -114,6 +132,11 @@ public class User {
     public enum Role {
         USER, ADMIN, TECHNICIAN, MANAGER, SUPER_ADMIN
     }
+
+    /** How notification email reaches the user: one email per notification, or one summary per hour or day. */
+    public enum EmailDigest {
+        IMMEDIATE, HOURLY, DAILY
+    }
 }
 
 
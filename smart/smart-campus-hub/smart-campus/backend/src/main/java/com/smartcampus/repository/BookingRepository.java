@@ -1,10 +1,15 @@
 package com.smartcampus.repository;
 
+import com.smartcampus.dto.BookedSlotView;
 import com.smartcampus.model.Booking;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 
@@ -15,6 +20,12 @@ public interface BookingRepository extends JpaRepository<Booking, String> {
     List<Booking> findByFacilityId(String facilityId);
     List<Booking> findByStatus(Booking.BookingStatus status);
     List<Booking> findByFacilityIdAndDate(String facilityId, LocalDate date);
+    List<Booking> findBySeriesIdOrderByDateAsc(String seriesId);
+
+    @Query("SELECT b FROM Booking b WHERE b.facilityId = :facilityId AND b.date = :date " +
+           "AND b.status IN (com.smartcampus.model.Booking.BookingStatus.PENDING, com.smartcampus.model.Booking.BookingStatus.APPROVED)")
+    List<Booking> findActiveByFacilityIdAndDate(@Param("facilityId") String facilityId,
+                                                @Param("date") LocalDate date);
 
     @Query("SELECT b FROM Booking b WHERE b.facilityId = :facilityId AND b.date = :date " +
            "AND b.status IN (com.smartcampus.model.Booking.BookingStatus.PENDING, com.smartcampus.model.Booking.BookingStatus.APPROVED) " +
@@ -23,4 +34,74 @@ public interface BookingRepository extends JpaRepository<Booking, String> {
                                           @Param("date") LocalDate date,
                                           @Param("startTime") LocalTime startTime,
                                           @Param("endTime") LocalTime endTime);
+
+    @Query("SELECT new com.smartcampus.dto.BookedSlotView(b.facilityId, b.date, b.startTime, b.endTime) FROM Booking b " +
+           "WHERE b.date = :date " +
+           "AND b.status IN (com.smartcampus.model.Booking.BookingStatus.PENDING, com.smartcampus.model.Booking.BookingStatus.APPROVED) " +
+           "AND b.startTime < :endTime AND b.endTime > :startTime")
+    List<BookedSlotView> findActiveSlotsOnDate(@Param("date") LocalDate date,
+                                               @Param("startTime") LocalTime startTime,
+                                               @Param("endTime") LocalTime endTime);
+
+    @Query("SELECT new com.smartcampus.dto.BookedSlotView(b.facilityId, b.date, b.startTime, b.endTime) FROM Booking b " +
+           "WHERE b.date BETWEEN :fromDate AND :toDate " +
+           "AND b.status IN (com.smartcampus.model.Booking.BookingStatus.PENDING, com.smartcampus.model.Booking.BookingStatus.APPROVED)")
+    List<BookedSlotView> findActiveSlotsBetween(@Param("fromDate") LocalDate fromDate,
+                                                @Param("toDate") LocalDate toDate);
+
+    @Query("SELECT b FROM Booking b WHERE b.facilityId = :facilityId AND b.date BETWEEN :fromDate AND :toDate " +
+           "AND b.status IN (com.smartcampus.model.Booking.BookingStatus.PENDING, com.smartcampus.model.Booking.BookingStatus.APPROVED) " +
+           "AND b.startTime < :endTime AND b.endTime > :startTime")
+    List<Booking> findConflictingBookingsBetween(@Param("facilityId") String facilityId,
+                                                 @Param("fromDate") LocalDate fromDate,
+                                                 @Param("toDate") LocalDate toDate,
+                                                 @Param("startTime") LocalTime startTime,
+                                                 @Param("endTime") LocalTime endTime);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Booking b SET b.status = com.smartcampus.model.Booking.BookingStatus.CANCELLED, " +
+           "b.cancellationReason = :reason, b.canceledAt = :now, b.canceledBy = :canceledBy, " +
+           "b.canceledByRole = :canceledByRole, b.updatedAt = :now " +
+           "WHERE b.seriesId = :seriesId AND b.date >= :fromDate " +
+           "AND b.status IN (com.smartcampus.model.Booking.BookingStatus.PENDING, com.smartcampus.model.Booking.BookingStatus.APPROVED)")
+    int cancelSeriesFrom(@Param("seriesId") String seriesId,
+                         @Param("fromDate") LocalDate fromDate,
+                         @Param("reason") String reason,
+                         @Param("canceledBy") String canceledBy,
+                         @Param("canceledByRole") String canceledByRole,
+                         @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Booking b SET b.startTime = :startTime, b.endTime = :endTime, b.purpose = :purpose, " +
+           "b.expectedAttendees = :expectedAttendees, b.updatedAt = :now " +
+           "WHERE b.seriesId = :seriesId AND b.date >= :fromDate " +
+           "AND b.status = com.smartcampus.model.Booking.BookingStatus.PENDING")
+    int rescheduleSeriesFrom(@Param("seriesId") String seriesId,
+                             @Param("fromDate") LocalDate fromDate,
+                             @Param("startTime") LocalTime startTime,
+                             @Param("endTime") LocalTime endTime,
+                             @Param("purpose") String purpose,
+                             @Param("expectedAttendees") int expectedAttendees,
+                             @Param("now") LocalDateTime now);
+
+    @Query("SELECT b FROM Booking b WHERE (:status IS NULL OR b.status = :status) " +
+           "AND (:facilityId IS NULL OR b.facilityId = :facilityId) " +
+           "ORDER BY b.date, b.startTime, b.id")
+    List<Booking> findFirstPage(@Param("status") Booking.BookingStatus status,
+                                @Param("facilityId") String facilityId,
+                                Pageable pageable);
+
+    @Query("SELECT b FROM Booking b WHERE (:status IS NULL OR b.status = :status) " +
+           "AND (:facilityId IS NULL OR b.facilityId = :facilityId) " +
+           "AND (b.date > :date OR (b.date = :date AND (b.startTime > :startTime " +
+           "OR (b.startTime = :startTime AND b.id > :id)))) " +
+           "ORDER BY b.date, b.startTime, b.id")
+    List<Booking> findPageAfter(@Param("status") Booking.BookingStatus status,
+                                @Param("facilityId") String facilityId,
+                                @Param("date") LocalDate date,
+                                @Param("startTime") LocalTime startTime,
+                                @Param("id") String id,
+                                Pageable pageable);
 }
@@ -0,0 +1,8 @@
+package com.smartcampus.repository;
+
+import com.smartcampus.model.BroadcastReceipt;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BroadcastReceiptRepository extends JpaRepository<BroadcastReceipt, BroadcastReceipt.Key> {
+    long countByBroadcastId(String broadcastId);
+}
@@ -0,0 +1,47 @@
+package com.smartcampus.repository;
+
+import com.smartcampus.dto.BroadcastSummary;
+import com.smartcampus.dto.BroadcastView;
+import com.smartcampus.model.Broadcast;
+import com.smartcampus.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface BroadcastRepository extends JpaRepository<Broadcast, String> {
+
+    /** Broadcasts whose audience includes the user, joined to the user's receipt. */
+    String VISIBLE = "SELECT new com.smartcampus.dto.BroadcastView(b.id, b.title, b.message, b.audienceRole, " +
+            "b.building, b.createdBy, b.createdAt, b.expiresAt, r.readAt) FROM Broadcast b " +
+            "LEFT JOIN BroadcastReceipt r ON r.broadcastId = b.id AND r.userId = :userId " +
+            "WHERE (b.expiresAt IS NULL OR b.expiresAt > :now) " +
+            "AND (b.audienceRole IS NULL OR b.audienceRole IN :roles) " +
+            "AND (b.building IS NULL OR EXISTS (SELECT bk.id FROM Booking bk, Facility f " +
+            "WHERE f.id = bk.facilityId AND f.building = b.building AND bk.userId = :userId " +
+            "AND bk.date >= CAST(b.createdAt AS LocalDate) " +
+            "AND bk.status IN (com.smartcampus.model.Booking.BookingStatus.PENDING, " +
+            "com.smartcampus.model.Booking.BookingStatus.APPROVED))) ";
+
+    @Query(VISIBLE + "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BroadcastView> findVisible(@Param("userId") String userId,
+                                    @Param("roles") Collection<User.Role> roles,
+                                    @Param("now") LocalDateTime now,
+                                    Pageable pageable);
+
+    @Query(VISIBLE + "AND b.id = :id")
+    List<BroadcastView> findVisibleById(@Param("id") String id,
+                                        @Param("userId") String userId,
+                                        @Param("roles") Collection<User.Role> roles,
+                                        @Param("now") LocalDateTime now);
+
+    @Query("SELECT new com.smartcampus.dto.BroadcastSummary(b.id, b.title, b.audienceRole, b.building, " +
+           "b.createdBy, b.createdAt, b.expiresAt, " +
+           "(SELECT COUNT(r) FROM BroadcastReceipt r WHERE r.broadcastId = b.id)) " +
+           "FROM Broadcast b ORDER BY b.createdAt DESC, b.id DESC")
+    List<BroadcastSummary> findSummaries(Pageable pageable);
+}
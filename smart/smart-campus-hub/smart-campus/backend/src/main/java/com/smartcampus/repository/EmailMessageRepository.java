@@ -0,0 +1,56 @@
+package com.smartcampus.repository;
+
+import com.smartcampus.model.EmailMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface EmailMessageRepository extends JpaRepository<EmailMessage, String> {
+
+    @Query("SELECT e.id FROM EmailMessage e " +
+           "WHERE e.status = com.smartcampus.model.EmailMessage.Status.PENDING AND e.availableAt <= :now " +
+           "AND (e.claimedUntil IS NULL OR e.claimedUntil < :now) " +
+           "ORDER BY e.availableAt, e.id")
+    List<String> findReadyIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /** Stamps the still-unclaimed rows among {@code ids}; rows another node took in the meantime are skipped. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailMessage e SET e.claimToken = :token, e.claimedUntil = :until " +
+           "WHERE e.id IN :ids AND e.status = com.smartcampus.model.EmailMessage.Status.PENDING " +
+           "AND (e.claimedUntil IS NULL OR e.claimedUntil < :now)")
+    int claim(@Param("ids") Collection<String> ids, @Param("token") String token,
+              @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    List<EmailMessage> findByClaimTokenOrderByAvailableAtAscIdAsc(String claimToken);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM EmailMessage e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<String> ids);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailMessage e SET e.status = :status, e.attempts = :attempts, e.availableAt = :availableAt, " +
+           "e.lastError = :lastError, e.claimToken = NULL, e.claimedUntil = NULL WHERE e.id = :id")
+    int release(@Param("id") String id, @Param("status") EmailMessage.Status status,
+                @Param("attempts") int attempts, @Param("availableAt") LocalDateTime availableAt,
+                @Param("lastError") String lastError);
+
+    @Query("SELECT COUNT(e) FROM EmailMessage e " +
+           "WHERE e.status = com.smartcampus.model.EmailMessage.Status.PENDING AND e.availableAt <= :now")
+    long countReady(@Param("now") LocalDateTime now);
+
+    @Query("SELECT COUNT(e) FROM EmailMessage e " +
+           "WHERE e.status = com.smartcampus.model.EmailMessage.Status.PENDING AND e.availableAt > :now")
+    long countDeferred(@Param("now") LocalDateTime now);
+
+    long countByStatus(EmailMessage.Status status);
+}
@@ -0,0 +1,17 @@
+package com.smartcampus.repository;
+
+import com.smartcampus.model.FacilityDayLock;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface FacilityDayLockRepository extends JpaRepository<FacilityDayLock, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT l FROM FacilityDayLock l WHERE l.id = :id")
+    Optional<FacilityDayLock> claimById(@Param("id") String id);
+}
@@ -1,7 +1,11 @@
 package com.smartcampus.repository;
 
+import com.smartcampus.dto.FacilitySummary;
+import com.smartcampus.dto.FacilityWindowView;
 import com.smartcampus.model.Facility;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 public interface FacilityRepository extends JpaRepository<Facility, String> {
@@ -11,4 +15,22 @@ public interface FacilityRepository extends JpaRepository<Facility, String> {
     List<Facility> findByCapacityGreaterThanEqual(int capacity);
     List<Facility> findByNameContainingIgnoreCase(String name);
     List<Facility> findByTypeAndStatus(Facility.FacilityType type, Facility.Status status);
+    long countByStatus(Facility.Status status);
+    boolean existsByBuilding(String building);
+
+    @Query("SELECT new com.smartcampus.dto.FacilityWindowView(f.id, f.name, f.type, f.capacity, f.location, f.building, " +
+           "w.dayOfWeek, w.startTime, w.endTime) " +
+           "FROM Facility f LEFT JOIN f.availabilityWindows w " +
+           "WHERE f.status = :status AND f.capacity >= :minCapacity AND (:type IS NULL OR f.type = :type) " +
+           "ORDER BY f.name, f.id")
+    List<FacilityWindowView> findAvailabilityWindows(@Param("status") Facility.Status status,
+                                                     @Param("type") Facility.FacilityType type,
+                                                     @Param("minCapacity") int minCapacity);
+
+    @Query("SELECT new com.smartcampus.dto.FacilitySummary(f.id, f.name, f.type, f.capacity, f.location, f.building, " +
+           "f.floor, f.status) FROM Facility f " +
+           "WHERE (:type IS NULL OR f.type = :type) AND (:status IS NULL OR f.status = :status) " +
+           "ORDER BY f.name, f.id")
+    List<FacilitySummary> findSummaries(@Param("type") Facility.FacilityType type,
+                                        @Param("status") Facility.Status status);
 }
@@ -0,0 +1,22 @@
+package com.smartcampus.repository;
+
+import com.smartcampus.model.NotificationArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface NotificationArchiveRepository extends JpaRepository<NotificationArchive, String> {
+
+    /** Copies the given notifications into the archive with one {@code INSERT ... SELECT}. */
+    @Modifying
+    @Transactional
+    @Query("INSERT INTO NotificationArchive (id, userId, type, title, message, referenceId, referenceType, " +
+           "createdAt, archivedAt) SELECT n.id, n.userId, n.type, n.title, n.message, n.referenceId, " +
+           "n.referenceType, n.createdAt, :archivedAt FROM Notification n WHERE n.id IN :ids AND n.read = true")
+    int archive(@Param("ids") Collection<String> ids, @Param("archivedAt") LocalDateTime archivedAt);
+}
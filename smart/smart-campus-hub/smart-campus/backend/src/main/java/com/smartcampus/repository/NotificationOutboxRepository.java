@@ -0,0 +1,48 @@
+package com.smartcampus.repository;
+
+import com.smartcampus.model.NotificationOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, String> {
+
+    @Query("SELECT o.id FROM NotificationOutbox o " +
+           "WHERE o.status = com.smartcampus.model.NotificationOutbox.Status.PENDING AND o.availableAt <= :now " +
+           "AND (o.claimedUntil IS NULL OR o.claimedUntil < :now) " +
+           "ORDER BY o.availableAt, o.id")
+    List<String> findReadyIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /** Stamps the still-unclaimed rows among {@code ids}; rows another worker took in the meantime are skipped. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE NotificationOutbox o SET o.claimToken = :token, o.claimedUntil = :until " +
+           "WHERE o.id IN :ids AND o.status = com.smartcampus.model.NotificationOutbox.Status.PENDING " +
+           "AND (o.claimedUntil IS NULL OR o.claimedUntil < :now)")
+    int claim(@Param("ids") Collection<String> ids, @Param("token") String token,
+              @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    List<NotificationOutbox> findByClaimTokenOrderByAvailableAtAscIdAsc(String claimToken);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM NotificationOutbox o WHERE o.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<String> ids);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE NotificationOutbox o SET o.status = :status, o.attempts = :attempts, o.availableAt = :availableAt, " +
+           "o.lastError = :lastError, o.claimToken = NULL, o.claimedUntil = NULL WHERE o.id = :id")
+    int release(@Param("id") String id, @Param("status") NotificationOutbox.Status status,
+                @Param("attempts") int attempts, @Param("availableAt") LocalDateTime availableAt,
+                @Param("lastError") String lastError);
+
+    long countByStatus(NotificationOutbox.Status status);
+}
@@ -1,11 +1,128 @@
 package com.smartcampus.repository;
 
+import com.smartcampus.dto.NotificationCountView;
+import com.smartcampus.dto.NotificationStatView;
 import com.smartcampus.model.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, String> {
     List<Notification> findByUserIdOrderByCreatedAtDesc(String userId);
     List<Notification> findByUserIdAndReadFalseOrderByCreatedAtDesc(String userId);
     long countByUserIdAndReadFalse(String userId);
+
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId AND (:unreadOnly = false OR n.read = false) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findFirstPage(@Param("userId") String userId,
+                                     @Param("unreadOnly") boolean unreadOnly,
+                                     Pageable pageable);
+
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId AND (:unreadOnly = false OR n.read = false) " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findPageBefore(@Param("userId") String userId,
+                                      @Param("unreadOnly") boolean unreadOnly,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") String id,
+                                      Pageable pageable);
+
+    /** Unread notifications the outbox worker may fold new events into, newest first. */
+    @Query("SELECT n FROM Notification n WHERE n.userId IN :userIds AND n.referenceId IN :referenceIds " +
+           "AND n.read = false AND n.createdAt >= :since ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findMergeTargets(@Param("userIds") Collection<String> userIds,
+                                        @Param("referenceIds") Collection<String> referenceIds,
+                                        @Param("since") LocalDateTime since);
+
+    @Query("SELECT n FROM Notification n WHERE n.userId IN :userIds AND n.read = false AND n.createdAt > :since " +
+           "ORDER BY n.userId, n.createdAt DESC, n.id DESC")
+    List<Notification> findUnreadSince(@Param("userIds") Collection<String> userIds,
+                                       @Param("since") LocalDateTime since);
+
+    long countByReadFalse();
+
+    @Query("SELECT new com.smartcampus.dto.NotificationCountView(n.userId, COUNT(n)) FROM Notification n " +
+           "WHERE n.userId IS NOT NULL GROUP BY n.userId")
+    List<NotificationCountView> countByUser();
+
+    @Query("SELECT new com.smartcampus.dto.NotificationCountView(n.type, COUNT(n)) FROM Notification n " +
+           "WHERE n.type IS NOT NULL GROUP BY n.type")
+    List<NotificationCountView> countByType();
+
+    @Query("SELECT new com.smartcampus.dto.NotificationCountView(EXTRACT(HOUR FROM n.createdAt), COUNT(n)) " +
+           "FROM Notification n WHERE n.createdAt IS NOT NULL GROUP BY EXTRACT(HOUR FROM n.createdAt)")
+    List<NotificationCountView> countByHour();
+
+    @Query("SELECT new com.smartcampus.dto.NotificationCountView(CAST(n.createdAt AS LocalDate), COUNT(n)) " +
+           "FROM Notification n WHERE n.createdAt >= :since GROUP BY CAST(n.createdAt AS LocalDate)")
+    List<NotificationCountView> countByDaySince(@Param("since") LocalDateTime since);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Notification n SET n.read = true WHERE n.userId = :userId AND n.read = false")
+    int markAllRead(@Param("userId") String userId);
+
+    /** Returns 1 only for the caller that actually flipped the notification from unread to read. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Notification n SET n.read = true WHERE n.id = :id AND n.read = false")
+    int markRead(@Param("id") String id);
+
+    /**
+     * Folds {@code merged} further events into a notification the outbox worker loaded as unread. Returns 0 when the
+     * user has read it since, so a concurrent mark-as-read is never undone; the worker then inserts a new row.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Notification n SET n.title = :title, n.message = :message, n.type = :type, " +
+           "n.mergedCount = n.mergedCount + :merged, n.createdAt = :createdAt WHERE n.id = :id AND n.read = false")
+    int foldInto(@Param("id") String id,
+                 @Param("title") String title,
+                 @Param("message") String message,
+                 @Param("type") Notification.NotificationType type,
+                 @Param("merged") int merged,
+                 @Param("createdAt") LocalDateTime createdAt);
+
+    /** {@code referenceType} {@code null} matches any type, so a bare reference id still works. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Notification n SET n.read = true WHERE n.userId = :userId AND n.referenceId = :referenceId " +
+           "AND (:referenceType IS NULL OR n.referenceType = :referenceType) AND n.read = false")
+    int markReadByReference(@Param("userId") String userId,
+                            @Param("referenceId") String referenceId,
+                            @Param("referenceType") String referenceType);
+
+    @Query("SELECT new com.smartcampus.dto.NotificationStatView(n.userId, n.type, n.read, n.createdAt) " +
+           "FROM Notification n WHERE n.userId = :userId AND n.read = true")
+    List<NotificationStatView> findReadStats(@Param("userId") String userId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Notification n WHERE n.userId = :userId AND n.read = true")
+    int deleteRead(@Param("userId") String userId);
+
+    @Query("SELECT new com.smartcampus.dto.NotificationStatView(n.userId, n.type, n.read, n.createdAt) " +
+           "FROM Notification n WHERE n.userId = :userId AND n.id IN :ids")
+    List<NotificationStatView> findStatsByIds(@Param("userId") String userId, @Param("ids") Collection<String> ids);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Notification n WHERE n.userId = :userId AND n.id IN :ids")
+    int deleteByIds(@Param("userId") String userId, @Param("ids") Collection<String> ids);
+
+    /** Oldest read notifications past the retention cutoff; served by {@code idx_notifications_read_created}. */
+    @Query("SELECT n.id FROM Notification n WHERE n.read = true AND n.createdAt < :cutoff " +
+           "ORDER BY n.createdAt, n.id")
+    List<String> findExpiredReadIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Notification n WHERE n.id IN :ids AND n.read = true")
+    int purgeRead(@Param("ids") Collection<String> ids);
 }
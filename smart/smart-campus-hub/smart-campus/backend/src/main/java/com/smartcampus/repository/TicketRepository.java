@@ -1,12 +1,23 @@
 package com.smartcampus.repository;
 
+import com.smartcampus.dto.SlaCategoryStat;
+import com.smartcampus.dto.SlaDeadlineView;
+import com.smartcampus.dto.TicketLoadView;
+import com.smartcampus.dto.TicketSummary;
+import com.smartcampus.dto.TicketTrainingRow;
 import com.smartcampus.model.Ticket;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface TicketRepository extends JpaRepository<Ticket, String> {
     List<Ticket> findByReportedBy(String userId);
@@ -20,4 +31,108 @@ public interface TicketRepository extends JpaRepository<Ticket, String> {
     @Transactional
     @Query("UPDATE Ticket t SET t.status = :targetStatus WHERE t.status = :sourceStatus")
     int updateStatusByStatus(@Param("sourceStatus") Ticket.TicketStatus sourceStatus, @Param("targetStatus") Ticket.TicketStatus targetStatus);
+
+    @Query("SELECT t FROM Ticket t WHERE (:status IS NULL OR t.status = :status) " +
+           "AND (:priority IS NULL OR t.priority = :priority) " +
+           "AND (:assignedTo IS NULL OR t.assignedTo = :assignedTo) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Ticket> findFirstPage(@Param("status") Ticket.TicketStatus status,
+                               @Param("priority") Ticket.Priority priority,
+                               @Param("assignedTo") String assignedTo,
+                               Pageable pageable);
+
+    @Query("SELECT t FROM Ticket t WHERE (:status IS NULL OR t.status = :status) " +
+           "AND (:priority IS NULL OR t.priority = :priority) " +
+           "AND (:assignedTo IS NULL OR t.assignedTo = :assignedTo) " +
+           "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Ticket> findPageBefore(@Param("status") Ticket.TicketStatus status,
+                                @Param("priority") Ticket.Priority priority,
+                                @Param("assignedTo") String assignedTo,
+                                @Param("createdAt") LocalDateTime createdAt,
+                                @Param("id") String id,
+                                Pageable pageable);
+
+    @Query("SELECT new com.smartcampus.dto.TicketSummary(t.id, t.title, t.facilityId, t.facilityName, t.location, " +
+           "t.category, t.priority, t.status, t.reportedBy, t.reportedByName, t.assignedTo, t.assignedToName, " +
+           "t.createdAt, t.updatedAt, t.resolvedAt, t.closedAt, t.slaDueAt, t.slaBreached, t.slaMet, " +
+           "SIZE(t.attachmentUrls)) " +
+           "FROM Ticket t WHERE (:status IS NULL OR t.status = :status) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TicketSummary> findSummaries(@Param("status") Ticket.TicketStatus status);
+
+    @Query("SELECT new com.smartcampus.dto.TicketSummary(t.id, t.title, t.facilityId, t.facilityName, t.location, " +
+           "t.category, t.priority, t.status, t.reportedBy, t.reportedByName, t.assignedTo, t.assignedToName, " +
+           "t.createdAt, t.updatedAt, t.resolvedAt, t.closedAt, t.slaDueAt, t.slaBreached, t.slaMet, " +
+           "SIZE(t.attachmentUrls)) " +
+           "FROM Ticket t WHERE t.status IN :statuses AND t.slaDueAt >= :from AND t.slaDueAt < :until " +
+           "ORDER BY t.slaDueAt, t.id")
+    List<TicketSummary> findSummariesBySlaDueBetween(@Param("statuses") List<Ticket.TicketStatus> statuses,
+                                                     @Param("from") LocalDateTime from,
+                                                     @Param("until") LocalDateTime until);
+
+    @Query("SELECT new com.smartcampus.dto.TicketSummary(t.id, t.title, t.facilityId, t.facilityName, t.location, " +
+           "t.category, t.priority, t.status, t.reportedBy, t.reportedByName, t.assignedTo, t.assignedToName, " +
+           "t.createdAt, t.updatedAt, t.resolvedAt, t.closedAt, t.slaDueAt, t.slaBreached, t.slaMet, " +
+           "SIZE(t.attachmentUrls)) " +
+           "FROM Ticket t WHERE t.status IN :statuses AND t.slaDueAt < :now " +
+           "ORDER BY t.slaDueAt, t.id")
+    List<TicketSummary> findSummariesOverdue(@Param("statuses") List<Ticket.TicketStatus> statuses,
+                                             @Param("now") LocalDateTime now);
+
+    @Query("SELECT new com.smartcampus.dto.SlaCategoryStat(t.category, COUNT(t), " +
+           "SUM(CASE WHEN COALESCE(t.resolvedAt, t.closedAt, t.updatedAt) <= t.slaDueAt THEN 1L ELSE 0L END)) " +
+           "FROM Ticket t WHERE t.status IN :statuses AND t.slaDueAt IS NOT NULL AND t.createdAt >= :since " +
+           "GROUP BY t.category ORDER BY t.category")
+    List<SlaCategoryStat> findSlaMetRateByCategory(@Param("statuses") List<Ticket.TicketStatus> statuses,
+                                                   @Param("since") LocalDateTime since);
+
+    @Query("SELECT new com.smartcampus.dto.SlaDeadlineView(t.id, t.slaDueAt) FROM Ticket t " +
+           "WHERE t.status IN :statuses AND t.slaDueAt < :until " +
+           "AND (t.slaEscalation IS NULL OR t.slaEscalation <> com.smartcampus.model.Ticket.SlaEscalation.BREACHED) " +
+           "ORDER BY t.slaDueAt, t.id")
+    List<SlaDeadlineView> findPendingSlaBreaches(@Param("statuses") List<Ticket.TicketStatus> statuses,
+                                                 @Param("until") LocalDateTime until,
+                                                 Pageable pageable);
+
+    @Query("SELECT new com.smartcampus.dto.SlaDeadlineView(t.id, t.slaWarningAt) FROM Ticket t " +
+           "WHERE t.status IN :statuses AND t.slaWarningAt < :until AND t.slaDueAt > :now " +
+           "AND (t.slaEscalation IS NULL OR t.slaEscalation = com.smartcampus.model.Ticket.SlaEscalation.NONE) " +
+           "ORDER BY t.slaWarningAt, t.id")
+    List<SlaDeadlineView> findPendingSlaWarnings(@Param("statuses") List<Ticket.TicketStatus> statuses,
+                                                 @Param("now") LocalDateTime now,
+                                                 @Param("until") LocalDateTime until,
+                                                 Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Ticket t SET t.slaBreached = true, t.slaEscalation = com.smartcampus.model.Ticket.SlaEscalation.BREACHED " +
+           "WHERE t.id = :id AND t.status IN :statuses AND t.slaDueAt <= :now " +
+           "AND (t.slaEscalation IS NULL OR t.slaEscalation <> com.smartcampus.model.Ticket.SlaEscalation.BREACHED)")
+    int claimSlaBreach(@Param("id") String id, @Param("statuses") List<Ticket.TicketStatus> statuses,
+                       @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Ticket t SET t.slaEscalation = com.smartcampus.model.Ticket.SlaEscalation.WARNED " +
+           "WHERE t.id = :id AND t.status IN :statuses AND t.slaWarningAt <= :now AND t.slaDueAt > :now " +
+           "AND (t.slaEscalation IS NULL OR t.slaEscalation = com.smartcampus.model.Ticket.SlaEscalation.NONE)")
+    int claimSlaWarning(@Param("id") String id, @Param("statuses") List<Ticket.TicketStatus> statuses,
+                        @Param("now") LocalDateTime now);
+
+    /** Clears the escalation state after the deadline moved, so the monitor fires again for the new one. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Ticket t SET t.slaBreached = false, t.slaEscalation = com.smartcampus.model.Ticket.SlaEscalation.NONE " +
+           "WHERE t.id = :id")
+    int rearmSlaEscalation(@Param("id") String id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.smartcampus.dto.TicketTrainingRow(t.title, t.description, t.location, t.category, t.priority) " +
+           "FROM Ticket t WHERE t.status IN :statuses AND t.category IS NOT NULL AND t.priority IS NOT NULL")
+    Stream<TicketTrainingRow> streamTrainingRows(@Param("statuses") List<Ticket.TicketStatus> statuses);
+
+    @Query("SELECT new com.smartcampus.dto.TicketLoadView(t.id, t.assignedTo, t.priority) FROM Ticket t " +
+           "WHERE t.status IN :statuses AND t.assignedTo IS NOT NULL")
+    List<TicketLoadView> findAssignedLoad(@Param("statuses") List<Ticket.TicketStatus> statuses);
 }
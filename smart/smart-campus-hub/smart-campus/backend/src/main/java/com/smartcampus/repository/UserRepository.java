@@ -1,10 +1,48 @@
 package com.smartcampus.repository;
 
 import com.smartcampus.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, String> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Query("SELECT DISTINCT u.id FROM User u JOIN u.roles r WHERE r = :role AND u.enabled = true")
+    List<String> findEnabledIdsByRole(@Param("role") User.Role role);
+
+    @Query("SELECT DISTINCT u FROM User u JOIN u.roles r WHERE r = :role AND u.enabled = true")
+    List<User> findEnabledByRole(@Param("role") User.Role role);
+
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+    Optional<Long> findTokenVersion(@Param("id") String id);
+
+    /** Revokes every token issued to the user so far; the column is not written by entity saves. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.id = :id")
+    int bumpTokenVersion(@Param("id") String id);
+
+    /** Users on the given digest schedule whose last digest went out before {@code cutoff}. */
+    @Query("SELECT u FROM User u WHERE u.emailDigest = :digest AND u.enabled = true " +
+           "AND (u.emailNotificationsEnabled IS NULL OR u.emailNotificationsEnabled = true) " +
+           "AND (u.lastDigestAt IS NULL OR u.lastDigestAt < :cutoff) ORDER BY u.id")
+    List<User> findDigestDue(@Param("digest") User.EmailDigest digest, @Param("cutoff") LocalDateTime cutoff,
+                             Pageable pageable);
+
+    /** Stamps the digest as sent unless another node already did so for this period; returns 1 for the winner. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.lastDigestAt = :sentAt WHERE u.id = :id " +
+           "AND (u.lastDigestAt IS NULL OR u.lastDigestAt < :cutoff)")
+    int claimDigest(@Param("id") String id, @Param("cutoff") LocalDateTime cutoff,
+                    @Param("sentAt") LocalDateTime sentAt);
 }
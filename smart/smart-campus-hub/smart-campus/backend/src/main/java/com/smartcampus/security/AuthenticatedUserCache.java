@@ -0,0 +1,95 @@
+package com.smartcampus.security;
+
+import com.smartcampus.model.User;
+import com.smartcampus.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Users behind authenticated requests, so {@link JwtAuthenticationFilter} does not load the user with its role
+ * and specialty collections on every API call.
+ *
+ * Entries are keyed by user id and live for {@code ttl-seconds}, which bounds how stale a change made on
+ * another node can be. Changes made through {@code AuthService} and the notification preferences call
+ * {@link #invalidate}. A load and an invalidation of the same user are serialised by the map, so an
+ * invalidation cannot be overwritten by a load that read the old row. Once {@code max-entries} is exceeded,
+ * expired entries are swept and, if that is not enough, arbitrary entries are dropped; an evicted user is
+ * simply loaded again on their next request.
+ */
+@Component
+public class AuthenticatedUserCache {
+
+    private final UserRepository userRepository;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public AuthenticatedUserCache(UserRepository userRepository,
+                                  @Value("${app.jwt.principal-cache.ttl-seconds:60}") long ttlSeconds,
+                                  @Value("${app.jwt.principal-cache.max-entries:10000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    /** The user and their authorities, or {@code null} if the user no longer exists. */
+    public Entry get(String userId) {
+        long now = System.nanoTime();
+        Entry cached = entries.get(userId);
+        if (cached != null && cached.fresh(now, ttlNanos)) {
+            return cached;
+        }
+        Entry loaded = entries.compute(userId, (id, existing) -> {
+            if (existing != null && existing.fresh(now, ttlNanos)) {
+                return existing;
+            }
+            return userRepository.findById(id).map(user -> new Entry(user, authorities(user), now)).orElse(null);
+        });
+        if (loaded != null && entries.size() > maxEntries) {
+            evict(now);
+        }
+        return loaded;
+    }
+
+    public void invalidate(String userId) {
+        if (userId != null) {
+            entries.remove(userId);
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evict(long now) {
+        entries.values().removeIf(entry -> !entry.fresh(now, ttlNanos));
+        Iterator<String> overflow = entries.keySet().iterator();
+        while (entries.size() > maxEntries && overflow.hasNext()) {
+            overflow.next();
+            overflow.remove();
+        }
+    }
+
+    private static List<GrantedAuthority> authorities(User user) {
+        return user.getRoles() == null
+                ? List.of()
+                : user.getRoles().stream()
+                        .<GrantedAuthority>map(role -> new SimpleGrantedAuthority("ROLE_" + role.name()))
+                        .toList();
+    }
+
+    public record Entry(User user, List<GrantedAuthority> authorities, long loadedAt) {
+
+        boolean fresh(long now, long ttlNanos) {
+            return now - loadedAt < ttlNanos;
+        }
+    }
+}
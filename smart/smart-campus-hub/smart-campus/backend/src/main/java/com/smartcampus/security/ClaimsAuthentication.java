@@ -0,0 +1,75 @@
+package com.smartcampus.security;
+
+import com.smartcampus.exception.UnauthorizedException;
+import com.smartcampus.model.User;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Objects;
+
+/**
+ * An authentication built from the verified claims of a token alone. Authorities come from the {@code roles}
+ * claim, so {@code @PreAuthorize} checks and the URL rules need no database access. The {@link User} principal is
+ * loaded through {@link AuthenticatedUserCache} the first time {@link #getPrincipal()} is called, which is when a
+ * controller takes an {@code @AuthenticationPrincipal User}, and is then kept for the rest of the request.
+ *
+ * {@link #getName()}, {@code equals}, {@code hashCode} and {@code toString} only use the claims, so logging or
+ * comparing the authentication never loads the user.
+ */
+public class ClaimsAuthentication extends AbstractAuthenticationToken {
+
+    private final VerifiedToken token;
+    private final AuthenticatedUserCache userCache;
+    private User user;
+
+    public ClaimsAuthentication(VerifiedToken token, AuthenticatedUserCache userCache) {
+        super(token.roles().stream().map(role -> new SimpleGrantedAuthority("ROLE_" + role)).toList());
+        this.token = token;
+        this.userCache = userCache;
+        setAuthenticated(true);
+    }
+
+    public VerifiedToken getToken() {
+        return token;
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        if (user == null) {
+            AuthenticatedUserCache.Entry entry = userCache.get(token.userId());
+            if (entry == null) {
+                throw new UnauthorizedException("User no longer exists");
+            }
+            user = entry.user();
+        }
+        return user;
+    }
+
+    @Override
+    public String getName() {
+        return token.userId();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ClaimsAuthentication that
+                && token.equals(that.token)
+                && Objects.equals(getDetails(), that.getDetails());
+    }
+
+    @Override
+    public int hashCode() {
+        return token.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [Name=" + getName() + ", Granted Authorities=" + getAuthorities()
+                + ", Details=" + getDetails() + "]";
+    }
+}
@@ -1,13 +1,12 @@
 package com.smartcampus.security;
 
-import com.smartcampus.model.User;
-import com.smartcampus.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -15,35 +14,43 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.stream.Collectors;
 
+/**
+ * Authenticates API requests from the bearer token. By default the user is read through
+ * {@link AuthenticatedUserCache} and the authorities come from the stored roles. With
+ * {@code app.jwt.stateless-claims=true} the authorities come from the token's {@code roles} claim instead, so a
+ * request that does not use the user entity needs no database access at all; see {@link ClaimsAuthentication}.
+ * Tokens issued before a role change or deletion are then rejected through {@link TokenRevocationList}.
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
-    private final UserRepository userRepository;
+    private final AuthenticatedUserCache userCache;
+    private final TokenRevocationList revocationList;
+    private final boolean statelessClaims;
 
-    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, UserRepository userRepository) {
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, AuthenticatedUserCache userCache,
+                                   TokenRevocationList revocationList,
+                                   @Value("${app.jwt.stateless-claims:false}") boolean statelessClaims) {
         this.tokenProvider = tokenProvider;
-        this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.revocationList = revocationList;
+        this.statelessClaims = statelessClaims;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         String token = getJwtFromRequest(request);
+        VerifiedToken verified = StringUtils.hasText(token) ? tokenProvider.verify(token).orElse(null) : null;
 
-        if (StringUtils.hasText(token) && tokenProvider.validateToken(token)) {
-            String userId = tokenProvider.getUserIdFromToken(token);
-            User user = userRepository.findById(userId).orElse(null);
+        if (verified != null) {
+            AbstractAuthenticationToken authentication = statelessClaims
+                    ? fromClaims(verified)
+                    : fromStoredUser(verified.userId());
 
-            if (user != null) {
-                var authorities = user.getRoles().stream()
-                        .map(role -> new SimpleGrantedAuthority("ROLE_" + role.name()))
-                        .collect(Collectors.toList());
-
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(user, null, authorities);
+            if (authentication != null) {
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -53,6 +60,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private AbstractAuthenticationToken fromClaims(VerifiedToken verified) {
+        return revocationList.isRevoked(verified) ? null : new ClaimsAuthentication(verified, userCache);
+    }
+
+    private AbstractAuthenticationToken fromStoredUser(String userId) {
+        AuthenticatedUserCache.Entry principal = userCache.get(userId);
+        return principal == null
+                ? null
+                : new UsernamePasswordAuthenticationToken(principal.user(), null, principal.authorities());
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
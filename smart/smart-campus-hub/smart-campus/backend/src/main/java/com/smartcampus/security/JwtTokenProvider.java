@@ -7,23 +7,37 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.Date;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
+/**
+ * Issues and verifies the API's HS256 tokens. The signing key and the parser are built once at startup; both
+ * are immutable and shared by all request threads, so a verification is only the HMAC and the JSON decoding.
+ * A secret shorter than 256 bits fails startup rather than the first login.
+ */
 @Component
 public class JwtTokenProvider {
 
-    @Value("${app.jwt.secret}")
-    private String jwtSecret;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long jwtExpiration;
 
-    @Value("${app.jwt.expiration}")
-    private long jwtExpiration;
-
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    public JwtTokenProvider(@Value("${app.jwt.secret}") String jwtSecret,
+                            @Value("${app.jwt.expiration}") long jwtExpiration) {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.jwtExpiration = jwtExpiration;
     }
 
+    /** A token for a user whose tokens have never been revoked, i.e. whose {@code tokenVersion} is still 0. */
     public String generateToken(String userId, String email, Set<String> roles) {
+        return generateToken(userId, email, roles, 0L);
+    }
+
+    public String generateToken(String userId, String email, Set<String> roles, long tokenVersion) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
@@ -31,27 +45,34 @@ public class JwtTokenProvider {
                 .subject(userId)
                 .claim("email", email)
                 .claim("roles", roles)
+                .claim("ver", tokenVersion)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.getSubject();
-    }
-
-    public boolean validateToken(String token) {
+    /** Checks the signature and expiry once and returns the claims callers need, or empty if either fails. */
+    public Optional<VerifiedToken> verify(String token) {
+        Claims claims;
         try {
-            Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(token);
-            return true;
+            claims = parser.parseSignedClaims(token).getPayload();
         } catch (JwtException | IllegalArgumentException ex) {
-            return false;
+            return Optional.empty();
         }
+        Set<String> roles = claims.get("roles") instanceof Collection<?> values
+                ? values.stream().map(String::valueOf).collect(Collectors.toUnmodifiableSet())
+                : Set.of();
+        return Optional.of(new VerifiedToken(
+                claims.getSubject(),
+                claims.get("email", String.class),
+                roles,
+                claims.get("ver") instanceof Number version ? version.longValue() : 0L,
+                claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant()));
+    }
+
+    public boolean validateToken(String token) {
+        return verify(token).isPresent();
     }
 }
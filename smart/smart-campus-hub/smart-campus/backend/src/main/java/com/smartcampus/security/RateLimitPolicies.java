@@ -0,0 +1,134 @@
+package com.smartcampus.security;
+
+import com.smartcampus.exception.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import org.springframework.web.util.pattern.PatternParseException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The rate limit policies {@link RateLimitingFilter} applies, in match order, each with its own
+ * {@link RateLimiter}. The policies configured under {@code app.rate-limit.policies} come first, followed by
+ * {@code auth} for {@code /api/auth/**} per client IP and {@code default} for everything else per user, which
+ * keep the budgets of {@code max-requests-per-window} and {@code auth-max-requests-per-window}.
+ *
+ * {@link #replace} swaps the whole list at once, so a request sees either the old or the new policies. A policy
+ * that keeps its name, key and budget keeps its limiter too, so reloading does not hand everyone a fresh bucket.
+ */
+@Component
+public class RateLimitPolicies {
+
+    private final int maxTrackedKeys;
+    private volatile List<Active> active = List.of();
+
+    public RateLimitPolicies(Environment environment,
+                             @Value("${app.rate-limit.window-size-seconds:60}") long windowSizeSeconds,
+                             @Value("${app.rate-limit.max-requests-per-window:100}") int maxRequests,
+                             @Value("${app.rate-limit.auth-max-requests-per-window:5}") int authMaxRequests,
+                             @Value("${app.rate-limit.max-tracked-keys:100000}") int maxTrackedKeys) {
+        this.maxTrackedKeys = maxTrackedKeys;
+        List<RateLimitPolicy> policies = new ArrayList<>(Binder.get(environment)
+                .bind("app.rate-limit.policies", Bindable.listOf(RateLimitPolicy.class))
+                .orElse(List.of()));
+        policies.add(new RateLimitPolicy("auth", List.of("/api/auth/**"), List.of(), RateLimitPolicy.Key.IP,
+                authMaxRequests, windowSizeSeconds));
+        policies.add(new RateLimitPolicy("default", List.of("/**"), List.of(), RateLimitPolicy.Key.USER,
+                maxRequests, windowSizeSeconds));
+        replace(policies);
+    }
+
+    public List<RateLimitPolicy> current() {
+        return active.stream().map(Active::policy).toList();
+    }
+
+    /**
+     * Replaces every policy, the {@code auth} and {@code default} ones included. Requests that no policy matches
+     * are not limited.
+     */
+    public synchronized List<RateLimitPolicy> replace(List<RateLimitPolicy> policies) {
+        Map<String, Active> previous = new HashMap<>();
+        active.forEach(existing -> previous.put(existing.policy().name(), existing));
+
+        Set<String> names = new HashSet<>();
+        List<Active> next = new ArrayList<>();
+        for (RateLimitPolicy policy : policies) {
+            validate(policy);
+            if (!names.add(policy.name())) {
+                throw new BadRequestException("Duplicate rate limit policy: " + policy.name());
+            }
+            Active kept = previous.get(policy.name());
+            RateLimiter limiter = kept != null && kept.policy().key() == policy.key()
+                    && kept.limiter().getLimit() == policy.limit()
+                    && kept.limiter().getWindowNanos() == TimeUnit.SECONDS.toNanos(policy.windowSeconds())
+                    ? kept.limiter()
+                    : new RateLimiter(policy.limit(), policy.windowSeconds(), TimeUnit.SECONDS, maxTrackedKeys);
+            next.add(new Active(policy, patterns(policy), limiter));
+        }
+        active = List.copyOf(next);
+        return current();
+    }
+
+    /** The first policy covering the request, or {@code null} if it is not limited. */
+    public Active match(String method, String path) {
+        PathContainer container = PathContainer.parsePath(path);
+        for (Active candidate : active) {
+            if (candidate.matches(method, container)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    public void evictIdle() {
+        active.forEach(candidate -> candidate.limiter().evictIdle());
+    }
+
+    private static void validate(RateLimitPolicy policy) {
+        if (policy.name() == null || policy.name().isBlank()) {
+            throw new BadRequestException("Rate limit policy needs a name");
+        }
+        if (policy.paths().isEmpty()) {
+            throw new BadRequestException("Rate limit policy " + policy.name() + " needs at least one path");
+        }
+        if (policy.limit() < 1 || policy.windowSeconds() < 1) {
+            throw new BadRequestException("Rate limit policy " + policy.name() + " needs a positive limit and window");
+        }
+    }
+
+    private static List<PathPattern> patterns(RateLimitPolicy policy) {
+        try {
+            return policy.paths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+        } catch (PatternParseException ex) {
+            throw new BadRequestException("Rate limit policy " + policy.name() + " has an invalid path: "
+                    + ex.getMessage());
+        }
+    }
+
+    public record Active(RateLimitPolicy policy, List<PathPattern> patterns, RateLimiter limiter) {
+
+        boolean matches(String method, PathContainer path) {
+            if (!policy.methods().isEmpty() && !policy.methods().contains(method)) {
+                return false;
+            }
+            for (PathPattern pattern : patterns) {
+                if (pattern.matches(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
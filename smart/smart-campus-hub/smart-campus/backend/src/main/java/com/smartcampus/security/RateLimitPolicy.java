@@ -0,0 +1,36 @@
+package com.smartcampus.security;
+
+import java.util.List;
+
+/**
+ * One rate limit: the requests it covers, what they are counted against, and the budget. {@code paths} are
+ * path patterns such as {@code /api/tickets/**}; {@code methods} narrows them to some HTTP methods and covers
+ * all of them when empty. A request is counted against the first policy that matches it.
+ *
+ * Bound from {@code app.rate-limit.policies[n].*} at startup and replaced at runtime through
+ * {@code PUT /api/rate-limits/policies}.
+ */
+public record RateLimitPolicy(
+        String name,
+        List<String> paths,
+        List<String> methods,
+        Key key,
+        int limit,
+        long windowSeconds
+) {
+
+    public RateLimitPolicy {
+        paths = paths == null ? List.of() : List.copyOf(paths);
+        methods = methods == null ? List.of() : methods.stream().map(String::toUpperCase).toList();
+        key = key == null ? Key.USER : key;
+    }
+
+    public enum Key {
+        /** Each signed-in user has their own budget; anonymous requests are counted per client IP. */
+        USER,
+        /** Each client IP has its own budget. */
+        IP,
+        /** All callers share one budget for the matched routes. */
+        ROUTE
+    }
+}
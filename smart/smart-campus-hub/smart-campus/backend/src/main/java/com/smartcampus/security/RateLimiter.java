@@ -0,0 +1,149 @@
+package com.smartcampus.security;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Allows {@code limit} requests per key in any window of {@code window}, with the generic cell rate algorithm:
+ * the token bucket of a key is a single long, the theoretical arrival time of its next request. Each request
+ * moves it one emission interval ({@code window / limit}) forward, and is refused if that would put it more
+ * than a window ahead of now. A full burst of {@code limit} requests is therefore allowed after a quiet window,
+ * and the budget refills smoothly rather than all at once.
+ *
+ * The arrival time is updated with a compare-and-set, so admitting a request for a known key takes no lock, and
+ * {@link #tryAcquire} allocates nothing. {@link #acquire} also reports the remaining budget and when the bucket
+ * refills, for the {@code RateLimit-*} response headers. A key whose arrival time has passed has a full bucket and is no different from an unknown
+ * key, so {@link #evictIdle} can drop it. When more than {@code maxKeys} keys are tracked, idle keys are swept
+ * and, if that is not enough, arbitrary keys are dropped down to seven eighths of the cap; a dropped key simply
+ * starts again with a full bucket. Eviction marks a bucket retired before removing it, so a request racing with
+ * the eviction retries on a fresh bucket instead of being counted on one that is no longer in the map.
+ */
+public class RateLimiter {
+
+    private static final long RETIRED = Long.MIN_VALUE;
+
+    private final int limit;
+    private final long windowNanos;
+    private final long intervalNanos;
+    private final int maxKeys;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean trimming = new AtomicBoolean();
+
+    public RateLimiter(int limit, long window, TimeUnit unit, int maxKeys) {
+        if (limit < 1 || window < 1) {
+            throw new IllegalArgumentException("Rate limit and window must be positive");
+        }
+        this.limit = limit;
+        this.windowNanos = unit.toNanos(window);
+        this.intervalNanos = Math.max(1, windowNanos / limit);
+        this.maxKeys = Math.max(1, maxKeys);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public long getWindowNanos() {
+        return windowNanos;
+    }
+
+    public boolean tryAcquire(String key) {
+        return admit(key, System.nanoTime()) > 0;
+    }
+
+    public Decision acquire(String key) {
+        return acquire(key, System.nanoTime());
+    }
+
+    boolean tryAcquire(String key, long now) {
+        return admit(key, now) > 0;
+    }
+
+    Decision acquire(String key, long now) {
+        long ahead = admit(key, now);
+        if (ahead > 0) {
+            return new Decision(true, limit, (int) ((windowNanos - ahead) / intervalNanos), ahead, 0);
+        }
+        return new Decision(false, limit, 0, -ahead, -ahead + intervalNanos - windowNanos);
+    }
+
+    /**
+     * How far the arrival time of the key is ahead of now: after this request if it was admitted, as a positive
+     * number, or negated if it was refused. A refused key is always ahead, so the result is never zero.
+     */
+    private long admit(String key, long now) {
+        while (true) {
+            AtomicLong bucket = buckets.get(key);
+            if (bucket == null) {
+                AtomicLong created = new AtomicLong(now);
+                bucket = buckets.putIfAbsent(key, created);
+                if (bucket == null) {
+                    bucket = created;
+                    if (buckets.size() > maxKeys) {
+                        trim(now);
+                    }
+                }
+            }
+            long arrival = bucket.get();
+            if (arrival == RETIRED) {
+                buckets.remove(key, bucket);
+                continue;
+            }
+            long next = (arrival - now > 0 ? arrival : now) + intervalNanos;
+            if (next - now > windowNanos) {
+                return -(arrival - now);
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return next - now;
+            }
+        }
+    }
+
+    /** Drops the keys whose bucket has refilled, which is every key without a request for a full window. */
+    public void evictIdle() {
+        evictIdle(System.nanoTime());
+    }
+
+    void evictIdle(long now) {
+        for (Map.Entry<String, AtomicLong> entry : buckets.entrySet()) {
+            AtomicLong bucket = entry.getValue();
+            long arrival = bucket.get();
+            if (arrival != RETIRED && arrival - now <= 0 && bucket.compareAndSet(arrival, RETIRED)) {
+                buckets.remove(entry.getKey(), bucket);
+            }
+        }
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private void trim(long now) {
+        if (!trimming.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            evictIdle(now);
+            int target = maxKeys - maxKeys / 8;
+            Iterator<Map.Entry<String, AtomicLong>> overflow = buckets.entrySet().iterator();
+            while (buckets.size() > target && overflow.hasNext()) {
+                Map.Entry<String, AtomicLong> entry = overflow.next();
+                entry.getValue().set(RETIRED);
+                buckets.remove(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            trimming.set(false);
+        }
+    }
+
+    /**
+     * The outcome of one request: whether it was admitted, the requests left right after it, how long until the
+     * bucket is full again and, for a refused request, how long until the next one would be admitted.
+     */
+    public record Decision(boolean allowed, int limit, int remaining, long resetNanos, long retryAfterNanos) {
+    }
+}
@@ -1,8 +1,13 @@
 package com.smartcampus.security;
 
+import com.smartcampus.model.User;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.slf4j.Logger;
@@ -13,67 +18,81 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.time.Instant;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * ✅ Production-Ready Rate Limiting Filter
- * 
- * - Sliding window algorithm (60-second windows)
- * - Tracks requests per IP address
- * - Special handling for auth endpoints (5 requests) vs others (100 requests)
- * - Returns 429 Too Many Requests when limit exceeded
- * 
+ *
+ * - Policy based ({@link RateLimitPolicies}): expensive routes get their own budgets, counted per user, per
+ *   client IP or shared per route, and everything else falls back to the auth and default budgets
+ * - Token bucket per key ({@link RateLimiter}), updated without locks
+ * - Idle keys are swept out, and at most max-tracked-keys keys are tracked per policy
+ * - Every limited response carries RateLimit-Limit, RateLimit-Remaining, RateLimit-Reset and RateLimit-Policy
+ * - Returns 429 Too Many Requests with Retry-After when limit exceeded
+ * - X-Forwarded-For and X-Real-IP are only honoured when the request comes from a trusted proxy
+ *
+ * Runs after {@link JwtAuthenticationFilter}, so per-user policies can key on the signed-in user.
+ *
  * Configuration:
  * - app.rate-limit.enabled: Enable/disable rate limiting
- * - app.rate-limit.window-size-seconds: Window size for counting requests
+ * - app.rate-limit.window-size-seconds: Window size for the auth and default policies
  * - app.rate-limit.max-requests-per-window: Max requests for regular endpoints
  * - app.rate-limit.auth-max-requests-per-window: Max requests for /auth/** endpoints
+ * - app.rate-limit.policies[n].*: Policies checked before the auth and default ones (see {@link RateLimitPolicy})
+ * - app.rate-limit.trusted-proxies: Proxy addresses whose forwarding headers are trusted
+ * - app.rate-limit.max-tracked-keys: Max keys tracked for each policy
+ * - app.rate-limit.sweep-ms: How often idle keys are swept out
  */
 @Component
 public class RateLimitingFilter extends OncePerRequestFilter {
 
     private static final Logger log = LoggerFactory.getLogger(RateLimitingFilter.class);
 
-    @Value("${app.rate-limit.enabled:true}")
-    private boolean enabled;
-
-    @Value("${app.rate-limit.window-size-seconds:60}")
-    private long windowSizeSeconds;
-
-    @Value("${app.rate-limit.max-requests-per-window:100}")
-    private int maxRequests;
-
-    @Value("${app.rate-limit.auth-max-requests-per-window:5}")
-    private int authMaxRequests;
-
-    // Thread-safe storage: IP -> list of request timestamps
-    private final Map<String, RateLimitBucket> requestBuckets = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final RateLimitPolicies policies;
+    private final Set<String> trustedProxies;
+
+    public RateLimitingFilter(@Value("${app.rate-limit.enabled:true}") boolean enabled,
+                              RateLimitPolicies policies,
+                              @Value("${app.rate-limit.trusted-proxies:}") String trustedProxies) {
+        this.enabled = enabled;
+        this.policies = policies;
+        this.trustedProxies = Arrays.stream(trustedProxies.split(","))
+                .map(String::trim)
+                .filter(proxy -> !proxy.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
 
     @Override
-    protected void doFilterInternal(@NonNull HttpServletRequest request, 
-                                   @NonNull HttpServletResponse response, 
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                   @NonNull HttpServletResponse response,
                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
-        
+
         if (!enabled) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        String clientIp = getClientIpAddress(request);
-        String requestPath = request.getRequestURI();
-        
-        // Determine if this is an auth endpoint
-        boolean isAuthEndpoint = requestPath.startsWith("/api/auth/");
-        int limit = isAuthEndpoint ? authMaxRequests : maxRequests;
+        String requestPath = request.getRequestURI().substring(request.getContextPath().length());
+        RateLimitPolicies.Active policy = policies.match(request.getMethod(), requestPath);
+        if (policy == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = getKey(policy.policy().key(), request);
+        RateLimiter.Decision decision = policy.limiter().acquire(key);
+        writeRateLimitHeaders(response, policy.policy(), decision);
 
         // ✅ Check rate limit
-        if (!isWithinRateLimit(clientIp, limit)) {
-            log.warn("Rate limit exceeded for IP: {} on endpoint: {}", clientIp, requestPath);
-            
+        if (!decision.allowed()) {
+            log.warn("Rate limit {} exceeded for {} on endpoint: {}", policy.policy().name(), key, requestPath);
+
             response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(toSeconds(decision.retryAfterNanos())));
             response.setContentType("application/json");
             response.getWriter().write(
                 "{\"error\": \"Rate limit exceeded\", \"message\": \"Too many requests. Please try again later.\"}"
@@ -85,37 +104,66 @@ public class RateLimitingFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    /**
-     * ✅ Check if request is within rate limit using sliding window algorithm
-     */
-    private boolean isWithinRateLimit(String clientIp, int limit) {
-        long now = Instant.now().getEpochSecond();
-        long windowStart = now - windowSizeSeconds;
-
-        RateLimitBucket bucket = requestBuckets.computeIfAbsent(clientIp, k -> new RateLimitBucket());
-        
-        // ✅ Remove old timestamps outside the window
-        bucket.timestamps.removeIf(timestamp -> timestamp < windowStart);
-        
-        // ✅ Check if limit exceeded
-        if (bucket.timestamps.size() >= limit) {
-            return false;
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-ms:60000}")
+    public void evictIdleClients() {
+        policies.evictIdle();
+    }
+
+    private String getKey(RateLimitPolicy.Key key, HttpServletRequest request) {
+        return switch (key) {
+            case ROUTE -> "route";
+            case IP -> getClientIpAddress(request);
+            case USER -> {
+                String userId = getUserId();
+                yield userId != null ? "user:" + userId : "ip:" + getClientIpAddress(request);
+            }
+        };
+    }
+
+    private static String getUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        // Claims authentications know the user id without loading the user behind getPrincipal()
+        if (authentication instanceof ClaimsAuthentication) {
+            return authentication.getName();
+        }
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return user.getId();
         }
+        return null;
+    }
+
+    private static void writeRateLimitHeaders(HttpServletResponse response, RateLimitPolicy policy,
+                                              RateLimiter.Decision decision) {
+        response.setHeader("RateLimit-Limit", String.valueOf(decision.limit()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(toSeconds(decision.resetNanos())));
+        response.setHeader("RateLimit-Policy", policy.limit() + ";w=" + policy.windowSeconds());
+    }
 
-        // ✅ Add current request timestamp
-        bucket.timestamps.add(now);
-        return true;
+    private static long toSeconds(long nanos) {
+        return Math.max(1, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
     }
 
     /**
      * Extract client IP address from request
-     * Handles X-Forwarded-For for proxies
+     * Forwarding headers are only trusted from a configured proxy; the client is the last address in
+     * X-Forwarded-For that is not itself a trusted proxy, since anything left of it was sent by the client.
      */
     private String getClientIpAddress(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        if (!trustedProxies.contains(remoteAddr)) {
+            return remoteAddr;
+        }
+
         String xForwarded = request.getHeader("X-Forwarded-For");
         if (xForwarded != null && !xForwarded.isEmpty()) {
-            // X-Forwarded-For can contain multiple IPs, get the first one
-            return xForwarded.split(",")[0].trim();
+            String[] hops = xForwarded.split(",");
+            for (int i = hops.length - 1; i >= 0; i--) {
+                String hop = hops[i].trim();
+                if (!hop.isEmpty() && !trustedProxies.contains(hop)) {
+                    return hop;
+                }
+            }
         }
 
         String xRealIp = request.getHeader("X-Real-IP");
@@ -123,13 +171,6 @@ public class RateLimitingFilter extends OncePerRequestFilter {
             return xRealIp;
         }
 
-        return request.getRemoteAddr();
-    }
-
-    /**
-     * Simple bucket to store timestamps for sliding window
-     */
-    private static class RateLimitBucket {
-        final CopyOnWriteArrayList<Long> timestamps = new CopyOnWriteArrayList<>();
+        return remoteAddr;
     }
 }
@@ -0,0 +1,94 @@
+package com.smartcampus.security;
+
+import com.smartcampus.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Users whose existing tokens must stop working, for the stateless claims mode of {@link JwtAuthenticationFilter},
+ * where the roles in a token are trusted without reading the user. Every token carries the user's
+ * {@code tokenVersion} from when it was issued. {@code AuthService} revokes a user when their roles change or the
+ * account is deleted, by incrementing the persisted version; every older token is then rejected and the user has
+ * to sign in again to get one with the new roles.
+ *
+ * The version lives in the {@code users} table, so a revocation reaches every node and survives restarts. Each
+ * node caches the current version per user for {@code ttl-seconds}, which bounds how long another node keeps
+ * accepting a revoked token; the node that revokes drops its own entry at once. A load and a revocation of the
+ * same user are serialised by the map, as in {@link AuthenticatedUserCache}. Once {@code max-entries} is exceeded,
+ * expired entries are swept and, if that is not enough, arbitrary entries are dropped.
+ */
+@Component
+public class TokenRevocationList {
+
+    /** Version of a user that no longer exists; every token for them is revoked. */
+    private static final long DELETED = -1L;
+
+    private final UserRepository userRepository;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<String, Version> versions = new ConcurrentHashMap<>();
+
+    public TokenRevocationList(UserRepository userRepository,
+                               @Value("${app.jwt.revocation.ttl-seconds:5}") long ttlSeconds,
+                               @Value("${app.jwt.revocation.max-entries:10000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    public void revoke(String userId) {
+        if (userId == null) {
+            return;
+        }
+        userRepository.bumpTokenVersion(userId);
+        versions.remove(userId);
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        long current = currentVersion(token.userId());
+        return current == DELETED || token.tokenVersion() < current;
+    }
+
+    int size() {
+        return versions.size();
+    }
+
+    private long currentVersion(String userId) {
+        long now = System.nanoTime();
+        Version cached = versions.get(userId);
+        if (cached != null && cached.fresh(now, ttlNanos)) {
+            return cached.version();
+        }
+        Version loaded = versions.compute(userId, (id, existing) -> {
+            if (existing != null && existing.fresh(now, ttlNanos)) {
+                return existing;
+            }
+            return new Version(userRepository.findTokenVersion(id).orElse(DELETED), now);
+        });
+        if (versions.size() > maxEntries) {
+            evict(now);
+        }
+        return loaded.version();
+    }
+
+    private void evict(long now) {
+        versions.values().removeIf(version -> !version.fresh(now, ttlNanos));
+        Iterator<String> overflow = versions.keySet().iterator();
+        while (versions.size() > maxEntries && overflow.hasNext()) {
+            overflow.next();
+            overflow.remove();
+        }
+    }
+
+    private record Version(long version, long loadedAt) {
+
+        boolean fresh(long now, long ttlNanos) {
+            return now - loadedAt < ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.smartcampus.security;
+
+import java.time.Instant;
+import java.util.Set;
+
+/** The claims of a token whose signature and expiry {@link JwtTokenProvider#verify} has checked. */
+public record VerifiedToken(
+        String userId,
+        String email,
+        Set<String> roles,
+        long tokenVersion,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+}
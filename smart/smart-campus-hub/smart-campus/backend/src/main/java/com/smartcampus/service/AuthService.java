@@ -7,8 +7,10 @@ import com.smartcampus.exception.BadRequestException;
 import com.smartcampus.exception.UnauthorizedException;
 import com.smartcampus.model.User;
 import com.smartcampus.repository.UserRepository;
+import com.smartcampus.security.AuthenticatedUserCache;
 import com.smartcampus.security.JwtTokenProvider;
 import com.smartcampus.security.AuditLog;
+import com.smartcampus.security.TokenRevocationList;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -23,11 +25,19 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider tokenProvider;
+    private final TechnicianAutoAssignmentService technicianAutoAssignmentService;
+    private final AuthenticatedUserCache userCache;
+    private final TokenRevocationList revocationList;
 
-    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtTokenProvider tokenProvider) {
+    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtTokenProvider tokenProvider,
+                       TechnicianAutoAssignmentService technicianAutoAssignmentService,
+                       AuthenticatedUserCache userCache, TokenRevocationList revocationList) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.tokenProvider = tokenProvider;
+        this.technicianAutoAssignmentService = technicianAutoAssignmentService;
+        this.userCache = userCache;
+        this.revocationList = revocationList;
     }
 
     @AuditLog(action = "CREATE_USER", resourceType = "User")
@@ -52,7 +62,7 @@ public class AuthService {
                 .map(Enum::name)
                 .collect(Collectors.toSet());
 
-        String token = tokenProvider.generateToken(user.getId(), user.getEmail(), roleStrings);
+        String token = tokenProvider.generateToken(user.getId(), user.getEmail(), roleStrings, user.getTokenVersion());
 
         return new AuthResponse(token, user.getId(), user.getName(), user.getEmail(), user.getAvatarUrl(), roleStrings);
     }
@@ -70,7 +80,7 @@ public class AuthService {
                 .map(Enum::name)
                 .collect(Collectors.toSet());
 
-        String token = tokenProvider.generateToken(user.getId(), user.getEmail(), roleStrings);
+        String token = tokenProvider.generateToken(user.getId(), user.getEmail(), roleStrings, user.getTokenVersion());
 
         return new AuthResponse(token, user.getId(), user.getName(), user.getEmail(), user.getAvatarUrl(), roleStrings);
     }
@@ -88,12 +98,13 @@ public class AuthService {
         user.setEmail(email);
         user.setUpdatedAt(LocalDateTime.now());
         user = userRepository.save(user);
+        userCache.invalidate(userId);
 
         Set<String> roleStrings = user.getRoles().stream()
                 .map(Enum::name)
                 .collect(Collectors.toSet());
 
-        return new AuthResponse(tokenProvider.generateToken(user.getId(), user.getEmail(), roleStrings), 
+        return new AuthResponse(tokenProvider.generateToken(user.getId(), user.getEmail(), roleStrings, user.getTokenVersion()), 
                 user.getId(), user.getName(), user.getEmail(), user.getAvatarUrl(), roleStrings);
     }
 
@@ -130,13 +141,14 @@ public class AuthService {
             user.setAvatarUrl(avatarUrl);
             user.setUpdatedAt(LocalDateTime.now());
             user = userRepository.save(user);
+            userCache.invalidate(user.getId());
         }
 
         Set<String> roleStrings = user.getRoles().stream()
                 .map(Enum::name)
                 .collect(Collectors.toSet());
 
-        String token = tokenProvider.generateToken(user.getId(), user.getEmail(), roleStrings);
+        String token = tokenProvider.generateToken(user.getId(), user.getEmail(), roleStrings, user.getTokenVersion());
 
         return new AuthResponse(token, user.getId(), user.getName(), user.getEmail(), user.getAvatarUrl(), roleStrings);
     }
@@ -151,7 +163,11 @@ public class AuthService {
         User user = getUserById(userId);
         user.setRoles(roles);
         user.setUpdatedAt(LocalDateTime.now());
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userCache.invalidate(userId);
+        revocationList.revoke(userId);
+        technicianAutoAssignmentService.invalidate();
+        return saved;
     }
 
     public java.util.List<User> getAllUsers() {
@@ -163,5 +179,8 @@ public class AuthService {
             throw new BadRequestException("User not found");
         }
         userRepository.deleteById(userId);
+        userCache.invalidate(userId);
+        revocationList.revoke(userId);
+        technicianAutoAssignmentService.invalidate();
     }
 }
@@ -0,0 +1,185 @@
+package com.smartcampus.service;
+
+import com.smartcampus.exception.BadRequestException;
+import com.smartcampus.exception.ConflictException;
+import com.smartcampus.exception.ResourceNotFoundException;
+import com.smartcampus.model.FacilityDayLock;
+import com.smartcampus.repository.FacilityDayLockRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serialises booking writes per facility and date.
+ *
+ * Inside one JVM, writers for the same facility-day queue on one of a fixed set of striped locks, so
+ * unrelated facilities never wait on each other. Across JVMs, the same work runs in a transaction that
+ * first takes {@code PESSIMISTIC_FORCE_INCREMENT} on the {@link FacilityDayLock} row: concurrent writers on
+ * other nodes block on that row lock, and the bumped version lets every node's {@link BookingConflictIndex}
+ * detect schedules it did not write itself.
+ */
+@Service
+public class BookingAdmissionService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingAdmissionService.class);
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long NEW_ROW = -2L;
+
+    private final FacilityDayLockRepository facilityDayLockRepository;
+    private final BookingConflictIndex bookingConflictIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock[] stripes;
+    private final long lockTimeoutMillis;
+
+    public BookingAdmissionService(FacilityDayLockRepository facilityDayLockRepository,
+                                   BookingConflictIndex bookingConflictIndex,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${app.booking.admission.stripes:256}") int stripeCount,
+                                   @Value("${app.booking.admission.lock-timeout-ms:10000}") long lockTimeoutMillis) {
+        this.facilityDayLockRepository = facilityDayLockRepository;
+        this.bookingConflictIndex = bookingConflictIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lockTimeoutMillis = lockTimeoutMillis;
+        this.stripes = new ReentrantLock[Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T admit(String facilityId, LocalDate date, Supplier<T> work) {
+        return admit(List.of(new FacilityDay(facilityId, date)), work);
+    }
+
+    public <T> T admit(Collection<FacilityDay> facilityDays, Supplier<T> work) {
+        List<FacilityDay> keys = facilityDays.stream()
+                .filter(key -> key.facilityId() != null && key.date() != null)
+                .distinct()
+                .sorted(Comparator.comparing(FacilityDay::facilityId).thenComparing(FacilityDay::date))
+                .toList();
+
+        List<ReentrantLock> held = lockStripes(keys);
+        try {
+            return runGuarded(keys, work);
+        } finally {
+            for (int i = held.size() - 1; i >= 0; i--) {
+                held.get(i).unlock();
+            }
+        }
+    }
+
+    private <T> T runGuarded(List<FacilityDay> keys, Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            Map<FacilityDay, Long> claimedVersions = new HashMap<>();
+            try {
+                T result = transactionTemplate.execute(status -> {
+                    for (FacilityDay key : keys) {
+                        claimedVersions.put(key, claim(key));
+                    }
+                    return work.get();
+                });
+                claimedVersions.forEach((key, version) ->
+                        bookingConflictIndex.stamp(key.facilityId(), key.date(), version));
+                return result;
+            } catch (ConflictException | BadRequestException | ResourceNotFoundException ex) {
+                throw ex;
+            } catch (FacilityDayClaimedConcurrently ex) {
+                keys.forEach(key -> bookingConflictIndex.evict(key.facilityId(), key.date()));
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw new ConflictException("Facility schedule is busy, please try again");
+                }
+                log.debug("Facility-day row created concurrently, retrying admission (attempt {})", attempt);
+            } catch (RuntimeException ex) {
+                keys.forEach(key -> bookingConflictIndex.evict(key.facilityId(), key.date()));
+                throw ex;
+            }
+        }
+    }
+
+    /**
+     * Locks and version-bumps the facility-day row, creating it on first use, and reconciles the cached
+     * schedule with the version that was current before this write. Only a duplicate key on the row insert,
+     * i.e. another node creating the same facility-day first, is turned into a retry; integrity errors raised
+     * by the booking work itself propagate unchanged.
+     *
+     * @return the version the row carries once this transaction commits
+     */
+    private long claim(FacilityDay key) {
+        String id = FacilityDayLock.keyOf(key.facilityId(), key.date());
+        FacilityDayLock row = facilityDayLockRepository.claimById(id).orElse(null);
+        long previousVersion;
+        if (row == null) {
+            row = new FacilityDayLock(id, key.facilityId(), key.date(), null, LocalDateTime.now());
+            try {
+                row = facilityDayLockRepository.saveAndFlush(row);
+            } catch (DataIntegrityViolationException ex) {
+                throw new FacilityDayClaimedConcurrently(ex);
+            }
+            previousVersion = NEW_ROW;
+        } else {
+            previousVersion = row.getVersion() - 1;
+        }
+        bookingConflictIndex.sync(key.facilityId(), key.date(), previousVersion);
+        return row.getVersion();
+    }
+
+    private List<ReentrantLock> lockStripes(List<FacilityDay> keys) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (FacilityDay key : keys) {
+            indexes.add(stripeFor(key));
+        }
+
+        List<ReentrantLock> held = new ArrayList<>(indexes.size());
+        try {
+            for (int index : indexes) {
+                ReentrantLock lock = stripes[index];
+                if (!lock.tryLock(lockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw new ConflictException("Facility schedule is busy, please try again");
+                }
+                held.add(lock);
+            }
+            return held;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Booking admission was interrupted, please try again");
+        } catch (RuntimeException ex) {
+            for (int i = held.size() - 1; i >= 0; i--) {
+                held.get(i).unlock();
+            }
+            throw ex;
+        }
+    }
+
+    private int stripeFor(FacilityDay key) {
+        int hash = Objects.hash(key.facilityId(), key.date());
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+
+    public record FacilityDay(String facilityId, LocalDate date) {
+    }
+
+    /** The facility-day row was inserted by another transaction between our lookup and our insert. */
+    private static final class FacilityDayClaimedConcurrently extends RuntimeException {
+
+        FacilityDayClaimedConcurrently(DataIntegrityViolationException cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.smartcampus.service;
+
+import com.smartcampus.model.Booking;
+import com.smartcampus.repository.BookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory interval index of PENDING/APPROVED bookings, one sorted schedule per facility and date.
+ *
+ * Schedules are loaded lazily from {@link BookingRepository} the first time a facility-day is checked
+ * and are then kept in sync by {@link BookingService} on create, update, approve, reject, cancel and delete.
+ * Conflict checks are a binary search over the schedule, so they never hit the database once warm.
+ *
+ * Each schedule also remembers the {@link com.smartcampus.model.FacilityDayLock} version it reflects.
+ * {@link BookingAdmissionService} compares that stamp with the row it locks and drops schedules that
+ * another backend node has changed in the meantime.
+ *
+ * With {@code app.booking.conflict-index.verify=true} every check is cross-validated against
+ * {@link BookingRepository#findConflictingBookings}; mismatches are logged, the stale schedule is dropped
+ * and the SQL answer wins.
+ */
+@Component
+public class BookingConflictIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingConflictIndex.class);
+
+    private final BookingRepository bookingRepository;
+    private final boolean enabled;
+    private final boolean verify;
+    private final int maxEntries;
+
+    private final Map<SlotKey, DaySchedule> schedules = new ConcurrentHashMap<>();
+
+    public BookingConflictIndex(BookingRepository bookingRepository,
+                                @Value("${app.booking.conflict-index.enabled:true}") boolean enabled,
+                                @Value("${app.booking.conflict-index.verify:false}") boolean verify,
+                                @Value("${app.booking.conflict-index.max-entries:20000}") int maxEntries) {
+        this.bookingRepository = bookingRepository;
+        this.enabled = enabled;
+        this.verify = verify;
+        this.maxEntries = maxEntries;
+    }
+
+    public boolean hasConflict(String facilityId, LocalDate date, LocalTime startTime, LocalTime endTime,
+                               String excludeBookingId) {
+        if (!enabled) {
+            return hasSqlConflict(facilityId, date, startTime, endTime, excludeBookingId);
+        }
+
+        SlotKey key = new SlotKey(facilityId, date);
+        DaySchedule schedule = schedules.get(key);
+        if (schedule == null) {
+            trimIfFull();
+            schedule = schedules.compute(key, (k, existing) -> existing != null ? existing : load(k));
+        }
+        boolean conflict = schedule.overlaps(startTime.toSecondOfDay(), endTime.toSecondOfDay(), excludeBookingId);
+
+        if (verify) {
+            boolean sqlConflict = hasSqlConflict(facilityId, date, startTime, endTime, excludeBookingId);
+            if (sqlConflict != conflict) {
+                log.warn("Booking conflict index mismatch for facility {} on {} [{}-{}]: index={}, sql={}. Reloading schedule.",
+                        facilityId, date, startTime, endTime, conflict, sqlConflict);
+                schedules.remove(key);
+                return sqlConflict;
+            }
+        }
+        return conflict;
+    }
+
+    /**
+     * Applies the current state of a persisted booking: active bookings are (re)inserted,
+     * rejected and cancelled ones are dropped.
+     */
+    public void record(Booking booking) {
+        if (!enabled || booking == null || booking.getFacilityId() == null || booking.getDate() == null) {
+            return;
+        }
+        if (!isActive(booking) || booking.getStartTime() == null || booking.getEndTime() == null) {
+            remove(booking.getFacilityId(), booking.getDate(), booking.getId());
+            return;
+        }
+        schedules.computeIfPresent(new SlotKey(booking.getFacilityId(), booking.getDate()),
+                (key, schedule) -> schedule.without(booking.getId()).with(booking.getId(),
+                        booking.getStartTime().toSecondOfDay(), booking.getEndTime().toSecondOfDay()));
+    }
+
+    public void remove(Booking booking) {
+        if (booking != null) {
+            remove(booking.getFacilityId(), booking.getDate(), booking.getId());
+        }
+    }
+
+    public void remove(String facilityId, LocalDate date, String bookingId) {
+        if (!enabled || facilityId == null || date == null || bookingId == null) {
+            return;
+        }
+        schedules.computeIfPresent(new SlotKey(facilityId, date), (key, schedule) -> schedule.without(bookingId));
+    }
+
+    /**
+     * Drops the cached schedule unless it was stamped with {@code version}, i.e. unless no other node
+     * has admitted a booking change for this facility-day since this node last saw it.
+     */
+    public void sync(String facilityId, LocalDate date, long version) {
+        schedules.computeIfPresent(new SlotKey(facilityId, date),
+                (key, schedule) -> schedule.version == version ? schedule : null);
+    }
+
+    public void stamp(String facilityId, LocalDate date, long version) {
+        schedules.computeIfPresent(new SlotKey(facilityId, date), (key, schedule) -> schedule.withVersion(version));
+    }
+
+    public void evict(String facilityId, LocalDate date) {
+        schedules.remove(new SlotKey(facilityId, date));
+    }
+
+    public void clear() {
+        schedules.clear();
+    }
+
+    int size() {
+        return schedules.size();
+    }
+
+    /**
+     * Makes room once {@code max-entries} is reached: past days go first, then the farthest-future days, down to
+     * seven eighths of the cap. The near days that are checked most stay warm, and trimming runs again only
+     * after another eighth of the cap has been loaded.
+     */
+    private void trimIfFull() {
+        if (schedules.size() < maxEntries) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        schedules.keySet().removeIf(existing -> existing.date().isBefore(today));
+        int excess = schedules.size() - (maxEntries - Math.max(1, maxEntries / 8));
+        if (excess > 0) {
+            schedules.keySet().stream()
+                    .sorted(Comparator.comparing(SlotKey::date).reversed())
+                    .limit(excess)
+                    .toList()
+                    .forEach(schedules::remove);
+        }
+    }
+
+    private DaySchedule load(SlotKey key) {
+        return DaySchedule.of(bookingRepository.findActiveByFacilityIdAndDate(key.facilityId(), key.date()));
+    }
+
+    private boolean hasSqlConflict(String facilityId, LocalDate date, LocalTime startTime, LocalTime endTime,
+                                   String excludeBookingId) {
+        return bookingRepository.findConflictingBookings(facilityId, date, startTime, endTime).stream()
+                .anyMatch(booking -> excludeBookingId == null || !excludeBookingId.equals(booking.getId()));
+    }
+
+    private static boolean isActive(Booking booking) {
+        return booking.getStatus() == Booking.BookingStatus.PENDING
+                || booking.getStatus() == Booking.BookingStatus.APPROVED;
+    }
+
+    private record SlotKey(String facilityId, LocalDate date) {
+    }
+
+    /**
+     * Immutable schedule sorted by start second. {@code maxEnd[i]} is the largest end among entries
+     * {@code 0..i}, which lets an overlap query stop after a single binary search in the common case.
+     */
+    static final class DaySchedule {
+
+        static final long UNVERSIONED = -1L;
+
+        private static final DaySchedule EMPTY = new DaySchedule(new String[0], new int[0], new int[0], UNVERSIONED);
+
+        private final String[] ids;
+        private final int[] starts;
+        private final int[] ends;
+        private final int[] maxEnd;
+        private final long version;
+
+        private DaySchedule(String[] ids, int[] starts, int[] ends, long version) {
+            this.ids = ids;
+            this.starts = starts;
+            this.ends = ends;
+            this.version = version;
+            this.maxEnd = new int[ends.length];
+            int running = Integer.MIN_VALUE;
+            for (int i = 0; i < ends.length; i++) {
+                running = Math.max(running, ends[i]);
+                maxEnd[i] = running;
+            }
+        }
+
+        static DaySchedule of(List<Booking> bookings) {
+            List<Booking> sorted = bookings.stream()
+                    .filter(booking -> booking.getStartTime() != null && booking.getEndTime() != null)
+                    .sorted(Comparator.comparing(Booking::getStartTime))
+                    .toList();
+            if (sorted.isEmpty()) {
+                return EMPTY;
+            }
+            String[] ids = new String[sorted.size()];
+            int[] starts = new int[sorted.size()];
+            int[] ends = new int[sorted.size()];
+            for (int i = 0; i < sorted.size(); i++) {
+                Booking booking = sorted.get(i);
+                ids[i] = booking.getId();
+                starts[i] = booking.getStartTime().toSecondOfDay();
+                ends[i] = booking.getEndTime().toSecondOfDay();
+            }
+            return new DaySchedule(ids, starts, ends, UNVERSIONED);
+        }
+
+        boolean overlaps(int start, int end, String excludeId) {
+            int i = lastStartingBefore(end);
+            while (i >= 0 && maxEnd[i] > start) {
+                if (ends[i] > start && (excludeId == null || !excludeId.equals(ids[i]))) {
+                    return true;
+                }
+                i--;
+            }
+            return false;
+        }
+
+        DaySchedule with(String id, int start, int end) {
+            int at = lastStartingBefore(start + 1) + 1;
+            String[] newIds = new String[ids.length + 1];
+            int[] newStarts = new int[starts.length + 1];
+            int[] newEnds = new int[ends.length + 1];
+            System.arraycopy(ids, 0, newIds, 0, at);
+            System.arraycopy(starts, 0, newStarts, 0, at);
+            System.arraycopy(ends, 0, newEnds, 0, at);
+            newIds[at] = id;
+            newStarts[at] = start;
+            newEnds[at] = end;
+            System.arraycopy(ids, at, newIds, at + 1, ids.length - at);
+            System.arraycopy(starts, at, newStarts, at + 1, starts.length - at);
+            System.arraycopy(ends, at, newEnds, at + 1, ends.length - at);
+            return new DaySchedule(newIds, newStarts, newEnds, version);
+        }
+
+        DaySchedule without(String id) {
+            int at = Arrays.asList(ids).indexOf(id);
+            if (at < 0) {
+                return this;
+            }
+            String[] newIds = new String[ids.length - 1];
+            int[] newStarts = new int[starts.length - 1];
+            int[] newEnds = new int[ends.length - 1];
+            System.arraycopy(ids, 0, newIds, 0, at);
+            System.arraycopy(starts, 0, newStarts, 0, at);
+            System.arraycopy(ends, 0, newEnds, 0, at);
+            System.arraycopy(ids, at + 1, newIds, at, ids.length - at - 1);
+            System.arraycopy(starts, at + 1, newStarts, at, starts.length - at - 1);
+            System.arraycopy(ends, at + 1, newEnds, at, ends.length - at - 1);
+            return new DaySchedule(newIds, newStarts, newEnds, version);
+        }
+
+        DaySchedule withVersion(long newVersion) {
+            return newVersion == version ? this : new DaySchedule(ids, starts, ends, newVersion);
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        /** Index of the last entry whose start is strictly before {@code second}, or -1. */
+        private int lastStartingBefore(int second) {
+            int low = 0;
+            int high = starts.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] < second) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return high;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.smartcampus.service;
+
+import com.smartcampus.dto.BookingRequest;
+import com.smartcampus.dto.BookingSeriesResponse;
+import com.smartcampus.exception.BadRequestException;
+import com.smartcampus.exception.ConflictException;
+import com.smartcampus.exception.ResourceNotFoundException;
+import com.smartcampus.model.Booking;
+import com.smartcampus.model.Facility;
+import com.smartcampus.model.User;
+import com.smartcampus.repository.BookingRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Recurring bookings: a series is a set of ordinary {@link Booking} rows sharing a {@code seriesId}.
+ *
+ * All occurrences are validated against one range query and inserted with a single batched
+ * {@code saveAll}, under one admission covering every facility-day of the series. Cancelling or
+ * rescheduling the remaining occurrences is a single bulk UPDATE.
+ */
+@Service
+public class BookingSeriesService {
+
+    static final int MAX_OCCURRENCES = 52;
+
+    private final BookingRepository bookingRepository;
+    private final FacilityService facilityService;
+    private final BookingConflictIndex bookingConflictIndex;
+    private final BookingAdmissionService bookingAdmissionService;
+
+    public BookingSeriesService(BookingRepository bookingRepository, FacilityService facilityService,
+                                BookingConflictIndex bookingConflictIndex,
+                                BookingAdmissionService bookingAdmissionService) {
+        this.bookingRepository = bookingRepository;
+        this.facilityService = facilityService;
+        this.bookingConflictIndex = bookingConflictIndex;
+        this.bookingAdmissionService = bookingAdmissionService;
+    }
+
+    /**
+     * Creates every occurrence that is inside the facility's opening hours and free. Unless
+     * {@code skipConflicts} is set, a single conflicting occurrence means nothing is created and the
+     * conflicts are reported back.
+     */
+    public BookingSeriesResponse createSeries(BookingRequest request, User user) {
+        Facility facility = facilityService.getFacilityById(request.getFacilityId());
+        if (facility.getStatus() != Facility.Status.ACTIVE) {
+            throw new BadRequestException("Facility is not available for booking");
+        }
+        validateTimes(request);
+
+        List<LocalDate> dates = occurrenceDates(request);
+        List<BookingSeriesResponse.OccurrenceConflict> closedConflicts = new ArrayList<>();
+        FacilityDayCalendar requested = FacilityDayCalendar.range(request.getStartTime(), request.getEndTime());
+        List<LocalDate> openDates = new ArrayList<>(dates.size());
+        for (LocalDate date : dates) {
+            if (FacilityDayCalendar.openingHours(facility.getAvailabilityWindows(), date.getDayOfWeek()).covers(requested)) {
+                openDates.add(date);
+            } else {
+                closedConflicts.add(new BookingSeriesResponse.OccurrenceConflict(date,
+                        "Outside the facility's availability hours"));
+            }
+        }
+
+        List<BookingAdmissionService.FacilityDay> affectedDays = openDates.stream()
+                .map(date -> new BookingAdmissionService.FacilityDay(facility.getId(), date))
+                .toList();
+        // Admission may run this more than once, so each run starts from the opening-hours conflicts alone
+        return bookingAdmissionService.admit(affectedDays, () -> {
+            List<BookingSeriesResponse.OccurrenceConflict> conflicts = new ArrayList<>(closedConflicts);
+            Set<LocalDate> taken = openDates.isEmpty() ? Set.of() : bookingRepository.findConflictingBookingsBetween(
+                            facility.getId(), openDates.get(0), openDates.get(openDates.size() - 1),
+                            request.getStartTime(), request.getEndTime()).stream()
+                    .map(Booking::getDate)
+                    .collect(Collectors.toSet());
+
+            List<LocalDate> freeDates = new ArrayList<>(openDates.size());
+            for (LocalDate date : openDates) {
+                if (taken.contains(date)) {
+                    conflicts.add(new BookingSeriesResponse.OccurrenceConflict(date,
+                            "Time slot conflicts with existing booking(s)"));
+                } else {
+                    freeDates.add(date);
+                }
+            }
+            conflicts.sort((a, b) -> a.date().compareTo(b.date()));
+
+            if (freeDates.isEmpty() || (!conflicts.isEmpty() && !request.isSkipConflicts())) {
+                return new BookingSeriesResponse(null, dates.size(), List.of(), conflicts);
+            }
+
+            String seriesId = UUID.randomUUID().toString();
+            LocalDateTime now = LocalDateTime.now();
+            List<Booking> occurrences = new ArrayList<>(freeDates.size());
+            for (LocalDate date : freeDates) {
+                occurrences.add(occurrence(request, facility, user, seriesId, date, now));
+            }
+            List<Booking> saved = bookingRepository.saveAll(occurrences);
+            saved.forEach(bookingConflictIndex::record);
+            return new BookingSeriesResponse(seriesId, dates.size(), saved, conflicts);
+        });
+    }
+
+    /**
+     * The occurrences of a series, for the user who booked it or for staff.
+     */
+    public List<Booking> getSeries(String seriesId, User user) {
+        List<Booking> bookings = loadSeries(seriesId);
+        boolean isStaff = user.getRoles().stream()
+                .anyMatch(r -> List.of("ADMIN", "SUPER_ADMIN", "MANAGER").contains(r.name()));
+        if (!bookings.get(0).getUserId().equals(user.getId()) && !isStaff) {
+            throw new BadRequestException("You can only view your own bookings");
+        }
+        return bookings;
+    }
+
+    /**
+     * Cancels every pending or approved occurrence from today onwards in one UPDATE.
+     */
+    public List<Booking> cancelSeries(String seriesId, User user, String reason) {
+        if (reason == null || reason.trim().isEmpty()) {
+            throw new BadRequestException("Please provide a reason for cancellation.");
+        }
+        List<Booking> remaining = remainingOccurrences(seriesId, user);
+
+        return bookingAdmissionService.admit(affectedDays(remaining), () -> {
+            bookingRepository.cancelSeriesFrom(seriesId, LocalDate.now(), reason, user.getName(), "User",
+                    LocalDateTime.now());
+            return refreshIndex(seriesId);
+        });
+    }
+
+    /**
+     * Moves every pending occurrence from today onwards to the new time range and updates purpose and
+     * attendees, in one UPDATE. The facility and the dates of a series cannot be changed this way.
+     */
+    public List<Booking> updateSeries(String seriesId, BookingRequest request, User user) {
+        List<Booking> remaining = remainingOccurrences(seriesId, user).stream()
+                .filter(booking -> booking.getStatus() == Booking.BookingStatus.PENDING)
+                .toList();
+        if (remaining.isEmpty()) {
+            throw new BadRequestException("This series has no pending occurrences left to update");
+        }
+        String facilityId = remaining.get(0).getFacilityId();
+        if (request.getFacilityId() != null && !request.getFacilityId().equals(facilityId)) {
+            throw new BadRequestException("The facility of a series cannot be changed. Cancel it and book again instead");
+        }
+        validateTimes(request);
+
+        Facility facility = facilityService.getFacilityById(facilityId);
+        FacilityDayCalendar requested = FacilityDayCalendar.range(request.getStartTime(), request.getEndTime());
+        List<LocalDate> closed = remaining.stream()
+                .map(Booking::getDate)
+                .filter(date -> !FacilityDayCalendar.openingHours(facility.getAvailabilityWindows(), date.getDayOfWeek())
+                        .covers(requested))
+                .toList();
+        if (!closed.isEmpty()) {
+            throw new BadRequestException("Requested time is outside the facility's availability hours on: "
+                    + joinDates(closed));
+        }
+
+        Set<String> ownIds = remaining.stream().map(Booking::getId).collect(Collectors.toSet());
+        Set<LocalDate> dates = remaining.stream().map(Booking::getDate).collect(Collectors.toSet());
+        return bookingAdmissionService.admit(affectedDays(remaining), () -> {
+            List<LocalDate> conflicting = bookingRepository.findConflictingBookingsBetween(facilityId,
+                            remaining.get(0).getDate(), remaining.get(remaining.size() - 1).getDate(),
+                            request.getStartTime(), request.getEndTime()).stream()
+                    .filter(booking -> !seriesId.equals(booking.getSeriesId()) && !ownIds.contains(booking.getId()))
+                    .map(Booking::getDate)
+                    .filter(dates::contains)
+                    .distinct()
+                    .sorted()
+                    .toList();
+            if (!conflicting.isEmpty()) {
+                throw new ConflictException("New time slot conflicts with existing booking(s) on: "
+                        + joinDates(conflicting));
+            }
+
+            bookingRepository.rescheduleSeriesFrom(seriesId, LocalDate.now(), request.getStartTime(),
+                    request.getEndTime(), request.getPurpose(), request.getExpectedAttendees(), LocalDateTime.now());
+            return refreshIndex(seriesId);
+        });
+    }
+
+    List<LocalDate> occurrenceDates(BookingRequest request) {
+        if (request.getRecurrence() == null) {
+            throw new BadRequestException("Recurrence is required for a booking series");
+        }
+        if (request.getRecurrenceEndDate() == null && request.getOccurrences() == null) {
+            throw new BadRequestException("Either an end date or a number of occurrences is required");
+        }
+        if (request.getOccurrences() != null && request.getOccurrences() < 1) {
+            throw new BadRequestException("Number of occurrences must be positive");
+        }
+        if (request.getRecurrenceEndDate() != null && request.getRecurrenceEndDate().isBefore(request.getDate())) {
+            throw new BadRequestException("Series end date must not be before the first occurrence");
+        }
+
+        int stepWeeks = request.getRecurrence() == BookingRequest.Recurrence.BIWEEKLY ? 2 : 1;
+        int limit = request.getOccurrences() != null ? request.getOccurrences() : Integer.MAX_VALUE;
+        List<LocalDate> dates = new ArrayList<>();
+        for (LocalDate date = request.getDate();
+             dates.size() < limit && (request.getRecurrenceEndDate() == null || !date.isAfter(request.getRecurrenceEndDate()));
+             date = date.plusWeeks(stepWeeks)) {
+            if (dates.size() == MAX_OCCURRENCES) {
+                throw new BadRequestException("A booking series cannot have more than " + MAX_OCCURRENCES + " occurrences");
+            }
+            dates.add(date);
+        }
+        return dates;
+    }
+
+    private List<Booking> remainingOccurrences(String seriesId, User user) {
+        List<Booking> series = loadSeries(seriesId);
+        if (!series.get(0).getUserId().equals(user.getId())) {
+            throw new BadRequestException("You can only change your own bookings");
+        }
+        LocalDate today = LocalDate.now();
+        List<Booking> remaining = series.stream()
+                .filter(booking -> !booking.getDate().isBefore(today))
+                .filter(booking -> booking.getStatus() == Booking.BookingStatus.PENDING
+                        || booking.getStatus() == Booking.BookingStatus.APPROVED)
+                .toList();
+        if (remaining.isEmpty()) {
+            throw new BadRequestException("This series has no upcoming occurrences");
+        }
+        return remaining;
+    }
+
+    private List<Booking> loadSeries(String seriesId) {
+        List<Booking> bookings = bookingRepository.findBySeriesIdOrderByDateAsc(seriesId);
+        if (bookings.isEmpty()) {
+            throw new ResourceNotFoundException("Booking series not found with id: " + seriesId);
+        }
+        return bookings;
+    }
+
+    private List<Booking> refreshIndex(String seriesId) {
+        List<Booking> series = bookingRepository.findBySeriesIdOrderByDateAsc(seriesId);
+        series.forEach(bookingConflictIndex::record);
+        return series;
+    }
+
+    private static List<BookingAdmissionService.FacilityDay> affectedDays(List<Booking> bookings) {
+        return bookings.stream()
+                .map(booking -> new BookingAdmissionService.FacilityDay(booking.getFacilityId(), booking.getDate()))
+                .collect(Collectors.toCollection(LinkedHashSet::new))
+                .stream()
+                .toList();
+    }
+
+    private static void validateTimes(BookingRequest request) {
+        if (request.getStartTime() == null || request.getEndTime() == null
+                || !request.getStartTime().isBefore(request.getEndTime())) {
+            throw new BadRequestException("Start time must be before end time");
+        }
+    }
+
+    private static String joinDates(List<LocalDate> dates) {
+        return new TreeSet<>(dates).stream().map(LocalDate::toString).collect(Collectors.joining(", "));
+    }
+
+    private static Booking occurrence(BookingRequest request, Facility facility, User user, String seriesId,
+                                      LocalDate date, LocalDateTime now) {
+        Booking booking = new Booking();
+        booking.setFacilityId(facility.getId());
+        booking.setFacilityName(facility.getName());
+        booking.setUserId(user.getId());
+        booking.setUserName(user.getName());
+        booking.setDate(date);
+        booking.setStartTime(request.getStartTime());
+        booking.setEndTime(request.getEndTime());
+        booking.setPurpose(request.getPurpose());
+        booking.setExpectedAttendees(request.getExpectedAttendees());
+        booking.setStatus(Booking.BookingStatus.PENDING);
+        booking.setSeriesId(seriesId);
+        booking.setCreatedAt(now);
+        booking.setUpdatedAt(now);
+        return booking;
+    }
+}
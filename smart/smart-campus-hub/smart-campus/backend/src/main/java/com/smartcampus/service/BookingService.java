@@ -1,6 +1,7 @@
 package com.smartcampus.service;
 
 import com.smartcampus.dto.BookingRequest;
+import com.smartcampus.dto.CursorPage;
 import com.smartcampus.exception.BadRequestException;
 import com.smartcampus.exception.ConflictException;
 import com.smartcampus.exception.ResourceNotFoundException;
@@ -9,9 +10,15 @@ import com.smartcampus.model.Facility;
 import com.smartcampus.model.Notification;
 import com.smartcampus.model.User;
 import com.smartcampus.repository.BookingRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 @Service
@@ -20,12 +27,20 @@ public class BookingService {
     private final BookingRepository bookingRepository;
     private final FacilityService facilityService;
     private final NotificationService notificationService;
+    private final BookingConflictIndex bookingConflictIndex;
+    private final BookingAdmissionService bookingAdmissionService;
+    private final TransactionTemplate transaction;
 
     public BookingService(BookingRepository bookingRepository, FacilityService facilityService,
-                          NotificationService notificationService) {
+                          NotificationService notificationService, BookingConflictIndex bookingConflictIndex,
+                          BookingAdmissionService bookingAdmissionService,
+                          PlatformTransactionManager transactionManager) {
         this.bookingRepository = bookingRepository;
         this.facilityService = facilityService;
         this.notificationService = notificationService;
+        this.bookingConflictIndex = bookingConflictIndex;
+        this.bookingAdmissionService = bookingAdmissionService;
+        this.transaction = new TransactionTemplate(transactionManager);
     }
 
     public Booking createBooking(BookingRequest request, User user) {
@@ -38,15 +53,28 @@ public class BookingService {
         if (request.getStartTime().isAfter(request.getEndTime()) || request.getStartTime().equals(request.getEndTime())) {
             throw new BadRequestException("Start time must be before end time");
         }
+        requireOpen(facility, request);
+
+        return bookingAdmissionService.admit(request.getFacilityId(), request.getDate(), () -> {
+            if (bookingConflictIndex.hasConflict(request.getFacilityId(), request.getDate(),
+                    request.getStartTime(), request.getEndTime(), null)) {
+                throw new ConflictException("Time slot conflicts with existing booking(s)");
+            }
+            Booking saved = bookingRepository.save(newBooking(request, facility, user));
+            bookingConflictIndex.record(saved);
+            return saved;
+        });
+    }
 
-        List<Booking> conflicts = bookingRepository.findConflictingBookings(
-                request.getFacilityId(), request.getDate(),
-                request.getStartTime(), request.getEndTime());
-
-        if (!conflicts.isEmpty()) {
-            throw new ConflictException("Time slot conflicts with existing booking(s)");
+    private void requireOpen(Facility facility, BookingRequest request) {
+        FacilityDayCalendar opening = FacilityDayCalendar.openingHours(
+                facility.getAvailabilityWindows(), request.getDate().getDayOfWeek());
+        if (!opening.covers(FacilityDayCalendar.range(request.getStartTime(), request.getEndTime()))) {
+            throw new BadRequestException("Requested time is outside the facility's availability hours");
         }
+    }
 
+    private Booking newBooking(BookingRequest request, Facility facility, User user) {
         Booking booking = new Booking();
         booking.setFacilityId(request.getFacilityId());
         booking.setFacilityName(facility.getName());
@@ -61,8 +89,7 @@ public class BookingService {
         booking.setStatus(Booking.BookingStatus.PENDING);
         booking.setCreatedAt(LocalDateTime.now());
         booking.setUpdatedAt(LocalDateTime.now());
-
-        return bookingRepository.save(booking);
+        return booking;
     }
 
     public Booking approveBooking(String bookingId, String adminId) {
@@ -73,14 +100,18 @@ public class BookingService {
         booking.setStatus(Booking.BookingStatus.APPROVED);
         booking.setReviewedBy(adminId);
         booking.setUpdatedAt(LocalDateTime.now());
-        Booking saved = bookingRepository.save(booking);
-
-        notificationService.createNotification(
-                booking.getUserId(),
-                "Booking Approved",
-                "Your booking for " + booking.getFacilityName() + " on " + booking.getDate() + " has been approved.",
-                Notification.NotificationType.BOOKING_APPROVED,
-                booking.getId(), "BOOKING");
+        // The status change and its outbox row commit together
+        Booking saved = transaction.execute(status -> {
+            Booking approved = bookingRepository.save(booking);
+            notificationService.createNotification(
+                    booking.getUserId(),
+                    "Booking Approved",
+                    "Your booking for " + booking.getFacilityName() + " on " + booking.getDate() + " has been approved.",
+                    Notification.NotificationType.BOOKING_APPROVED,
+                    booking.getId(), "BOOKING");
+            return approved;
+        });
+        bookingConflictIndex.record(saved);
 
         return saved;
     }
@@ -94,16 +125,18 @@ public class BookingService {
         booking.setReviewedBy(adminId);
         booking.setRejectionReason(reason);
         booking.setUpdatedAt(LocalDateTime.now());
-        Booking saved = bookingRepository.save(booking);
-
-        notificationService.createNotification(
-                booking.getUserId(),
-                "Booking Rejected",
-                "Your booking for " + booking.getFacilityName() + " has been rejected. Reason: " + reason,
-                Notification.NotificationType.BOOKING_REJECTED,
-                booking.getId(), "BOOKING");
-
-        return saved;
+        // Queued inside the admission transaction, so it only goes out if the rejection commits
+        return bookingAdmissionService.admit(booking.getFacilityId(), booking.getDate(), () -> {
+            Booking saved = bookingRepository.save(booking);
+            bookingConflictIndex.record(saved);
+            notificationService.createNotification(
+                    booking.getUserId(),
+                    "Booking Rejected",
+                    "Your booking for " + booking.getFacilityName() + " has been rejected. Reason: " + reason,
+                    Notification.NotificationType.BOOKING_REJECTED,
+                    booking.getId(), "BOOKING");
+            return saved;
+        });
     }
 
     public Booking cancelBooking(String bookingId, User user, String reason) {
@@ -130,7 +163,15 @@ public class BookingService {
         booking.setCanceledBy(user.getName());
         booking.setCanceledByRole("User");
         booking.setUpdatedAt(LocalDateTime.now());
-        return bookingRepository.save(booking);
+        return saveAdmitted(booking);
+    }
+
+    private Booking saveAdmitted(Booking booking) {
+        return bookingAdmissionService.admit(booking.getFacilityId(), booking.getDate(), () -> {
+            Booking saved = bookingRepository.save(booking);
+            bookingConflictIndex.record(saved);
+            return saved;
+        });
     }
 
     public Booking getBookingById(String id) {
@@ -146,6 +187,28 @@ public class BookingService {
         return bookingRepository.findAllByOrderByDateAscStartTimeAsc();
     }
 
+    /**
+     * Keyset page ordered by date, start time and id; the cursor is the sort key of the previous page's last booking.
+     */
+    public CursorPage<Booking> getBookingsPage(Booking.BookingStatus status, String facilityId, String cursor, Integer limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        String[] after = CursorPage.decode(cursor, 3);
+        PageRequest firstRows = PageRequest.of(0, pageSize + 1);
+        List<Booking> rows;
+        if (after == null) {
+            rows = bookingRepository.findFirstPage(status, facilityId, firstRows);
+        } else {
+            try {
+                rows = bookingRepository.findPageAfter(status, facilityId, LocalDate.parse(after[0]),
+                        LocalTime.parse(after[1]), after[2], firstRows);
+            } catch (DateTimeParseException ex) {
+                throw new BadRequestException("Invalid page cursor");
+            }
+        }
+        return CursorPage.of(rows, pageSize,
+                booking -> CursorPage.encode(booking.getDate(), booking.getStartTime(), booking.getId()));
+    }
+
     public List<Booking> getBookingsByStatus(Booking.BookingStatus status) {
         return bookingRepository.findByStatus(status);
     }
@@ -166,29 +229,35 @@ public class BookingService {
         if (request.getStartTime().isAfter(request.getEndTime()) || request.getStartTime().equals(request.getEndTime())) {
             throw new BadRequestException("Start time must be before end time");
         }
-
-        // Check for conflicts excluding the current booking
-        List<Booking> conflicts = bookingRepository.findConflictingBookings(
-                request.getFacilityId(), request.getDate(),
-                request.getStartTime(), request.getEndTime());
-
-        boolean hasActualConflict = conflicts.stream()
-                .anyMatch(b -> !b.getId().equals(id));
-
-        if (hasActualConflict) {
-            throw new ConflictException("New time slot conflicts with existing booking(s)");
-        }
-
-        booking.setFacilityId(request.getFacilityId());
-        booking.setFacilityName(facility.getName());
-        booking.setDate(request.getDate());
-        booking.setStartTime(request.getStartTime());
-        booking.setEndTime(request.getEndTime());
-        booking.setPurpose(request.getPurpose());
-        booking.setExpectedAttendees(request.getExpectedAttendees());
-        booking.setUpdatedAt(LocalDateTime.now());
-
-        return bookingRepository.save(booking);
+        requireOpen(facility, request);
+
+        String previousFacilityId = booking.getFacilityId();
+        LocalDate previousDate = booking.getDate();
+        List<BookingAdmissionService.FacilityDay> affectedDays = List.of(
+                new BookingAdmissionService.FacilityDay(previousFacilityId, previousDate),
+                new BookingAdmissionService.FacilityDay(request.getFacilityId(), request.getDate()));
+
+        return bookingAdmissionService.admit(affectedDays, () -> {
+            // Check for conflicts excluding the current booking
+            if (bookingConflictIndex.hasConflict(request.getFacilityId(), request.getDate(),
+                    request.getStartTime(), request.getEndTime(), id)) {
+                throw new ConflictException("New time slot conflicts with existing booking(s)");
+            }
+
+            booking.setFacilityId(request.getFacilityId());
+            booking.setFacilityName(facility.getName());
+            booking.setDate(request.getDate());
+            booking.setStartTime(request.getStartTime());
+            booking.setEndTime(request.getEndTime());
+            booking.setPurpose(request.getPurpose());
+            booking.setExpectedAttendees(request.getExpectedAttendees());
+            booking.setUpdatedAt(LocalDateTime.now());
+
+            Booking saved = bookingRepository.save(booking);
+            bookingConflictIndex.remove(previousFacilityId, previousDate, id);
+            bookingConflictIndex.record(saved);
+            return saved;
+        });
     }
 
     public List<Booking> getBookingsByFacility(String facilityId) {
@@ -196,13 +265,23 @@ public class BookingService {
     }
 
     public void deleteBooking(String id) {
-        if (!bookingRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Booking not found with id: " + id);
-        }
-        bookingRepository.deleteById(id);
+        Booking booking = getBookingById(id);
+        bookingAdmissionService.admit(booking.getFacilityId(), booking.getDate(), () -> {
+            bookingRepository.deleteById(id);
+            bookingConflictIndex.remove(booking);
+            return null;
+        });
     }
 
     public void bulkDeleteBookings(List<String> ids) {
-        bookingRepository.deleteAllById(ids);
+        List<Booking> bookings = bookingRepository.findAllById(ids);
+        List<BookingAdmissionService.FacilityDay> affectedDays = bookings.stream()
+                .map(booking -> new BookingAdmissionService.FacilityDay(booking.getFacilityId(), booking.getDate()))
+                .toList();
+        bookingAdmissionService.admit(affectedDays, () -> {
+            bookingRepository.deleteAllById(ids);
+            bookings.forEach(bookingConflictIndex::remove);
+            return null;
+        });
     }
 }
@@ -0,0 +1,144 @@
+package com.smartcampus.service;
+
+import com.smartcampus.dto.BroadcastRequest;
+import com.smartcampus.dto.BroadcastSummary;
+import com.smartcampus.dto.BroadcastView;
+import com.smartcampus.dto.CursorPage;
+import com.smartcampus.exception.BadRequestException;
+import com.smartcampus.exception.ResourceNotFoundException;
+import com.smartcampus.model.Broadcast;
+import com.smartcampus.model.BroadcastReceipt;
+import com.smartcampus.model.User;
+import com.smartcampus.repository.BroadcastReceiptRepository;
+import com.smartcampus.repository.BroadcastRepository;
+import com.smartcampus.repository.FacilityRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Campus-wide announcements. Sending one costs a single INSERT and a single frame on {@value #DESTINATION},
+ * which the broker fans out to every subscribed session, instead of a notification row and a user-queue send
+ * per recipient. The audience is evaluated when a user reads their feed, and a read receipt is only written
+ * when they open the broadcast.
+ *
+ * Frames for a role or building audience carry no title or message: a client whose role matches, or any
+ * client for a building audience, fetches the broadcast by id and gets a 404 if it is not in the audience.
+ */
+@Service
+public class BroadcastService {
+
+    static final String DESTINATION = "/topic/broadcast";
+
+    private static final Logger log = LoggerFactory.getLogger(BroadcastService.class);
+
+    private final BroadcastRepository broadcastRepository;
+    private final BroadcastReceiptRepository receiptRepository;
+    private final FacilityRepository facilityRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public BroadcastService(BroadcastRepository broadcastRepository, BroadcastReceiptRepository receiptRepository,
+                            FacilityRepository facilityRepository, SimpMessagingTemplate messagingTemplate) {
+        this.broadcastRepository = broadcastRepository;
+        this.receiptRepository = receiptRepository;
+        this.facilityRepository = facilityRepository;
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    public BroadcastView send(BroadcastRequest request, User sender) {
+        User.Role role = parseRole(request.getAudienceRole());
+        String building = request.getBuilding() == null || request.getBuilding().isBlank()
+                ? null
+                : request.getBuilding().trim();
+        if (building != null && !facilityRepository.existsByBuilding(building)) {
+            throw new BadRequestException("No facility is in building " + building);
+        }
+
+        Broadcast broadcast = new Broadcast();
+        broadcast.setTitle(request.getTitle().trim());
+        broadcast.setMessage(request.getMessage().trim());
+        broadcast.setAudienceRole(role);
+        broadcast.setBuilding(building);
+        broadcast.setCreatedBy(sender.getId());
+        broadcast.setCreatedAt(LocalDateTime.now());
+        broadcast.setExpiresAt(request.getExpiresAt());
+        Broadcast saved = broadcastRepository.save(broadcast);
+
+        BroadcastView view = view(saved);
+        boolean targeted = role != null || building != null;
+        try {
+            messagingTemplate.convertAndSend(DESTINATION, targeted
+                    ? new BroadcastView(view.id(), null, null, role, building, view.createdBy(), view.createdAt(),
+                            view.expiresAt(), null)
+                    : view);
+        } catch (RuntimeException ex) {
+            log.warn("Broadcast {} stored but not pushed: {}", saved.getId(), ex.getMessage());
+        }
+        return view;
+    }
+
+    /** The newest broadcasts in the user's audience that have not expired. */
+    public List<BroadcastView> getFeed(User user, Integer limit) {
+        return broadcastRepository.findVisible(user.getId(), roles(user), LocalDateTime.now(),
+                PageRequest.of(0, CursorPage.clampLimit(limit)));
+    }
+
+    public BroadcastView getBroadcast(String id, User user) {
+        return broadcastRepository.findVisibleById(id, user.getId(), roles(user), LocalDateTime.now()).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Broadcast not found"));
+    }
+
+    /** Writes the user's receipt the first time; later calls return the original read time. */
+    public BroadcastView markAsRead(String id, User user) {
+        BroadcastView view = getBroadcast(id, user);
+        if (view.readAt() != null) {
+            return view;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            receiptRepository.save(new BroadcastReceipt(id, user.getId(), now));
+        } catch (DataIntegrityViolationException ex) {
+            // Another tab read it at the same time; its receipt stands.
+            return getBroadcast(id, user);
+        }
+        return new BroadcastView(view.id(), view.title(), view.message(), view.audienceRole(), view.building(),
+                view.createdBy(), view.createdAt(), view.expiresAt(), now);
+    }
+
+    public List<BroadcastSummary> getSummaries(Integer limit) {
+        return broadcastRepository.findSummaries(PageRequest.of(0, CursorPage.clampLimit(limit)));
+    }
+
+    private static Collection<User.Role> roles(User user) {
+        Set<User.Role> roles = user.getRoles();
+        return roles == null || roles.isEmpty() ? EnumSet.of(User.Role.USER) : roles;
+    }
+
+    private static User.Role parseRole(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return User.Role.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Unknown audience role: " + value);
+        }
+    }
+
+    private static BroadcastView view(Broadcast broadcast) {
+        return new BroadcastView(broadcast.getId(), broadcast.getTitle(), broadcast.getMessage(),
+                broadcast.getAudienceRole(), broadcast.getBuilding(), broadcast.getCreatedBy(),
+                broadcast.getCreatedAt(), broadcast.getExpiresAt(), null);
+    }
+}
@@ -8,6 +8,8 @@ import com.smartcampus.model.Ticket;
 import com.smartcampus.model.User;
 import com.smartcampus.repository.CommentRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -18,12 +20,14 @@ public class CommentService {
     private final CommentRepository commentRepository;
     private final TicketService ticketService;
     private final NotificationService notificationService;
+    private final TransactionTemplate transaction;
 
     public CommentService(CommentRepository commentRepository, TicketService ticketService,
-                          NotificationService notificationService) {
+                          NotificationService notificationService, PlatformTransactionManager transactionManager) {
         this.commentRepository = commentRepository;
         this.ticketService = ticketService;
         this.notificationService = notificationService;
+        this.transaction = new TransactionTemplate(transactionManager);
     }
 
     public Comment addComment(String ticketId, String content, User user) {
@@ -39,32 +43,35 @@ public class CommentService {
         comment.setUpdatedAt(LocalDateTime.now());
         comment.setEdited(false);
 
-        Comment saved = commentRepository.save(comment);
-
-        // Fetch ticket again to ensure we have the latest reporter/assigned info
-        Ticket currentTicket = ticketService.getTicketById(ticketId, user);
-
-        // Notify ticket reporter if comment is from someone else
-        if (currentTicket.getReportedBy() != null && !currentTicket.getReportedBy().equals(user.getId())) {
-            notificationService.createNotification(
-                    currentTicket.getReportedBy(),
-                    "New Comment",
-                    user.getName() + " commented on your ticket: " + currentTicket.getTitle(),
-                    Notification.NotificationType.COMMENT_ADDED,
-                    currentTicket.getId(), "TICKET");
-        }
-
-        // Notify assigned technician if comment is from someone else
-        if (currentTicket.getAssignedTo() != null && !currentTicket.getAssignedTo().equals(user.getId())) {
-            notificationService.createNotification(
-                    currentTicket.getAssignedTo(),
-                    "New Comment",
-                    user.getName() + " commented on ticket: " + currentTicket.getTitle(),
-                    Notification.NotificationType.COMMENT_ADDED,
-                    currentTicket.getId(), "TICKET");
-        }
-
-        return saved;
+        // The comment and its outbox rows commit together
+        return transaction.execute(status -> {
+            Comment saved = commentRepository.save(comment);
+
+            // Fetch ticket again to ensure we have the latest reporter/assigned info
+            Ticket currentTicket = ticketService.getTicketById(ticketId, user);
+
+            // Notify ticket reporter if comment is from someone else
+            if (currentTicket.getReportedBy() != null && !currentTicket.getReportedBy().equals(user.getId())) {
+                notificationService.createNotification(
+                        currentTicket.getReportedBy(),
+                        "New Comment",
+                        user.getName() + " commented on your ticket: " + currentTicket.getTitle(),
+                        Notification.NotificationType.COMMENT_ADDED,
+                        currentTicket.getId(), "TICKET");
+            }
+
+            // Notify assigned technician if comment is from someone else
+            if (currentTicket.getAssignedTo() != null && !currentTicket.getAssignedTo().equals(user.getId())) {
+                notificationService.createNotification(
+                        currentTicket.getAssignedTo(),
+                        "New Comment",
+                        user.getName() + " commented on ticket: " + currentTicket.getTitle(),
+                        Notification.NotificationType.COMMENT_ADDED,
+                        currentTicket.getId(), "TICKET");
+            }
+
+            return saved;
+        });
     }
 
     public Comment updateComment(String commentId, String content, User user) {
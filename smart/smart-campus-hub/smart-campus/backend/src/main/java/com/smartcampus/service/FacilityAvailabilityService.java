@@ -0,0 +1,205 @@
+package com.smartcampus.service;
+
+import com.smartcampus.dto.BookedSlotView;
+import com.smartcampus.dto.FacilityAvailabilityResponse;
+import com.smartcampus.dto.FacilityHeatmapResponse;
+import com.smartcampus.dto.FacilityWindowView;
+import com.smartcampus.exception.BadRequestException;
+import com.smartcampus.model.Facility;
+import com.smartcampus.repository.BookingRepository;
+import com.smartcampus.repository.FacilityRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers "which facilities are free on this date (and time range)" in two bulk queries: one flat
+ * facility/availability-window join and one projection of the active bookings on that date. Each facility-day is
+ * then a {@link FacilityDayCalendar}: free time is {@code opening & range & ~booked}.
+ *
+ * Facilities without any availability windows are treated as open all day.
+ */
+@Service
+public class FacilityAvailabilityService {
+
+    private static final int END_OF_DAY = 24 * 60 * 60;
+    private static final int MAX_HEATMAP_DAYS = 62;
+
+    private final FacilityRepository facilityRepository;
+    private final BookingRepository bookingRepository;
+
+    public FacilityAvailabilityService(FacilityRepository facilityRepository, BookingRepository bookingRepository) {
+        this.facilityRepository = facilityRepository;
+        this.bookingRepository = bookingRepository;
+    }
+
+    /**
+     * @param from           start of the range of interest, or {@code null} for start of day
+     * @param to             end of the range of interest, or {@code null} for end of day
+     * @param includePartial when {@code false}, only facilities free for the whole range are returned;
+     *                       otherwise every facility with any free time in the range is returned
+     */
+    public List<FacilityAvailabilityResponse> findAvailability(LocalDate date, LocalTime from, LocalTime to,
+                                                               Integer minCapacity, String type,
+                                                               boolean includePartial) {
+        if (date == null) {
+            throw new BadRequestException("Date is required");
+        }
+        int rangeStart = from != null ? from.toSecondOfDay() : 0;
+        int rangeEnd = to != null ? to.toSecondOfDay() : END_OF_DAY;
+        if (rangeStart >= rangeEnd) {
+            throw new BadRequestException("Start time must be before end time");
+        }
+
+        Map<String, FacilitySchedule> facilities = loadFacilities(date, parseType(type),
+                minCapacity != null ? minCapacity : 0);
+        if (facilities.isEmpty()) {
+            return List.of();
+        }
+
+        LocalTime queryEnd = rangeEnd == END_OF_DAY ? LocalTime.MAX : LocalTime.ofSecondOfDay(rangeEnd);
+        for (BookedSlotView slot : bookingRepository.findActiveSlotsOnDate(date,
+                LocalTime.ofSecondOfDay(rangeStart), queryEnd)) {
+            FacilitySchedule schedule = facilities.get(slot.facilityId());
+            if (schedule != null && slot.startTime() != null && slot.endTime() != null) {
+                schedule.booked.mark(slot.startTime(), slot.endTime());
+            }
+        }
+
+        FacilityDayCalendar range = FacilityDayCalendar.range(rangeStart, rangeEnd);
+        List<FacilityAvailabilityResponse> result = new ArrayList<>();
+        for (FacilitySchedule schedule : facilities.values()) {
+            FacilityDayCalendar free = schedule.opening().and(range).andNot(schedule.booked);
+            if (free.isEmpty()) {
+                continue;
+            }
+            boolean wholeRangeFree = free.covers(range);
+            if (!includePartial && !wholeRangeFree) {
+                continue;
+            }
+            result.add(schedule.toResponse(free.ranges(), rangeStart, rangeEnd, wholeRangeFree));
+        }
+        return result;
+    }
+
+    /**
+     * Number of facilities with at least one active booking in each bucket of each day in
+     * {@code [from, to]}. Bookings are loaded in one query and folded into per facility-day calendars.
+     */
+    public FacilityHeatmapResponse getOccupancyHeatmap(LocalDate from, LocalDate to, int slotMinutes) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new BadRequestException("A valid date range is required");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_HEATMAP_DAYS) {
+            throw new BadRequestException("Heatmap range cannot exceed " + MAX_HEATMAP_DAYS + " days");
+        }
+        if (slotMinutes <= 0 || slotMinutes % FacilityDayCalendar.SLOT_MINUTES != 0 || (24 * 60) % slotMinutes != 0) {
+            throw new BadRequestException("Slot size must be a multiple of "
+                    + FacilityDayCalendar.SLOT_MINUTES + " minutes that divides a day");
+        }
+
+        Map<LocalDate, Map<String, FacilityDayCalendar>> byDate = new HashMap<>();
+        for (BookedSlotView slot : bookingRepository.findActiveSlotsBetween(from, to)) {
+            if (slot.startTime() == null || slot.endTime() == null) {
+                continue;
+            }
+            byDate.computeIfAbsent(slot.date(), date -> new HashMap<>())
+                    .computeIfAbsent(slot.facilityId(), id -> FacilityDayCalendar.empty())
+                    .mark(slot.startTime(), slot.endTime());
+        }
+
+        int slotsPerBucket = slotMinutes / FacilityDayCalendar.SLOT_MINUTES;
+        int buckets = FacilityDayCalendar.SLOTS / slotsPerBucket;
+        List<FacilityHeatmapResponse.DayRow> days = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            int[] occupied = new int[buckets];
+            for (FacilityDayCalendar calendar : byDate.getOrDefault(date, Map.of()).values()) {
+                for (int bucket = 0; bucket < buckets; bucket++) {
+                    if (calendar.anyInSlots(bucket * slotsPerBucket, (bucket + 1) * slotsPerBucket)) {
+                        occupied[bucket]++;
+                    }
+                }
+            }
+            days.add(new FacilityHeatmapResponse.DayRow(date, date.getDayOfWeek().name(), occupied));
+        }
+        return new FacilityHeatmapResponse(from, to, slotMinutes,
+                facilityRepository.countByStatus(Facility.Status.ACTIVE), days);
+    }
+
+    private Map<String, FacilitySchedule> loadFacilities(LocalDate date, Facility.FacilityType type, int minCapacity) {
+        String dayOfWeek = date.getDayOfWeek().name();
+        Map<String, FacilitySchedule> facilities = new LinkedHashMap<>();
+        for (FacilityWindowView row : facilityRepository.findAvailabilityWindows(Facility.Status.ACTIVE, type, minCapacity)) {
+            FacilitySchedule schedule = facilities.computeIfAbsent(row.facilityId(), id -> new FacilitySchedule(row));
+            if (row.dayOfWeek() == null) {
+                continue;
+            }
+            schedule.hasWindows = true;
+            if (dayOfWeek.equalsIgnoreCase(row.dayOfWeek().trim())) {
+                schedule.open.markWindow(row.startTime(), row.endTime());
+            }
+        }
+        return facilities;
+    }
+
+    private static Facility.FacilityType parseType(String type) {
+        if (type == null || type.isBlank()) {
+            return null;
+        }
+        try {
+            return Facility.FacilityType.valueOf(type.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Unknown facility type: " + type);
+        }
+    }
+
+    private static String format(int secondOfDay) {
+        return secondOfDay >= END_OF_DAY ? "24:00" : LocalTime.ofSecondOfDay(secondOfDay).toString();
+    }
+
+    private static final class FacilitySchedule {
+
+        private final FacilityWindowView facility;
+        private final FacilityDayCalendar open = FacilityDayCalendar.empty();
+        private final FacilityDayCalendar booked = FacilityDayCalendar.empty();
+        private boolean hasWindows;
+
+        private FacilitySchedule(FacilityWindowView facility) {
+            this.facility = facility;
+        }
+
+        private FacilityDayCalendar opening() {
+            return hasWindows ? open : FacilityDayCalendar.allDay();
+        }
+
+        private FacilityAvailabilityResponse toResponse(List<int[]> free, int rangeStart, int rangeEnd,
+                                                        boolean wholeRangeFree) {
+            List<FacilityAvailabilityResponse.FreeSlot> slots = new ArrayList<>(free.size());
+            int freeMinutes = 0;
+            for (int[] interval : free) {
+                int start = Math.max(interval[0], rangeStart);
+                int end = Math.min(interval[1], rangeEnd);
+                int minutes = (end - start) / 60;
+                freeMinutes += minutes;
+                slots.add(new FacilityAvailabilityResponse.FreeSlot(format(start), format(end), minutes));
+            }
+            return new FacilityAvailabilityResponse(
+                    facility.facilityId(),
+                    facility.name(),
+                    facility.type(),
+                    facility.capacity(),
+                    facility.location(),
+                    facility.building(),
+                    wholeRangeFree,
+                    freeMinutes,
+                    slots);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.smartcampus.service;
+
+import com.smartcampus.model.Facility;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One facility-day as a 288-bit bitmap of 5-minute slots, stored in five {@code long} words.
+ *
+ * Intervals are mapped to the slots they touch (start rounded down, end rounded up), so a calendar built from
+ * bookings is a superset of the booked time and one built from opening hours never rejects a booking that fits
+ * inside a window. Containment, overlap and free-slot questions become word-wise AND/OR/ANDNOT.
+ *
+ * Instances are mutable through {@link #mark}; the set operations return new calendars.
+ */
+public final class FacilityDayCalendar {
+
+    public static final int SLOT_MINUTES = 5;
+    public static final int SLOTS = 24 * 60 / SLOT_MINUTES;
+
+    private static final int SLOT_SECONDS = SLOT_MINUTES * 60;
+    private static final int END_OF_DAY = 24 * 60 * 60;
+    private static final int WORDS = (SLOTS + 63) / 64;
+
+    private final long[] words;
+
+    private FacilityDayCalendar(long[] words) {
+        this.words = words;
+    }
+
+    public static FacilityDayCalendar empty() {
+        return new FacilityDayCalendar(new long[WORDS]);
+    }
+
+    public static FacilityDayCalendar allDay() {
+        return empty().markSlots(0, SLOTS);
+    }
+
+    /** Slots covered by {@code [startSecond, endSecond)} of the day. */
+    public static FacilityDayCalendar range(int startSecond, int endSecond) {
+        return empty().mark(startSecond, endSecond);
+    }
+
+    public static FacilityDayCalendar range(LocalTime startTime, LocalTime endTime) {
+        return range(startTime.toSecondOfDay(), endTime.toSecondOfDay());
+    }
+
+    /**
+     * Opening hours of a facility on the given weekday. Facilities without any availability windows are
+     * open all day; facilities with windows on other weekdays only are closed.
+     */
+    public static FacilityDayCalendar openingHours(List<Facility.AvailabilityWindow> windows, DayOfWeek dayOfWeek) {
+        if (windows == null || windows.isEmpty()) {
+            return allDay();
+        }
+        FacilityDayCalendar calendar = empty();
+        for (Facility.AvailabilityWindow window : windows) {
+            if (window.getDayOfWeek() != null && dayOfWeek.name().equalsIgnoreCase(window.getDayOfWeek().trim())) {
+                calendar.markWindow(window.getStartTime(), window.getEndTime());
+            }
+        }
+        return calendar;
+    }
+
+    public FacilityDayCalendar mark(int startSecond, int endSecond) {
+        int from = Math.max(0, startSecond) / SLOT_SECONDS;
+        int to = (Math.min(END_OF_DAY, endSecond) + SLOT_SECONDS - 1) / SLOT_SECONDS;
+        return markSlots(from, to);
+    }
+
+    public FacilityDayCalendar mark(LocalTime startTime, LocalTime endTime) {
+        return mark(startTime.toSecondOfDay(), endTime.toSecondOfDay());
+    }
+
+    /** Marks an availability window given as {@code "HH:mm"} strings; unparseable bounds default to the day edges. */
+    public FacilityDayCalendar markWindow(String startTime, String endTime) {
+        return mark(parseWindowTime(startTime, 0), parseWindowTime(endTime, END_OF_DAY));
+    }
+
+    public FacilityDayCalendar and(FacilityDayCalendar other) {
+        long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = words[i] & other.words[i];
+        }
+        return new FacilityDayCalendar(result);
+    }
+
+    public FacilityDayCalendar or(FacilityDayCalendar other) {
+        long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = words[i] | other.words[i];
+        }
+        return new FacilityDayCalendar(result);
+    }
+
+    public FacilityDayCalendar andNot(FacilityDayCalendar other) {
+        long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = words[i] & ~other.words[i];
+        }
+        return new FacilityDayCalendar(result);
+    }
+
+    /** True if every slot set in {@code other} is also set here. */
+    public boolean covers(FacilityDayCalendar other) {
+        for (int i = 0; i < WORDS; i++) {
+            if ((other.words[i] & ~words[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean intersects(FacilityDayCalendar other) {
+        for (int i = 0; i < WORDS; i++) {
+            if ((words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** True if any slot in {@code [fromSlot, toSlot)} is set. */
+    public boolean anyInSlots(int fromSlot, int toSlot) {
+        if (fromSlot >= toSlot) {
+            return false;
+        }
+        for (int word = fromSlot >>> 6; word <= (toSlot - 1) >>> 6 && word < WORDS; word++) {
+            if ((words[word] & maskFor(word, fromSlot, toSlot)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /** Maximal runs of set slots as {@code [startSecond, endSecond)} pairs, in order. */
+    public List<int[]> ranges() {
+        List<int[]> ranges = new ArrayList<>();
+        int slot = nextSet(0);
+        while (slot < SLOTS) {
+            int end = nextClear(slot);
+            ranges.add(new int[]{slot * SLOT_SECONDS, end * SLOT_SECONDS});
+            slot = nextSet(end);
+        }
+        return ranges;
+    }
+
+    private FacilityDayCalendar markSlots(int fromSlot, int toSlot) {
+        int from = Math.max(0, fromSlot);
+        int to = Math.min(SLOTS, toSlot);
+        for (int word = from >>> 6; from < to && word <= (to - 1) >>> 6; word++) {
+            words[word] |= maskFor(word, from, to);
+        }
+        return this;
+    }
+
+    private int nextSet(int fromSlot) {
+        int word = fromSlot >>> 6;
+        if (word >= WORDS) {
+            return SLOTS;
+        }
+        long bits = words[word] & (-1L << fromSlot);
+        while (bits == 0) {
+            if (++word == WORDS) {
+                return SLOTS;
+            }
+            bits = words[word];
+        }
+        return Math.min(SLOTS, (word << 6) + Long.numberOfTrailingZeros(bits));
+    }
+
+    private int nextClear(int fromSlot) {
+        int word = fromSlot >>> 6;
+        if (word >= WORDS) {
+            return SLOTS;
+        }
+        long bits = ~words[word] & (-1L << fromSlot);
+        while (bits == 0) {
+            if (++word == WORDS) {
+                return SLOTS;
+            }
+            bits = ~words[word];
+        }
+        return Math.min(SLOTS, (word << 6) + Long.numberOfTrailingZeros(bits));
+    }
+
+    /** Bits of {@code word} that fall inside {@code [fromSlot, toSlot)}. */
+    private static long maskFor(int word, int fromSlot, int toSlot) {
+        int low = Math.max(fromSlot - (word << 6), 0);
+        int high = Math.min(toSlot - (word << 6), 64);
+        if (low >= high) {
+            return 0L;
+        }
+        long mask = -1L << low;
+        return high == 64 ? mask : mask & ((1L << high) - 1);
+    }
+
+    static int parseWindowTime(String value, int fallback) {
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        String trimmed = value.trim();
+        if (trimmed.startsWith("24:00")) {
+            return END_OF_DAY;
+        }
+        try {
+            return LocalTime.parse(trimmed).toSecondOfDay();
+        } catch (DateTimeParseException ex) {
+            return fallback;
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof FacilityDayCalendar calendar && Arrays.equals(words, calendar.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+}
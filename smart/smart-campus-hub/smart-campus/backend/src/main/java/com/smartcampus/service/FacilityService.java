@@ -1,5 +1,6 @@
 package com.smartcampus.service;
 
+import com.smartcampus.dto.FacilitySummary;
 import com.smartcampus.exception.ResourceNotFoundException;
 import com.smartcampus.model.Facility;
 import com.smartcampus.repository.FacilityRepository;
@@ -56,6 +57,12 @@ public class FacilityService {
         return facilityRepository.findAll();
     }
 
+    public List<FacilitySummary> getFacilitySummaries(String type, String status) {
+        return facilityRepository.findSummaries(
+                type != null ? Facility.FacilityType.valueOf(type) : null,
+                status != null ? Facility.Status.valueOf(status) : null);
+    }
+
     public List<Facility> searchFacilities(String type, String location, Integer minCapacity, String status) {
         if (type != null && status != null) {
             return facilityRepository.findByTypeAndStatus(
@@ -0,0 +1,206 @@
+package com.smartcampus.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Precompiled Aho–Corasick automaton over a fixed set of weighted keywords, each tagged with a signal of
+ * type {@code S}. One left-to-right pass over the text finds every keyword occurrence and sums the weights
+ * per signal.
+ *
+ * Matching is case-insensitive and word-bounded: a keyword only counts if it is not directly preceded or
+ * followed by a letter or digit, so {@code "ac"} does not match inside {@code "access"}. A trailing {@code *}
+ * turns a keyword into a prefix ({@code "leak*"} matches {@code "leak"}, {@code "leaking"} and {@code "leaks"}).
+ *
+ * Keywords are limited to ASCII; the automaton is a dense transition table over the characters that actually
+ * occur in them, and any other character sends it back to the root. Instances are immutable and thread-safe.
+ */
+public final class KeywordMatcher<S extends Enum<S>> {
+
+    private static final int ASCII = 128;
+
+    private final int signalCount;
+    private final int alphabetSize;
+    private final int[] charClass;
+    private final int[] transitions;
+    private final int[][] outputs;
+    private final int[] keywordLength;
+    private final boolean[] keywordPrefix;
+    private final int[] keywordSignal;
+    private final int[] keywordWeight;
+
+    private KeywordMatcher(int signalCount, int alphabetSize, int[] charClass, int[] transitions, int[][] outputs,
+                           int[] keywordLength, boolean[] keywordPrefix, int[] keywordSignal, int[] keywordWeight) {
+        this.signalCount = signalCount;
+        this.alphabetSize = alphabetSize;
+        this.charClass = charClass;
+        this.transitions = transitions;
+        this.outputs = outputs;
+        this.keywordLength = keywordLength;
+        this.keywordPrefix = keywordPrefix;
+        this.keywordSignal = keywordSignal;
+        this.keywordWeight = keywordWeight;
+    }
+
+    public static <S extends Enum<S>> Builder<S> builder(Class<S> signalType) {
+        return new Builder<>(signalType);
+    }
+
+    /**
+     * Summed keyword weights per signal, indexed by {@link Enum#ordinal()}. The parts are scanned as if joined
+     * by a space, so a keyword never spans two parts.
+     */
+    public int[] score(String... parts) {
+        int[] scores = new int[signalCount];
+        for (String part : parts) {
+            if (part != null) {
+                scan(part, scores);
+            }
+        }
+        return scores;
+    }
+
+    private void scan(String text, int[] scores) {
+        int state = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char ch = text.charAt(i);
+            int cls = ch < ASCII ? charClass[ch] : -1;
+            state = cls < 0 ? 0 : transitions[state * alphabetSize + cls];
+            for (int keyword : outputs[state]) {
+                int start = i - keywordLength[keyword] + 1;
+                if (start > 0 && isWordChar(text.charAt(start - 1))) {
+                    continue;
+                }
+                if (!keywordPrefix[keyword] && i + 1 < length && isWordChar(text.charAt(i + 1))) {
+                    continue;
+                }
+                scores[keywordSignal[keyword]] += keywordWeight[keyword];
+            }
+        }
+    }
+
+    private static boolean isWordChar(char ch) {
+        return Character.isLetterOrDigit(ch);
+    }
+
+    public static final class Builder<S extends Enum<S>> {
+
+        private final Class<S> signalType;
+        private final List<String> terms = new ArrayList<>();
+        private final List<Boolean> prefixes = new ArrayList<>();
+        private final List<Integer> signals = new ArrayList<>();
+        private final List<Integer> weights = new ArrayList<>();
+
+        private Builder(Class<S> signalType) {
+            this.signalType = signalType;
+        }
+
+        public Builder<S> add(S signal, int weight, String... keywords) {
+            for (String keyword : keywords) {
+                String term = keyword.trim().toLowerCase(Locale.ROOT);
+                boolean prefix = term.endsWith("*");
+                if (prefix) {
+                    term = term.substring(0, term.length() - 1);
+                }
+                if (term.isEmpty() || !term.chars().allMatch(ch -> ch < ASCII)) {
+                    throw new IllegalArgumentException("Keywords must be non-empty ASCII: " + keyword);
+                }
+                terms.add(term);
+                prefixes.add(prefix);
+                signals.add(signal.ordinal());
+                weights.add(weight);
+            }
+            return this;
+        }
+
+        public KeywordMatcher<S> build() {
+            int[] charClass = new int[ASCII];
+            Arrays.fill(charClass, -1);
+            int alphabetSize = 0;
+            for (String term : terms) {
+                for (int i = 0; i < term.length(); i++) {
+                    char ch = term.charAt(i);
+                    if (charClass[ch] < 0) {
+                        charClass[ch] = alphabetSize++;
+                    }
+                }
+            }
+            // Fold case into the class table so the scan never has to lowercase the text.
+            for (char ch = 'A'; ch <= 'Z'; ch++) {
+                charClass[ch] = charClass[Character.toLowerCase(ch)];
+            }
+
+            // Trie with explicit children; -1 marks a missing edge until failure links fill it in.
+            List<int[]> children = new ArrayList<>();
+            List<List<Integer>> nodeOutputs = new ArrayList<>();
+            children.add(newRow(alphabetSize));
+            nodeOutputs.add(new ArrayList<>());
+            for (int keyword = 0; keyword < terms.size(); keyword++) {
+                String term = terms.get(keyword);
+                int node = 0;
+                for (int i = 0; i < term.length(); i++) {
+                    int cls = charClass[term.charAt(i)];
+                    if (children.get(node)[cls] < 0) {
+                        children.get(node)[cls] = children.size();
+                        children.add(newRow(alphabetSize));
+                        nodeOutputs.add(new ArrayList<>());
+                    }
+                    node = children.get(node)[cls];
+                }
+                nodeOutputs.get(node).add(keyword);
+            }
+
+            int states = children.size();
+            int[] transitions = new int[states * alphabetSize];
+            int[] fail = new int[states];
+            Deque<Integer> queue = new ArrayDeque<>();
+            for (int cls = 0; cls < alphabetSize; cls++) {
+                int child = children.get(0)[cls];
+                transitions[cls] = Math.max(child, 0);
+                if (child > 0) {
+                    queue.add(child);
+                }
+            }
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                nodeOutputs.get(node).addAll(nodeOutputs.get(fail[node]));
+                for (int cls = 0; cls < alphabetSize; cls++) {
+                    int child = children.get(node)[cls];
+                    int fallback = transitions[fail[node] * alphabetSize + cls];
+                    if (child < 0) {
+                        transitions[node * alphabetSize + cls] = fallback;
+                    } else {
+                        transitions[node * alphabetSize + cls] = child;
+                        fail[child] = fallback;
+                        queue.add(child);
+                    }
+                }
+            }
+
+            int[][] outputs = new int[states][];
+            for (int state = 0; state < states; state++) {
+                outputs[state] = nodeOutputs.get(state).stream().mapToInt(Integer::intValue).toArray();
+            }
+            int[] keywordLength = terms.stream().mapToInt(String::length).toArray();
+            boolean[] keywordPrefix = new boolean[terms.size()];
+            for (int i = 0; i < keywordPrefix.length; i++) {
+                keywordPrefix[i] = prefixes.get(i);
+            }
+            return new KeywordMatcher<>(signalType.getEnumConstants().length, alphabetSize, charClass, transitions,
+                    outputs, keywordLength, keywordPrefix,
+                    signals.stream().mapToInt(Integer::intValue).toArray(),
+                    weights.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        private static int[] newRow(int alphabetSize) {
+            int[] row = new int[alphabetSize];
+            Arrays.fill(row, -1);
+            return row;
+        }
+    }
+}
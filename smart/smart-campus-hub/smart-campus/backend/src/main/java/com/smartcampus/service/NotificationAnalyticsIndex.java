@@ -0,0 +1,227 @@
+package com.smartcampus.service;
+
+import com.smartcampus.dto.NotificationAnalyticsResponse;
+import com.smartcampus.dto.NotificationCountView;
+import com.smartcampus.dto.NotificationStatView;
+import com.smartcampus.model.Notification;
+import com.smartcampus.model.User;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Running counters behind the notification analytics dashboard: totals, unread count, and counts per user, per
+ * type, per hour of day and per calendar day.
+ *
+ * Every change is a constant number of counter updates plus an {@code O(log n)} re-sort of one user in a
+ * {@link TreeSet} ordered by count, which keeps the most active users exact without scanning. A snapshot reads
+ * 24 hours, 7 days, at most one counter per type and the first {@link #TOP_K} users, so its cost does not grow
+ * with the number of notifications.
+ *
+ * Built either from {@code GROUP BY} counts (see {@link NotificationAnalyticsService#rebuild()}) or entry by
+ * entry; day counts older than a rebuild's {@code since} are not loaded, as the dashboard only shows the last
+ * week. Not persistent.
+ */
+final class NotificationAnalyticsIndex {
+
+    static final int TOP_K = 6;
+    static final int RECENT_DAYS = 7;
+
+    private static final Comparator<UserCount> BY_COUNT = Comparator
+            .comparingLong(UserCount::count).reversed()
+            .thenComparing(UserCount::userId);
+
+    private long total;
+    private long unread;
+    private final long[] hourly = new long[24];
+    private final TreeMap<LocalDate, Long> daily = new TreeMap<>();
+    private final EnumMap<Notification.NotificationType, Long> byType = new EnumMap<>(Notification.NotificationType.class);
+    private final Map<String, Long> byUser = new HashMap<>();
+    private final TreeSet<UserCount> usersByCount = new TreeSet<>(BY_COUNT);
+
+    NotificationAnalyticsIndex() {
+    }
+
+    NotificationAnalyticsIndex(long total, long unread, List<NotificationCountView> byUser,
+                               List<NotificationCountView> byType, List<NotificationCountView> byHour,
+                               List<NotificationCountView> byDay) {
+        this.total = total;
+        this.unread = unread;
+        for (NotificationCountView row : byUser) {
+            this.byUser.put((String) row.key(), row.count());
+            usersByCount.add(new UserCount((String) row.key(), row.count()));
+        }
+        for (NotificationCountView row : byType) {
+            this.byType.put((Notification.NotificationType) row.key(), row.count());
+        }
+        for (NotificationCountView row : byHour) {
+            hourly[((Number) row.key()).intValue()] = row.count();
+        }
+        for (NotificationCountView row : byDay) {
+            daily.put((LocalDate) row.key(), row.count());
+        }
+    }
+
+    synchronized void add(NotificationStatView entry) {
+        apply(entry, 1);
+    }
+
+    synchronized void remove(NotificationStatView entry) {
+        apply(entry, -1);
+    }
+
+    /** {@code count} unread notifications were marked read. */
+    synchronized void markRead(long count) {
+        unread = Math.max(0, unread - count);
+    }
+
+    NotificationAnalyticsResponse snapshot(LocalDate today, Function<List<String>, Map<String, User>> users) {
+        long totalNotifications;
+        long unreadNotifications;
+        long uniqueRecipients;
+        long[] hours;
+        List<UserCount> topUsers = new ArrayList<>(TOP_K);
+        Map<Notification.NotificationType, Long> types;
+        Map<LocalDate, Long> recentCounts;
+        synchronized (this) {
+            totalNotifications = total;
+            unreadNotifications = unread;
+            uniqueRecipients = byUser.size();
+            hours = hourly.clone();
+            for (UserCount user : usersByCount) {
+                if (topUsers.size() == TOP_K) {
+                    break;
+                }
+                topUsers.add(user);
+            }
+            types = new EnumMap<>(byType);
+            recentCounts = new HashMap<>(daily.subMap(today.minusDays(RECENT_DAYS - 1), true, today, true));
+        }
+
+        Map<String, User> usersById = topUsers.isEmpty()
+                ? Map.of()
+                : users.apply(topUsers.stream().map(UserCount::userId).toList());
+        List<NotificationAnalyticsResponse.ActiveUserMetric> mostActiveUsers = topUsers.stream()
+                .map(entry -> {
+                    User user = usersById.get(entry.userId());
+                    String name = user != null && user.getName() != null && !user.getName().isBlank()
+                            ? user.getName()
+                            : "Unknown User";
+                    String email = user != null && user.getEmail() != null && !user.getEmail().isBlank()
+                            ? user.getEmail()
+                            : "No email available";
+                    return new NotificationAnalyticsResponse.ActiveUserMetric(
+                            entry.userId(),
+                            name,
+                            email,
+                            entry.count(),
+                            roundToOneDecimal(totalNotifications == 0 ? 0 : (entry.count() * 100.0) / totalNotifications)
+                    );
+                })
+                .toList();
+
+        List<NotificationAnalyticsResponse.EventMetric> mostTriggeredEvents = types.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey().name(), entry.getValue()))
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(TOP_K)
+                .map(entry -> new NotificationAnalyticsResponse.EventMetric(
+                        entry.getKey(),
+                        humanizeNotificationType(entry.getKey()),
+                        entry.getValue(),
+                        roundToOneDecimal(totalNotifications == 0 ? 0 : (entry.getValue() * 100.0) / totalNotifications)
+                ))
+                .toList();
+
+        List<NotificationAnalyticsResponse.HourlyMetric> peakNotificationTimes = IntStream.range(0, 24)
+                .mapToObj(hour -> new NotificationAnalyticsResponse.HourlyMetric(hour, formatHourLabel(hour), hours[hour]))
+                .toList();
+
+        NotificationAnalyticsResponse.HourlyMetric busiestHour = peakNotificationTimes.stream()
+                .max(Comparator.comparingLong(NotificationAnalyticsResponse.HourlyMetric::count))
+                .orElse(new NotificationAnalyticsResponse.HourlyMetric(0, "No activity", 0));
+
+        List<NotificationAnalyticsResponse.DailyMetric> recentVolume = IntStream.range(0, RECENT_DAYS)
+                .mapToObj(offset -> today.minusDays(RECENT_DAYS - 1L - offset))
+                .map(date -> new NotificationAnalyticsResponse.DailyMetric(
+                        date.toString(),
+                        date.format(DateTimeFormatter.ofPattern("MMM d")),
+                        recentCounts.getOrDefault(date, 0L)
+                ))
+                .toList();
+
+        return new NotificationAnalyticsResponse(
+                totalNotifications,
+                unreadNotifications,
+                roundToOneDecimal(totalNotifications == 0 ? 0 : ((totalNotifications - unreadNotifications) * 100.0) / totalNotifications),
+                uniqueRecipients,
+                totalNotifications == 0 ? "No activity" : busiestHour.label(),
+                busiestHour.count(),
+                mostActiveUsers,
+                mostTriggeredEvents,
+                peakNotificationTimes,
+                recentVolume
+        );
+    }
+
+    private void apply(NotificationStatView entry, int sign) {
+        total += sign;
+        if (!entry.read()) {
+            unread += sign;
+        }
+        if (entry.userId() != null) {
+            long previous = byUser.getOrDefault(entry.userId(), 0L);
+            long next = previous + sign;
+            usersByCount.remove(new UserCount(entry.userId(), previous));
+            if (next > 0) {
+                byUser.put(entry.userId(), next);
+                usersByCount.add(new UserCount(entry.userId(), next));
+            } else {
+                byUser.remove(entry.userId());
+            }
+        }
+        if (entry.type() != null) {
+            byType.merge(entry.type(), (long) sign, Long::sum);
+            if (byType.get(entry.type()) <= 0) {
+                byType.remove(entry.type());
+            }
+        }
+        if (entry.createdAt() != null) {
+            hourly[entry.createdAt().getHour()] += sign;
+            LocalDate day = entry.createdAt().toLocalDate();
+            daily.merge(day, (long) sign, Long::sum);
+            if (daily.get(day) <= 0) {
+                daily.remove(day);
+            }
+        }
+    }
+
+    static String humanizeNotificationType(String typeName) {
+        return List.of(typeName.split("_")).stream()
+                .map(part -> part.substring(0, 1) + part.substring(1).toLowerCase())
+                .collect(Collectors.joining(" "));
+    }
+
+    static String formatHourLabel(int hour) {
+        int displayHour = hour % 12 == 0 ? 12 : hour % 12;
+        String meridiem = hour < 12 ? "AM" : "PM";
+        return displayHour + ":00 " + meridiem;
+    }
+
+    private static double roundToOneDecimal(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+
+    private record UserCount(String userId, long count) {
+    }
+}
@@ -0,0 +1,132 @@
+package com.smartcampus.service;
+
+import com.smartcampus.dto.NotificationAnalyticsResponse;
+import com.smartcampus.dto.NotificationStatView;
+import com.smartcampus.model.Notification;
+import com.smartcampus.model.User;
+import com.smartcampus.repository.NotificationRepository;
+import com.smartcampus.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Serves the notification analytics dashboard from a {@link NotificationAnalyticsIndex} instead of loading every
+ * notification and user per request.
+ *
+ * The index is built lazily from {@code GROUP BY} counts and then kept current by the code that changes
+ * notifications: {@link NotificationOutboxWorker} reports stored and merged notifications after their
+ * transaction commits, and {@link NotificationService} reports reads and deletes. A scheduled rebuild every
+ * {@code rebuild-ms} picks up changes made on other nodes or outside the services, and corrects any update
+ * that raced with the previous rebuild.
+ */
+@Service
+public class NotificationAnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationAnalyticsService.class);
+
+    private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+    private final boolean enabled;
+
+    private volatile NotificationAnalyticsIndex index;
+
+    public NotificationAnalyticsService(NotificationRepository notificationRepository, UserRepository userRepository,
+                                        @Value("${app.notification.analytics.rebuild-enabled:true}") boolean enabled) {
+        this.notificationRepository = notificationRepository;
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+    }
+
+    public NotificationAnalyticsResponse snapshot() {
+        return index().snapshot(LocalDate.now(), ids -> userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity(), (left, right) -> left)));
+    }
+
+    @Scheduled(fixedDelayString = "${app.notification.analytics.rebuild-ms:3600000}",
+               initialDelayString = "${app.notification.analytics.rebuild-ms:3600000}")
+    public void scheduledRebuild() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException ex) {
+            log.error("Notification analytics rebuild failed", ex);
+        }
+    }
+
+    /** Recounts everything with a handful of aggregate queries and swaps in the new index. */
+    public synchronized void rebuild() {
+        long startedAt = System.nanoTime();
+        NotificationAnalyticsIndex rebuilt = new NotificationAnalyticsIndex(
+                notificationRepository.count(),
+                notificationRepository.countByReadFalse(),
+                notificationRepository.countByUser(),
+                notificationRepository.countByType(),
+                notificationRepository.countByHour(),
+                notificationRepository.countByDaySince(
+                        LocalDate.now().minusDays(NotificationAnalyticsIndex.RECENT_DAYS).atStartOfDay()));
+        index = rebuilt;
+        log.debug("Notification analytics rebuilt in {} ms", (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    public void recordCreated(Collection<Notification> notifications) {
+        NotificationAnalyticsIndex current = index;
+        if (current != null) {
+            notifications.forEach(notification -> current.add(NotificationStatView.of(notification)));
+        }
+    }
+
+    /** A stored notification changed in place, e.g. a coalesced event moved its type and timestamp. */
+    void recordReplaced(NotificationStatView before, Notification after) {
+        NotificationAnalyticsIndex current = index;
+        if (current != null) {
+            current.remove(before);
+            current.add(NotificationStatView.of(after));
+        }
+    }
+
+    public void recordRead(long count) {
+        NotificationAnalyticsIndex current = index;
+        if (current != null && count > 0) {
+            current.markRead(count);
+        }
+    }
+
+    public void recordDeleted(Notification notification) {
+        NotificationAnalyticsIndex current = index;
+        if (current != null) {
+            current.remove(NotificationStatView.of(notification));
+        }
+    }
+
+    /** Rows removed by a bulk {@code DELETE}, as loaded just before it ran. */
+    public void recordDeleted(List<NotificationStatView> deleted) {
+        NotificationAnalyticsIndex current = index;
+        if (current != null) {
+            deleted.forEach(current::remove);
+        }
+    }
+
+    private NotificationAnalyticsIndex index() {
+        NotificationAnalyticsIndex current = index;
+        if (current == null) {
+            synchronized (this) {
+                if (index == null) {
+                    rebuild();
+                }
+                current = index;
+            }
+        }
+        return current;
+    }
+}
@@ -0,0 +1,172 @@
+package com.smartcampus.service;
+
+import com.smartcampus.model.EmailMessage;
+import com.smartcampus.model.Notification;
+import com.smartcampus.model.User;
+import com.smartcampus.repository.EmailMessageRepository;
+import com.smartcampus.repository.NotificationRepository;
+import com.smartcampus.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Email digests for users who chose {@link User.EmailDigest#HOURLY} or {@link User.EmailDigest#DAILY} instead
+ * of one email per notification.
+ *
+ * Each tick finds the users whose last digest predates the current period (the top of the hour, or
+ * {@code daily-hour} o'clock), loads their unread notifications since then in one query per page of users, and
+ * queues one summary email each through {@link NotificationMailer#compose}, so digests get the same DND deferral,
+ * batching and retries as any other email. A user's {@code lastDigestAt} is stamped in the same transaction as
+ * the email by a conditional update, so two nodes never send the same digest twice. Users with nothing unread
+ * are stamped without an email.
+ */
+@Component
+public class NotificationDigestService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationDigestService.class);
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("MMM d, HH:mm");
+
+    private final UserRepository userRepository;
+    private final NotificationRepository notificationRepository;
+    private final EmailMessageRepository emailMessageRepository;
+    private final NotificationMailer notificationMailer;
+    private final TransactionTemplate transaction;
+    private final boolean enabled;
+    private final int dailyHour;
+    private final int batchSize;
+    private final int maxItems;
+
+    public NotificationDigestService(UserRepository userRepository,
+                                     NotificationRepository notificationRepository,
+                                     EmailMessageRepository emailMessageRepository,
+                                     NotificationMailer notificationMailer,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${app.notification.digest.enabled:true}") boolean enabled,
+                                     @Value("${app.notification.digest.daily-hour:7}") int dailyHour,
+                                     @Value("${app.notification.digest.batch-size:100}") int batchSize,
+                                     @Value("${app.notification.digest.max-items:20}") int maxItems) {
+        this.userRepository = userRepository;
+        this.notificationRepository = notificationRepository;
+        this.emailMessageRepository = emailMessageRepository;
+        this.notificationMailer = notificationMailer;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.dailyHour = Math.floorMod(dailyHour, 24);
+        this.batchSize = batchSize;
+        this.maxItems = maxItems;
+    }
+
+    @Scheduled(fixedDelayString = "${app.notification.digest.poll-ms:60000}",
+               initialDelayString = "${app.notification.digest.poll-ms:60000}")
+    public void tick() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            run(LocalDateTime.now());
+        } catch (RuntimeException ex) {
+            log.error("Notification digest tick failed", ex);
+        }
+    }
+
+    /** Queues the digests that are due at {@code now}. Returns the number of digest emails queued. */
+    public synchronized int run(LocalDateTime now) {
+        return run(User.EmailDigest.HOURLY, now) + run(User.EmailDigest.DAILY, now);
+    }
+
+    private int run(User.EmailDigest digest, LocalDateTime now) {
+        LocalDateTime cutoff = periodStart(digest, now);
+        LocalDateTime earliest = digest == User.EmailDigest.HOURLY ? cutoff.minusHours(1) : cutoff.minusDays(1);
+        int queued = 0;
+        while (true) {
+            List<User> due = userRepository.findDigestDue(digest, cutoff, PageRequest.of(0, batchSize));
+            if (due.isEmpty()) {
+                return queued;
+            }
+            Integer sent = transaction.execute(status -> queue(digest, due, cutoff, earliest, now));
+            queued += sent == null ? 0 : sent;
+        }
+    }
+
+    private int queue(User.EmailDigest digest, List<User> due, LocalDateTime cutoff, LocalDateTime earliest,
+                      LocalDateTime now) {
+        LocalDateTime oldest = due.stream()
+                .map(user -> since(user, earliest))
+                .min(LocalDateTime::compareTo)
+                .orElse(earliest);
+        Map<String, List<Notification>> unread = notificationRepository.findUnreadSince(
+                        due.stream().map(User::getId).toList(), oldest)
+                .stream()
+                .collect(Collectors.groupingBy(Notification::getUserId));
+
+        List<EmailMessage> emails = new ArrayList<>();
+        for (User user : due) {
+            if (userRepository.claimDigest(user.getId(), cutoff, now) == 0) {
+                continue;
+            }
+            LocalDateTime since = since(user, earliest);
+            List<Notification> items = unread.getOrDefault(user.getId(), List.of()).stream()
+                    .filter(notification -> notification.getCreatedAt().isAfter(since))
+                    .toList();
+            if (items.isEmpty()) {
+                continue;
+            }
+            EmailMessage email = notificationMailer.compose(user, title(digest, items.size()), body(items), now);
+            if (email != null) {
+                emails.add(email);
+            }
+        }
+        emailMessageRepository.saveAll(emails);
+        return emails.size();
+    }
+
+    /** Start of the digest period containing {@code now}; a digest is due once per period. */
+    LocalDateTime periodStart(User.EmailDigest digest, LocalDateTime now) {
+        if (digest == User.EmailDigest.HOURLY) {
+            return now.truncatedTo(ChronoUnit.HOURS);
+        }
+        LocalDateTime today = now.toLocalDate().atTime(dailyHour, 0);
+        return now.isBefore(today) ? today.minusDays(1) : today;
+    }
+
+    private static LocalDateTime since(User user, LocalDateTime earliest) {
+        LocalDateTime last = user.getLastDigestAt();
+        return last == null || last.isBefore(earliest) ? earliest : last;
+    }
+
+    private static String title(User.EmailDigest digest, int count) {
+        String period = digest == User.EmailDigest.HOURLY ? "Hourly" : "Daily";
+        return period + " digest: " + count + (count == 1 ? " unread notification" : " unread notifications");
+    }
+
+    private String body(List<Notification> items) {
+        StringBuilder body = new StringBuilder("Here is what happened since your last digest:\n");
+        items.stream().limit(maxItems).forEach(notification -> {
+            body.append("\n- ").append(notification.getCreatedAt().format(TIME)).append("  ").append(notification.getTitle());
+            if (notification.getMergedCount() > 0) {
+                body.append(" (+").append(notification.getMergedCount()).append(" more updates)");
+            }
+            if (notification.getMessage() != null && !notification.getMessage().isBlank()) {
+                body.append("\n  ").append(notification.getMessage().strip().replace("\n", "\n  "));
+            }
+        });
+        if (items.size() > maxItems) {
+            body.append("\n\n...and ").append(items.size() - maxItems).append(" more in the app.");
+        }
+        return body.toString();
+    }
+}
@@ -0,0 +1,264 @@
+package com.smartcampus.service;
+
+import com.smartcampus.dto.EmailQueueStats;
+import com.smartcampus.model.EmailMessage;
+import com.smartcampus.model.User;
+import com.smartcampus.repository.EmailMessageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persistent email queue for notifications.
+ *
+ * {@link #compose} turns a delivered notification into an {@link EmailMessage} row, which
+ * {@link NotificationOutboxWorker} stores in the same transaction as the notification. A recipient inside their
+ * DND window gets the row held back until the window ends instead of losing the email.
+ *
+ * The dispatcher claims ready rows in batches and hands each batch to a single
+ * {@link JavaMailSender#send(SimpleMailMessage...)} call, which sends the whole batch over one SMTP connection.
+ * Accepted messages are deleted. Rejected ones are retried with exponential backoff, capped at
+ * {@code max-backoff-seconds}, and marked {@code DEAD} after {@code max-attempts}. Throughput and
+ * enqueue-to-accept latency are tracked in memory for {@link #stats()}.
+ */
+@Component
+public class NotificationMailer {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationMailer.class);
+
+    private final EmailMessageRepository emailMessageRepository;
+    private final JavaMailSender mailSender;
+    private final String fromEmail;
+    private final String mailHost;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long leaseSeconds;
+    private final int maxAttempts;
+    private final long retryBackoffSeconds;
+    private final long maxBackoffSeconds;
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failedAttempts = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong sendNanos = new AtomicLong();
+    private final AtomicLong latencyMillisTotal = new AtomicLong();
+    private final AtomicLong maxLatencyMillis = new AtomicLong();
+
+    public NotificationMailer(EmailMessageRepository emailMessageRepository,
+                              ObjectProvider<JavaMailSender> mailSender,
+                              @Value("${spring.mail.from:noreply@smartcampus.edu}") String fromEmail,
+                              @Value("${spring.mail.host:}") String mailHost,
+                              @Value("${app.notification.mail.enabled:true}") boolean enabled,
+                              @Value("${app.notification.mail.batch-size:50}") int batchSize,
+                              @Value("${app.notification.mail.lease-seconds:120}") long leaseSeconds,
+                              @Value("${app.notification.mail.max-attempts:6}") int maxAttempts,
+                              @Value("${app.notification.mail.retry-backoff-seconds:30}") long retryBackoffSeconds,
+                              @Value("${app.notification.mail.max-backoff-seconds:3600}") long maxBackoffSeconds) {
+        this.emailMessageRepository = emailMessageRepository;
+        this.mailSender = mailSender.getIfAvailable();
+        this.fromEmail = fromEmail;
+        this.mailHost = mailHost;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.leaseSeconds = leaseSeconds;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffSeconds = retryBackoffSeconds;
+        this.maxBackoffSeconds = maxBackoffSeconds;
+    }
+
+    /**
+     * Queue row for a notification email, or {@code null} when the user has email switched off or mail is not
+     * configured. During the user's DND window the row only becomes available when the window ends.
+     */
+    public EmailMessage compose(User user, String title, String message, LocalDateTime now) {
+        if (user == null || !user.isEmailNotificationsEnabled() || user.getEmail() == null) {
+            return null;
+        }
+        if (!isConfigured()) {
+            log.debug("Email to {} skipped: mail host or JavaMailSender not configured", user.getEmail());
+            return null;
+        }
+        EmailMessage email = new EmailMessage();
+        email.setUserId(user.getId());
+        email.setRecipient(user.getEmail());
+        email.setSubject("Smart Campus Hub: " + title);
+        email.setBody("Hello " + user.getName() + ",\n\n" + message + "\n\nRegards,\nSmart Campus Operations Hub");
+        email.setAvailableAt(dndEndsAt(user, now));
+        email.setCreatedAt(now);
+        return email;
+    }
+
+    @Scheduled(fixedDelayString = "${app.notification.mail.poll-ms:2000}")
+    public void tick() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            drain(LocalDateTime.now());
+        } catch (RuntimeException ex) {
+            log.error("Email queue tick failed", ex);
+        }
+    }
+
+    /** Sends every email that is ready at {@code now}, batch by batch. Returns the number accepted by SMTP. */
+    public synchronized int drain(LocalDateTime now) {
+        if (!isConfigured()) {
+            return 0;
+        }
+        int accepted = 0;
+        while (true) {
+            List<EmailMessage> batch = claimBatch(now);
+            if (batch.isEmpty()) {
+                return accepted;
+            }
+            accepted += send(batch, now);
+        }
+    }
+
+    public EmailQueueStats stats() {
+        LocalDateTime now = LocalDateTime.now();
+        long sentCount = sent.get();
+        long nanos = sendNanos.get();
+        return new EmailQueueStats(
+                emailMessageRepository.countReady(now),
+                emailMessageRepository.countDeferred(now),
+                emailMessageRepository.countByStatus(EmailMessage.Status.DEAD),
+                sentCount,
+                failedAttempts.get(),
+                batches.get(),
+                nanos == 0 ? 0.0 : Math.round(sentCount * 1e10 / nanos) / 10.0,
+                sentCount == 0 ? 0.0 : Math.round(latencyMillisTotal.get() * 10.0 / sentCount) / 10.0,
+                maxLatencyMillis.get());
+    }
+
+    private boolean isConfigured() {
+        return mailHost != null && !mailHost.isEmpty() && mailSender != null;
+    }
+
+    private List<EmailMessage> claimBatch(LocalDateTime now) {
+        List<String> ids = emailMessageRepository.findReadyIds(now, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String token = UUID.randomUUID().toString();
+        if (emailMessageRepository.claim(ids, token, now, now.plusSeconds(leaseSeconds)) == 0) {
+            return List.of();
+        }
+        return emailMessageRepository.findByClaimTokenOrderByAvailableAtAscIdAsc(token);
+    }
+
+    private int send(List<EmailMessage> batch, LocalDateTime now) {
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < messages.length; i++) {
+            EmailMessage email = batch.get(i);
+            messages[i] = new SimpleMailMessage();
+            messages[i].setFrom(fromEmail);
+            messages[i].setTo(email.getRecipient());
+            messages[i].setSubject(email.getSubject());
+            messages[i].setText(email.getBody());
+        }
+
+        // Failed messages are matched by identity: two queued copies of the same text must not share a fate.
+        Set<Object> rejected = Collections.newSetFromMap(new IdentityHashMap<>());
+        Map<Object, Exception> failures = Map.of();
+        MailException batchFailure = null;
+        long startedAt = System.nanoTime();
+        try {
+            mailSender.send(messages);
+        } catch (MailSendException ex) {
+            failures = ex.getFailedMessages();
+            rejected.addAll(failures.keySet());
+            batchFailure = failures.isEmpty() ? ex : null;
+        } catch (MailException ex) {
+            batchFailure = ex;
+        }
+        sendNanos.addAndGet(System.nanoTime() - startedAt);
+        batches.incrementAndGet();
+
+        List<String> acceptedIds = new ArrayList<>(batch.size());
+        for (int i = 0; i < messages.length; i++) {
+            EmailMessage email = batch.get(i);
+            if (batchFailure != null || rejected.contains(messages[i])) {
+                Exception cause = batchFailure != null ? batchFailure : failures.get(messages[i]);
+                fail(email, cause, now);
+            } else {
+                acceptedIds.add(email.getId());
+                long latency = Duration.between(email.getCreatedAt(), now).toMillis();
+                latencyMillisTotal.addAndGet(latency);
+                maxLatencyMillis.accumulateAndGet(latency, Math::max);
+            }
+        }
+        if (!acceptedIds.isEmpty()) {
+            emailMessageRepository.deleteByIds(acceptedIds);
+            sent.addAndGet(acceptedIds.size());
+        }
+        return acceptedIds.size();
+    }
+
+    private void fail(EmailMessage email, Exception cause, LocalDateTime now) {
+        failedAttempts.incrementAndGet();
+        int attempts = email.getAttempts() + 1;
+        String error = cause == null || cause.getMessage() == null ? "Send failed" : cause.getMessage();
+        if (error.length() > 500) {
+            error = error.substring(0, 500);
+        }
+        if (attempts >= maxAttempts) {
+            log.error("Email {} to {} failed {} times; moving it to DEAD: {}", email.getId(), email.getRecipient(),
+                    attempts, error);
+            emailMessageRepository.release(email.getId(), EmailMessage.Status.DEAD, attempts, email.getAvailableAt(), error);
+            return;
+        }
+        long backoff = Math.min(maxBackoffSeconds, retryBackoffSeconds << Math.min(attempts - 1, 20));
+        log.warn("Email {} to {} failed (attempt {}), retrying in {} s: {}", email.getId(), email.getRecipient(),
+                attempts, backoff, error);
+        emailMessageRepository.release(email.getId(), EmailMessage.Status.PENDING, attempts, now.plusSeconds(backoff), error);
+    }
+
+    /** {@code now}, or the end of the user's DND window when {@code now} falls inside it. */
+    static LocalDateTime dndEndsAt(User user, LocalDateTime now) {
+        if (!isWithinDndWindow(user, now.toLocalTime())) {
+            return now;
+        }
+        LocalDateTime end = now.toLocalDate().atTime(LocalTime.parse(user.getDndEndTime()));
+        return end.isAfter(now) ? end : end.plusDays(1);
+    }
+
+    static boolean isWithinDndWindow(User user, LocalTime now) {
+        if (!user.isDndEnabled() || user.getDndStartTime() == null || user.getDndEndTime() == null) {
+            return false;
+        }
+        try {
+            LocalTime start = LocalTime.parse(user.getDndStartTime());
+            LocalTime end = LocalTime.parse(user.getDndEndTime());
+
+            if (start.isBefore(end)) {
+                return (now.isAfter(start) || now.equals(start)) && now.isBefore(end);
+            } else {
+                // crosses midnight e.g. 22:00 to 08:00
+                return now.isAfter(start) || now.equals(start) || now.isBefore(end);
+            }
+        } catch (Exception e) {
+            return false; // Default to non-DND mode if parsing fails
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.smartcampus.service;
+
+import com.smartcampus.dto.NotificationStatView;
+import com.smartcampus.model.EmailMessage;
+import com.smartcampus.model.Notification;
+import com.smartcampus.model.NotificationOutbox;
+import com.smartcampus.model.User;
+import com.smartcampus.repository.EmailMessageRepository;
+import com.smartcampus.repository.NotificationOutboxRepository;
+import com.smartcampus.repository.NotificationRepository;
+import com.smartcampus.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers the rows that {@link NotificationService#createNotification} writes to the notification outbox.
+ *
+ * Each tick claims up to {@code batch-size} ready rows, loads their recipients in one query, drops the ones the
+ * recipient has switched off, and in a single transaction batch-inserts the {@link Notification}s and deletes
+ * the outbox rows, together with the {@link EmailMessage}s that {@link NotificationMailer} composes for them.
+ * Only after that commit are the WebSocket frames handed to a virtual-thread executor, one task per
+ * notification, and the analytics and unread counters are updated; email is sent by the mailer's own queue,
+ * so SMTP never holds up requests or the next batch.
+ *
+ * Events about the same reference (a ticket, a booking) for the same user are coalesced: when the user still has
+ * an unread notification for it from within {@code coalesce.window-seconds}, the event replaces its title and
+ * message and bumps its {@code mergedCount} instead of adding a row, a second email and a second unread item.
+ * The WebSocket frame then carries the existing notification id, so clients update it in place. Users on an
+ * hourly or daily digest get no per-notification email; {@link NotificationDigestService} summarises for them.
+ *
+ * If a batch cannot be stored, its rows are retried one by one so a single bad row cannot block the others; a
+ * failing row is retried with a doubling delay and marked {@code DEAD} after {@code max-attempts}.
+ */
+@Component
+public class NotificationOutboxWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationOutboxWorker.class);
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+    private final EmailMessageRepository emailMessageRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationMailer notificationMailer;
+    private final NotificationAnalyticsService analyticsService;
+    private final UnreadCounterService unreadCounter;
+    private final TransactionTemplate transaction;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long leaseSeconds;
+    private final int maxAttempts;
+    private final long retryBackoffSeconds;
+    private final Duration coalesceWindow;
+
+    private final ExecutorService fanOut = Executors.newVirtualThreadPerTaskExecutor();
+
+    public NotificationOutboxWorker(NotificationOutboxRepository outboxRepository,
+                                    NotificationRepository notificationRepository,
+                                    UserRepository userRepository,
+                                    EmailMessageRepository emailMessageRepository,
+                                    SimpMessagingTemplate messagingTemplate,
+                                    NotificationMailer notificationMailer,
+                                    NotificationAnalyticsService analyticsService,
+                                    UnreadCounterService unreadCounter,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.notification.outbox.enabled:true}") boolean enabled,
+                                    @Value("${app.notification.outbox.batch-size:200}") int batchSize,
+                                    @Value("${app.notification.outbox.lease-seconds:60}") long leaseSeconds,
+                                    @Value("${app.notification.outbox.max-attempts:5}") int maxAttempts,
+                                    @Value("${app.notification.outbox.retry-backoff-seconds:5}") long retryBackoffSeconds,
+                                    @Value("${app.notification.coalesce.window-seconds:300}") long coalesceWindowSeconds) {
+        this.outboxRepository = outboxRepository;
+        this.notificationRepository = notificationRepository;
+        this.userRepository = userRepository;
+        this.emailMessageRepository = emailMessageRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.notificationMailer = notificationMailer;
+        this.analyticsService = analyticsService;
+        this.unreadCounter = unreadCounter;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.leaseSeconds = leaseSeconds;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffSeconds = retryBackoffSeconds;
+        this.coalesceWindow = Duration.ofSeconds(Math.max(0, coalesceWindowSeconds));
+    }
+
+    @Scheduled(fixedDelayString = "${app.notification.outbox.poll-ms:250}")
+    public void tick() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            drain();
+        } catch (RuntimeException ex) {
+            log.error("Notification outbox tick failed", ex);
+        }
+    }
+
+    /**
+     * Processes ready outbox rows batch by batch until none are left or another node holds the rest. Returns
+     * the number of rows taken off the outbox, delivered or skipped by preference.
+     */
+    public synchronized int drain() {
+        int processed = 0;
+        while (true) {
+            List<NotificationOutbox> batch = claimBatch(LocalDateTime.now());
+            if (batch.isEmpty()) {
+                return processed;
+            }
+            processed += deliver(batch);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        fanOut.shutdown();
+        if (!fanOut.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Notification fan-out did not finish within 10 seconds of shutdown");
+        }
+    }
+
+    private List<NotificationOutbox> claimBatch(LocalDateTime now) {
+        List<String> ids = outboxRepository.findReadyIds(now, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String token = UUID.randomUUID().toString();
+        if (outboxRepository.claim(ids, token, now, now.plusSeconds(leaseSeconds)) == 0) {
+            return List.of();
+        }
+        return outboxRepository.findByClaimTokenOrderByAvailableAtAscIdAsc(token);
+    }
+
+    private int deliver(List<NotificationOutbox> batch) {
+        Stored stored;
+        try {
+            stored = transaction.execute(status -> store(batch));
+        } catch (RuntimeException ex) {
+            if (batch.size() == 1) {
+                fail(batch.get(0), ex);
+                return 0;
+            }
+            log.warn("Notification outbox batch of {} failed ({}); retrying rows one by one", batch.size(), ex.getMessage());
+            int delivered = 0;
+            for (NotificationOutbox row : batch) {
+                delivered += deliver(List.of(row));
+            }
+            return delivered;
+        }
+        stored.replaced().forEach((notification, before) -> analyticsService.recordReplaced(before, notification));
+        analyticsService.recordCreated(stored.created());
+        stored.created().stream()
+                .collect(Collectors.groupingBy(Notification::getUserId, Collectors.counting()))
+                .forEach((userId, added) -> fanOut.execute(() -> unreadCounter.adjust(userId, added)));
+        stored.notifications().forEach(notification -> fanOut.execute(() -> push(notification)));
+        return batch.size();
+    }
+
+    private Stored store(List<NotificationOutbox> batch) {
+        Map<String, User> recipients = userRepository.findAllById(
+                        batch.stream().map(NotificationOutbox::getUserId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<String, Notification> mergeTargets = loadMergeTargets(batch);
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Notification> touched = new LinkedHashMap<>();
+        Map<Notification, NotificationStatView> replaced = new IdentityHashMap<>();
+        Map<Notification, Integer> folds = new IdentityHashMap<>();
+        List<Notification> created = new ArrayList<>();
+        List<EmailMessage> emails = new ArrayList<>();
+        for (NotificationOutbox row : batch) {
+            User user = recipients.get(row.getUserId());
+            if (user != null && !wantsNotification(user, row.getType())) {
+                continue;
+            }
+            String key = mergeKey(row.getUserId(), row.getReferenceType(), row.getReferenceId());
+            Notification target = key == null ? null : mergeTargets.get(key);
+            if (target != null && !target.getCreatedAt().isBefore(row.getCreatedAt().minus(coalesceWindow))) {
+                if (target.getId() != null) {
+                    replaced.putIfAbsent(target, NotificationStatView.of(target));
+                    folds.merge(target, 1, Integer::sum);
+                }
+                target.setTitle(row.getTitle());
+                target.setMessage(row.getMessage());
+                target.setType(row.getType());
+                target.setMergedCount(target.getMergedCount() + 1);
+                target.setCreatedAt(row.getCreatedAt());
+                touched.put(key, target);
+                continue;
+            }
+            Notification notification = new Notification();
+            notification.setUserId(row.getUserId());
+            notification.setTitle(row.getTitle());
+            notification.setMessage(row.getMessage());
+            notification.setType(row.getType());
+            notification.setReferenceId(row.getReferenceId());
+            notification.setReferenceType(row.getReferenceType());
+            notification.setRead(false);
+            notification.setCreatedAt(row.getCreatedAt());
+            if (key != null) {
+                mergeTargets.put(key, notification);
+            }
+            touched.put(key != null ? key : row.getId(), notification);
+            created.add(notification);
+            if (user != null && user.getEmailDigest() == User.EmailDigest.IMMEDIATE) {
+                EmailMessage email = notificationMailer.compose(user, row.getTitle(), row.getMessage(), now);
+                if (email != null) {
+                    emails.add(email);
+                }
+            }
+        }
+
+        List<Notification> inserts = new ArrayList<>();
+        for (Notification notification : touched.values()) {
+            Integer merged = folds.get(notification);
+            if (merged == null) {
+                inserts.add(notification);
+            } else if (notificationRepository.foldInto(notification.getId(), notification.getTitle(),
+                    notification.getMessage(), notification.getType(), merged, notification.getCreatedAt()) == 0) {
+                // Read since it was loaded: the folded events become a new unread notification of their own
+                replaced.remove(notification);
+                notification.setId(null);
+                notification.setRead(false);
+                notification.setMergedCount(merged - 1);
+                inserts.add(notification);
+                created.add(notification);
+                User user = recipients.get(notification.getUserId());
+                if (user != null && user.getEmailDigest() == User.EmailDigest.IMMEDIATE) {
+                    EmailMessage email = notificationMailer.compose(user, notification.getTitle(),
+                            notification.getMessage(), now);
+                    if (email != null) {
+                        emails.add(email);
+                    }
+                }
+            }
+        }
+        if (!inserts.isEmpty()) {
+            notificationRepository.saveAll(inserts);
+        }
+        if (!emails.isEmpty()) {
+            emailMessageRepository.saveAll(emails);
+        }
+        outboxRepository.deleteByIds(batch.stream().map(NotificationOutbox::getId).toList());
+        return new Stored(new ArrayList<>(touched.values()), created, replaced);
+    }
+
+    /**
+     * The newest unread notification per user and reference that the batch could fold into, loaded in one query.
+     * Each is a detached copy, so folding events into it never flushes the loaded {@code read} flag back over a
+     * concurrent mark-as-read; {@link NotificationRepository#foldInto} writes the fold conditionally instead.
+     */
+    private Map<String, Notification> loadMergeTargets(List<NotificationOutbox> batch) {
+        Map<String, Notification> targets = new HashMap<>();
+        if (coalesceWindow.isZero()) {
+            return targets;
+        }
+        List<NotificationOutbox> mergeable = batch.stream()
+                .filter(row -> row.getReferenceId() != null)
+                .toList();
+        if (mergeable.isEmpty()) {
+            return targets;
+        }
+        LocalDateTime since = mergeable.stream()
+                .map(NotificationOutbox::getCreatedAt)
+                .min(Comparator.naturalOrder())
+                .orElseThrow()
+                .minus(coalesceWindow);
+        List<Notification> candidates = notificationRepository.findMergeTargets(
+                mergeable.stream().map(NotificationOutbox::getUserId).collect(Collectors.toSet()),
+                mergeable.stream().map(NotificationOutbox::getReferenceId).collect(Collectors.toSet()),
+                since);
+        for (Notification candidate : candidates) {
+            targets.computeIfAbsent(mergeKey(candidate.getUserId(), candidate.getReferenceType(),
+                    candidate.getReferenceId()), key -> detachedCopy(candidate));
+        }
+        return targets;
+    }
+
+    private static Notification detachedCopy(Notification notification) {
+        return new Notification(notification.getId(), notification.getUserId(), notification.getTitle(),
+                notification.getMessage(), notification.getType(), notification.getReferenceId(),
+                notification.getReferenceType(), notification.isRead(), notification.getMergedCount(),
+                notification.getCreatedAt());
+    }
+
+    /** Notifications about the same thing for the same user share a key; {@code null} when they never merge. */
+    private String mergeKey(String userId, String referenceType, String referenceId) {
+        if (coalesceWindow.isZero() || referenceId == null) {
+            return null;
+        }
+        return userId + '|' + referenceType + '|' + referenceId;
+    }
+
+    private void push(Notification notification) {
+        try {
+            messagingTemplate.convertAndSendToUser(notification.getUserId(), "/queue/notifications", notification);
+        } catch (RuntimeException ex) {
+            log.warn("WebSocket push of notification {} failed: {}", notification.getId(), ex.getMessage());
+        }
+    }
+
+    private void fail(NotificationOutbox row, RuntimeException ex) {
+        int attempts = row.getAttempts() + 1;
+        String error = ex.getMessage() == null ? ex.getClass().getName() : ex.getMessage();
+        if (error.length() > 500) {
+            error = error.substring(0, 500);
+        }
+        if (attempts >= maxAttempts) {
+            log.error("Notification outbox row {} for user {} failed {} times; moving it to DEAD", row.getId(),
+                    row.getUserId(), attempts, ex);
+            outboxRepository.release(row.getId(), NotificationOutbox.Status.DEAD, attempts, row.getAvailableAt(), error);
+            return;
+        }
+        LocalDateTime retryAt = LocalDateTime.now().plusSeconds(retryBackoffSeconds << (attempts - 1));
+        log.warn("Notification outbox row {} failed (attempt {}), retrying at {}: {}", row.getId(), attempts, retryAt, error);
+        outboxRepository.release(row.getId(), NotificationOutbox.Status.PENDING, attempts, retryAt, error);
+    }
+
+    /**
+     * What a committed batch changed: every notification to push, the newly inserted ones, and the counters
+     * entry each merged notification had before this batch folded events into it.
+     */
+    private record Stored(List<Notification> notifications, List<Notification> created,
+                          Map<Notification, NotificationStatView> replaced) {
+    }
+
+    /** Per-type switches on the user's notification preferences; SYSTEM alerts are never disabled. */
+    static boolean wantsNotification(User user, Notification.NotificationType type) {
+        if (type == null) {
+            return true;
+        }
+        String typeName = type.name();
+        if (typeName.startsWith("BOOKING_")) {
+            return user.isBookingAlertsEnabled();
+        }
+        if (typeName.startsWith("TICKET_")) {
+            return user.isTicketUpdatesEnabled();
+        }
+        if (type == Notification.NotificationType.COMMENT_ADDED) {
+            return user.isCommentAlertsEnabled();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,131 @@
+package com.smartcampus.service;
+
+import com.smartcampus.dto.NotificationRetentionReport;
+import com.smartcampus.repository.NotificationArchiveRepository;
+import com.smartcampus.repository.NotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves read notifications older than {@code days} into {@code notification_archive} so the live table, and
+ * every per-user query on it, stays the size of recent activity.
+ *
+ * Work is done in chunks of {@code batch-size}, oldest first: one {@code INSERT ... SELECT} into the archive
+ * and one {@code DELETE} by primary key, in a transaction of their own. Each transaction therefore only locks
+ * the rows of its chunk, and {@code pause-ms} between chunks lets other writers in. Unread notifications are
+ * never archived, so unread counters are unaffected; the analytics counters are rebuilt once after a run that
+ * moved anything.
+ */
+@Service
+public class NotificationRetentionService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationRetentionService.class);
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationArchiveRepository archiveRepository;
+    private final NotificationAnalyticsService analyticsService;
+    private final TransactionTemplate transaction;
+    private final boolean enabled;
+    private final int retentionDays;
+    private final int batchSize;
+    private final long pauseMillis;
+
+    private volatile NotificationRetentionReport lastReport;
+
+    public NotificationRetentionService(NotificationRepository notificationRepository,
+                                        NotificationArchiveRepository archiveRepository,
+                                        NotificationAnalyticsService analyticsService,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${app.notification.retention.enabled:true}") boolean enabled,
+                                        @Value("${app.notification.retention.days:90}") int retentionDays,
+                                        @Value("${app.notification.retention.batch-size:500}") int batchSize,
+                                        @Value("${app.notification.retention.pause-ms:50}") long pauseMillis) {
+        this.notificationRepository = notificationRepository;
+        this.archiveRepository = archiveRepository;
+        this.analyticsService = analyticsService;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.retentionDays = Math.max(1, retentionDays);
+        this.batchSize = Math.max(1, batchSize);
+        this.pauseMillis = pauseMillis;
+    }
+
+    @Scheduled(cron = "${app.notification.retention.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            run(LocalDateTime.now());
+        } catch (RuntimeException ex) {
+            log.error("Notification retention run failed", ex);
+        }
+    }
+
+    /** Archives everything read before {@code now} minus the retention period, chunk by chunk. */
+    public synchronized NotificationRetentionReport run(LocalDateTime now) {
+        long startedAt = System.nanoTime();
+        LocalDateTime cutoff = now.minusDays(retentionDays);
+        long archived = 0;
+        int batches = 0;
+        long longestBatchNanos = 0;
+        while (true) {
+            long batchStartedAt = System.nanoTime();
+            List<String> ids = notificationRepository.findExpiredReadIds(cutoff, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            Integer moved = transaction.execute(status -> {
+                archiveRepository.archive(ids, now);
+                return notificationRepository.purgeRead(ids);
+            });
+            longestBatchNanos = Math.max(longestBatchNanos, System.nanoTime() - batchStartedAt);
+            batches++;
+            if (moved == null || moved == 0) {
+                break;
+            }
+            archived += moved;
+            if (ids.size() < batchSize || !pause()) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            analyticsService.rebuild();
+        }
+
+        NotificationRetentionReport report = new NotificationRetentionReport(now, cutoff, archived, batches,
+                (System.nanoTime() - startedAt) / 1_000_000, longestBatchNanos / 1_000_000,
+                archiveRepository.count());
+        lastReport = report;
+        log.info("Notification retention archived {} notifications read before {} in {} batches ({} ms)",
+                archived, cutoff, batches, report.durationMs());
+        return report;
+    }
+
+    public NotificationRetentionReport lastReport() {
+        NotificationRetentionReport report = lastReport;
+        return report != null ? report : new NotificationRetentionReport(null, null, 0, 0, 0, 0, archiveRepository.count());
+    }
+
+    private boolean pause() {
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,40 +1,92 @@
 package com.smartcampus.service;
 
+import com.smartcampus.model.Ticket;
 import com.smartcampus.model.User;
+import com.smartcampus.repository.TicketRepository;
 import com.smartcampus.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.Comparator;
+import java.util.Collection;
 import java.util.List;
-import java.util.Locale;
 import java.util.Optional;
 
+/**
+ * Picks the technician for a new ticket from a {@link TechnicianLoadIndex}: the least loaded technician with
+ * the ticket's category as a specialty, or the least loaded technician overall when nobody has it.
+ *
+ * The index is built lazily from the enabled technicians and the open/in-progress assigned tickets, then kept
+ * current by {@link TicketService}, which reports every saved or deleted ticket. It is rebuilt after
+ * {@code reload-interval-seconds} to pick up changes made by other nodes or outside the services, and right
+ * away after {@link #invalidate()}, which {@link AuthService} calls when a user's roles change or a user is
+ * deleted.
+ */
 @Service
 public class TechnicianAutoAssignmentService {
 
+    private static final Logger log = LoggerFactory.getLogger(TechnicianAutoAssignmentService.class);
+    private static final List<Ticket.TicketStatus> ACTIVE_STATUSES =
+            List.of(Ticket.TicketStatus.OPEN, Ticket.TicketStatus.IN_PROGRESS);
+
     private final UserRepository userRepository;
+    private final TicketRepository ticketRepository;
+    private final long reloadIntervalNanos;
+
+    private volatile TechnicianLoadIndex index;
+    private volatile long loadedAtNanos;
 
-    public TechnicianAutoAssignmentService(UserRepository userRepository) {
+    public TechnicianAutoAssignmentService(UserRepository userRepository, TicketRepository ticketRepository,
+                                           @Value("${app.ticket.assignment.reload-interval-seconds:600}") long reloadIntervalSeconds) {
         this.userRepository = userRepository;
+        this.ticketRepository = ticketRepository;
+        this.reloadIntervalNanos = reloadIntervalSeconds * 1_000_000_000L;
+    }
+
+    public Optional<User> findBestTechnicianForCategory(String category, Ticket.Priority priority) {
+        return index().pick(category, priority);
     }
 
-    public Optional<User> findBestTechnicianForCategory(String category) {
-        String normalizedCategory = normalize(category);
+    /** Applies the assignee, status and priority of a saved ticket to the load index. */
+    public void record(Ticket ticket) {
+        TechnicianLoadIndex current = index;
+        if (current != null && ticket != null && ticket.getId() != null) {
+            current.record(ticket.getId(), ticket.getAssignedTo(), ticket.getStatus(), ticket.getPriority());
+        }
+    }
+
+    public void remove(String ticketId) {
+        TechnicianLoadIndex current = index;
+        if (current != null && ticketId != null) {
+            current.remove(ticketId);
+        }
+    }
 
-        List<User> technicians = userRepository.findAll().stream()
-                .filter(User::isEnabled)
-                .filter(user -> user.getRoles() != null && user.getRoles().stream().anyMatch(role -> role == User.Role.TECHNICIAN))
-                .sorted(Comparator.comparing(User::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder())))
-                .toList();
+    public void remove(Collection<String> ticketIds) {
+        ticketIds.forEach(this::remove);
+    }
 
-        return technicians.stream()
-                .filter(user -> user.getTechnicianSpecialties() != null)
-                .filter(user -> user.getTechnicianSpecialties().stream().map(this::normalize).anyMatch(normalizedCategory::equals))
-                .findFirst()
-                .or(() -> technicians.stream().findFirst());
+    /** Drops the index so the next pick rebuilds it with the current technicians. */
+    public void invalidate() {
+        index = null;
     }
 
-    private String normalize(String value) {
-        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    private TechnicianLoadIndex index() {
+        TechnicianLoadIndex current = index;
+        if (current != null && System.nanoTime() - loadedAtNanos < reloadIntervalNanos) {
+            return current;
+        }
+        synchronized (this) {
+            current = index;
+            if (current == null || System.nanoTime() - loadedAtNanos >= reloadIntervalNanos) {
+                current = new TechnicianLoadIndex(userRepository.findEnabledByRole(User.Role.TECHNICIAN),
+                        ticketRepository.findAssignedLoad(ACTIVE_STATUSES));
+                log.debug("Technician load index built for {} technicians", current.technicianCount());
+                loadedAtNanos = System.nanoTime();
+                index = current;
+            }
+            return current;
+        }
     }
 }
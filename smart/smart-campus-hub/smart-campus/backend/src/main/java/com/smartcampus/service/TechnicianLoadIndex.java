@@ -0,0 +1,200 @@
+package com.smartcampus.service;
+
+import com.smartcampus.dto.TicketLoadView;
+import com.smartcampus.model.Ticket;
+import com.smartcampus.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Live workload of every enabled technician, kept in one pool per specialty plus one pool of all technicians.
+ *
+ * A technician's load is the weighted count of the open and in-progress tickets assigned to them (CRITICAL 4,
+ * HIGH 3, MEDIUM 2, LOW 1); the urgent load counts only the CRITICAL and HIGH ones, whose SLA is eight hours
+ * or less. Each pool keeps two {@link TreeSet}s, ordered by load and by urgent-then-load, and breaks ties by
+ * the last time a technician was picked, so equally loaded technicians take turns. A pick is a
+ * {@code first()} and a ticket change re-sorts one technician in the pools they belong to: both are
+ * {@code O(log n)} per pool.
+ *
+ * The index is fed ticket by ticket: {@link #record} applies the current assignee, status and priority of a
+ * ticket and {@link #remove} forgets a deleted one, so it never rescans the tickets table. Not persistent;
+ * {@link TechnicianAutoAssignmentService} builds it from the database and rebuilds it periodically.
+ */
+final class TechnicianLoadIndex {
+
+    private static final Comparator<Slot> BY_LOAD = Comparator
+            .comparingInt((Slot slot) -> slot.load)
+            .thenComparingLong(slot -> slot.lastPicked)
+            .thenComparing(slot -> slot.createdAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(slot -> slot.user.getId());
+    private static final Comparator<Slot> BY_URGENT_LOAD = Comparator
+            .comparingInt((Slot slot) -> slot.urgentLoad)
+            .thenComparing(BY_LOAD);
+
+    private final Map<String, Slot> technicians = new HashMap<>();
+    private final Map<String, Pool> bySpecialty = new HashMap<>();
+    private final Pool everyone = new Pool();
+    private final Map<String, Assignment> assignments = new HashMap<>();
+    private long picks;
+
+    TechnicianLoadIndex(List<User> users, List<TicketLoadView> activeTickets) {
+        for (User user : users) {
+            List<Pool> pools = new ArrayList<>();
+            pools.add(everyone);
+            if (user.getTechnicianSpecialties() != null) {
+                user.getTechnicianSpecialties().stream()
+                        .map(TechnicianLoadIndex::normalize)
+                        .filter(specialty -> !specialty.isEmpty())
+                        .distinct()
+                        .forEach(specialty -> pools.add(bySpecialty.computeIfAbsent(specialty, key -> new Pool())));
+            }
+            technicians.put(user.getId(), new Slot(user, pools));
+        }
+        for (TicketLoadView ticket : activeTickets) {
+            Assignment assignment = new Assignment(ticket.assignedTo(), weight(ticket.priority()), isUrgent(ticket.priority()));
+            assignments.put(ticket.ticketId(), assignment);
+            Slot slot = technicians.get(assignment.technicianId());
+            if (slot != null) {
+                slot.load += assignment.weight();
+                slot.urgentLoad += assignment.urgent() ? 1 : 0;
+            }
+        }
+        technicians.values().forEach(slot -> slot.pools.forEach(pool -> pool.add(slot)));
+    }
+
+    /**
+     * Least loaded technician for the category, by urgent load first for CRITICAL and HIGH tickets. Falls back
+     * to all technicians when nobody has the category as a specialty. The pick counts as a turn, so the next
+     * pick among equally loaded technicians goes to someone else even before the ticket is recorded.
+     */
+    synchronized Optional<User> pick(String category, Ticket.Priority priority) {
+        Pool pool = bySpecialty.getOrDefault(normalize(category), everyone);
+        if (pool.byLoad.isEmpty()) {
+            return Optional.empty();
+        }
+        Slot best = isUrgent(priority) ? pool.byUrgentLoad.first() : pool.byLoad.first();
+        detach(best);
+        best.lastPicked = ++picks;
+        attach(best);
+        return Optional.of(best.user);
+    }
+
+    /** Applies the current state of a persisted ticket; only open and in-progress assigned tickets carry load. */
+    synchronized void record(String ticketId, String assignedTo, Ticket.TicketStatus status, Ticket.Priority priority) {
+        boolean active = status == Ticket.TicketStatus.OPEN || status == Ticket.TicketStatus.IN_PROGRESS;
+        Assignment next = active && assignedTo != null && !assignedTo.isEmpty()
+                ? new Assignment(assignedTo, weight(priority), isUrgent(priority))
+                : null;
+        Assignment previous = next == null ? assignments.remove(ticketId) : assignments.put(ticketId, next);
+        if (next != null && next.equals(previous)) {
+            return;
+        }
+        apply(previous, -1);
+        apply(next, 1);
+    }
+
+    synchronized void remove(String ticketId) {
+        apply(assignments.remove(ticketId), -1);
+    }
+
+    synchronized int load(String technicianId) {
+        Slot slot = technicians.get(technicianId);
+        return slot == null ? 0 : slot.load;
+    }
+
+    synchronized int urgentLoad(String technicianId) {
+        Slot slot = technicians.get(technicianId);
+        return slot == null ? 0 : slot.urgentLoad;
+    }
+
+    int technicianCount() {
+        return technicians.size();
+    }
+
+    static int weight(Ticket.Priority priority) {
+        if (priority == null) {
+            return 1;
+        }
+        return switch (priority) {
+            case CRITICAL -> 4;
+            case HIGH -> 3;
+            case MEDIUM -> 2;
+            case LOW -> 1;
+        };
+    }
+
+    private static boolean isUrgent(Ticket.Priority priority) {
+        return priority == Ticket.Priority.CRITICAL || priority == Ticket.Priority.HIGH;
+    }
+
+    private void apply(Assignment assignment, int sign) {
+        if (assignment == null) {
+            return;
+        }
+        Slot slot = technicians.get(assignment.technicianId());
+        if (slot == null) {
+            // Assigned to someone who is not an enabled technician (e.g. an admin); nothing to balance.
+            return;
+        }
+        detach(slot);
+        slot.load += sign * assignment.weight();
+        slot.urgentLoad += assignment.urgent() ? sign : 0;
+        attach(slot);
+    }
+
+    private static void detach(Slot slot) {
+        slot.pools.forEach(pool -> pool.remove(slot));
+    }
+
+    private static void attach(Slot slot) {
+        slot.pools.forEach(pool -> pool.add(slot));
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Assignment(String technicianId, int weight, boolean urgent) {
+    }
+
+    private static final class Slot {
+
+        private final User user;
+        private final LocalDateTime createdAt;
+        private final List<Pool> pools;
+        private int load;
+        private int urgentLoad;
+        private long lastPicked;
+
+        private Slot(User user, List<Pool> pools) {
+            this.user = user;
+            this.createdAt = user.getCreatedAt();
+            this.pools = pools;
+        }
+    }
+
+    /** Sort keys of a slot may only change while it is detached from every pool it belongs to. */
+    private static final class Pool {
+
+        private final TreeSet<Slot> byLoad = new TreeSet<>(BY_LOAD);
+        private final TreeSet<Slot> byUrgentLoad = new TreeSet<>(BY_URGENT_LOAD);
+
+        private void add(Slot slot) {
+            byLoad.add(slot);
+            byUrgentLoad.add(slot);
+        }
+
+        private void remove(Slot slot) {
+            byLoad.remove(slot);
+            byUrgentLoad.remove(slot);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.smartcampus.service;
 
 import com.smartcampus.model.Ticket;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.Locale;
@@ -8,6 +9,72 @@ import java.util.Locale;
 @Service
 public class TicketClassificationService {
 
+    /**
+     * Category signals carry their display name and are scored by summed keyword weight; the remaining signals
+     * only feed the priority rules. Declaration order of the categories breaks score ties.
+     */
+    private enum Signal {
+        IT_EQUIPMENT("IT Equipment"),
+        ELECTRICAL("Electrical"),
+        PLUMBING("Plumbing"),
+        HVAC("HVAC"),
+        FURNITURE("Furniture"),
+        CLEANING("Cleaning"),
+        SAFETY("Safety"),
+        CRITICAL(null),
+        FAILURE(null),
+        HIGH(null),
+        MEDIUM(null);
+
+        private final String category;
+
+        Signal(String category) {
+            this.category = category;
+        }
+    }
+
+    private static final KeywordMatcher<Signal> KEYWORDS = KeywordMatcher.builder(Signal.class)
+            .add(Signal.IT_EQUIPMENT, 3, "wifi", "wi-fi", "network*", "internet", "computer*", "pc", "pcs", "laptop*",
+                    "projector*", "printer*", "software", "login", "log in", "server*")
+            .add(Signal.IT_EQUIPMENT, 1, "monitor*", "system*")
+            .add(Signal.ELECTRICAL, 3, "electric*", "power", "socket*", "outlet*", "voltage", "generator*",
+                    "short circuit", "wiring")
+            .add(Signal.ELECTRICAL, 1, "light*", "switch*")
+            .add(Signal.PLUMBING, 3, "pipe*", "leak*", "toilet*", "washroom*", "sink*", "drain*", "tap", "taps",
+                    "flood*", "plumbing")
+            .add(Signal.PLUMBING, 1, "water")
+            .add(Signal.HVAC, 3, "ac", "a/c", "air conditioning", "air conditioner*", "hvac", "cooling",
+                    "ventilation", "temperature")
+            .add(Signal.HVAC, 1, "fan", "fans")
+            .add(Signal.FURNITURE, 3, "chair*", "desk*", "locker*", "furniture", "broken seat*")
+            .add(Signal.FURNITURE, 1, "table*", "door*", "window*")
+            .add(Signal.CLEANING, 3, "dirty", "garbage", "trash", "stain*", "odor*", "odour*", "smell*", "spill*")
+            .add(Signal.CLEANING, 1, "clean*", "wash", "washing")
+            .add(Signal.SAFETY, 3, "fire", "smoke", "sparks", "unsafe", "danger*", "hazard*", "emergency", "injur*",
+                    "alarm*", "theft")
+            .add(Signal.SAFETY, 1, "security")
+            .add(Signal.CRITICAL, 1, "fire", "smoke", "sparks", "emergency", "urgent", "immediately", "asap",
+                    "injur*", "danger*", "unsafe", "flood*", "gas leak*", "security breach")
+            .add(Signal.FAILURE, 1, "down", "not working", "broken", "failed", "failure", "offline", "no power",
+                    "cannot access", "can't access", "won't start", "wont start", "leaking", "overflow*")
+            .add(Signal.HIGH, 1, "projector*", "network*", "internet", "wifi", "wi-fi", "ac", "a/c",
+                    "air conditioning", "toilet*", "water", "leak*", "broken", "urgent", "important")
+            .add(Signal.MEDIUM, 1, "slow", "noise", "noisy", "intermittent*", "damaged", "issue*", "problem*",
+                    "cleaning", "repair*")
+            .build();
+
+    private final TrainedTicketClassifier trainedClassifier;
+
+    /** Keyword rules only. */
+    public TicketClassificationService() {
+        this(null);
+    }
+
+    @Autowired
+    public TicketClassificationService(TrainedTicketClassifier trainedClassifier) {
+        this.trainedClassifier = trainedClassifier;
+    }
+
     public TicketClassification classify(String title, String description, String location, String existingCategory, String existingPriority) {
         String normalizedCategory = normalizeText(existingCategory);
         Ticket.Priority normalizedPriority = parsePriority(existingPriority);
@@ -16,59 +83,57 @@ public class TicketClassificationService {
             return new TicketClassification(normalizedCategory, normalizedPriority);
         }
 
-        String text = buildText(title, description, location);
+        TrainedTicketClassifier.Suggestion suggestion = trainedClassifier != null
+                ? trainedClassifier.suggest(title, description, location)
+                : null;
+        String category = normalizedCategory != null ? normalizedCategory
+                : suggestion != null ? suggestion.category() : null;
+        Ticket.Priority priority = normalizedPriority != null ? normalizedPriority
+                : suggestion != null ? suggestion.priority() : null;
+        if (category != null && priority != null) {
+            return new TicketClassification(category, priority);
+        }
 
-        String category = normalizedCategory != null ? normalizedCategory : detectCategory(text);
-        Ticket.Priority priority = normalizedPriority != null ? normalizedPriority : detectPriority(text, category);
+        // The keyword rules decide whatever the trained model was not confident about.
+        int[] scores = KEYWORDS.score(title, description, location);
+        if (category == null) {
+            category = detectCategory(scores);
+        }
+        if (priority == null) {
+            priority = detectPriority(scores, category);
+        }
 
         return new TicketClassification(category, priority);
     }
 
-    private String buildText(String title, String description, String location) {
-        return (safe(title) + " " + safe(description) + " " + safe(location)).toLowerCase(Locale.ROOT);
-    }
-
-    private String detectCategory(String text) {
-        if (containsAny(text, "wifi", "network", "internet", "computer", "pc", "laptop", "projector", "printer", "monitor", "software", "login", "system", "server")) {
-            return "IT Equipment";
-        }
-        if (containsAny(text, "electric", "power", "light", "socket", "outlet", "voltage", "switch", "generator", "short circuit", "wiring")) {
-            return "Electrical";
-        }
-        if (containsAny(text, "water", "pipe", "leak", "toilet", "washroom", "sink", "drain", "tap", "flood", "plumbing")) {
-            return "Plumbing";
-        }
-        if (containsAny(text, "ac", "air conditioning", "hvac", "cooling", "ventilation", "temperature", "fan")) {
-            return "HVAC";
-        }
-        if (containsAny(text, "chair", "desk", "table", "door", "window", "locker", "furniture", "broken seat")) {
-            return "Furniture";
-        }
-        if (containsAny(text, "dirty", "garbage", "trash", "clean", "stain", "odor", "smell", "wash", "spill")) {
-            return "Cleaning";
-        }
-        if (containsAny(text, "fire", "smoke", "sparks", "security", "unsafe", "danger", "hazard", "emergency", "injury", "alarm", "theft")) {
-            return "Safety";
+    private String detectCategory(int[] scores) {
+        Signal best = null;
+        for (Signal signal : Signal.values()) {
+            // Ties go to the category declared first, which keeps the old precedence order.
+            if (signal.category != null && scores[signal.ordinal()] > 0
+                    && (best == null || scores[signal.ordinal()] > scores[best.ordinal()])) {
+                best = signal;
+            }
         }
-        return "Other";
+        return best != null ? best.category : "Other";
     }
 
-    private Ticket.Priority detectPriority(String text, String category) {
-        if (containsAny(text, "fire", "smoke", "sparks", "emergency", "urgent", "immediately", "asap", "injury", "danger", "unsafe", "flood", "gas leak", "security breach")) {
+    private Ticket.Priority detectPriority(int[] scores, String category) {
+        if (scores[Signal.CRITICAL.ordinal()] > 0) {
             return Ticket.Priority.CRITICAL;
         }
 
-        if (containsAny(text, "down", "not working", "broken", "failed", "failure", "offline", "no power", "cannot access", "won't start", "wont start", "leaking", "overflow")) {
+        if (scores[Signal.FAILURE.ordinal()] > 0) {
             if ("Safety".equals(category) || "Electrical".equals(category) || "Plumbing".equals(category) || "HVAC".equals(category)) {
                 return Ticket.Priority.HIGH;
             }
         }
 
-        if (containsAny(text, "projector", "network", "internet", "wifi", "ac", "air conditioning", "toilet", "water", "leak", "broken", "urgent", "important")) {
+        if (scores[Signal.HIGH.ordinal()] > 0) {
             return Ticket.Priority.HIGH;
         }
 
-        if (containsAny(text, "slow", "noise", "intermittent", "damaged", "issue", "problem", "cleaning", "repair")) {
+        if (scores[Signal.MEDIUM.ordinal()] > 0) {
             return Ticket.Priority.MEDIUM;
         }
 
@@ -98,19 +163,6 @@ public class TicketClassificationService {
         return trimmed;
     }
 
-    private boolean containsAny(String text, String... terms) {
-        for (String term : terms) {
-            if (text.contains(term)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private String safe(String value) {
-        return value == null ? "" : value;
-    }
-
     public record TicketClassification(String category, Ticket.Priority priority) {
     }
 }
@@ -1,14 +1,22 @@
 package com.smartcampus.service;
 
+import com.smartcampus.dto.CursorPage;
+import com.smartcampus.dto.SlaCategoryStat;
 import com.smartcampus.dto.TicketRequest;
+import com.smartcampus.dto.TicketSummary;
+import com.smartcampus.exception.BadRequestException;
 import com.smartcampus.exception.ResourceNotFoundException;
 import com.smartcampus.model.Notification;
 import com.smartcampus.model.Ticket;
 import com.smartcampus.model.User;
 import com.smartcampus.repository.TicketRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -16,21 +24,29 @@ import java.util.Map;
 @Service
 public class TicketService {
 
+    private static final List<Ticket.TicketStatus> ACTIVE_STATUSES =
+            List.of(Ticket.TicketStatus.OPEN, Ticket.TicketStatus.IN_PROGRESS);
+    private static final List<Ticket.TicketStatus> TERMINAL_STATUSES =
+            List.of(Ticket.TicketStatus.RESOLVED, Ticket.TicketStatus.CLOSED, Ticket.TicketStatus.REJECTED);
+
     private final TicketRepository ticketRepository;
     private final NotificationService notificationService;
     private final TicketClassificationService ticketClassificationService;
     private final TechnicianAutoAssignmentService technicianAutoAssignmentService;
     private final com.smartcampus.repository.TicketAuditLogRepository ticketAuditLogRepository;
+    private final TransactionTemplate transaction;
 
     public TicketService(TicketRepository ticketRepository, NotificationService notificationService,
                          TicketClassificationService ticketClassificationService,
                          TechnicianAutoAssignmentService technicianAutoAssignmentService,
-                         com.smartcampus.repository.TicketAuditLogRepository ticketAuditLogRepository) {
+                         com.smartcampus.repository.TicketAuditLogRepository ticketAuditLogRepository,
+                         PlatformTransactionManager transactionManager) {
         this.ticketRepository = ticketRepository;
         this.notificationService = notificationService;
         this.ticketClassificationService = ticketClassificationService;
         this.technicianAutoAssignmentService = technicianAutoAssignmentService;
         this.ticketAuditLogRepository = ticketAuditLogRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
     }
 
     public Ticket createTicket(TicketRequest request, User user, List<String> attachmentUrls) {
@@ -64,22 +80,29 @@ public class TicketService {
             assignedTechnician = autoAssignTechnician(ticket);
         }
 
-        Ticket savedTicket = ticketRepository.save(ticket);
-        
-        // Audit log for creation
-        com.smartcampus.model.TicketAuditLog log = new com.smartcampus.model.TicketAuditLog();
-        log.setTicketId(savedTicket.getId());
-        log.setChangedByUserId(user.getId());
-        log.setChangedByUserName(user.getName());
-        log.setOldStatus(null);
-        log.setNewStatus(Ticket.TicketStatus.OPEN);
-        log.setTimestamp(now);
-        log.setNote("Ticket created");
-        ticketAuditLogRepository.save(log);
-
-        if (assignedTechnician != null || ticket.getAssignedTo() != null) {
-            sendAutoAssignmentNotifications(savedTicket, assignedTechnician);
-        }
+        User technician = assignedTechnician;
+        // The ticket, its audit row and the outbox rows commit together, so a notification never outlives a
+        // rolled-back write
+        Ticket savedTicket = transaction.execute(status -> {
+            Ticket saved = ticketRepository.save(ticket);
+
+            // Audit log for creation
+            com.smartcampus.model.TicketAuditLog log = new com.smartcampus.model.TicketAuditLog();
+            log.setTicketId(saved.getId());
+            log.setChangedByUserId(user.getId());
+            log.setChangedByUserName(user.getName());
+            log.setOldStatus(null);
+            log.setNewStatus(Ticket.TicketStatus.OPEN);
+            log.setTimestamp(now);
+            log.setNote("Ticket created");
+            ticketAuditLogRepository.save(log);
+
+            if (technician != null || ticket.getAssignedTo() != null) {
+                sendAutoAssignmentNotifications(saved, technician);
+            }
+            return saved;
+        });
+        technicianAutoAssignmentService.record(savedTicket);
         return applySlaState(savedTicket);
     }
 
@@ -90,32 +113,36 @@ public class TicketService {
         ticket.setAssignedToName(technicianName);
         ticket.setUpdatedAt(LocalDateTime.now());
         applySlaState(ticket);
-        Ticket saved = ticketRepository.save(ticket);
-
-        // Audit log for assignment
-        com.smartcampus.model.TicketAuditLog log = new com.smartcampus.model.TicketAuditLog();
-        log.setTicketId(saved.getId());
-        log.setChangedByUserId(currentUser.getId());
-        log.setChangedByUserName(currentUser.getName());
-        log.setOldStatus(saved.getStatus());
-        log.setNewStatus(saved.getStatus());
-        log.setTimestamp(LocalDateTime.now());
-        log.setNote("Assigned to " + technicianName + (oldAssignedTo != null ? " (was " + ticket.getAssignedToName() + ")" : ""));
-        ticketAuditLogRepository.save(log);
-
-        notificationService.createNotification(
-                ticket.getReportedBy(),
-                "Ticket Assigned",
-                "Your ticket '" + ticket.getTitle() + "' has been assigned to " + technicianName,
-                Notification.NotificationType.TICKET_ASSIGNED,
-                ticket.getId(), "TICKET");
-
-        notificationService.createNotification(
-                technicianId,
-                "New Ticket Assignment",
-                "You have been assigned to ticket: " + ticket.getTitle(),
-                Notification.NotificationType.TICKET_ASSIGNED,
-                ticket.getId(), "TICKET");
+        Ticket saved = transaction.execute(status -> {
+            Ticket assigned = ticketRepository.save(ticket);
+
+            // Audit log for assignment
+            com.smartcampus.model.TicketAuditLog log = new com.smartcampus.model.TicketAuditLog();
+            log.setTicketId(assigned.getId());
+            log.setChangedByUserId(currentUser.getId());
+            log.setChangedByUserName(currentUser.getName());
+            log.setOldStatus(assigned.getStatus());
+            log.setNewStatus(assigned.getStatus());
+            log.setTimestamp(LocalDateTime.now());
+            log.setNote("Assigned to " + technicianName + (oldAssignedTo != null ? " (was " + ticket.getAssignedToName() + ")" : ""));
+            ticketAuditLogRepository.save(log);
+
+            notificationService.createNotification(
+                    ticket.getReportedBy(),
+                    "Ticket Assigned",
+                    "Your ticket '" + ticket.getTitle() + "' has been assigned to " + technicianName,
+                    Notification.NotificationType.TICKET_ASSIGNED,
+                    ticket.getId(), "TICKET");
+
+            notificationService.createNotification(
+                    technicianId,
+                    "New Ticket Assignment",
+                    "You have been assigned to ticket: " + ticket.getTitle(),
+                    Notification.NotificationType.TICKET_ASSIGNED,
+                    ticket.getId(), "TICKET");
+            return assigned;
+        });
+        technicianAutoAssignmentService.record(saved);
 
         return saved;
     }
@@ -205,18 +232,16 @@ public class TicketService {
         }
 
         applySlaState(ticket);
-        Ticket saved = ticketRepository.save(ticket);
 
         // Save Audit Log
         com.smartcampus.model.TicketAuditLog auditLog = new com.smartcampus.model.TicketAuditLog();
-        auditLog.setTicketId(saved.getId());
+        auditLog.setTicketId(ticket.getId());
         auditLog.setChangedByUserId(user.getId());
         auditLog.setChangedByUserName(user.getName());
         auditLog.setOldStatus(oldStatus);
         auditLog.setNewStatus(newStatus);
         auditLog.setTimestamp(LocalDateTime.now());
         auditLog.setNote(auditNote);
-        ticketAuditLogRepository.save(auditLog);
 
         Notification.NotificationType notifType;
         String message;
@@ -238,9 +263,15 @@ public class TicketService {
                 message = "Your ticket '" + ticket.getTitle() + "' status changed to " + status;
         }
 
-        notificationService.createNotification(
-                ticket.getReportedBy(), "Ticket Update", message,
-                notifType, ticket.getId(), "TICKET");
+        Ticket saved = transaction.execute(tx -> {
+            Ticket updated = ticketRepository.save(ticket);
+            ticketAuditLogRepository.save(auditLog);
+            notificationService.createNotification(
+                    ticket.getReportedBy(), "Ticket Update", message,
+                    notifType, ticket.getId(), "TICKET");
+            return updated;
+        });
+        technicianAutoAssignmentService.record(saved);
 
         return saved;
     }
@@ -272,6 +303,80 @@ public class TicketService {
                 .toList();
     }
 
+    /**
+     * Keyset page, newest first; the cursor is the creation time and id of the previous page's last ticket.
+     */
+    public CursorPage<Ticket> getTicketsPage(Ticket.TicketStatus status, Ticket.Priority priority, String assignedTo,
+                                             String cursor, Integer limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        String[] before = CursorPage.decode(cursor, 2);
+        PageRequest firstRows = PageRequest.of(0, pageSize + 1);
+        List<Ticket> rows;
+        if (before == null) {
+            rows = ticketRepository.findFirstPage(status, priority, assignedTo, firstRows);
+        } else {
+            try {
+                rows = ticketRepository.findPageBefore(status, priority, assignedTo,
+                        LocalDateTime.parse(before[0]), before[1], firstRows);
+            } catch (DateTimeParseException ex) {
+                throw new BadRequestException("Invalid page cursor");
+            }
+        }
+        rows.forEach(this::applySlaState);
+        return CursorPage.of(rows, pageSize,
+                ticket -> CursorPage.encode(ticket.getCreatedAt(), ticket.getId()));
+    }
+
+    /**
+     * Lightweight list view: one query, no TEXT columns and no attachment collections.
+     */
+    public List<TicketSummary> getTicketSummaries(Ticket.TicketStatus status) {
+        return withSlaState(ticketRepository.findSummaries(status));
+    }
+
+    /**
+     * The summary counterpart of {@link #applySlaState}: {@code slaBreached} is the persisted monitor flag the
+     * query projected, and only {@code slaMet} is derived for completed tickets, so list and detail agree.
+     */
+    private List<TicketSummary> withSlaState(List<TicketSummary> summaries) {
+        return summaries.stream()
+                .map(summary -> summary.slaDueAt() == null || !isTerminal(summary.status())
+                        ? summary
+                        : summary.withSlaState(summary.slaBreached(),
+                                slaMet(summary.slaDueAt(), summary.resolvedAt(), summary.closedAt(), summary.updatedAt())))
+                .toList();
+    }
+
+    /**
+     * Open or in-progress tickets whose SLA is already past due, most overdue first. They are selected by
+     * comparing the indexed {@code slaDueAt} with the current time in the query; {@code slaBreached} is still the
+     * persisted flag, which the monitor sets within one tick of the deadline.
+     */
+    public List<TicketSummary> getBreachedOpenTickets() {
+        return withSlaState(ticketRepository.findSummariesOverdue(ACTIVE_STATUSES, LocalDateTime.now()));
+    }
+
+    /**
+     * Open or in-progress tickets that will breach their SLA within the next {@code minutes}.
+     */
+    public List<TicketSummary> getTicketsDueWithin(int minutes) {
+        if (minutes <= 0) {
+            throw new BadRequestException("Minutes must be positive");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return withSlaState(ticketRepository.findSummariesBySlaDueBetween(ACTIVE_STATUSES, now, now.plusMinutes(minutes)));
+    }
+
+    /**
+     * Share of completed tickets per category that were resolved or closed before their SLA due time.
+     */
+    public List<SlaCategoryStat> getSlaMetRateByCategory(int sinceDays) {
+        if (sinceDays <= 0) {
+            throw new BadRequestException("Days must be positive");
+        }
+        return ticketRepository.findSlaMetRateByCategory(TERMINAL_STATUSES, LocalDateTime.now().minusDays(sinceDays));
+    }
+
     public List<Ticket> getUserTickets(String userId) {
         return ticketRepository.findByReportedBy(userId).stream()
                 .map(this::applySlaState)
@@ -326,10 +431,18 @@ public class TicketService {
             ticket.setAttachmentUrls(new ArrayList<>(attachmentUrls));
         }
         ticket.setUpdatedAt(LocalDateTime.now());
-        applySlaPolicy(ticket, ticket.getCreatedAt() != null ? ticket.getCreatedAt() : LocalDateTime.now());
+        boolean rearm = applySlaPolicy(ticket, ticket.getCreatedAt() != null ? ticket.getCreatedAt() : LocalDateTime.now());
         applySlaState(ticket);
 
-        return ticketRepository.save(ticket);
+        Ticket saved = transaction.execute(status -> {
+            Ticket updated = ticketRepository.save(ticket);
+            if (rearm) {
+                ticketRepository.rearmSlaEscalation(updated.getId());
+            }
+            return updated;
+        });
+        technicianAutoAssignmentService.record(saved);
+        return saved;
     }
 
     private boolean isBlank(String value) {
@@ -341,6 +454,7 @@ public class TicketService {
             throw new ResourceNotFoundException("Ticket not found with id: " + ticketId);
         }
         ticketRepository.deleteById(ticketId);
+        technicianAutoAssignmentService.remove(ticketId);
     }
 
     public void deleteTicketByUser(String ticketId, User user) {
@@ -353,12 +467,14 @@ public class TicketService {
 
         if (isStaff) {
             ticketRepository.deleteById(ticketId);
+            technicianAutoAssignmentService.remove(ticketId);
             return;
         }
 
         if (isOwner) {
             if (ticket.getStatus() == Ticket.TicketStatus.OPEN) {
                 ticketRepository.deleteById(ticketId);
+                technicianAutoAssignmentService.remove(ticketId);
             } else {
                 throw new RuntimeException("Cannot delete a ticket that is " + ticket.getStatus());
             }
@@ -369,6 +485,7 @@ public class TicketService {
 
     public void bulkDeleteTickets(List<String> ids) {
         ticketRepository.deleteAllById(ids);
+        technicianAutoAssignmentService.remove(ids);
     }
 
     public int resetStaleInProgressToOpen() {
@@ -382,15 +499,28 @@ public class TicketService {
         ticketRepository.deleteAll(toDelete);
     }
 
-    private void applySlaPolicy(Ticket ticket, LocalDateTime baseTime) {
+    /**
+     * Returns whether the deadline moved. A new deadline re-arms escalation, and TicketSlaMonitor picks it up on its
+     * next reload. The escalation columns are not written by {@code save}, so an existing ticket must also be
+     * re-armed with {@link TicketRepository#rearmSlaEscalation}.
+     */
+    private boolean applySlaPolicy(Ticket ticket, LocalDateTime baseTime) {
         int slaTargetMinutes = getSlaTargetMinutes(ticket.getPriority());
+        LocalDateTime slaDueAt = baseTime.plusMinutes(slaTargetMinutes);
         ticket.setSlaTargetMinutes(slaTargetMinutes);
-        ticket.setSlaDueAt(baseTime.plusMinutes(slaTargetMinutes));
         ticket.setSlaMet(null);
+        if (slaDueAt.equals(ticket.getSlaDueAt())) {
+            return false;
+        }
+        ticket.setSlaDueAt(slaDueAt);
+        ticket.setSlaWarningAt(TicketSlaMonitor.warningAt(baseTime, slaTargetMinutes));
+        ticket.setSlaBreached(false);
+        ticket.setSlaEscalation(Ticket.SlaEscalation.NONE);
+        return true;
     }
 
     private User autoAssignTechnician(Ticket ticket) {
-        return technicianAutoAssignmentService.findBestTechnicianForCategory(ticket.getCategory())
+        return technicianAutoAssignmentService.findBestTechnicianForCategory(ticket.getCategory(), ticket.getPriority())
                 .map(technician -> {
                     ticket.setAssignedTo(technician.getId());
                     ticket.setAssignedToName(technician.getName());
@@ -420,27 +550,36 @@ public class TicketService {
                 ticket.getId(), "TICKET");
     }
 
+    /**
+     * Derives {@code slaMet} for completed tickets. {@code slaBreached} is not recomputed here: it is persisted
+     * once by {@link TicketSlaMonitor} when the deadline passes.
+     */
     private Ticket applySlaState(Ticket ticket) {
         if (ticket.getSlaDueAt() == null) {
             return ticket;
         }
 
-        boolean terminal = ticket.getStatus() == Ticket.TicketStatus.RESOLVED
-                || ticket.getStatus() == Ticket.TicketStatus.CLOSED
-                || ticket.getStatus() == Ticket.TicketStatus.REJECTED;
-        boolean breached = LocalDateTime.now().isAfter(ticket.getSlaDueAt());
-        ticket.setSlaBreached(breached);
-
-        if (terminal) {
-            LocalDateTime completedAt = ticket.getResolvedAt() != null
-                    ? ticket.getResolvedAt()
-                    : ticket.getClosedAt() != null ? ticket.getClosedAt() : ticket.getUpdatedAt();
-            ticket.setSlaMet(completedAt != null && !completedAt.isAfter(ticket.getSlaDueAt()));
+        if (isTerminal(ticket.getStatus())) {
+            ticket.setSlaMet(slaMet(ticket.getSlaDueAt(), ticket.getResolvedAt(), ticket.getClosedAt(), ticket.getUpdatedAt()));
         }
 
         return ticket;
     }
 
+    private static boolean isTerminal(Ticket.TicketStatus status) {
+        return status == Ticket.TicketStatus.RESOLVED
+                || status == Ticket.TicketStatus.CLOSED
+                || status == Ticket.TicketStatus.REJECTED;
+    }
+
+    private static boolean slaMet(LocalDateTime slaDueAt, LocalDateTime resolvedAt, LocalDateTime closedAt,
+                                  LocalDateTime updatedAt) {
+        LocalDateTime completedAt = resolvedAt != null
+                ? resolvedAt
+                : closedAt != null ? closedAt : updatedAt;
+        return completedAt != null && !completedAt.isAfter(slaDueAt);
+    }
+
     private int getSlaTargetMinutes(Ticket.Priority priority) {
         Map<Ticket.Priority, Integer> priorityToMinutes = Map.of(
                 Ticket.Priority.CRITICAL, 4 * 60,
@@ -0,0 +1,203 @@
+package com.smartcampus.service;
+
+import com.smartcampus.dto.SlaDeadlineView;
+import com.smartcampus.model.Notification;
+import com.smartcampus.model.Ticket;
+import com.smartcampus.model.User;
+import com.smartcampus.repository.TicketRepository;
+import com.smartcampus.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Background SLA escalation for open and in-progress tickets.
+ *
+ * Deadlines (the pre-breach warning at {@link #WARNING_RATIO} of the SLA target, and the breach itself) are kept
+ * in a delay queue ordered by fire time. Only deadlines inside a short horizon are held in memory, at most
+ * {@code max-entries} per kind, so the queue stays small regardless of how many tickets are open; it is reloaded
+ * from the {@code (status, slaDueAt)} and {@code (status, slaWarningAt)} indexes every {@code reload-interval}
+ * and whenever the loaded horizon runs out.
+ *
+ * Escalation state lives on the ticket ({@link Ticket#getSlaEscalation()} and {@code slaBreached}) and is
+ * claimed with a conditional UPDATE, so every escalation fires exactly once, also across restarts and backend
+ * nodes. The claim and the escalation notifications commit in one transaction, so a failed escalation is
+ * retried on a later reload instead of being marked done. Deadlines missed while the application was down fire
+ * on the first tick after startup.
+ */
+@Component
+public class TicketSlaMonitor {
+
+    public static final double WARNING_RATIO = 0.75;
+
+    private static final Logger log = LoggerFactory.getLogger(TicketSlaMonitor.class);
+    private static final List<Ticket.TicketStatus> ACTIVE_STATUSES =
+            List.of(Ticket.TicketStatus.OPEN, Ticket.TicketStatus.IN_PROGRESS);
+
+    private final TicketRepository ticketRepository;
+    private final UserRepository userRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transaction;
+    private final boolean enabled;
+    private final Duration horizon;
+    private final Duration reloadInterval;
+    private final int maxEntries;
+
+    private final PriorityQueue<Deadline> queue = new PriorityQueue<>(
+            Comparator.comparing(Deadline::fireAt).thenComparing(Deadline::ticketId));
+    private LocalDateTime loadedAt;
+    private LocalDateTime loadedUntil;
+    private LocalDateTime nextReloadAt;
+
+    public TicketSlaMonitor(TicketRepository ticketRepository, UserRepository userRepository,
+                            NotificationService notificationService,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.ticket.sla-monitor.enabled:true}") boolean enabled,
+                            @Value("${app.ticket.sla-monitor.horizon-minutes:10}") long horizonMinutes,
+                            @Value("${app.ticket.sla-monitor.reload-interval-seconds:60}") long reloadIntervalSeconds,
+                            @Value("${app.ticket.sla-monitor.max-entries:5000}") int maxEntries) {
+        this.ticketRepository = ticketRepository;
+        this.userRepository = userRepository;
+        this.notificationService = notificationService;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.horizon = Duration.ofMinutes(horizonMinutes);
+        this.reloadInterval = Duration.ofSeconds(reloadIntervalSeconds);
+        this.maxEntries = maxEntries;
+    }
+
+    /** Time at which the pre-breach warning fires for an SLA window starting at {@code baseTime}. */
+    public static LocalDateTime warningAt(LocalDateTime baseTime, int slaTargetMinutes) {
+        return baseTime.plusSeconds(Math.round(slaTargetMinutes * 60 * WARNING_RATIO));
+    }
+
+    @Scheduled(fixedDelayString = "${app.ticket.sla-monitor.tick-ms:5000}",
+               initialDelayString = "${app.ticket.sla-monitor.initial-delay-ms:30000}")
+    public void tick() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            poll(LocalDateTime.now());
+        } catch (RuntimeException ex) {
+            log.error("SLA monitor tick failed", ex);
+        }
+    }
+
+    /**
+     * Fires every queued deadline that is due at {@code now}, reloading the queue first if the horizon has run
+     * out. Returns the number of escalations that were actually claimed.
+     */
+    public synchronized int poll(LocalDateTime now) {
+        if (loadedAt == null || now.isBefore(loadedAt) || !now.isBefore(nextReloadAt) || !now.isBefore(loadedUntil)) {
+            reload(now);
+        }
+
+        int fired = 0;
+        // Loaded once per poll, on the first claimed escalation
+        Map<User.Role, List<String>> managerIds = new EnumMap<>(User.Role.class);
+        while (!queue.isEmpty() && !queue.peek().fireAt().isAfter(now)) {
+            Deadline deadline = queue.poll();
+            try {
+                boolean claimed = Boolean.TRUE.equals(transaction.execute(status -> {
+                    boolean won = deadline.breach()
+                            ? ticketRepository.claimSlaBreach(deadline.ticketId(), ACTIVE_STATUSES, now) == 1
+                            : ticketRepository.claimSlaWarning(deadline.ticketId(), ACTIVE_STATUSES, now) == 1;
+                    if (won) {
+                        List<String> recipients = managerIds.computeIfAbsent(User.Role.MANAGER,
+                                userRepository::findEnabledIdsByRole);
+                        ticketRepository.findById(deadline.ticketId())
+                                .ifPresent(ticket -> escalate(ticket, deadline.breach(), recipients));
+                    }
+                    return won;
+                }));
+                if (claimed) {
+                    fired++;
+                }
+            } catch (RuntimeException ex) {
+                log.warn("SLA escalation for ticket {} failed: {}", deadline.ticketId(), ex.getMessage());
+            }
+        }
+        return fired;
+    }
+
+    public synchronized int queuedDeadlines() {
+        return queue.size();
+    }
+
+    private void reload(LocalDateTime now) {
+        queue.clear();
+        LocalDateTime until = now.plus(horizon);
+        PageRequest cap = PageRequest.of(0, maxEntries);
+        List<SlaDeadlineView> breaches = ticketRepository.findPendingSlaBreaches(ACTIVE_STATUSES, until, cap);
+        List<SlaDeadlineView> warnings = ticketRepository.findPendingSlaWarnings(ACTIVE_STATUSES, now, until, cap);
+
+        // A full page means later deadlines were cut off; only trust the queue up to the last one loaded.
+        loadedUntil = until;
+        if (breaches.size() == maxEntries) {
+            loadedUntil = min(loadedUntil, breaches.get(breaches.size() - 1).fireAt());
+        }
+        if (warnings.size() == maxEntries) {
+            loadedUntil = min(loadedUntil, warnings.get(warnings.size() - 1).fireAt());
+        }
+        loadedAt = now;
+        nextReloadAt = now.plus(reloadInterval);
+
+        enqueue(breaches, true);
+        enqueue(warnings, false);
+    }
+
+    private void enqueue(List<SlaDeadlineView> deadlines, boolean breach) {
+        for (SlaDeadlineView view : deadlines) {
+            Deadline deadline = new Deadline(view.ticketId(), view.fireAt(), breach);
+            if (!deadline.fireAt().isAfter(loadedUntil)) {
+                queue.add(deadline);
+            }
+        }
+    }
+
+    private void escalate(Ticket ticket, boolean breach, List<String> managerIds) {
+        Set<String> recipients = new LinkedHashSet<>();
+        if (ticket.getAssignedTo() != null) {
+            recipients.add(ticket.getAssignedTo());
+        }
+        if (breach || ticket.getAssignedTo() == null) {
+            recipients.addAll(managerIds);
+        }
+
+        String title = breach ? "SLA Breached" : "SLA Deadline Approaching";
+        String message = breach
+                ? "Ticket \"" + ticket.getTitle() + "\" (" + ticket.getPriority() + ") has breached its SLA, which was due at "
+                        + ticket.getSlaDueAt() + "."
+                : "Ticket \"" + ticket.getTitle() + "\" (" + ticket.getPriority() + ") will breach its SLA at "
+                        + ticket.getSlaDueAt() + ".";
+        Notification.NotificationType type = breach
+                ? Notification.NotificationType.TICKET_SLA_BREACHED
+                : Notification.NotificationType.TICKET_SLA_WARNING;
+        for (String userId : recipients) {
+            notificationService.createNotification(userId, title, message, type, ticket.getId(), "TICKET");
+        }
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private record Deadline(String ticketId, LocalDateTime fireAt, boolean breach) {
+    }
+}
@@ -0,0 +1,304 @@
+package com.smartcampus.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Multinomial naive Bayes over hashed word and word-bigram features, with one head for the ticket category and
+ * one for the priority.
+ *
+ * Words are runs of letters and digits, lowercased and FNV-hashed in place, so feature extraction never builds
+ * strings. Features are folded into {@value #BUCKETS} buckets; a {@link Trainer} keeps one {@code int[]} of
+ * counts per label and can be fed incrementally, and {@link Trainer#build()} turns the counts into dense
+ * per-bucket log-likelihood tables laid out bucket-major, so scoring a feature touches one short run of floats.
+ *
+ * The binary format stores only non-zero counts: a header, then per head the labels, document and token totals
+ * and {@code (bucket, count)} pairs.
+ */
+public final class TicketTextModel {
+
+    public static final int BUCKETS = 1 << 16;
+
+    private static final int MAGIC = 0x54434d31; // "TCM1"
+    private static final int MASK = BUCKETS - 1;
+    private static final int FNV_OFFSET = 0x811c9dc5;
+    private static final int FNV_PRIME = 0x01000193;
+    private static final int BIGRAM_SALT = 0x9e3779b9;
+    private static final float ALPHA = 0.1f;
+
+    private final Head category;
+    private final Head priority;
+    private final int documents;
+
+    private TicketTextModel(Head category, Head priority, int documents) {
+        this.category = category;
+        this.priority = priority;
+        this.documents = documents;
+    }
+
+    public static Trainer trainer() {
+        return new Trainer();
+    }
+
+    public static TicketTextModel read(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+        if (in.readInt() != MAGIC || in.readInt() != BUCKETS) {
+            throw new IOException("Not a ticket classifier model, or built for a different bucket count");
+        }
+        Trainer trainer = new Trainer();
+        trainer.documents = in.readInt();
+        trainer.category.read(in);
+        trainer.priority.read(in);
+        return trainer.build();
+    }
+
+    public int documents() {
+        return documents;
+    }
+
+    public List<String> categories() {
+        return List.of(category.labels);
+    }
+
+    public List<String> priorities() {
+        return List.of(priority.labels);
+    }
+
+    /** Most likely category and priority with their posterior probabilities. */
+    public Prediction predict(String... parts) {
+        double[] categoryScores = category.logPriors.clone();
+        double[] priorityScores = priority.logPriors.clone();
+        for (String part : parts) {
+            if (part != null) {
+                forEachFeature(part, bucket -> {
+                    category.accumulate(bucket, categoryScores);
+                    priority.accumulate(bucket, priorityScores);
+                });
+            }
+        }
+        int bestCategory = argMax(categoryScores);
+        int bestPriority = argMax(priorityScores);
+        return new Prediction(
+                bestCategory < 0 ? null : category.labels[bestCategory], posterior(categoryScores, bestCategory),
+                bestPriority < 0 ? null : priority.labels[bestPriority], posterior(priorityScores, bestPriority));
+    }
+
+    private static int argMax(double[] scores) {
+        int best = -1;
+        for (int i = 0; i < scores.length; i++) {
+            if (best < 0 || scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static double posterior(double[] scores, int best) {
+        if (best < 0) {
+            return 0.0;
+        }
+        double sum = 0.0;
+        for (double score : scores) {
+            sum += Math.exp(score - scores[best]);
+        }
+        return 1.0 / sum;
+    }
+
+    /** Calls {@code sink} with the bucket of every word and every pair of adjacent words in {@code text}. */
+    static void forEachFeature(String text, FeatureSink sink) {
+        int hash = FNV_OFFSET;
+        int previous = 0;
+        boolean inWord = false;
+        boolean hasPrevious = false;
+        int length = text.length();
+        for (int i = 0; i <= length; i++) {
+            char ch = i < length ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(ch)) {
+                hash = (hash ^ Character.toLowerCase(ch)) * FNV_PRIME;
+                inWord = true;
+            } else if (inWord) {
+                sink.accept(spread(hash) & MASK);
+                if (hasPrevious) {
+                    sink.accept(spread(previous * 31 + hash ^ BIGRAM_SALT) & MASK);
+                }
+                previous = hash;
+                hasPrevious = true;
+                hash = FNV_OFFSET;
+                inWord = false;
+            }
+        }
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        return hash ^ (hash >>> 13);
+    }
+
+    @FunctionalInterface
+    interface FeatureSink {
+        void accept(int bucket);
+    }
+
+    public record Prediction(String category, double categoryConfidence, String priority, double priorityConfidence) {
+    }
+
+    /** Accumulates counts from labelled tickets; not thread-safe. */
+    public static final class Trainer {
+
+        private final Counts category = new Counts();
+        private final Counts priority = new Counts();
+        private int documents;
+
+        private Trainer() {
+        }
+
+        /** Adds one labelled ticket; a {@code null} label leaves that head untouched. */
+        public void learn(String categoryLabel, String priorityLabel, String... parts) {
+            Counts.Label categoryCounts = categoryLabel != null ? category.label(categoryLabel) : null;
+            Counts.Label priorityCounts = priorityLabel != null ? priority.label(priorityLabel) : null;
+            if (categoryCounts == null && priorityCounts == null) {
+                return;
+            }
+            documents++;
+            if (categoryCounts != null) {
+                categoryCounts.documents++;
+            }
+            if (priorityCounts != null) {
+                priorityCounts.documents++;
+            }
+            for (String part : parts) {
+                if (part != null) {
+                    forEachFeature(part, bucket -> {
+                        if (categoryCounts != null) {
+                            categoryCounts.add(bucket);
+                        }
+                        if (priorityCounts != null) {
+                            priorityCounts.add(bucket);
+                        }
+                    });
+                }
+            }
+        }
+
+        public int documents() {
+            return documents;
+        }
+
+        public void write(OutputStream output) throws IOException {
+            DataOutputStream out = new DataOutputStream(output);
+            out.writeInt(MAGIC);
+            out.writeInt(BUCKETS);
+            out.writeInt(documents);
+            category.write(out);
+            priority.write(out);
+            out.flush();
+        }
+
+        public TicketTextModel build() {
+            return new TicketTextModel(category.toHead(), priority.toHead(), documents);
+        }
+    }
+
+    private static final class Counts {
+
+        private final List<Label> labels = new ArrayList<>();
+
+        private Label label(String name) {
+            for (Label label : labels) {
+                if (label.name.equals(name)) {
+                    return label;
+                }
+            }
+            Label label = new Label(name);
+            labels.add(label);
+            return label;
+        }
+
+        private void write(DataOutputStream out) throws IOException {
+            out.writeInt(labels.size());
+            for (Label label : labels) {
+                out.writeUTF(label.name);
+                out.writeInt(label.documents);
+                out.writeLong(label.tokens);
+                int nonZero = 0;
+                for (int count : label.counts) {
+                    if (count != 0) {
+                        nonZero++;
+                    }
+                }
+                out.writeInt(nonZero);
+                for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                    if (label.counts[bucket] != 0) {
+                        out.writeShort(bucket);
+                        out.writeInt(label.counts[bucket]);
+                    }
+                }
+            }
+        }
+
+        private void read(DataInputStream in) throws IOException {
+            int labelCount = in.readInt();
+            for (int i = 0; i < labelCount; i++) {
+                Label label = label(in.readUTF());
+                label.documents = in.readInt();
+                label.tokens = in.readLong();
+                int nonZero = in.readInt();
+                for (int j = 0; j < nonZero; j++) {
+                    label.counts[in.readUnsignedShort()] = in.readInt();
+                }
+            }
+        }
+
+        private Head toHead() {
+            int labelCount = labels.size();
+            String[] names = new String[labelCount];
+            double[] logPriors = new double[labelCount];
+            float[] logLikelihoods = new float[BUCKETS * labelCount];
+            long totalDocuments = labels.stream().mapToLong(label -> label.documents).sum();
+            for (int c = 0; c < labelCount; c++) {
+                Label label = labels.get(c);
+                names[c] = label.name;
+                logPriors[c] = Math.log((label.documents + 1.0) / (totalDocuments + labelCount));
+                double denominator = Math.log(label.tokens + (double) ALPHA * BUCKETS);
+                for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                    logLikelihoods[bucket * labelCount + c] =
+                            (float) (Math.log(label.counts[bucket] + ALPHA) - denominator);
+                }
+            }
+            return new Head(names, logPriors, logLikelihoods);
+        }
+
+        private static final class Label {
+
+            private final String name;
+            private final int[] counts = new int[BUCKETS];
+            private int documents;
+            private long tokens;
+
+            private Label(String name) {
+                this.name = name;
+            }
+
+            private void add(int bucket) {
+                counts[bucket]++;
+                tokens++;
+            }
+        }
+    }
+
+    private record Head(String[] labels, double[] logPriors, float[] logLikelihoods) {
+
+        private void accumulate(int bucket, double[] scores) {
+            int offset = bucket * labels.length;
+            for (int c = 0; c < scores.length; c++) {
+                scores[c] += logLikelihoods[offset + c];
+            }
+        }
+    }
+}
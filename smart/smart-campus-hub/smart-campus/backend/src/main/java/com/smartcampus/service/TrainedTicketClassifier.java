@@ -0,0 +1,162 @@
+package com.smartcampus.service;
+
+import com.smartcampus.dto.ClassifierTrainingResponse;
+import com.smartcampus.dto.TicketTrainingRow;
+import com.smartcampus.model.Ticket;
+import com.smartcampus.repository.TicketRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Trained counterpart of the keyword rules in {@link TicketClassificationService}.
+ *
+ * The model is a {@link TicketTextModel} learned from resolved and closed tickets, whose category and priority
+ * have been through staff hands. Training streams those rows once, writes the model file atomically and swaps it
+ * in; the file is loaded again at startup. Without a model, or when its posterior for a head is below
+ * {@code min-confidence}, {@link #suggest} returns {@code null} for that head and the rules decide.
+ */
+@Component
+public class TrainedTicketClassifier {
+
+    private static final Logger log = LoggerFactory.getLogger(TrainedTicketClassifier.class);
+    private static final List<Ticket.TicketStatus> LABELLED_STATUSES =
+            List.of(Ticket.TicketStatus.RESOLVED, Ticket.TicketStatus.CLOSED);
+
+    private final TicketRepository ticketRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final Path modelPath;
+    private final double minConfidence;
+    private final int minDocuments;
+
+    private volatile TicketTextModel model;
+
+    public TrainedTicketClassifier(TicketRepository ticketRepository, PlatformTransactionManager transactionManager,
+                                   @Value("${app.ticket.classifier.enabled:true}") boolean enabled,
+                                   @Value("${app.ticket.classifier.model-path:models/ticket-classifier.bin}") String modelPath,
+                                   @Value("${app.ticket.classifier.min-confidence:0.7}") double minConfidence,
+                                   @Value("${app.ticket.classifier.min-documents:50}") int minDocuments) {
+        this.ticketRepository = ticketRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.modelPath = Paths.get(modelPath);
+        this.minConfidence = minConfidence;
+        this.minDocuments = minDocuments;
+        if (enabled) {
+            this.model = load(this.modelPath);
+        }
+    }
+
+    /**
+     * Confident category and priority for the ticket text; either may be {@code null}. Returns {@code null}
+     * when no model is loaded.
+     */
+    public Suggestion suggest(String title, String description, String location) {
+        TicketTextModel current = model;
+        if (current == null) {
+            return null;
+        }
+        TicketTextModel.Prediction prediction = current.predict(title, description, location);
+        String category = prediction.categoryConfidence() >= minConfidence ? prediction.category() : null;
+        Ticket.Priority priority = prediction.priorityConfidence() >= minConfidence && prediction.priority() != null
+                ? Ticket.Priority.valueOf(prediction.priority())
+                : null;
+        return new Suggestion(category, priority);
+    }
+
+    @Scheduled(cron = "${app.ticket.classifier.train-cron:-}")
+    public void scheduledTraining() {
+        try {
+            train();
+        } catch (RuntimeException ex) {
+            log.error("Scheduled ticket classifier training failed", ex);
+        }
+    }
+
+    /**
+     * Retrains from the labelled tickets in one streaming pass. The new model only replaces the current one if
+     * the corpus has at least {@code min-documents} tickets.
+     */
+    public ClassifierTrainingResponse train() {
+        long startedAt = System.nanoTime();
+        TicketTextModel.Trainer trainer = TicketTextModel.trainer();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<TicketTrainingRow> rows = ticketRepository.streamTrainingRows(LABELLED_STATUSES)) {
+                rows.filter(row -> !row.category().isBlank())
+                        .forEach(row -> trainer.learn(row.category().trim(), row.priority().name(),
+                                row.title(), row.description(), row.location()));
+            }
+        });
+
+        TicketTextModel trained = trainer.build();
+        boolean applied = enabled && trainer.documents() >= minDocuments;
+        long modelBytes = 0;
+        if (applied) {
+            modelBytes = save(trainer);
+            model = trained;
+        }
+        long durationMs = (System.nanoTime() - startedAt) / 1_000_000;
+        log.info("Ticket classifier trained on {} tickets in {} ms ({} categories, applied={})",
+                trainer.documents(), durationMs, trained.categories().size(), applied);
+        return new ClassifierTrainingResponse(applied, trainer.documents(), trained.categories(), modelBytes,
+                durationMs, LocalDateTime.now());
+    }
+
+    private long save(TicketTextModel.Trainer trainer) {
+        try {
+            Path parent = modelPath.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, "ticket-classifier", ".tmp");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                trainer.write(out);
+            }
+            try {
+                Files.move(temp, modelPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, modelPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return Files.size(modelPath);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write ticket classifier model to " + modelPath, ex);
+        }
+    }
+
+    private static TicketTextModel load(Path path) {
+        if (!Files.isRegularFile(path)) {
+            log.info("No ticket classifier model at {}; using keyword rules only", path);
+            return null;
+        }
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            TicketTextModel loaded = TicketTextModel.read(in);
+            log.info("Loaded ticket classifier model from {} ({} tickets)", path, loaded.documents());
+            return loaded;
+        } catch (IOException ex) {
+            log.warn("Could not load ticket classifier model from {}: {}. Using keyword rules only", path, ex.getMessage());
+            return null;
+        }
+    }
+
+    public record Suggestion(String category, Ticket.Priority priority) {
+    }
+}
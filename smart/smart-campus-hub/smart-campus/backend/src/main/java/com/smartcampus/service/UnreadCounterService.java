@@ -0,0 +1,123 @@
+package com.smartcampus.service;
+
+import com.smartcampus.repository.NotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user unread notification counts, kept in memory and pushed to {@code /user/queue/unread-count} whenever
+ * they change, so clients do not have to poll {@code GET /api/notifications/count}.
+ *
+ * A counter is seeded from the database the first time it is read or changed for a connected user, and then
+ * adjusted atomically by the code that creates, reads and deletes notifications. Changes for users with no
+ * counter and no WebSocket session are dropped, so offline users cost neither memory nor queries. Counters are
+ * re-seeded after {@code ttl-seconds}, which bounds drift from other nodes and from changes made outside the
+ * services.
+ */
+@Service
+public class UnreadCounterService {
+
+    private static final Logger log = LoggerFactory.getLogger(UnreadCounterService.class);
+    static final String DESTINATION = "/queue/unread-count";
+
+    private final NotificationRepository notificationRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry userRegistry;
+    private final long ttlNanos;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public UnreadCounterService(NotificationRepository notificationRepository,
+                                SimpMessagingTemplate messagingTemplate,
+                                SimpUserRegistry userRegistry,
+                                @Value("${app.notification.unread-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.notificationRepository = notificationRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.userRegistry = userRegistry;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    public long get(String userId) {
+        return counter(userId).value.get();
+    }
+
+    /** Applies a change the caller has already committed and pushes the new count. */
+    public void adjust(String userId, long delta) {
+        if (userId == null || delta == 0) {
+            return;
+        }
+        Counter cached = current(userId);
+        long value;
+        if (cached != null) {
+            value = cached.value.updateAndGet(count -> Math.max(0, count + delta));
+        } else if (userRegistry.getUser(userId) != null) {
+            // Seeding reads the committed change, so the delta must not be applied on top.
+            value = get(userId);
+        } else {
+            return;
+        }
+        push(userId, value);
+    }
+
+    /** Every unread notification of the user was marked read. */
+    public void reset(String userId) {
+        counters.put(userId, new Counter(0, System.nanoTime()));
+        push(userId, 0);
+    }
+
+    @Scheduled(fixedDelayString = "${app.notification.unread-cache.ttl-seconds:300}", timeUnit = TimeUnit.SECONDS)
+    public void evictExpired() {
+        long now = System.nanoTime();
+        counters.values().removeIf(counter -> counter.expired(now, ttlNanos));
+    }
+
+    int size() {
+        return counters.size();
+    }
+
+    private Counter counter(String userId) {
+        Counter cached = current(userId);
+        if (cached != null) {
+            return cached;
+        }
+        return counters.computeIfAbsent(userId,
+                id -> new Counter(notificationRepository.countByUserIdAndReadFalse(id), System.nanoTime()));
+    }
+
+    private Counter current(String userId) {
+        long now = System.nanoTime();
+        return counters.computeIfPresent(userId, (id, counter) -> counter.expired(now, ttlNanos) ? null : counter);
+    }
+
+    private void push(String userId, long count) {
+        try {
+            messagingTemplate.convertAndSendToUser(userId, DESTINATION, Map.of("count", count));
+        } catch (RuntimeException ex) {
+            log.warn("Unread count push to user {} failed: {}", userId, ex.getMessage());
+        }
+    }
+
+    private static final class Counter {
+
+        private final AtomicLong value;
+        private final long seededAt;
+
+        private Counter(long value, long seededAt) {
+            this.value = new AtomicLong(value);
+            this.seededAt = seededAt;
+        }
+
+        private boolean expired(long now, long ttlNanos) {
+            return now - seededAt >= ttlNanos;
+        }
+    }
+}
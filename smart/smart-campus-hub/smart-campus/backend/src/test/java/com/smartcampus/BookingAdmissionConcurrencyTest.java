@@ -0,0 +1,200 @@
+package com.smartcampus;
+
+import com.smartcampus.dto.BookingRequest;
+import com.smartcampus.exception.ConflictException;
+import com.smartcampus.model.Booking;
+import com.smartcampus.model.Facility;
+import com.smartcampus.model.FacilityDayLock;
+import com.smartcampus.model.User;
+import com.smartcampus.repository.BookingRepository;
+import com.smartcampus.repository.FacilityDayLockRepository;
+import com.smartcampus.repository.FacilityRepository;
+import com.smartcampus.repository.UserRepository;
+import com.smartcampus.service.BookingAdmissionService;
+import com.smartcampus.service.BookingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:booking-admission-test;DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never",
+        "app.data-initializer.enabled=false"
+})
+@DisplayName("Booking Admission Concurrency Tests")
+class BookingAdmissionConcurrencyTest {
+
+    private static final int ATTEMPTS = 500;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingAdmissionService bookingAdmissionService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private FacilityRepository facilityRepository;
+
+    @Autowired
+    private FacilityDayLockRepository facilityDayLockRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private Facility facility;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository.deleteAll();
+        facilityDayLockRepository.deleteAll();
+        facilityRepository.deleteAll();
+        userRepository.deleteAll();
+
+        user = new User();
+        user.setName("Concurrent Booker");
+        user.setEmail("concurrent.booker@smartcampus.com");
+        user.setPassword("encoded");
+        user.setProvider("LOCAL");
+        user.setRoles(Set.of(User.Role.USER));
+        user.setEnabled(true);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        user = userRepository.save(user);
+
+        facility = new Facility();
+        facility.setName("Registration Hall");
+        facility.setType(Facility.FacilityType.LECTURE_HALL);
+        facility.setCapacity(300);
+        facility.setStatus(Facility.Status.ACTIVE);
+        facility.setCreatedAt(LocalDateTime.now());
+        facility.setUpdatedAt(LocalDateTime.now());
+        facility = facilityRepository.save(facility);
+    }
+
+    @Test
+    @DisplayName("500 parallel identical bookings admit exactly one")
+    void createBooking_parallelIdenticalRequests_admitsExactlyOne() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(7);
+        AtomicInteger admitted = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Throwable> unexpected = java.util.Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    bookingService.createBooking(request(date, LocalTime.of(10, 0), LocalTime.of(12, 0)), user);
+                    admitted.incrementAndGet();
+                } catch (ConflictException ex) {
+                    conflicts.incrementAndGet();
+                } catch (Throwable ex) {
+                    unexpected.add(ex);
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(unexpected).isEmpty();
+        assertThat(admitted.get()).isEqualTo(1);
+        assertThat(conflicts.get()).isEqualTo(ATTEMPTS - 1);
+        assertThat(bookingRepository.findActiveByFacilityIdAndDate(facility.getId(), date)).hasSize(1);
+        assertThat(facilityDayLockRepository.findById(FacilityDayLock.keyOf(facility.getId(), date)))
+                .get()
+                .extracting(FacilityDayLock::getVersion)
+                .isEqualTo(0L);
+    }
+
+    @Test
+    @DisplayName("parallel bookings on distinct slots are all admitted and version the facility-day row")
+    void createBooking_parallelDistinctSlots_admitsAll() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(8);
+        int slots = 40;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<Booking>> futures = new ArrayList<>();
+        for (int i = 0; i < slots; i++) {
+            LocalTime from = LocalTime.of(6, 0).plusMinutes(20L * i);
+            futures.add(executor.submit(() -> {
+                start.await();
+                return bookingService.createBooking(request(date, from, from.plusMinutes(20)), user);
+            }));
+        }
+
+        start.countDown();
+        for (Future<Booking> future : futures) {
+            assertThat(future.get(60, TimeUnit.SECONDS).getStatus()).isEqualTo(Booking.BookingStatus.PENDING);
+        }
+        executor.shutdown();
+
+        assertThat(bookingRepository.findActiveByFacilityIdAndDate(facility.getId(), date)).hasSize(slots);
+        assertThat(facilityDayLockRepository.findById(FacilityDayLock.keyOf(facility.getId(), date)))
+                .get()
+                .extracting(FacilityDayLock::getVersion)
+                .isEqualTo((long) slots - 1);
+    }
+
+    @Test
+    @DisplayName("an integrity error raised by the admitted work propagates once instead of being retried")
+    void admit_workIntegrityError_isNotRetried() {
+        LocalDate date = LocalDate.now().plusDays(9);
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThatThrownBy(() -> bookingAdmissionService.admit(facility.getId(), date, () -> {
+            runs.incrementAndGet();
+            throw new DataIntegrityViolationException("booking row rejected");
+        })).isInstanceOf(DataIntegrityViolationException.class).hasMessage("booking row rejected");
+
+        assertThat(runs).hasValue(1);
+    }
+
+    private BookingRequest request(LocalDate date, LocalTime startTime, LocalTime endTime) {
+        BookingRequest request = new BookingRequest();
+        request.setFacilityId(facility.getId());
+        request.setDate(date);
+        request.setStartTime(startTime);
+        request.setEndTime(endTime);
+        request.setPurpose("Registration week session");
+        request.setExpectedAttendees(100);
+        return request;
+    }
+}
@@ -24,10 +24,13 @@ import org.springframework.test.web.servlet.request.RequestPostProcessor;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -156,6 +159,104 @@ class BookingControllerIntegrationTest {
                 .andExpect(jsonPath("$.reviewedBy").value(adminUser.getId()));
     }
 
+    @Test
+    @DisplayName("GET /api/facilities/availability lists free slots around active bookings")
+    void getAvailability_bookedFacility_returnsFreeSlots() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(4);
+        bookingRepository.save(booking(date, LocalTime.of(10, 0), LocalTime.of(11, 0)));
+
+        mockMvc.perform(get("/api/facilities/availability")
+                        .param("date", date.toString())
+                        .param("from", "09:00")
+                        .param("to", "12:00")
+                        .param("minCapacity", "60")
+                        .param("type", "LECTURE_HALL")
+                        .param("includePartial", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].facilityId").value(facility.getId()))
+                .andExpect(jsonPath("$[0].availableForRange").value(false))
+                .andExpect(jsonPath("$[0].freeMinutes").value(120))
+                .andExpect(jsonPath("$[0].freeSlots[0].startTime").value("09:00"))
+                .andExpect(jsonPath("$[0].freeSlots[0].endTime").value("10:00"))
+                .andExpect(jsonPath("$[0].freeSlots[1].startTime").value("11:00"));
+
+        mockMvc.perform(get("/api/facilities/availability")
+                        .param("date", date.toString())
+                        .param("from", "09:00")
+                        .param("to", "12:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("POST /api/bookings/series books every free week and PUT .../cancel cancels the rest")
+    void bookingSeries_createWithConflictThenCancel() throws Exception {
+        LocalDate first = LocalDate.now().plusDays(5);
+        bookingRepository.save(booking(first.plusWeeks(2), LocalTime.of(9, 30), LocalTime.of(10, 30)));
+
+        BookingRequest request = bookingRequest(first, LocalTime.of(9, 0), LocalTime.of(10, 0));
+        request.setRecurrence(BookingRequest.Recurrence.WEEKLY);
+        request.setOccurrences(4);
+
+        mockMvc.perform(post("/api/bookings/series")
+                        .with(authFor(testUser, "ROLE_USER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.conflicts[0].date").value(first.plusWeeks(2).toString()));
+
+        request.setSkipConflicts(true);
+        String body = mockMvc.perform(post("/api/bookings/series")
+                        .with(authFor(testUser, "ROLE_USER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.bookings.length()").value(3))
+                .andReturn().getResponse().getContentAsString();
+        String seriesId = objectMapper.readTree(body).get("seriesId").asText();
+
+        mockMvc.perform(put("/api/bookings/series/{seriesId}/cancel", seriesId)
+                        .with(authFor(testUser, "ROLE_USER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"reason\":\"Module cancelled\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].status").value("CANCELLED"))
+                .andExpect(jsonPath("$[2].cancellationReason").value("Module cancelled"));
+    }
+
+    @Test
+    @DisplayName("GET /api/bookings/page walks every booking once in date and start-time order")
+    void getBookingsPage_followsCursorToTheEnd() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(6);
+        for (int hour = 8; hour < 13; hour++) {
+            bookingRepository.save(booking(date, LocalTime.of(hour, 0), LocalTime.of(hour, 30)));
+        }
+        bookingRepository.save(booking(date.minusDays(1), LocalTime.of(17, 0), LocalTime.of(18, 0)));
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get("/api/bookings/page").param("limit", "4").with(authFor(adminUser, "ROLE_ADMIN"));
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            var page = objectMapper.readTree(body);
+            page.get("items").forEach(item -> seen.add(item.get("date").asText() + " " + item.get("startTime").asText()));
+            cursor = page.get("hasMore").asBoolean() ? page.get("nextCursor").asText() : null;
+        } while (cursor != null);
+
+        assertThat(seen).containsExactly(
+                date.minusDays(1) + " 17:00:00",
+                date + " 08:00:00", date + " 09:00:00", date + " 10:00:00", date + " 11:00:00", date + " 12:00:00");
+
+        mockMvc.perform(get("/api/bookings/page").param("cursor", "not-a-cursor").with(authFor(adminUser, "ROLE_ADMIN")))
+                .andExpect(status().isBadRequest());
+    }
+
     private BookingRequest bookingRequest(LocalDate date, LocalTime startTime, LocalTime endTime) {
         BookingRequest request = new BookingRequest();
         request.setFacilityId(facility.getId());
@@ -0,0 +1,198 @@
+package com.smartcampus;
+
+import com.smartcampus.dto.BroadcastRequest;
+import com.smartcampus.dto.BroadcastSummary;
+import com.smartcampus.dto.BroadcastView;
+import com.smartcampus.exception.BadRequestException;
+import com.smartcampus.exception.ResourceNotFoundException;
+import com.smartcampus.model.Booking;
+import com.smartcampus.model.Facility;
+import com.smartcampus.model.User;
+import com.smartcampus.repository.BookingRepository;
+import com.smartcampus.repository.BroadcastReceiptRepository;
+import com.smartcampus.repository.BroadcastRepository;
+import com.smartcampus.repository.FacilityRepository;
+import com.smartcampus.repository.UserRepository;
+import com.smartcampus.service.BroadcastService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:broadcast-test;DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never",
+        "app.data-initializer.enabled=false",
+        "app.ticket.sla-monitor.enabled=false",
+        "app.notification.outbox.enabled=false",
+        "app.notification.mail.enabled=false",
+        "app.notification.digest.enabled=false"
+})
+@DisplayName("Broadcast Tests")
+class BroadcastTest {
+
+    @Autowired
+    private BroadcastService broadcastService;
+
+    @Autowired
+    private BroadcastRepository broadcastRepository;
+
+    @Autowired
+    private BroadcastReceiptRepository receiptRepository;
+
+    @Autowired
+    private FacilityRepository facilityRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoSpyBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    private User admin;
+    private User blockBStudent;
+    private User blockAStudent;
+    private User technician;
+
+    @BeforeEach
+    void setUp() {
+        receiptRepository.deleteAll();
+        broadcastRepository.deleteAll();
+        bookingRepository.deleteAll();
+        facilityRepository.deleteAll();
+        userRepository.deleteAll();
+
+        admin = user("admin@campus.edu", User.Role.ADMIN);
+        blockBStudent = user("b@campus.edu", User.Role.USER);
+        blockAStudent = user("a@campus.edu", User.Role.USER);
+        technician = user("tech@campus.edu", User.Role.TECHNICIAN);
+        book(blockBStudent, facility("Lab B1", "Block B"), LocalDate.now().plusDays(1));
+        book(blockAStudent, facility("Lab A1", "Block A"), LocalDate.now().plusDays(1));
+        clearInvocations(messagingTemplate);
+    }
+
+    @Test
+    @DisplayName("send: one topic frame per broadcast, audiences filtered by role and building when read")
+    void send_fansOutOnceAndFiltersAudience() {
+        BroadcastView everyone = broadcastService.send(request("Exam week", "Library hours extended", null, null), admin);
+        BroadcastView technicians = broadcastService.send(request("Tool audit", "Return borrowed tools", "technician", null), admin);
+        BroadcastView blockB = broadcastService.send(request("Power outage", "Block B is without power", null, "Block B"), admin);
+
+        ArgumentCaptor<Object> frames = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, times(3)).convertAndSend(eq("/topic/broadcast"), frames.capture());
+        verify(messagingTemplate, never()).convertAndSendToUser(anyString(), anyString(), frames.capture());
+        assertThat(frames.getAllValues()).extracting(frame -> ((BroadcastView) frame).title())
+                .containsExactly("Exam week", null, null);
+
+        assertThat(broadcastService.getFeed(blockBStudent, null)).extracting(BroadcastView::id)
+                .containsExactly(blockB.id(), everyone.id());
+        assertThat(broadcastService.getFeed(blockAStudent, null)).extracting(BroadcastView::id)
+                .containsExactly(everyone.id());
+        assertThat(broadcastService.getFeed(technician, null)).extracting(BroadcastView::id)
+                .containsExactly(technicians.id(), everyone.id());
+        assertThat(broadcastService.getBroadcast(blockB.id(), blockBStudent).message()).isEqualTo("Block B is without power");
+        assertThatThrownBy(() -> broadcastService.getBroadcast(blockB.id(), technician))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("markAsRead: writes one receipt per user and keeps the first read time")
+    void markAsRead_writesOneReceiptPerUser() {
+        BroadcastView everyone = broadcastService.send(request("Exam week", "Library hours extended", null, null), admin);
+
+        BroadcastView first = broadcastService.markAsRead(everyone.id(), blockAStudent);
+        BroadcastView second = broadcastService.markAsRead(everyone.id(), blockAStudent);
+        broadcastService.markAsRead(everyone.id(), technician);
+
+        assertThat(first.readAt()).isNotNull();
+        assertThat(second.readAt()).isEqualTo(broadcastService.getBroadcast(everyone.id(), blockAStudent).readAt());
+        assertThat(broadcastService.getFeed(blockBStudent, null).get(0).readAt()).isNull();
+        assertThat(receiptRepository.countByBroadcastId(everyone.id())).isEqualTo(2);
+        assertThat(broadcastService.getSummaries(null)).extracting(BroadcastSummary::reads).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("send: rejects unknown roles and buildings without a facility")
+    void send_rejectsUnknownAudience() {
+        assertThatThrownBy(() -> broadcastService.send(request("Hello", "Everyone", "janitor", null), admin))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> broadcastService.send(request("Hello", "Everyone", null, "Block Z"), admin))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(broadcastRepository.count()).isZero();
+    }
+
+    private static BroadcastRequest request(String title, String message, String role, String building) {
+        BroadcastRequest request = new BroadcastRequest();
+        request.setTitle(title);
+        request.setMessage(message);
+        request.setAudienceRole(role);
+        request.setBuilding(building);
+        return request;
+    }
+
+    private User user(String email, User.Role role) {
+        User user = new User();
+        user.setName(email);
+        user.setEmail(email);
+        user.setPassword("encoded");
+        user.setProvider("LOCAL");
+        user.setRoles(Set.of(role));
+        user.setEnabled(true);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        return userRepository.save(user);
+    }
+
+    private Facility facility(String name, String building) {
+        Facility facility = new Facility();
+        facility.setName(name);
+        facility.setType(Facility.FacilityType.LAB);
+        facility.setCapacity(30);
+        facility.setStatus(Facility.Status.ACTIVE);
+        facility.setBuilding(building);
+        return facilityRepository.save(facility);
+    }
+
+    private void book(User user, Facility facility, LocalDate date) {
+        Booking booking = new Booking();
+        booking.setFacilityId(facility.getId());
+        booking.setFacilityName(facility.getName());
+        booking.setUserId(user.getId());
+        booking.setUserName(user.getName());
+        booking.setDate(date);
+        booking.setStartTime(LocalTime.of(9, 0));
+        booking.setEndTime(LocalTime.of(10, 0));
+        booking.setPurpose("Study group");
+        booking.setStatus(Booking.BookingStatus.APPROVED);
+        booking.setCreatedAt(LocalDateTime.now());
+        bookingRepository.save(booking);
+    }
+}
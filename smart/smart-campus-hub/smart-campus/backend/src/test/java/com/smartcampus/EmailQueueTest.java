@@ -0,0 +1,201 @@
+package com.smartcampus;
+
+import com.smartcampus.dto.EmailQueueStats;
+import com.smartcampus.model.EmailMessage;
+import com.smartcampus.model.Notification;
+import com.smartcampus.model.User;
+import com.smartcampus.repository.EmailMessageRepository;
+import com.smartcampus.repository.NotificationOutboxRepository;
+import com.smartcampus.repository.NotificationRepository;
+import com.smartcampus.repository.UserRepository;
+import com.smartcampus.service.NotificationMailer;
+import com.smartcampus.service.NotificationOutboxWorker;
+import com.smartcampus.service.NotificationService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:email-queue-test;DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never",
+        "app.data-initializer.enabled=false",
+        "app.ticket.sla-monitor.enabled=false",
+        "app.notification.outbox.enabled=false",
+        "app.notification.mail.enabled=false",
+        "app.notification.mail.batch-size=50",
+        "app.notification.mail.max-attempts=2",
+        "app.notification.mail.retry-backoff-seconds=60"
+})
+@DisplayName("Email Queue Tests")
+class EmailQueueTest {
+
+    private static final FakeSmtpServer SMTP = FakeSmtpServer.start();
+
+    @DynamicPropertySource
+    static void mailProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.host", () -> "localhost");
+        registry.add("spring.mail.port", SMTP::port);
+    }
+
+    @AfterAll
+    static void stopServer() throws IOException {
+        SMTP.close();
+    }
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationOutboxWorker outboxWorker;
+
+    @Autowired
+    private NotificationMailer notificationMailer;
+
+    @Autowired
+    private EmailMessageRepository emailMessageRepository;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        emailMessageRepository.deleteAll();
+        outboxRepository.deleteAll();
+        notificationRepository.deleteAll();
+        userRepository.deleteAll();
+        SMTP.reset();
+    }
+
+    @Test
+    @DisplayName("drain: sends queued email in batches, one SMTP connection per batch, and reports metrics")
+    void drain_sendsBatchesOverOneConnectionEach() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            users.add(user("student" + i + "@smartcampus.com"));
+        }
+        for (int round = 0; round < 10; round++) {
+            for (User user : users) {
+                notificationService.createNotification(user.getId(), "Booking Approved " + round, "See you there",
+                        Notification.NotificationType.BOOKING_APPROVED, "booking-" + round, "BOOKING");
+            }
+        }
+        outboxWorker.drain();
+        assertThat(emailMessageRepository.count()).isEqualTo(200);
+        EmailQueueStats before = notificationMailer.stats();
+
+        assertThat(notificationMailer.drain(LocalDateTime.now())).isEqualTo(200);
+
+        assertThat(SMTP.messages()).hasSize(200);
+        assertThat(SMTP.messages().get(0).subject()).startsWith("Smart Campus Hub: Booking Approved");
+        assertThat(SMTP.connections()).isEqualTo(4);
+        assertThat(emailMessageRepository.count()).isZero();
+
+        EmailQueueStats after = notificationMailer.stats();
+        assertThat(after.sent() - before.sent()).isEqualTo(200);
+        assertThat(after.batches() - before.batches()).isEqualTo(4);
+        assertThat(after.ready()).isZero();
+        assertThat(after.messagesPerSecond()).isPositive();
+        assertThat(after.averageLatencyMs()).isBetween(0.0, (double) after.maxLatencyMs());
+    }
+
+    @Test
+    @DisplayName("compose: email during DND is held until the window ends instead of being dropped")
+    void drain_defersEmailUntilDndWindowEnds() {
+        User sleeper = user("sleeper@smartcampus.com");
+        LocalDateTime now = LocalDateTime.now();
+        sleeper.setDndEnabled(true);
+        sleeper.setDndStartTime(now.minusHours(1).format(DateTimeFormatter.ofPattern("HH:mm")));
+        sleeper.setDndEndTime(now.plusHours(1).format(DateTimeFormatter.ofPattern("HH:mm")));
+        userRepository.save(sleeper);
+
+        notificationService.createNotification(sleeper.getId(), "Ticket Resolved", "Your ticket was resolved",
+                Notification.NotificationType.TICKET_RESOLVED, "ticket-1", "TICKET");
+        outboxWorker.drain();
+
+        EmailMessage queued = emailMessageRepository.findAll().get(0);
+        assertThat(queued.getAvailableAt()).isAfter(now.plusMinutes(58)).isBefore(now.plusMinutes(61));
+        assertThat(notificationMailer.stats().deferred()).isEqualTo(1);
+        assertThat(notificationMailer.drain(now.plusMinutes(1))).isZero();
+        assertThat(SMTP.messages()).isEmpty();
+
+        assertThat(notificationMailer.drain(queued.getAvailableAt())).isEqualTo(1);
+        assertThat(SMTP.messages()).extracting(FakeSmtpServer.Received::recipient)
+                .containsExactly("sleeper@smartcampus.com");
+    }
+
+    @Test
+    @DisplayName("drain: a rejected recipient backs off and is dead-lettered without holding up the batch")
+    void drain_retriesWithBackoffThenDeadLetters() {
+        User good = user("good@smartcampus.com");
+        User bounce = user("bounce@smartcampus.com");
+        SMTP.reject("bounce@smartcampus.com");
+        notificationService.createNotification(good.getId(), "Comment", "New reply",
+                Notification.NotificationType.SYSTEM, null, null);
+        notificationService.createNotification(bounce.getId(), "Comment", "New reply",
+                Notification.NotificationType.SYSTEM, null, null);
+        outboxWorker.drain();
+        EmailQueueStats before = notificationMailer.stats();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        assertThat(notificationMailer.drain(now)).isEqualTo(1);
+        assertThat(SMTP.messages()).extracting(FakeSmtpServer.Received::recipient)
+                .containsExactly("good@smartcampus.com");
+        EmailMessage retry = emailMessageRepository.findAll().get(0);
+        assertThat(retry.getStatus()).isEqualTo(EmailMessage.Status.PENDING);
+        assertThat(retry.getAttempts()).isEqualTo(1);
+        assertThat(retry.getAvailableAt()).isEqualTo(now.plusSeconds(60));
+        assertThat(retry.getLastError()).isNotBlank();
+
+        assertThat(notificationMailer.drain(now.plusSeconds(30))).isZero();
+        assertThat(notificationMailer.drain(now.plusSeconds(60))).isZero();
+
+        EmailMessage dead = emailMessageRepository.findAll().get(0);
+        assertThat(dead.getStatus()).isEqualTo(EmailMessage.Status.DEAD);
+        assertThat(dead.getAttempts()).isEqualTo(2);
+        EmailQueueStats after = notificationMailer.stats();
+        assertThat(after.dead()).isEqualTo(1);
+        assertThat(after.failedAttempts() - before.failedAttempts()).isEqualTo(2);
+        assertThat(notificationMailer.drain(now.plusDays(1))).isZero();
+    }
+
+    private User user(String email) {
+        User user = new User();
+        user.setName(email);
+        user.setEmail(email);
+        user.setPassword("encoded");
+        user.setProvider("LOCAL");
+        user.setRoles(Set.of(User.Role.USER));
+        user.setEnabled(true);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        return userRepository.save(user);
+    }
+}
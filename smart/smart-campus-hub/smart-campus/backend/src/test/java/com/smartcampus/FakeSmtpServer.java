@@ -0,0 +1,143 @@
+package com.smartcampus;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Just enough of an SMTP server on a loopback port to test mail delivery end to end: it accepts every message,
+ * except for recipients listed in {@link #reject}, which get a 550 on RCPT TO. Counts connections so tests can
+ * check that batches share one session.
+ */
+final class FakeSmtpServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final List<Received> messages = new CopyOnWriteArrayList<>();
+    private final Set<String> rejected = ConcurrentHashMap.newKeySet();
+
+    private FakeSmtpServer(ServerSocket serverSocket) {
+        this.serverSocket = serverSocket;
+    }
+
+    static FakeSmtpServer start() {
+        try {
+            FakeSmtpServer server = new FakeSmtpServer(new ServerSocket(0, 50, InetAddress.getLoopbackAddress()));
+            Thread.ofVirtual().name("fake-smtp").start(server::acceptLoop);
+            return server;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    void reject(String recipient) {
+        rejected.add(recipient.toLowerCase(Locale.ROOT));
+    }
+
+    int connections() {
+        return connections.get();
+    }
+
+    List<Received> messages() {
+        return List.copyOf(messages);
+    }
+
+    void reset() {
+        connections.set(0);
+        messages.clear();
+        rejected.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                Thread.ofVirtual().start(() -> session(socket));
+            } catch (IOException ex) {
+                return;
+            }
+        }
+    }
+
+    private void session(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             OutputStream out = socket.getOutputStream()) {
+            reply(out, "220 fake-smtp ready");
+            List<String> recipients = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.toUpperCase(Locale.ROOT);
+                if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+                    reply(out, "250 fake-smtp");
+                } else if (command.startsWith("MAIL FROM")) {
+                    recipients.clear();
+                    reply(out, "250 OK");
+                } else if (command.startsWith("RCPT TO")) {
+                    String address = line.substring(line.indexOf('<') + 1, line.lastIndexOf('>')).toLowerCase(Locale.ROOT);
+                    if (rejected.contains(address)) {
+                        reply(out, "550 No such user");
+                    } else {
+                        recipients.add(address);
+                        reply(out, "250 OK");
+                    }
+                } else if (command.equals("DATA")) {
+                    reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                    String subject = null;
+                    String dataLine;
+                    while ((dataLine = in.readLine()) != null && !dataLine.equals(".")) {
+                        if (subject == null && dataLine.startsWith("Subject: ")) {
+                            subject = dataLine.substring("Subject: ".length());
+                        }
+                    }
+                    for (String recipient : recipients) {
+                        messages.add(new Received(recipient, subject));
+                    }
+                    recipients.clear();
+                    reply(out, "250 OK queued");
+                } else if (command.equals("RSET") || command.equals("NOOP")) {
+                    recipients.clear();
+                    reply(out, "250 OK");
+                } else if (command.equals("QUIT")) {
+                    reply(out, "221 Bye");
+                    return;
+                } else {
+                    reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException ignored) {
+            // Client hung up.
+        }
+    }
+
+    private static void reply(OutputStream out, String line) throws IOException {
+        out.write((line + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    record Received(String recipient, String subject) {
+    }
+}
@@ -0,0 +1,128 @@
+package com.smartcampus;
+
+import com.smartcampus.dto.FacilitySummary;
+import com.smartcampus.dto.TicketSummary;
+import com.smartcampus.model.Facility;
+import com.smartcampus.model.Ticket;
+import com.smartcampus.repository.FacilityRepository;
+import com.smartcampus.repository.TicketRepository;
+import com.smartcampus.service.FacilityService;
+import com.smartcampus.service.TicketService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:list-projection-test;DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.sql.init.mode=never",
+        "app.data-initializer.enabled=false",
+        "app.ticket.sla-monitor.enabled=false",
+        "app.notification.outbox.enabled=false",
+        "app.notification.mail.enabled=false",
+        "app.notification.digest.enabled=false"
+})
+@DisplayName("List Projection Query Count Tests")
+class ListProjectionQueryCountTest {
+
+    private static final int ROWS = 120;
+
+    @Autowired
+    private FacilityRepository facilityRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private FacilityService facilityService;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        ticketRepository.deleteAll();
+        facilityRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        List<Facility> facilities = new ArrayList<>();
+        List<Ticket> tickets = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Facility facility = new Facility();
+            facility.setName("Room " + i);
+            facility.setType(Facility.FacilityType.MEETING_ROOM);
+            facility.setCapacity(10 + i);
+            facility.setStatus(Facility.Status.ACTIVE);
+            facility.setDescription("A long description ".repeat(50));
+            facility.setAmenities(List.of("Projector", "Whiteboard"));
+            facility.setImageUrls(List.of("/uploads/room-" + i + ".png"));
+            facility.setAvailabilityWindows(List.of(new Facility.AvailabilityWindow("MONDAY", "08:00", "18:00")));
+            facilities.add(facility);
+
+            Ticket ticket = new Ticket();
+            ticket.setTitle("Broken chair " + i);
+            ticket.setLocation("Room " + i);
+            ticket.setDescription("The chair is broken and needs to be replaced. ".repeat(20));
+            ticket.setPriority(Ticket.Priority.LOW);
+            ticket.setStatus(Ticket.TicketStatus.OPEN);
+            ticket.setAttachmentUrls(List.of("/uploads/chair-" + i + ".png"));
+            ticket.setCreatedAt(LocalDateTime.now().minusMinutes(i));
+            ticket.setSlaDueAt(LocalDateTime.now().plusHours(1));
+            ticket.setSlaBreached(false);
+            tickets.add(ticket);
+        }
+        facilityRepository.saveAll(facilities);
+        ticketRepository.saveAll(tickets);
+    }
+
+    @Test
+    @DisplayName("facility and ticket summaries load in a single statement each")
+    void summaries_useOneStatement() {
+        long fullFacilities = statementsFor(() -> facilityService.getAllFacilities());
+        long facilitySummaries = statementsFor(() -> facilityService.getFacilitySummaries(null, null));
+        long fullTickets = statementsFor(() -> ticketService.getAllTickets());
+        long ticketSummaries = statementsFor(() -> ticketService.getTicketSummaries(null));
+
+        assertThat(facilitySummaries).isEqualTo(1);
+        assertThat(ticketSummaries).isEqualTo(1);
+        assertThat(fullFacilities).isGreaterThan(facilitySummaries);
+        assertThat(fullTickets).isGreaterThan(ticketSummaries);
+
+        List<FacilitySummary> facilities = facilityService.getFacilitySummaries("MEETING_ROOM", "ACTIVE");
+        List<TicketSummary> tickets = ticketService.getTicketSummaries(Ticket.TicketStatus.OPEN);
+        assertThat(facilities).hasSize(ROWS);
+        assertThat(tickets).hasSize(ROWS).allSatisfy(ticket -> {
+            assertThat(ticket.attachmentCount()).isEqualTo(1);
+            assertThat(ticket.slaBreached()).isFalse();
+        });
+    }
+
+    private long statementsFor(Runnable work) {
+        statistics.clear();
+        work.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,264 @@
+package com.smartcampus;
+
+import com.smartcampus.dto.NotificationAnalyticsResponse;
+import com.smartcampus.model.Notification;
+import com.smartcampus.model.User;
+import com.smartcampus.repository.NotificationOutboxRepository;
+import com.smartcampus.repository.NotificationRepository;
+import com.smartcampus.repository.UserRepository;
+import com.smartcampus.service.NotificationAnalyticsService;
+import com.smartcampus.service.NotificationOutboxWorker;
+import com.smartcampus.service.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:notification-analytics-test;DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never",
+        "app.data-initializer.enabled=false",
+        "app.ticket.sla-monitor.enabled=false",
+        "app.notification.outbox.enabled=false",
+        "app.notification.analytics.rebuild-enabled=false"
+})
+@DisplayName("Notification Analytics Tests")
+class NotificationAnalyticsTest {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationAnalyticsService analyticsService;
+
+    @Autowired
+    private NotificationOutboxWorker outboxWorker;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+        notificationRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("incremental counters and rebuilds match the full-scan computation through creates, merges, reads and deletes")
+    void snapshot_matchesFullScan() {
+        Random random = new Random(16);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            users.add(user("analytics" + i + "@smartcampus.com"));
+        }
+        Notification.NotificationType[] types = Notification.NotificationType.values();
+        List<Notification> history = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            Notification notification = new Notification();
+            // A few recipients no longer exist, as after a user is deleted.
+            notification.setUserId(i % 37 == 0 ? "deleted-user" : users.get(random.nextInt(users.size())).getId());
+            notification.setTitle("Notification " + i);
+            notification.setMessage("Message " + i);
+            notification.setType(i % 53 == 0 ? null : types[random.nextInt(types.length)]);
+            notification.setRead(random.nextBoolean());
+            notification.setCreatedAt(LocalDateTime.now().minusDays(random.nextInt(20)).minusMinutes(random.nextInt(24 * 60)));
+            history.add(notification);
+        }
+        notificationRepository.saveAll(history);
+
+        analyticsService.rebuild();
+        assertThat(analyticsService.snapshot()).isEqualTo(fullScan());
+
+        for (int i = 0; i < 60; i++) {
+            User user = users.get(random.nextInt(users.size()));
+            notificationService.createNotification(user.getId(), "Update " + i, "Message " + i,
+                    types[random.nextInt(types.length)], random.nextInt(4) == 0 ? null : "ticket-" + random.nextInt(8), "TICKET");
+        }
+        outboxWorker.drain();
+        List<Notification> stored = notificationRepository.findAll();
+        assertThat(stored).hasSizeLessThan(460);
+        for (int i = 0; i < 40; i++) {
+            notificationService.markAsRead(stored.get(random.nextInt(stored.size())).getId());
+        }
+        notificationService.markAllAsRead(users.get(0).getId());
+        for (int i = 0; i < 25; i++) {
+            notificationService.deleteNotification(stored.get(random.nextInt(stored.size())).getId());
+        }
+        notificationService.createNotification(users.get(1).getId(), "Late", "Late event",
+                Notification.NotificationType.COMMENT_ADDED, "ticket-1", "TICKET");
+        outboxWorker.drain();
+
+        NotificationAnalyticsResponse expected = fullScan();
+        assertThat(analyticsService.snapshot()).isEqualTo(expected);
+
+        analyticsService.rebuild();
+        assertThat(analyticsService.snapshot()).isEqualTo(expected);
+    }
+
+    /** The dashboard computation this service replaced: load everything, then sort and group in memory. */
+    private NotificationAnalyticsResponse fullScan() {
+        List<Notification> notifications = notificationRepository.findAll().stream()
+                .sorted(Comparator.comparing(Notification::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder())).reversed())
+                .toList();
+
+        Map<String, User> usersById = userRepository.findAll().stream()
+                .filter(user -> user.getId() != null)
+                .collect(Collectors.toMap(User::getId, Function.identity(), (left, right) -> left));
+
+        long totalNotifications = notifications.size();
+        long unreadNotifications = notifications.stream()
+                .filter(notification -> !notification.isRead())
+                .count();
+        long uniqueRecipients = notifications.stream()
+                .map(Notification::getUserId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .count();
+
+        List<NotificationAnalyticsResponse.ActiveUserMetric> mostActiveUsers = notifications.stream()
+                .filter(notification -> notification.getUserId() != null)
+                .collect(Collectors.groupingBy(Notification::getUserId, Collectors.counting()))
+                .entrySet()
+                .stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(6)
+                .map(entry -> {
+                    User user = usersById.get(entry.getKey());
+                    String name = user != null && user.getName() != null && !user.getName().isBlank()
+                            ? user.getName()
+                            : "Unknown User";
+                    String email = user != null && user.getEmail() != null && !user.getEmail().isBlank()
+                            ? user.getEmail()
+                            : "No email available";
+                    return new NotificationAnalyticsResponse.ActiveUserMetric(
+                            entry.getKey(),
+                            name,
+                            email,
+                            entry.getValue(),
+                            roundToOneDecimal(totalNotifications == 0 ? 0 : (entry.getValue() * 100.0) / totalNotifications)
+                    );
+                })
+                .toList();
+
+        List<NotificationAnalyticsResponse.EventMetric> mostTriggeredEvents = notifications.stream()
+                .filter(notification -> notification.getType() != null)
+                .collect(Collectors.groupingBy(notification -> notification.getType().name(), Collectors.counting()))
+                .entrySet()
+                .stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(6)
+                .map(entry -> new NotificationAnalyticsResponse.EventMetric(
+                        entry.getKey(),
+                        humanizeNotificationType(entry.getKey()),
+                        entry.getValue(),
+                        roundToOneDecimal(totalNotifications == 0 ? 0 : (entry.getValue() * 100.0) / totalNotifications)
+                ))
+                .toList();
+
+        Map<Integer, Long> hourlyCounts = notifications.stream()
+                .filter(notification -> notification.getCreatedAt() != null)
+                .collect(Collectors.groupingBy(notification -> notification.getCreatedAt().getHour(), Collectors.counting()));
+
+        List<NotificationAnalyticsResponse.HourlyMetric> peakNotificationTimes = IntStream.range(0, 24)
+                .mapToObj(hour -> new NotificationAnalyticsResponse.HourlyMetric(
+                        hour,
+                        formatHourLabel(hour),
+                        hourlyCounts.getOrDefault(hour, 0L)
+                ))
+                .toList();
+
+        NotificationAnalyticsResponse.HourlyMetric busiestHour = peakNotificationTimes.stream()
+                .max(Comparator.comparingLong(NotificationAnalyticsResponse.HourlyMetric::count))
+                .orElse(new NotificationAnalyticsResponse.HourlyMetric(0, "No activity", 0));
+
+        LocalDate today = LocalDate.now();
+        Map<LocalDate, Long> recentCounts = notifications.stream()
+                .filter(notification -> notification.getCreatedAt() != null)
+                .map(Notification::getCreatedAt)
+                .map(LocalDateTime::toLocalDate)
+                .filter(date -> !date.isBefore(today.minusDays(6)))
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+        List<NotificationAnalyticsResponse.DailyMetric> recentVolume = IntStream.rangeClosed(0, 6)
+                .mapToObj(offset -> today.minusDays(6L - offset))
+                .map(date -> new NotificationAnalyticsResponse.DailyMetric(
+                        date.toString(),
+                        date.format(DateTimeFormatter.ofPattern("MMM d")),
+                        recentCounts.getOrDefault(date, 0L)
+                ))
+                .toList();
+
+        return new NotificationAnalyticsResponse(
+                totalNotifications,
+                unreadNotifications,
+                roundToOneDecimal(totalNotifications == 0 ? 0 : ((totalNotifications - unreadNotifications) * 100.0) / totalNotifications),
+                uniqueRecipients,
+                totalNotifications == 0 ? "No activity" : busiestHour.label(),
+                busiestHour.count(),
+                mostActiveUsers,
+                mostTriggeredEvents,
+                peakNotificationTimes,
+                recentVolume
+        );
+    }
+
+    private static String humanizeNotificationType(String typeName) {
+        return List.of(typeName.split("_")).stream()
+                .map(part -> part.substring(0, 1) + part.substring(1).toLowerCase())
+                .collect(Collectors.joining(" "));
+    }
+
+    private static String formatHourLabel(int hour) {
+        int displayHour = hour % 12 == 0 ? 12 : hour % 12;
+        String meridiem = hour < 12 ? "AM" : "PM";
+        return displayHour + ":00 " + meridiem;
+    }
+
+    private static double roundToOneDecimal(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+
+    private User user(String email) {
+        User user = new User();
+        user.setName(email);
+        user.setEmail(email);
+        user.setPassword("encoded");
+        user.setProvider("LOCAL");
+        user.setRoles(Set.of(User.Role.USER));
+        user.setEnabled(true);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,205 @@
+package com.smartcampus;
+
+import com.smartcampus.dto.NotificationAnalyticsResponse;
+import com.smartcampus.model.Notification;
+import com.smartcampus.model.User;
+import com.smartcampus.repository.NotificationRepository;
+import com.smartcampus.repository.UserRepository;
+import com.smartcampus.service.NotificationAnalyticsService;
+import com.smartcampus.service.NotificationService;
+import com.smartcampus.service.UnreadCounterService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:notification-bulk-test;DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.sql.init.mode=never",
+        "app.data-initializer.enabled=false",
+        "app.ticket.sla-monitor.enabled=false",
+        "app.notification.outbox.enabled=false",
+        "app.notification.mail.enabled=false",
+        "app.notification.digest.enabled=false",
+        "app.notification.analytics.rebuild-enabled=false"
+})
+@DisplayName("Notification Bulk Operation Tests")
+class NotificationBulkOperationsTest {
+
+    private static final int ROWS = 200;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationAnalyticsService analyticsService;
+
+    @Autowired
+    private UnreadCounterService unreadCounter;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User student;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository.deleteAll();
+        userRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        student = userRepository.save(user("student@campus.edu"));
+        other = userRepository.save(user("other@campus.edu"));
+    }
+
+    @Test
+    @DisplayName("markAllAsRead and markReadByReference are one UPDATE each, whatever the number of rows")
+    void markRead_usesOneStatement() {
+        store(student, ROWS, false);
+        store(other, 10, false);
+        analyticsService.rebuild();
+        assertThat(unreadCounter.get(student.getId())).isEqualTo(ROWS);
+
+        long byReference = statementsFor(() ->
+                notificationService.markReadByReference(student.getId(), "ticket-3", "TICKET"), ROWS / 10);
+        assertThat(byReference).isEqualTo(1);
+        assertThat(unreadCounter.get(student.getId())).isEqualTo(ROWS - ROWS / 10);
+        assertThat(notificationService.markReadByReference(student.getId(), "ticket-3", null)).isZero();
+
+        long all = statementsFor(() -> notificationService.markAllAsRead(student.getId()), ROWS - ROWS / 10);
+        assertThat(all).isEqualTo(1);
+        assertThat(unreadCounter.get(student.getId())).isZero();
+        assertThat(notificationRepository.countByUserIdAndReadFalse(other.getId())).isEqualTo(10);
+
+        assertMatchesRebuild();
+    }
+
+    @Test
+    @DisplayName("markAsRead lowers the unread counters once when the same notification is marked read concurrently")
+    void markAsRead_concurrentRequestsCountOnce() throws Exception {
+        store(student, 5, false);
+        analyticsService.rebuild();
+        String id = notificationRepository.findByUserIdAndReadFalseOrderByCreatedAtDesc(student.getId()).get(0).getId();
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Notification>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return notificationService.markAsRead(id);
+            }));
+        }
+        start.countDown();
+        for (Future<Notification> future : futures) {
+            assertThat(future.get(30, TimeUnit.SECONDS).isRead()).isTrue();
+        }
+        executor.shutdown();
+
+        assertThat(unreadCounter.get(student.getId())).isEqualTo(4);
+        assertThat(notificationRepository.countByUserIdAndReadFalse(student.getId())).isEqualTo(4);
+        assertMatchesRebuild();
+    }
+
+    @Test
+    @DisplayName("deleteAllRead and deleteNotifications are one DELETE plus one projection, scoped to the caller")
+    void delete_usesOneDeleteAndOneProjection() {
+        List<Notification> unread = store(student, ROWS / 2, false);
+        store(student, ROWS / 2, true);
+        List<Notification> foreign = store(other, 10, true);
+        analyticsService.rebuild();
+        assertThat(unreadCounter.get(student.getId())).isEqualTo(ROWS / 2);
+
+        long readDelete = statementsFor(() -> notificationService.deleteAllRead(student.getId()), ROWS / 2);
+        assertThat(readDelete).isEqualTo(2);
+        assertThat(notificationRepository.count()).isEqualTo(ROWS / 2 + 10);
+
+        List<String> ids = new ArrayList<>(unread.subList(0, 30).stream().map(Notification::getId).toList());
+        ids.add(foreign.get(0).getId());
+        ids.add("missing");
+        long idsDelete = statementsFor(() -> notificationService.deleteNotifications(student.getId(), ids), 30);
+        assertThat(idsDelete).isEqualTo(2);
+        assertThat(notificationRepository.existsById(foreign.get(0).getId())).isTrue();
+        assertThat(unreadCounter.get(student.getId())).isEqualTo(ROWS / 2 - 30);
+        assertThat(notificationRepository.countByUserIdAndReadFalse(student.getId())).isEqualTo(ROWS / 2 - 30);
+
+        assertMatchesRebuild();
+    }
+
+    private void assertMatchesRebuild() {
+        NotificationAnalyticsResponse incremental = analyticsService.snapshot();
+        analyticsService.rebuild();
+        assertThat(incremental).isEqualTo(analyticsService.snapshot());
+    }
+
+    private long statementsFor(IntSupplier work, int expectedRows) {
+        statistics.clear();
+        assertThat(work.getAsInt()).isEqualTo(expectedRows);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<Notification> store(User user, int count, boolean read) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> notifications = new ArrayList<>();
+        Notification.NotificationType[] types = Notification.NotificationType.values();
+        for (int i = 0; i < count; i++) {
+            Notification notification = new Notification();
+            notification.setUserId(user.getId());
+            notification.setTitle("Update " + i);
+            notification.setMessage("Message " + i);
+            notification.setType(types[i % types.length]);
+            notification.setReferenceId("ticket-" + (i % 10));
+            notification.setReferenceType("TICKET");
+            notification.setRead(read);
+            notification.setCreatedAt(now.minusHours(i));
+            notifications.add(notification);
+        }
+        return notificationRepository.saveAll(notifications);
+    }
+
+    private static User user(String email) {
+        User user = new User();
+        user.setName(email);
+        user.setEmail(email);
+        user.setPassword("encoded");
+        user.setProvider("LOCAL");
+        user.setRoles(Set.of(User.Role.USER));
+        user.setEnabled(true);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        return user;
+    }
+}
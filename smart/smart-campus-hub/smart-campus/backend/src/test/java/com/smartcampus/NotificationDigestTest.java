@@ -0,0 +1,152 @@
+package com.smartcampus;
+
+import com.smartcampus.dto.NotificationPreferencesRequest;
+import com.smartcampus.exception.BadRequestException;
+import com.smartcampus.model.EmailMessage;
+import com.smartcampus.model.Notification;
+import com.smartcampus.model.User;
+import com.smartcampus.repository.EmailMessageRepository;
+import com.smartcampus.repository.NotificationOutboxRepository;
+import com.smartcampus.repository.NotificationRepository;
+import com.smartcampus.repository.UserRepository;
+import com.smartcampus.service.NotificationDigestService;
+import com.smartcampus.service.NotificationOutboxWorker;
+import com.smartcampus.service.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:notification-digest-test;DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never",
+        "spring.mail.host=localhost",
+        "app.data-initializer.enabled=false",
+        "app.ticket.sla-monitor.enabled=false",
+        "app.notification.outbox.enabled=false",
+        "app.notification.mail.enabled=false",
+        "app.notification.digest.enabled=false"
+})
+@DisplayName("Notification Digest Tests")
+class NotificationDigestTest {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationOutboxWorker outboxWorker;
+
+    @Autowired
+    private NotificationDigestService digestService;
+
+    @Autowired
+    private EmailMessageRepository emailMessageRepository;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        emailMessageRepository.deleteAll();
+        outboxRepository.deleteAll();
+        notificationRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("digest users get one summary email per period instead of one email per notification")
+    void run_queuesOneDigestPerPeriod() {
+        User immediate = user("digest.immediate@smartcampus.com", User.EmailDigest.IMMEDIATE);
+        User hourly = user("digest.hourly@smartcampus.com", User.EmailDigest.HOURLY);
+        User daily = user("digest.daily@smartcampus.com", User.EmailDigest.DAILY);
+        for (User user : new User[] {immediate, hourly, daily}) {
+            for (int i = 1; i <= 3; i++) {
+                notificationService.createNotification(user.getId(), "Ticket Assigned " + i, "Ticket " + i + " is yours",
+                        Notification.NotificationType.TICKET_ASSIGNED, "ticket-" + i, "TICKET");
+            }
+        }
+        outboxWorker.drain();
+
+        assertThat(emailMessageRepository.findAll())
+                .extracting(EmailMessage::getRecipient)
+                .containsOnly("digest.immediate@smartcampus.com")
+                .hasSize(3);
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        assertThat(digestService.run(now)).isEqualTo(2);
+        assertThat(digestService.run(now)).isZero();
+
+        EmailMessage hourlyDigest = emailMessageRepository.findAll().stream()
+                .filter(email -> email.getRecipient().equals("digest.hourly@smartcampus.com"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(hourlyDigest.getSubject()).isEqualTo("Smart Campus Hub: Hourly digest: 3 unread notifications");
+        assertThat(hourlyDigest.getBody()).contains("Ticket Assigned 1", "Ticket Assigned 3", "Ticket 2 is yours");
+        assertThat(emailMessageRepository.findAll())
+                .extracting(EmailMessage::getRecipient)
+                .filteredOn("digest.daily@smartcampus.com"::equals)
+                .hasSize(1);
+
+        notificationService.markAllAsRead(hourly.getId());
+        assertThat(digestService.run(now.plusHours(1))).isZero();
+        assertThat(userRepository.findById(hourly.getId()).orElseThrow().getLastDigestAt()).isEqualTo(now.plusHours(1));
+    }
+
+    @Test
+    @DisplayName("updatePreferences switches the digest schedule and rejects unknown values")
+    void updatePreferences_setsEmailDigest() {
+        User user = user("digest.prefs@smartcampus.com", User.EmailDigest.IMMEDIATE);
+        NotificationPreferencesRequest prefs = new NotificationPreferencesRequest();
+        prefs.setEmail(true);
+        prefs.setEmailDigest("daily");
+
+        notificationService.updatePreferences(user.getId(), prefs);
+
+        User saved = userRepository.findById(user.getId()).orElseThrow();
+        assertThat(saved.getEmailDigest()).isEqualTo(User.EmailDigest.DAILY);
+        assertThat(saved.getLastDigestAt()).isNotNull();
+
+        prefs.setEmailDigest(null);
+        notificationService.updatePreferences(user.getId(), prefs);
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getEmailDigest()).isEqualTo(User.EmailDigest.DAILY);
+
+        prefs.setEmailDigest("weekly");
+        assertThatThrownBy(() -> notificationService.updatePreferences(user.getId(), prefs))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private User user(String email, User.EmailDigest digest) {
+        User user = new User();
+        user.setName(email);
+        user.setEmail(email);
+        user.setPassword("encoded");
+        user.setProvider("LOCAL");
+        user.setRoles(Set.of(User.Role.USER));
+        user.setEnabled(true);
+        user.setEmailDigest(digest);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,208 @@
+package com.smartcampus;
+
+import com.smartcampus.model.Notification;
+import com.smartcampus.model.NotificationOutbox;
+import com.smartcampus.model.Ticket;
+import com.smartcampus.model.User;
+import com.smartcampus.repository.NotificationOutboxRepository;
+import com.smartcampus.repository.NotificationRepository;
+import com.smartcampus.repository.TicketAuditLogRepository;
+import com.smartcampus.repository.TicketRepository;
+import com.smartcampus.repository.UserRepository;
+import com.smartcampus.service.NotificationOutboxWorker;
+import com.smartcampus.service.NotificationService;
+import com.smartcampus.service.TicketService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:notification-outbox-test;DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never",
+        "app.data-initializer.enabled=false",
+        "app.ticket.sla-monitor.enabled=false",
+        "app.notification.outbox.enabled=false",
+        "app.notification.outbox.batch-size=3"
+})
+@DisplayName("Notification Outbox Tests")
+class NotificationOutboxTest {
+
+    @MockitoSpyBean
+    private NotificationService notificationService;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketAuditLogRepository ticketAuditLogRepository;
+
+    @Autowired
+    private NotificationOutboxWorker outboxWorker;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+        notificationRepository.deleteAll();
+        ticketAuditLogRepository.deleteAll();
+        ticketRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("createNotification only queues; drain stores notifications in batches and honours preferences")
+    void drain_storesQueuedNotificationsAndAppliesPreferences() {
+        User student = user("outbox.student@smartcampus.com", true);
+        User quiet = user("outbox.quiet@smartcampus.com", false);
+
+        for (int i = 0; i < 4; i++) {
+            notificationService.createNotification(student.getId(), "Ticket Update " + i, "Status changed",
+                    Notification.NotificationType.TICKET_STATUS_CHANGED, "ticket-" + i, "TICKET");
+        }
+        notificationService.createNotification(quiet.getId(), "Ticket Update", "Status changed",
+                Notification.NotificationType.TICKET_STATUS_CHANGED, "ticket-9", "TICKET");
+        notificationService.createNotification(quiet.getId(), "Maintenance", "Portal down at 22:00",
+                Notification.NotificationType.SYSTEM, null, null);
+
+        assertThat(notificationRepository.count()).isZero();
+        assertThat(outboxRepository.count()).isEqualTo(6);
+
+        assertThat(outboxWorker.drain()).isEqualTo(6);
+
+        assertThat(outboxRepository.count()).isZero();
+        assertThat(notificationRepository.findByUserIdOrderByCreatedAtDesc(student.getId()))
+                .hasSize(4)
+                .allSatisfy(notification -> assertThat(notification.isRead()).isFalse());
+        assertThat(notificationRepository.findByUserIdOrderByCreatedAtDesc(quiet.getId()))
+                .extracting(Notification::getType)
+                .containsExactly(Notification.NotificationType.SYSTEM);
+        assertThat(outboxWorker.drain()).isZero();
+    }
+
+    @Test
+    @DisplayName("drain skips rows claimed by another worker until their lease runs out")
+    void drain_respectsForeignClaims() {
+        User student = user("outbox.claimed@smartcampus.com", true);
+        notificationService.createNotification(student.getId(), "Booking Approved", "See you there",
+                Notification.NotificationType.BOOKING_APPROVED, "booking-1", "BOOKING");
+        NotificationOutbox row = outboxRepository.findAll().get(0);
+        LocalDateTime now = LocalDateTime.now();
+        outboxRepository.claim(Set.of(row.getId()), "other-node", now, now.plusMinutes(5));
+
+        assertThat(outboxWorker.drain()).isZero();
+
+        outboxRepository.claim(Set.of(row.getId()), "other-node", now.plusMinutes(10), now.minusSeconds(1));
+        assertThat(outboxWorker.drain()).isEqualTo(1);
+        assertThat(notificationRepository.findByUserIdOrderByCreatedAtDesc(student.getId())).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("drain folds events on the same reference into the user's unread notification, across batches")
+    void drain_coalescesEventsOnTheSameReference() {
+        User technician = user("outbox.busy@smartcampus.com", true);
+        User other = user("outbox.other@smartcampus.com", true);
+        for (int i = 1; i <= 5; i++) {
+            notificationService.createNotification(technician.getId(), "New Comment " + i, "Comment " + i,
+                    Notification.NotificationType.COMMENT_ADDED, "ticket-1", "TICKET");
+        }
+        notificationService.createNotification(technician.getId(), "Ticket Assigned", "Ticket 2 is yours",
+                Notification.NotificationType.TICKET_ASSIGNED, "ticket-2", "TICKET");
+        notificationService.createNotification(other.getId(), "New Comment", "Comment",
+                Notification.NotificationType.COMMENT_ADDED, "ticket-1", "TICKET");
+
+        assertThat(outboxWorker.drain()).isEqualTo(7);
+
+        assertThat(notificationRepository.findByUserIdOrderByCreatedAtDesc(other.getId())).hasSize(1);
+        assertThat(notificationRepository.findByUserIdOrderByCreatedAtDesc(technician.getId()))
+                .extracting(Notification::getReferenceId, Notification::getTitle, Notification::getMergedCount)
+                .containsExactlyInAnyOrder(
+                        tuple("ticket-1", "New Comment 5", 4),
+                        tuple("ticket-2", "Ticket Assigned", 0));
+
+        Notification merged = notificationRepository.findByUserIdOrderByCreatedAtDesc(technician.getId()).stream()
+                .filter(notification -> "ticket-1".equals(notification.getReferenceId()))
+                .findFirst()
+                .orElseThrow();
+        notificationService.markAsRead(merged.getId());
+        notificationService.createNotification(technician.getId(), "New Comment 6", "Comment 6",
+                Notification.NotificationType.COMMENT_ADDED, "ticket-1", "TICKET");
+        outboxWorker.drain();
+
+        assertThat(notificationRepository.findByUserIdOrderByCreatedAtDesc(technician.getId())).hasSize(3);
+        assertThat(notificationService.getUnreadCount(technician.getId())).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("a ticket update that rolls back leaves no outbox row behind")
+    void rolledBackTicketUpdate_leavesNoOutboxRow() {
+        User reporter = user("outbox.reporter@smartcampus.com", true);
+        User technician = user("outbox.technician@smartcampus.com", true);
+        Ticket ticket = new Ticket();
+        ticket.setTitle("Leaking tap");
+        ticket.setLocation("Science Block");
+        ticket.setDescription("The tap in lab 2 keeps dripping.");
+        ticket.setCategory("Plumbing");
+        ticket.setPriority(Ticket.Priority.LOW);
+        ticket.setStatus(Ticket.TicketStatus.OPEN);
+        ticket.setReportedBy(reporter.getId());
+        ticket.setCreatedAt(LocalDateTime.now());
+        ticket.setUpdatedAt(LocalDateTime.now());
+        String ticketId = ticketRepository.save(ticket).getId();
+        // The reporter's row is queued, then the technician's fails and takes the whole assignment down
+        doThrow(new IllegalStateException("outbox unavailable")).when(notificationService)
+                .createNotification(eq(technician.getId()), any(), any(), any(), any(), any());
+
+        assertThatThrownBy(() -> ticketService.assignTicket(ticketId, technician.getId(), technician.getName(),
+                reporter))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(outboxRepository.count()).isZero();
+        assertThat(ticketAuditLogRepository.count()).isZero();
+        assertThat(ticketRepository.findById(ticketId).orElseThrow().getAssignedTo()).isNull();
+    }
+
+    private User user(String email, boolean ticketUpdates) {
+        User user = new User();
+        user.setName(email);
+        user.setEmail(email);
+        user.setPassword("encoded");
+        user.setProvider("LOCAL");
+        user.setRoles(Set.of(User.Role.USER));
+        user.setEnabled(true);
+        user.setTicketUpdatesEnabled(ticketUpdates);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        return userRepository.save(user);
+    }
+}
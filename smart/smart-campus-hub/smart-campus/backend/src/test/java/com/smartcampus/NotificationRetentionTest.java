@@ -0,0 +1,118 @@
+package com.smartcampus;
+
+import com.smartcampus.dto.NotificationRetentionReport;
+import com.smartcampus.model.Notification;
+import com.smartcampus.model.NotificationArchive;
+import com.smartcampus.repository.NotificationArchiveRepository;
+import com.smartcampus.repository.NotificationRepository;
+import com.smartcampus.service.NotificationAnalyticsService;
+import com.smartcampus.service.NotificationRetentionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:notification-retention-test;DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never",
+        "app.data-initializer.enabled=false",
+        "app.ticket.sla-monitor.enabled=false",
+        "app.notification.outbox.enabled=false",
+        "app.notification.mail.enabled=false",
+        "app.notification.digest.enabled=false",
+        "app.notification.analytics.rebuild-enabled=false",
+        "app.notification.retention.enabled=false",
+        "app.notification.retention.days=30",
+        "app.notification.retention.batch-size=100",
+        "app.notification.retention.pause-ms=0"
+})
+@DisplayName("Notification Retention Tests")
+class NotificationRetentionTest {
+
+    @Autowired
+    private NotificationRetentionService retentionService;
+
+    @Autowired
+    private NotificationAnalyticsService analyticsService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationArchiveRepository archiveRepository;
+
+    @BeforeEach
+    void setUp() {
+        archiveRepository.deleteAll();
+        notificationRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("run: archives read notifications past the cutoff in chunks and keeps unread and recent ones")
+    void run_archivesExpiredReadNotificationsInChunks() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            notifications.add(notification("user-" + (i % 7), true, now.minusDays(31).minusMinutes(i)));
+        }
+        for (int i = 0; i < 20; i++) {
+            notifications.add(notification("user-1", false, now.minusDays(60)));
+            notifications.add(notification("user-2", true, now.minusDays(29)));
+        }
+        notificationRepository.saveAll(notifications);
+        analyticsService.rebuild();
+        Notification sample = notifications.get(0);
+
+        NotificationRetentionReport report = retentionService.run(now);
+
+        assertThat(report.archived()).isEqualTo(250);
+        assertThat(report.batches()).isEqualTo(3);
+        assertThat(report.cutoff()).isEqualTo(now.minusDays(30));
+        assertThat(report.archiveSize()).isEqualTo(250);
+        assertThat(retentionService.lastReport()).isEqualTo(report);
+        assertThat(notificationRepository.count()).isEqualTo(40);
+        assertThat(notificationRepository.countByReadFalse()).isEqualTo(20);
+        assertThat(analyticsService.snapshot().totalNotifications()).isEqualTo(40);
+
+        NotificationArchive archived = archiveRepository.findById(sample.getId()).orElseThrow();
+        assertThat(archived.getUserId()).isEqualTo(sample.getUserId());
+        assertThat(archived.getType()).isEqualTo(sample.getType());
+        assertThat(archived.getMessage()).isEqualTo(sample.getMessage());
+        assertThat(archived.getReferenceId()).isEqualTo(sample.getReferenceId());
+        assertThat(archived.getCreatedAt()).isEqualTo(sample.getCreatedAt());
+        assertThat(archived.getArchivedAt()).isEqualTo(now);
+
+        NotificationRetentionReport again = retentionService.run(now);
+        assertThat(again.archived()).isZero();
+        assertThat(again.batches()).isZero();
+        assertThat(again.archiveSize()).isEqualTo(250);
+    }
+
+    private static Notification notification(String userId, boolean read, LocalDateTime createdAt) {
+        Notification notification = new Notification();
+        notification.setUserId(userId);
+        notification.setTitle("Ticket updated");
+        notification.setMessage("Ticket status changed for " + userId);
+        notification.setType(Notification.NotificationType.TICKET_STATUS_CHANGED);
+        notification.setReferenceId("ticket-" + userId);
+        notification.setReferenceType("TICKET");
+        notification.setRead(read);
+        notification.setCreatedAt(createdAt);
+        return notification;
+    }
+}
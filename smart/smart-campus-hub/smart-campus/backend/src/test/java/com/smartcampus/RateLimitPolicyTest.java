@@ -0,0 +1,173 @@
+package com.smartcampus;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartcampus.model.User;
+import com.smartcampus.repository.UserRepository;
+import com.smartcampus.security.JwtTokenProvider;
+import com.smartcampus.security.RateLimitPolicies;
+import com.smartcampus.security.RateLimitPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:rate-limit-policy-test;DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never",
+        "app.data-initializer.enabled=false",
+        "app.ticket.sla-monitor.enabled=false",
+        "app.notification.outbox.enabled=false",
+        "app.notification.mail.enabled=false",
+        "app.notification.digest.enabled=false",
+        "app.notification.retention.enabled=false",
+        "app.rate-limit.enabled=true",
+        "app.rate-limit.max-requests-per-window=1000",
+        "app.rate-limit.auth-max-requests-per-window=1000",
+        "app.rate-limit.trusted-proxies=",
+        "app.rate-limit.policies[0].name=notification-analytics",
+        "app.rate-limit.policies[0].paths=/api/notifications/analytics",
+        "app.rate-limit.policies[0].key=user",
+        "app.rate-limit.policies[0].limit=2",
+        "app.rate-limit.policies[0].window-seconds=60",
+        "app.rate-limit.policies[1].name=login",
+        "app.rate-limit.policies[1].paths=/api/auth/login",
+        "app.rate-limit.policies[1].methods=POST",
+        "app.rate-limit.policies[1].key=ip",
+        "app.rate-limit.policies[1].limit=1",
+        "app.rate-limit.policies[1].window-seconds=60"
+})
+@DisplayName("Rate Limit Policy Tests")
+class RateLimitPolicyTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RateLimitPolicies rateLimitPolicies;
+
+    private List<RateLimitPolicy> configured;
+    private String adminToken;
+    private String otherAdminToken;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        configured = rateLimitPolicies.current();
+        adminToken = token(userRepository.save(user("admin@campus.edu", User.Role.ADMIN)));
+        otherAdminToken = token(userRepository.save(user("admin2@campus.edu", User.Role.ADMIN)));
+    }
+
+    @AfterEach
+    void restorePolicies() {
+        rateLimitPolicies.replace(configured);
+    }
+
+    @Test
+    @DisplayName("an expensive route has its own per-user budget and leaves cheap reads alone")
+    void expensiveRouteHasSeparatePerUserBudget() throws Exception {
+        mockMvc.perform(get("/api/notifications/analytics").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("RateLimit-Limit", "2"))
+                .andExpect(header().string("RateLimit-Remaining", "1"))
+                .andExpect(header().string("RateLimit-Policy", "2;w=60"));
+        mockMvc.perform(get("/api/notifications/analytics").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("RateLimit-Remaining", "0"));
+        mockMvc.perform(get("/api/notifications/analytics").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "30"));
+
+        mockMvc.perform(get("/api/notifications/count").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("RateLimit-Limit", "1000"));
+        mockMvc.perform(get("/api/notifications/analytics").header("Authorization", "Bearer " + otherAdminToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("RateLimit-Remaining", "1"));
+    }
+
+    @Test
+    @DisplayName("X-Forwarded-For from an untrusted peer does not create a new client")
+    void untrustedForwardedForIsIgnored() throws Exception {
+        String body = "{\"email\":\"nobody@campus.edu\",\"password\":\"wrong-password\"}";
+
+        mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content(body)
+                        .header("X-Forwarded-For", "198.51.100.1"))
+                .andExpect(header().string("RateLimit-Remaining", "0"));
+        mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content(body)
+                        .header("X-Forwarded-For", "198.51.100.2"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    @DisplayName("replacing the policies at runtime changes the budget of the next request")
+    void policiesAreReloadable() throws Exception {
+        List<RateLimitPolicy> policies = new ArrayList<>(configured);
+        RateLimitPolicy analytics = policies.get(0);
+        policies.set(0, new RateLimitPolicy(analytics.name(), analytics.paths(), analytics.methods(),
+                analytics.key(), 5, analytics.windowSeconds()));
+
+        mockMvc.perform(put("/api/rate-limits/policies").header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(policies)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/notifications/analytics").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("RateLimit-Limit", "5"))
+                .andExpect(header().string("RateLimit-Remaining", "4"));
+        assertThat(rateLimitPolicies.current()).extracting(RateLimitPolicy::name)
+                .containsExactly("notification-analytics", "login", "auth", "default");
+    }
+
+    private String token(User user) {
+        return tokenProvider.generateToken(user.getId(), user.getEmail(),
+                user.getRoles().stream().map(Enum::name).collect(Collectors.toSet()));
+    }
+
+    private static User user(String email, User.Role role) {
+        User user = new User();
+        user.setName(email);
+        user.setEmail(email);
+        user.setPassword("encoded");
+        user.setProvider("LOCAL");
+        user.setRoles(Set.of(role));
+        user.setEnabled(true);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        return user;
+    }
+}
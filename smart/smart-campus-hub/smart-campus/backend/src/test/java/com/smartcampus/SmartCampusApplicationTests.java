@@ -1,9 +1,15 @@
 package com.smartcampus;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
 import org.springframework.test.context.TestPropertySource;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 @SpringBootTest
 @TestPropertySource(properties = {
     "spring.datasource.url=jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=VALUE",
@@ -17,7 +23,21 @@ import org.springframework.test.context.TestPropertySource;
 })
 class SmartCampusApplicationTests {
 
+    @Autowired
+    @Qualifier("taskScheduler")
+    private ThreadPoolTaskScheduler taskScheduler;
+
+    @Autowired
+    private ScheduledTaskHolder scheduledTasks;
+
     @Test
     void contextLoads() {
     }
+
+    @Test
+    void everyScheduledJobHasItsOwnSchedulerThread() {
+        assertThat(scheduledTasks.getScheduledTasks()).isNotEmpty();
+        assertThat(taskScheduler.getScheduledThreadPoolExecutor().getCorePoolSize())
+                .isGreaterThanOrEqualTo(scheduledTasks.getScheduledTasks().size());
+    }
 }
@@ -0,0 +1,163 @@
+package com.smartcampus;
+
+import com.smartcampus.model.User;
+import com.smartcampus.repository.UserRepository;
+import com.smartcampus.security.JwtTokenProvider;
+import com.smartcampus.security.TokenRevocationList;
+import com.smartcampus.security.VerifiedToken;
+import com.smartcampus.service.AuthService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stateless-claims-test;DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.sql.init.mode=never",
+        "app.data-initializer.enabled=false",
+        "app.ticket.sla-monitor.enabled=false",
+        "app.notification.outbox.enabled=false",
+        "app.notification.mail.enabled=false",
+        "app.notification.digest.enabled=false",
+        "app.notification.retention.enabled=false",
+        "app.jwt.stateless-claims=true"
+})
+@DisplayName("Stateless Claims Authentication Tests")
+class StatelessClaimsAuthenticationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User admin;
+    private User student;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        admin = userRepository.save(user("admin@campus.edu", User.Role.ADMIN));
+        student = userRepository.save(user("student@campus.edu", User.Role.USER));
+    }
+
+    @Test
+    @DisplayName("role checks are answered from the token without loading the user")
+    void authorizesFromClaimsWithoutQueries() throws Exception {
+        String adminToken = token(admin);
+        String studentToken = token(student);
+        statistics.clear();
+
+        mockMvc.perform(get("/api/notifications/retention").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/notifications/retention").header("Authorization", "Bearer " + studentToken))
+                .andExpect(jsonPath("$.message").value(containsString("Access Denied")));
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("the user entity is loaded only when a controller asks for the principal")
+    void loadsPrincipalOnDemand() throws Exception {
+        String studentToken = token(student);
+        statistics.clear();
+
+        mockMvc.perform(get("/api/auth/me").header("Authorization", "Bearer " + studentToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("student@campus.edu"));
+
+        assertThat(statistics.getEntityLoadCount()).isPositive();
+    }
+
+    @Test
+    @DisplayName("tokens issued before a role change or a deletion stop working")
+    void roleChangeAndDeletionRevokeOlderTokens() throws Exception {
+        String adminToken = token(admin);
+        String studentToken = token(student);
+
+        authService.updateUserRoles(admin.getId(), Set.of(User.Role.USER));
+        authService.deleteUser(student.getId());
+
+        mockMvc.perform(get("/api/notifications/retention").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/auth/me").header("Authorization", "Bearer " + studentToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("a revocation is stored with the user, so other nodes and a restarted node reject older tokens")
+    void revocationReachesOtherNodesAndRestarts() {
+        VerifiedToken adminToken = tokenProvider.verify(token(admin)).orElseThrow();
+        // Another node that has the admin's version cached; a zero TTL stands in for its cache expiring
+        TokenRevocationList otherNode = new TokenRevocationList(userRepository, 0, 100);
+        assertThat(otherNode.isRevoked(adminToken)).isFalse();
+
+        authService.updateUserRoles(admin.getId(), Set.of(User.Role.USER));
+
+        assertThat(otherNode.isRevoked(adminToken)).isTrue();
+        assertThat(new TokenRevocationList(userRepository, 60, 100).isRevoked(adminToken)).isTrue();
+
+        // Saving a copy of the user loaded before the revocation does not bring the old version back
+        userRepository.save(admin);
+        assertThat(otherNode.isRevoked(adminToken)).isTrue();
+
+        User renewed = userRepository.findById(admin.getId()).orElseThrow();
+        VerifiedToken renewedToken = tokenProvider.verify(tokenProvider.generateToken(renewed.getId(),
+                renewed.getEmail(), Set.of("USER"), renewed.getTokenVersion())).orElseThrow();
+        assertThat(otherNode.isRevoked(renewedToken)).isFalse();
+    }
+
+    private String token(User user) {
+        return tokenProvider.generateToken(user.getId(), user.getEmail(),
+                user.getRoles().stream().map(Enum::name).collect(Collectors.toSet()));
+    }
+
+    private static User user(String email, User.Role role) {
+        User user = new User();
+        user.setName(email);
+        user.setEmail(email);
+        user.setPassword("encoded");
+        user.setProvider("LOCAL");
+        user.setRoles(Set.of(role));
+        user.setEnabled(true);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        return user;
+    }
+}
@@ -0,0 +1,140 @@
+package com.smartcampus;
+
+import com.smartcampus.dto.ClassifierTrainingResponse;
+import com.smartcampus.model.Ticket;
+import com.smartcampus.repository.TicketRepository;
+import com.smartcampus.service.TicketClassificationService;
+import com.smartcampus.service.TrainedTicketClassifier;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ticket-classifier-test;DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never",
+        "app.data-initializer.enabled=false",
+        "app.ticket.classifier.model-path=" + TicketClassifierTrainingTest.MODEL_PATH,
+        "app.ticket.classifier.min-documents=20"
+})
+@DisplayName("Ticket Classifier Training Tests")
+class TicketClassifierTrainingTest {
+
+    static final String MODEL_PATH = "target/test-models/ticket-classifier.bin";
+
+    @Autowired
+    private TrainedTicketClassifier trainedTicketClassifier;
+
+    @Autowired
+    private TicketClassificationService ticketClassificationService;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    static void removeModelFromPreviousRun() throws IOException {
+        // The classifier loads its model when the context starts, so a file left by an earlier run must go first.
+        Files.deleteIfExists(Path.of(MODEL_PATH));
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ticketRepository.deleteAll();
+        Files.deleteIfExists(Path.of(MODEL_PATH));
+    }
+
+    @Test
+    @DisplayName("train: learns categories the keyword rules do not know, persists and reloads the model")
+    void train_learnsFromResolvedTicketsAndReloads() {
+        List<Ticket> tickets = new ArrayList<>();
+        String[] lifts = {"Elevator stuck between floors", "Lift doors jammed on level 2", "Lift stopped with students inside",
+                "Elevator call buttons unresponsive", "Lift car shaking while moving"};
+        String[] grounds = {"Overgrown hedge at the entrance", "Lawn near the car park needs mowing", "Fallen branches on the footpath",
+                "Flower beds need weeding", "Hedge blocking the bike rack"};
+        for (int i = 0; i < 6; i++) {
+            for (String title : lifts) {
+                tickets.add(ticket(title, "Lifts", Ticket.Priority.CRITICAL, Ticket.TicketStatus.RESOLVED));
+            }
+            for (String title : grounds) {
+                tickets.add(ticket(title, "Grounds", Ticket.Priority.LOW, Ticket.TicketStatus.CLOSED));
+            }
+        }
+        // Open tickets are not staff-reviewed yet and must not be learned from.
+        tickets.add(ticket("Elevator stuck again", "Furniture", Ticket.Priority.LOW, Ticket.TicketStatus.OPEN));
+        ticketRepository.saveAll(tickets);
+
+        TicketClassificationService.TicketClassification before = ticketClassificationService.classify(
+                "Elevator stuck between floors", "Nobody can get out", "Block C", "AUTO", "AUTO");
+        assertThat(before.category()).isEqualTo("Other");
+
+        ClassifierTrainingResponse response = trainedTicketClassifier.train();
+
+        assertThat(response.applied()).isTrue();
+        assertThat(response.documents()).isEqualTo(60);
+        assertThat(response.categories()).containsExactlyInAnyOrder("Lifts", "Grounds");
+        assertThat(Path.of(MODEL_PATH)).exists();
+
+        TicketClassificationService.TicketClassification after = ticketClassificationService.classify(
+                "Elevator stuck between floors", "Nobody can get out", "Block C", "AUTO", "AUTO");
+        assertThat(after.category()).isEqualTo("Lifts");
+        assertThat(after.priority()).isEqualTo(Ticket.Priority.CRITICAL);
+
+        // Low-confidence text still goes through the keyword rules.
+        TicketClassificationService.TicketClassification fallback = ticketClassificationService.classify(
+                "Projector not working", "No display in lecture hall", "Engineering", "AUTO", "AUTO");
+        assertThat(fallback.category()).isEqualTo("IT Equipment");
+
+        TrainedTicketClassifier restarted = new TrainedTicketClassifier(ticketRepository, transactionManager,
+                true, MODEL_PATH, 0.7, 20);
+        assertThat(restarted.suggest("Lift doors jammed", null, null))
+                .isEqualTo(new TrainedTicketClassifier.Suggestion("Lifts", Ticket.Priority.CRITICAL));
+    }
+
+    @Test
+    @DisplayName("train: a corpus below min-documents does not replace the model")
+    void train_smallCorpus_isNotApplied() {
+        ticketRepository.save(ticket("Elevator stuck", "Lifts", Ticket.Priority.HIGH, Ticket.TicketStatus.RESOLVED));
+
+        ClassifierTrainingResponse response = trainedTicketClassifier.train();
+
+        assertThat(response.applied()).isFalse();
+        assertThat(response.documents()).isEqualTo(1);
+        assertThat(Path.of(MODEL_PATH)).doesNotExist();
+    }
+
+    private Ticket ticket(String title, String category, Ticket.Priority priority, Ticket.TicketStatus status) {
+        Ticket ticket = new Ticket();
+        ticket.setTitle(title);
+        ticket.setDescription("Reported through the help desk.");
+        ticket.setLocation("Main Campus");
+        ticket.setCategory(category);
+        ticket.setPriority(priority);
+        ticket.setStatus(status);
+        ticket.setReportedBy("reporter");
+        ticket.setCreatedAt(LocalDateTime.now());
+        ticket.setUpdatedAt(LocalDateTime.now());
+        return ticket;
+    }
+}
@@ -2,9 +2,11 @@ package com.smartcampus;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.smartcampus.dto.TicketRequest;
+import com.smartcampus.model.Ticket;
 import com.smartcampus.model.User;
 import com.smartcampus.repository.TicketRepository;
 import com.smartcampus.repository.UserRepository;
+import com.smartcampus.service.TechnicianAutoAssignmentService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,11 +22,15 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.RequestPostProcessor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -57,6 +63,9 @@ class TicketControllerIntegrationTest {
     @Autowired
     private TicketRepository ticketRepository;
 
+    @Autowired
+    private TechnicianAutoAssignmentService technicianAutoAssignmentService;
+
     private User testUser;
     private User technicianUser;
 
@@ -87,6 +96,7 @@ class TicketControllerIntegrationTest {
         technicianUser.setCreatedAt(LocalDateTime.now());
         technicianUser.setUpdatedAt(LocalDateTime.now());
         technicianUser = userRepository.save(technicianUser);
+        technicianAutoAssignmentService.invalidate();
     }
 
     @Test
@@ -165,6 +175,38 @@ class TicketControllerIntegrationTest {
                 .andExpect(jsonPath("$.status").value("OPEN"));
     }
 
+    @Test
+    @DisplayName("POST /api/tickets/simple spreads tickets across specialists by open load")
+    void createTicketSimple_balancesSpecialistsByLoad() throws Exception {
+        User firstPlumber = technician("First Plumber", "plumber1@smartcampus.com", "Plumbing");
+        User secondPlumber = technician("Second Plumber", "plumber2@smartcampus.com", "Plumbing");
+
+        List<String> assignees = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            assignees.add(createSimple("Leaking pipe " + i, "Water is dripping from the pipe under the sink."));
+        }
+        assertThat(assignees).containsExactly(firstPlumber.getId(), secondPlumber.getId(),
+                firstPlumber.getId(), secondPlumber.getId());
+
+        // Resolving work frees capacity: the next ticket goes to whoever has less open load.
+        String resolvedId = ticketRepository.findByAssignedTo(secondPlumber.getId()).get(0).getId();
+        RequestPostProcessor plumber = authentication(new UsernamePasswordAuthenticationToken(
+                secondPlumber, null, List.of(new SimpleGrantedAuthority("ROLE_TECHNICIAN"))));
+        mockMvc.perform(put("/api/tickets/" + resolvedId + "/status")
+                        .with(plumber)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"IN_PROGRESS\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/tickets/" + resolvedId + "/status")
+                        .with(plumber)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"RESOLVED\",\"resolutionNotes\":\"Replaced the seal.\"}"))
+                .andExpect(status().isOk());
+
+        assertThat(createSimple("Blocked drain", "The drain in the washroom is blocked and water pools."))
+                .isEqualTo(secondPlumber.getId());
+    }
+
     @Test
     @DisplayName("POST /api/tickets/simple rejects invalid payload with field errors")
     void createTicketSimple_invalidPayload_returnsValidationErrors() throws Exception {
@@ -187,6 +229,134 @@ class TicketControllerIntegrationTest {
                 .andExpect(jsonPath("$.contactPhone").value("Phone number must be exactly 10 digits"));
     }
 
+    @Test
+    @DisplayName("GET /api/tickets/page pages newest first and breaks createdAt ties by id")
+    void getTicketsPage_keysetOnCreatedAtAndId() throws Exception {
+        LocalDateTime sameInstant = LocalDateTime.now().withNano(0);
+        for (int i = 0; i < 3; i++) {
+            Ticket ticket = new Ticket();
+            ticket.setTitle("Flickering light " + i);
+            ticket.setLocation("Library");
+            ticket.setDescription("Ceiling light keeps flickering in the reading area.");
+            ticket.setPriority(Ticket.Priority.LOW);
+            ticket.setStatus(Ticket.TicketStatus.OPEN);
+            ticket.setReportedBy(testUser.getId());
+            ticket.setCreatedAt(sameInstant);
+            ticket.setUpdatedAt(sameInstant);
+            ticketRepository.save(ticket);
+        }
+        RequestPostProcessor technician = authentication(new UsernamePasswordAuthenticationToken(
+                technicianUser, null, List.of(new SimpleGrantedAuthority("ROLE_TECHNICIAN"))));
+
+        String first = mockMvc.perform(get("/api/tickets/page").param("limit", "2").param("status", "OPEN").with(technician))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(first).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/tickets/page").param("limit", "2").param("status", "OPEN")
+                        .param("cursor", cursor).with(technician))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    @DisplayName("GET /api/tickets/sla/* select tickets by slaDueAt and report the persisted breach flag")
+    void slaEndpoints_computeStateFromDueTime() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        Ticket projector = slaTicket("Overdue projector", "IT Equipment", Ticket.TicketStatus.OPEN,
+                now.minusHours(2), null);
+        slaTicket("Overdue aircon", "HVAC", Ticket.TicketStatus.IN_PROGRESS, now.minusMinutes(10), null);
+        slaTicket("Socket due soon", "Electrical", Ticket.TicketStatus.OPEN, now.plusMinutes(20), null);
+        slaTicket("Socket due later", "Electrical", Ticket.TicketStatus.OPEN, now.plusHours(5), null);
+        slaTicket("Fixed on time", "Electrical", Ticket.TicketStatus.RESOLVED, now.minusHours(1), now.minusHours(3));
+        slaTicket("Fixed late", "Electrical", Ticket.TicketStatus.RESOLVED, now.minusHours(4), now.minusHours(2));
+        slaTicket("Closed on time", "HVAC", Ticket.TicketStatus.CLOSED, now.minusHours(1), now.minusHours(2));
+        RequestPostProcessor technician = authentication(new UsernamePasswordAuthenticationToken(
+                technicianUser, null, List.of(new SimpleGrantedAuthority("ROLE_TECHNICIAN"))));
+        RequestPostProcessor manager = authentication(new UsernamePasswordAuthenticationToken(
+                technicianUser, null, List.of(new SimpleGrantedAuthority("ROLE_MANAGER"))));
+        // Only the projector has been flagged by the monitor so far; the list is still selected by slaDueAt
+        ticketRepository.claimSlaBreach(projector.getId(), List.of(Ticket.TicketStatus.OPEN), now);
+
+        mockMvc.perform(get("/api/tickets/sla/breached").with(technician))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("Overdue projector"))
+                .andExpect(jsonPath("$[0].slaBreached").value(true))
+                .andExpect(jsonPath("$[1].title").value("Overdue aircon"))
+                .andExpect(jsonPath("$[1].slaBreached").value(false));
+
+        mockMvc.perform(get("/api/tickets/sla/due-soon").param("withinMinutes", "60").with(technician))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Socket due soon"))
+                .andExpect(jsonPath("$[0].slaBreached").value(false));
+
+        mockMvc.perform(get("/api/tickets/sla/met-rate").with(manager))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].category").value("Electrical"))
+                .andExpect(jsonPath("$[0].completed").value(2))
+                .andExpect(jsonPath("$[0].met").value(1))
+                .andExpect(jsonPath("$[0].metRate").value(50.0))
+                .andExpect(jsonPath("$[1].category").value("HVAC"))
+                .andExpect(jsonPath("$[1].metRate").value(100.0));
+    }
+
+    private Ticket slaTicket(String title, String category, Ticket.TicketStatus status, LocalDateTime slaDueAt,
+                             LocalDateTime resolvedAt) {
+        Ticket ticket = new Ticket();
+        ticket.setTitle(title);
+        ticket.setLocation("Engineering Block");
+        ticket.setDescription("Seeded ticket for SLA queries.");
+        ticket.setCategory(category);
+        ticket.setPriority(Ticket.Priority.HIGH);
+        ticket.setStatus(status);
+        ticket.setReportedBy(testUser.getId());
+        ticket.setCreatedAt(slaDueAt.minusHours(8));
+        ticket.setUpdatedAt(resolvedAt != null ? resolvedAt : slaDueAt.minusHours(8));
+        ticket.setResolvedAt(resolvedAt);
+        ticket.setSlaTargetMinutes(8 * 60);
+        ticket.setSlaDueAt(slaDueAt);
+        ticket.setSlaBreached(resolvedAt != null && resolvedAt.isAfter(slaDueAt));
+        return ticketRepository.save(ticket);
+    }
+
+    private String createSimple(String title, String description) throws Exception {
+        TicketRequest request = new TicketRequest();
+        request.setTitle(title);
+        request.setLocation("Science Block");
+        request.setDescription(description);
+        request.setCategory("Plumbing");
+        request.setPriority("MEDIUM");
+        String body = mockMvc.perform(post("/api/tickets/simple")
+                        .with(authFor(testUser))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("assignedTo").asText();
+    }
+
+    private User technician(String name, String email, String specialty) {
+        User technician = new User();
+        technician.setName(name);
+        technician.setEmail(email);
+        technician.setPassword("encoded");
+        technician.setProvider("LOCAL");
+        technician.setRoles(Set.of(User.Role.TECHNICIAN));
+        technician.setTechnicianSpecialties(Set.of(specialty));
+        technician.setEnabled(true);
+        technician.setCreatedAt(LocalDateTime.now());
+        technician.setUpdatedAt(LocalDateTime.now());
+        technician = userRepository.save(technician);
+        technicianAutoAssignmentService.invalidate();
+        return technician;
+    }
+
     private RequestPostProcessor authFor(User user) {
         return authentication(new UsernamePasswordAuthenticationToken(
                 user,
@@ -0,0 +1,238 @@
+package com.smartcampus;
+
+import com.smartcampus.dto.TicketRequest;
+import com.smartcampus.dto.TicketSummary;
+import com.smartcampus.model.Notification;
+import com.smartcampus.model.Ticket;
+import com.smartcampus.model.User;
+import com.smartcampus.repository.NotificationRepository;
+import com.smartcampus.repository.TicketRepository;
+import com.smartcampus.repository.UserRepository;
+import com.smartcampus.service.NotificationOutboxWorker;
+import com.smartcampus.service.TicketService;
+import com.smartcampus.service.TicketSlaMonitor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ticket-sla-monitor-test;DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never",
+        "app.data-initializer.enabled=false",
+        "app.ticket.sla-monitor.enabled=false",
+        "app.ticket.sla-monitor.max-entries=50"
+})
+@DisplayName("Ticket SLA Monitor Tests")
+class TicketSlaMonitorTest {
+
+    @Autowired
+    private TicketSlaMonitor monitor;
+
+    @Autowired
+    private NotificationOutboxWorker outboxWorker;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User technician;
+    private User manager;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository.deleteAll();
+        ticketRepository.deleteAll();
+        userRepository.deleteAll();
+        technician = user("SLA Technician", "sla.tech@smartcampus.com", User.Role.TECHNICIAN);
+        manager = user("SLA Manager", "sla.manager@smartcampus.com", User.Role.MANAGER);
+    }
+
+    @Test
+    @DisplayName("fires warning and breach once, persists the state and notifies assignee and managers")
+    void poll_firesEachEscalationOnce() {
+        LocalDateTime now = LocalDateTime.now();
+        Ticket overdue = ticket("Server room overheating", technician, now.minusMinutes(5), 60);
+        Ticket nearing = ticket("Projector flickering", technician, now.plusMinutes(30), 8 * 60);
+        Ticket unassigned = ticket("Door sensor offline", null, now.plusMinutes(20), 4 * 60);
+        Ticket later = ticket("Paint peeling", technician, now.plusDays(2), 72 * 60);
+        ticketRepository.saveAll(List.of(overdue, nearing, unassigned, later));
+
+        assertThat(monitor.poll(now)).isEqualTo(3);
+        assertThat(monitor.poll(now.plusSeconds(5))).isZero();
+        outboxWorker.drain();
+
+        assertThat(ticketRepository.findById(overdue.getId())).get()
+                .satisfies(ticket -> {
+                    assertThat(ticket.getSlaBreached()).isTrue();
+                    assertThat(ticket.getSlaEscalation()).isEqualTo(Ticket.SlaEscalation.BREACHED);
+                });
+        assertThat(ticketRepository.findById(nearing.getId()).orElseThrow().getSlaEscalation())
+                .isEqualTo(Ticket.SlaEscalation.WARNED);
+        assertThat(ticketRepository.findById(later.getId()).orElseThrow().getSlaEscalation())
+                .isEqualTo(Ticket.SlaEscalation.NONE);
+
+        List<Notification> technicianAlerts = notificationRepository.findByUserIdOrderByCreatedAtDesc(technician.getId());
+        assertThat(technicianAlerts).extracting(Notification::getType)
+                .containsExactlyInAnyOrder(Notification.NotificationType.TICKET_SLA_BREACHED,
+                        Notification.NotificationType.TICKET_SLA_WARNING);
+        List<Notification> managerAlerts = notificationRepository.findByUserIdOrderByCreatedAtDesc(manager.getId());
+        assertThat(managerAlerts).extracting(Notification::getReferenceId)
+                .containsExactlyInAnyOrder(overdue.getId(), unassigned.getId());
+
+        // Once the warned ticket reaches its due time, the breach still fires.
+        assertThat(monitor.poll(nearing.getSlaDueAt().plusSeconds(1))).isEqualTo(2);
+        assertThat(ticketRepository.findById(nearing.getId()).orElseThrow().getSlaBreached()).isTrue();
+    }
+
+    @Test
+    @DisplayName("holds at most max-entries deadlines per kind and drains a backlog across ticks")
+    void poll_boundedQueueDrainsBacklog() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Ticket> tickets = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            tickets.add(ticket("Missed while down " + i, technician, now.minusMinutes(120 - i), 60));
+        }
+        for (int i = 0; i < 500; i++) {
+            tickets.add(ticket("Far future " + i, technician, now.plusDays(3).plusMinutes(i), 72 * 60));
+        }
+        ticketRepository.saveAll(tickets);
+
+        int fired = 0;
+        for (int tick = 0; tick < 5; tick++) {
+            fired += monitor.poll(now);
+            assertThat(monitor.queuedDeadlines()).isLessThanOrEqualTo(100);
+        }
+
+        assertThat(fired).isEqualTo(120);
+        assertThat(ticketRepository.findAll()).filteredOn(ticket -> Boolean.TRUE.equals(ticket.getSlaBreached()))
+                .hasSize(120);
+    }
+
+    @Test
+    @DisplayName("summaries and ticket details report the same SLA state for active and completed tickets")
+    void summariesMatchTicketDetails() {
+        LocalDateTime now = LocalDateTime.now();
+        Ticket flagged = ticket("Flagged by the monitor", technician, now.minusMinutes(30), 60);
+        Ticket notYetFlagged = ticket("Overdue before the next tick", technician, now.minusMinutes(30), 60);
+        Ticket resolvedInTime = ticket("Resolved before its deadline", technician, now.minusMinutes(10), 60);
+        resolvedInTime.setStatus(Ticket.TicketStatus.RESOLVED);
+        resolvedInTime.setResolvedAt(now.minusMinutes(40));
+        Ticket resolvedLate = ticket("Resolved after its deadline", technician, now.minusMinutes(90), 60);
+        resolvedLate.setStatus(Ticket.TicketStatus.RESOLVED);
+        resolvedLate.setResolvedAt(now.minusMinutes(60));
+        resolvedLate.setSlaBreached(true);
+        Ticket upcoming = ticket("Due later", technician, now.plusHours(2), 4 * 60);
+        ticketRepository.saveAll(List.of(flagged, notYetFlagged, resolvedInTime, resolvedLate, upcoming));
+        ticketRepository.claimSlaBreach(flagged.getId(), List.of(Ticket.TicketStatus.OPEN), now);
+
+        Map<String, TicketSummary> summaries = ticketService.getTicketSummaries(null).stream()
+                .collect(Collectors.toMap(TicketSummary::id, Function.identity()));
+
+        assertThat(summaries).hasSize(5);
+        for (TicketSummary summary : summaries.values()) {
+            Ticket detail = ticketService.getTicketById(summary.id(), technician);
+            assertThat(summary.slaBreached()).as(summary.title()).isEqualTo(detail.getSlaBreached());
+            assertThat(summary.slaMet()).as(summary.title()).isEqualTo(detail.getSlaMet());
+        }
+        assertThat(summaries.get(flagged.getId()).slaBreached()).isTrue();
+        assertThat(summaries.get(resolvedInTime.getId()).slaBreached()).isFalse();
+        assertThat(summaries.get(resolvedInTime.getId()).slaMet()).isTrue();
+        assertThat(summaries.get(resolvedLate.getId()).slaMet()).isFalse();
+    }
+
+    @Test
+    @DisplayName("saving a ticket loaded before a claim keeps the escalation; moving the deadline re-arms it")
+    void staleSave_keepsClaimedEscalation() {
+        LocalDateTime now = LocalDateTime.now();
+        Ticket overdue = ticketRepository.save(ticket("Boiler pressure low", technician, now.minusMinutes(5), 60));
+        Ticket stale = ticketRepository.findById(overdue.getId()).orElseThrow();
+
+        // Past the reload interval, so the shared monitor reloads its queue from this test's tickets
+        assertThat(monitor.poll(now.plusMinutes(2))).isEqualTo(1);
+        stale.setTitle("Boiler pressure low (rechecked)");
+        ticketRepository.save(stale);
+
+        Ticket stored = ticketRepository.findById(overdue.getId()).orElseThrow();
+        assertThat(stored.getTitle()).isEqualTo("Boiler pressure low (rechecked)");
+        assertThat(stored.getSlaBreached()).isTrue();
+        assertThat(stored.getSlaEscalation()).isEqualTo(Ticket.SlaEscalation.BREACHED);
+        assertThat(monitor.poll(now.plusMinutes(5))).isZero();
+
+        TicketRequest request = new TicketRequest();
+        request.setTitle(stored.getTitle());
+        request.setDescription(stored.getDescription());
+        request.setLocation(stored.getLocation());
+        request.setCategory(stored.getCategory());
+        request.setPriority("LOW");
+        ticketService.updateTicket(overdue.getId(), request, technician);
+
+        Ticket rearmed = ticketRepository.findById(overdue.getId()).orElseThrow();
+        assertThat(rearmed.getSlaDueAt()).isAfter(now);
+        assertThat(rearmed.getSlaBreached()).isFalse();
+        assertThat(rearmed.getSlaEscalation()).isEqualTo(Ticket.SlaEscalation.NONE);
+    }
+
+    private User user(String name, String email, User.Role role) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setPassword("encoded");
+        user.setProvider("LOCAL");
+        user.setRoles(Set.of(role));
+        user.setEnabled(true);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        return userRepository.save(user);
+    }
+
+    private Ticket ticket(String title, User assignee, LocalDateTime slaDueAt, int targetMinutes) {
+        LocalDateTime createdAt = slaDueAt.minusMinutes(targetMinutes);
+        Ticket ticket = new Ticket();
+        ticket.setTitle(title);
+        ticket.setLocation("Main Building");
+        ticket.setDescription("Seeded ticket for SLA monitoring.");
+        ticket.setCategory("Electrical");
+        ticket.setPriority(Ticket.Priority.HIGH);
+        ticket.setStatus(Ticket.TicketStatus.OPEN);
+        ticket.setReportedBy("reporter");
+        if (assignee != null) {
+            ticket.setAssignedTo(assignee.getId());
+            ticket.setAssignedToName(assignee.getName());
+        }
+        ticket.setCreatedAt(createdAt);
+        ticket.setUpdatedAt(createdAt);
+        ticket.setSlaTargetMinutes(targetMinutes);
+        ticket.setSlaDueAt(slaDueAt);
+        ticket.setSlaWarningAt(TicketSlaMonitor.warningAt(createdAt, targetMinutes));
+        ticket.setSlaBreached(false);
+        ticket.setSlaEscalation(Ticket.SlaEscalation.NONE);
+        return ticket;
+    }
+}
@@ -0,0 +1,172 @@
+package com.smartcampus;
+
+import com.smartcampus.model.Notification;
+import com.smartcampus.model.User;
+import com.smartcampus.repository.NotificationOutboxRepository;
+import com.smartcampus.repository.NotificationRepository;
+import com.smartcampus.repository.UserRepository;
+import com.smartcampus.security.JwtTokenProvider;
+import com.smartcampus.service.NotificationOutboxWorker;
+import com.smartcampus.service.NotificationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:unread-count-push-test;DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never",
+        "app.data-initializer.enabled=false",
+        "app.ticket.sla-monitor.enabled=false",
+        "app.notification.outbox.enabled=false"
+})
+@DisplayName("Unread Count Push Tests")
+class UnreadCountPushTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationOutboxWorker outboxWorker;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private SimpUserRegistry userRegistry;
+
+    private WebSocketStompClient stompClient;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+        notificationRepository.deleteAll();
+        userRepository.deleteAll();
+        stompClient = new WebSocketStompClient(new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+    }
+
+    @AfterEach
+    void tearDown() {
+        stompClient.stop();
+    }
+
+    @Test
+    @DisplayName("an authenticated socket receives the unread count on create and on mark-all-read")
+    void unreadCount_isPushedToTheUsersSocket() throws Exception {
+        User student = user("push.student@smartcampus.com");
+        StompSession session = connect("Bearer " + tokenProvider.generateToken(student.getId(), student.getEmail(), Set.of("USER")));
+        BlockingQueue<Object> counts = new LinkedBlockingQueue<>();
+        session.subscribe("/user/queue/unread-count", new StompFrameHandler() {
+            @Override
+            @NonNull
+            public Type getPayloadType(@NonNull StompHeaders headers) {
+                return Map.class;
+            }
+
+            @Override
+            public void handleFrame(@NonNull StompHeaders headers, Object payload) {
+                counts.add(payload);
+            }
+        });
+        awaitSubscription(student.getId());
+
+        notificationService.createNotification(student.getId(), "Booking Approved", "See you there",
+                Notification.NotificationType.BOOKING_APPROVED, "booking-1", "BOOKING");
+        notificationService.createNotification(student.getId(), "Ticket Assigned", "Ticket 2 is yours",
+                Notification.NotificationType.TICKET_ASSIGNED, "ticket-2", "TICKET");
+        outboxWorker.drain();
+
+        assertThat(counts.poll(5, TimeUnit.SECONDS)).isEqualTo(Map.of("count", 2));
+        assertThat(notificationService.getUnreadCount(student.getId())).isEqualTo(2);
+
+        notificationService.markAllAsRead(student.getId());
+        assertThat(counts.poll(5, TimeUnit.SECONDS)).isEqualTo(Map.of("count", 0));
+        session.disconnect();
+    }
+
+    @Test
+    @DisplayName("a CONNECT without a valid bearer token is refused")
+    void connect_requiresToken() {
+        assertThatThrownBy(() -> connect("Bearer not-a-token")).isInstanceOf(ExecutionException.class);
+    }
+
+    private StompSession connect(String authorization) throws Exception {
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", authorization);
+        return stompClient.connectAsync("http://localhost:" + port + "/ws-campus", new WebSocketHttpHeaders(),
+                connectHeaders, new StompSessionHandlerAdapter() { }).get(5, TimeUnit.SECONDS);
+    }
+
+    private void awaitSubscription(String userId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            SimpUser user = userRegistry.getUser(userId);
+            if (user != null && user.getSessions().stream().anyMatch(session -> !session.getSubscriptions().isEmpty())) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Subscription for " + userId + " was not registered");
+    }
+
+    private User user(String email) {
+        User user = new User();
+        user.setName(email);
+        user.setEmail(email);
+        user.setPassword("encoded");
+        user.setProvider("LOCAL");
+        user.setRoles(Set.of(User.Role.USER));
+        user.setEnabled(true);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        return userRepository.save(user);
+    }
+}
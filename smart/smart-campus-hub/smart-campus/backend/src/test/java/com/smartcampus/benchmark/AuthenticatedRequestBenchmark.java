@@ -0,0 +1,207 @@
+package com.smartcampus.benchmark;
+
+import com.smartcampus.model.User;
+import com.smartcampus.repository.UserRepository;
+import com.smartcampus.security.AuthenticatedUserCache;
+import com.smartcampus.security.ClaimsAuthentication;
+import com.smartcampus.security.JwtAuthenticationFilter;
+import com.smartcampus.security.JwtTokenProvider;
+import com.smartcampus.security.TokenRevocationList;
+import com.smartcampus.security.VerifiedToken;
+import jakarta.servlet.FilterChain;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Per-request cost of {@link JwtAuthenticationFilter}: the previous version, which verified the token twice
+ * and loaded the user with both of its collections on every request, against one verification plus an
+ * {@link AuthenticatedUserCache} hit, and against the stateless claims mode, which builds a
+ * {@link ClaimsAuthentication} and never touches the user.
+ *
+ * The user is loaded from an in-memory H2 database with the same three lookups Hibernate runs for the user row
+ * and its two eager collections, so the baseline leaves out network round trips and is a lower bound.
+ *
+ * Not part of the test run: start {@link #main} from the IDE, or with the test classpath after
+ * {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthenticatedRequestBenchmark {
+
+    private static final String USER_ID = "4f1c2a8e-6b1d-4d53-9a51-0c2f6f8a9b10";
+    private static final FilterChain NO_OP = (request, response) -> { };
+
+    private Connection connection;
+    private JwtTokenProvider tokenProvider;
+    private UserRepository userRepository;
+    private JwtAuthenticationFilter filter;
+    private JwtAuthenticationFilter claimsFilter;
+    private String header;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:auth-benchmark;MODE=MySQL", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE users (id VARCHAR(36) PRIMARY KEY, email VARCHAR(255), name VARCHAR(255), "
+                    + "password VARCHAR(255), provider VARCHAR(32), enabled BOOLEAN)");
+            statement.execute("CREATE TABLE user_roles (user_id VARCHAR(36), role VARCHAR(32))");
+            statement.execute("CREATE TABLE user_specialties (user_id VARCHAR(36), specialty VARCHAR(64))");
+            statement.execute("CREATE INDEX idx_roles_user ON user_roles (user_id)");
+            statement.execute("CREATE INDEX idx_specialties_user ON user_specialties (user_id)");
+            statement.execute("INSERT INTO users VALUES ('" + USER_ID + "', 'tech@campus.edu', 'Tech', 'x', 'LOCAL', TRUE)");
+            statement.execute("INSERT INTO user_roles VALUES ('" + USER_ID + "', 'TECHNICIAN')");
+            statement.execute("INSERT INTO user_specialties VALUES ('" + USER_ID + "', 'Plumbing')");
+            statement.execute("INSERT INTO user_specialties VALUES ('" + USER_ID + "', 'Electrical')");
+        }
+
+        tokenProvider = new JwtTokenProvider("SmartCampusHub2026SecretKeyForJWTTokenGenerationAndValidation2026!",
+                3_600_000L);
+        header = "Bearer " + tokenProvider.generateToken(USER_ID, "tech@campus.edu", Set.of("TECHNICIAN"));
+
+        userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findById(USER_ID)).thenAnswer(invocation -> load(invocation.getArgument(0)));
+        AuthenticatedUserCache userCache = new AuthenticatedUserCache(userRepository, 60, 10_000);
+        Mockito.when(userRepository.findTokenVersion(USER_ID)).thenReturn(Optional.of(0L));
+        TokenRevocationList revocationList = new TokenRevocationList(userRepository, 5, 10_000);
+        filter = new JwtAuthenticationFilter(tokenProvider, userCache, revocationList, false);
+        claimsFilter = new JwtAuthenticationFilter(tokenProvider, userCache, revocationList, true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public Authentication parseTwiceAndLoad() {
+        LegacyFilter.doFilterInternal(request(), tokenProvider, userRepository);
+        return takeAuthentication();
+    }
+
+    @Benchmark
+    public Authentication parseOnceAndCache() throws Exception {
+        filter.doFilter(request(), new MockHttpServletResponse(), NO_OP);
+        return takeAuthentication();
+    }
+
+    @Benchmark
+    public Authentication parseOnceFromClaims() throws Exception {
+        claimsFilter.doFilter(request(), new MockHttpServletResponse(), NO_OP);
+        return takeAuthentication();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AuthenticatedRequestBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/notifications/count");
+        request.addHeader("Authorization", header);
+        return request;
+    }
+
+    private static Authentication takeAuthentication() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    private Optional<User> load(String id) throws SQLException {
+        User user = new User();
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT id, email, name, password, provider, enabled FROM users WHERE id = ?")) {
+            select.setString(1, id);
+            try (ResultSet row = select.executeQuery()) {
+                if (!row.next()) {
+                    return Optional.empty();
+                }
+                user.setId(row.getString(1));
+                user.setEmail(row.getString(2));
+                user.setName(row.getString(3));
+                user.setPassword(row.getString(4));
+                user.setProvider(row.getString(5));
+                user.setEnabled(row.getBoolean(6));
+            }
+        }
+        Set<User.Role> roles = new HashSet<>();
+        for (String role : strings("SELECT role FROM user_roles WHERE user_id = ?", id)) {
+            roles.add(User.Role.valueOf(role));
+        }
+        user.setRoles(roles);
+        user.setTechnicianSpecialties(strings("SELECT specialty FROM user_specialties WHERE user_id = ?", id));
+        return Optional.of(user);
+    }
+
+    private Set<String> strings(String sql, String id) throws SQLException {
+        Set<String> values = new HashSet<>();
+        try (PreparedStatement select = connection.prepareStatement(sql)) {
+            select.setString(1, id);
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    values.add(rows.getString(1));
+                }
+            }
+        }
+        return values;
+    }
+
+    /** The filter body this change replaced, kept as the benchmark baseline. */
+    private static final class LegacyFilter {
+
+        static void doFilterInternal(MockHttpServletRequest request, JwtTokenProvider tokenProvider,
+                                     UserRepository userRepository) {
+            String bearerToken = request.getHeader("Authorization");
+            String token = bearerToken != null && bearerToken.startsWith("Bearer ") ? bearerToken.substring(7) : null;
+            if (token != null && tokenProvider.validateToken(token)) {
+                String userId = tokenProvider.verify(token).map(VerifiedToken::userId).orElseThrow();
+                User user = userRepository.findById(userId).orElse(null);
+                if (user != null) {
+                    var authorities = user.getRoles().stream()
+                            .map(role -> new SimpleGrantedAuthority("ROLE_" + role.name()))
+                            .collect(Collectors.toList());
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(user, null, authorities);
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
+            }
+        }
+    }
+}
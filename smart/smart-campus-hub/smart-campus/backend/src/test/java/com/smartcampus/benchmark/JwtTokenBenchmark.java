@@ -0,0 +1,155 @@
+package com.smartcampus.benchmark;
+
+import com.smartcampus.security.JwtTokenProvider;
+import com.smartcampus.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation and verification throughput of {@link JwtTokenProvider}, with its key and parser built once,
+ * against the previous provider, which rebuilt both on every call and parsed twice to get the subject.
+ *
+ * Each pair runs on one thread and on {@link Threads#MAX} threads (one per available core), so contention in
+ * shared state would show up as the multi-threaded score not scaling. Not part of the test run: start
+ * {@link #main} from the IDE, or with the test classpath after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenBenchmark {
+
+    private static final String SECRET = "SmartCampusHub2026SecretKeyForJWTTokenGenerationAndValidation2026!";
+    private static final String USER_ID = "4f1c2a8e-6b1d-4d53-9a51-0c2f6f8a9b10";
+    private static final Set<String> ROLES = Set.of("TECHNICIAN", "USER");
+
+    private JwtTokenProvider provider;
+    private LegacyProvider legacy;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        provider = new JwtTokenProvider(SECRET, 3_600_000L);
+        legacy = new LegacyProvider(SECRET, 3_600_000L);
+        token = provider.generateToken(USER_ID, "tech@campus.edu", ROLES);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String generate() {
+        return provider.generateToken(USER_ID, "tech@campus.edu", ROLES);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String generateAllCores() {
+        return generate();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Optional<VerifiedToken> verify() {
+        return provider.verify(token);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Optional<VerifiedToken> verifyAllCores() {
+        return verify();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String legacyGenerate() {
+        return legacy.generateToken(USER_ID, "tech@campus.edu", ROLES);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String legacyGenerateAllCores() {
+        return legacyGenerate();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String legacyValidateAndGetUserId() {
+        return legacy.validateToken(token) ? legacy.getUserIdFromToken(token) : null;
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String legacyValidateAndGetUserIdAllCores() {
+        return legacyValidateAndGetUserId();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtTokenBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /** The provider this change replaced, kept as the benchmark baseline. */
+    private static final class LegacyProvider {
+
+        private final String jwtSecret;
+        private final long jwtExpiration;
+
+        LegacyProvider(String jwtSecret, long jwtExpiration) {
+            this.jwtSecret = jwtSecret;
+            this.jwtExpiration = jwtExpiration;
+        }
+
+        private SecretKey getSigningKey() {
+            return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        }
+
+        String generateToken(String userId, String email, Set<String> roles) {
+            Date now = new Date();
+            return Jwts.builder()
+                    .subject(userId)
+                    .claim("email", email)
+                    .claim("roles", roles)
+                    .issuedAt(now)
+                    .expiration(new Date(now.getTime() + jwtExpiration))
+                    .signWith(getSigningKey())
+                    .compact();
+        }
+
+        String getUserIdFromToken(String token) {
+            Claims claims = Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(token).getPayload();
+            return claims.getSubject();
+        }
+
+        boolean validateToken(String token) {
+            try {
+                Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(token);
+                return true;
+            } catch (JwtException | IllegalArgumentException ex) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.smartcampus.benchmark;
+
+import com.smartcampus.security.RateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission cost of {@link RateLimiter} against the sliding window it replaced, which kept a
+ * {@link CopyOnWriteArrayList} of timestamps per IP and copied it on every request.
+ *
+ * The hot-key pair sends every request from one IP that is already at its limit, the attack case, where the old
+ * window copies {@code limit} timestamps per request and all threads contend on one list. The spread pair picks
+ * one of 100 000 IPs per request. Every benchmark runs on {@link Threads#MAX} threads. Not part of the test run:
+ * start {@link #main} from the IDE, or with the test classpath after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class RateLimiterBenchmark {
+
+    private static final int LIMIT = 1_000;
+    private static final int SPREAD = 100_000;
+    private static final String HOT_IP = "203.0.113.7";
+
+    private RateLimiter limiter;
+    private LegacySlidingWindow legacy;
+    private String[] ips;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        limiter = new RateLimiter(LIMIT, 60, TimeUnit.SECONDS, 2 * SPREAD);
+        legacy = new LegacySlidingWindow(60);
+        ips = new String[SPREAD];
+        for (int i = 0; i < SPREAD; i++) {
+            ips[i] = "10." + (i >>> 16) + '.' + ((i >>> 8) & 0xff) + '.' + (i & 0xff);
+        }
+        for (int i = 0; i < LIMIT; i++) {
+            limiter.tryAcquire(HOT_IP);
+            legacy.isWithinRateLimit(HOT_IP, LIMIT);
+        }
+    }
+
+    @Benchmark
+    public boolean hotKey() {
+        return limiter.tryAcquire(HOT_IP);
+    }
+
+    @Benchmark
+    public boolean legacyHotKey() {
+        return legacy.isWithinRateLimit(HOT_IP, LIMIT);
+    }
+
+    @Benchmark
+    public boolean spread() {
+        return limiter.tryAcquire(ips[ThreadLocalRandom.current().nextInt(SPREAD)]);
+    }
+
+    @Benchmark
+    public boolean legacySpread() {
+        return legacy.isWithinRateLimit(ips[ThreadLocalRandom.current().nextInt(SPREAD)], LIMIT);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RateLimiterBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /** The sliding window this change replaced, kept as the benchmark baseline. */
+    private static final class LegacySlidingWindow {
+
+        private final long windowSizeSeconds;
+        private final Map<String, CopyOnWriteArrayList<Long>> requestBuckets = new ConcurrentHashMap<>();
+
+        LegacySlidingWindow(long windowSizeSeconds) {
+            this.windowSizeSeconds = windowSizeSeconds;
+        }
+
+        boolean isWithinRateLimit(String clientIp, int limit) {
+            long now = Instant.now().getEpochSecond();
+            long windowStart = now - windowSizeSeconds;
+
+            CopyOnWriteArrayList<Long> timestamps = requestBuckets.computeIfAbsent(clientIp,
+                    k -> new CopyOnWriteArrayList<>());
+            timestamps.removeIf(timestamp -> timestamp < windowStart);
+            if (timestamps.size() >= limit) {
+                return false;
+            }
+            timestamps.add(now);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.smartcampus.benchmark;
+
+import com.smartcampus.service.TicketClassificationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyword automaton in {@link TicketClassificationService} against the previous chain of {@code containsAny}
+ * scans over the concatenated, lowercased text.
+ *
+ * Not part of the test run: start {@link #main} from the IDE, or with the test classpath after
+ * {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TicketClassificationBenchmark {
+
+    @Param({"short", "long"})
+    public String ticket;
+
+    private final TicketClassificationService service = new TicketClassificationService();
+    private String title;
+    private String description;
+    private String location;
+
+    @Setup
+    public void setUp() {
+        title = "Projector not working in lecture hall";
+        location = "Engineering Block A, Level 3";
+        description = "short".equals(ticket)
+                ? "The projector shows no display and the class cannot continue."
+                : ("The ceiling projector in the main lecture hall shows no display since this morning. We tried "
+                + "switching inputs, restarting the laptop and checking the HDMI cable at the lectern, but nothing "
+                + "helps. The room is booked for back-to-back sessions all afternoon and students are waiting. ")
+                .repeat(4);
+    }
+
+    @Benchmark
+    public TicketClassificationService.TicketClassification automaton() {
+        return service.classify(title, description, location, "AUTO", "AUTO");
+    }
+
+    @Benchmark
+    public String containsChain() {
+        String text = (title + " " + description + " " + location).toLowerCase(Locale.ROOT);
+        String category = LegacyClassifier.detectCategory(text);
+        return category + LegacyClassifier.detectPriority(text, category);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TicketClassificationBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /** Copy of the substring-based rules the automaton replaced, kept as the benchmark baseline. */
+    private static final class LegacyClassifier {
+
+        static String detectCategory(String text) {
+            if (containsAny(text, "wifi", "network", "internet", "computer", "pc", "laptop", "projector", "printer", "monitor", "software", "login", "system", "server")) {
+                return "IT Equipment";
+            }
+            if (containsAny(text, "electric", "power", "light", "socket", "outlet", "voltage", "switch", "generator", "short circuit", "wiring")) {
+                return "Electrical";
+            }
+            if (containsAny(text, "water", "pipe", "leak", "toilet", "washroom", "sink", "drain", "tap", "flood", "plumbing")) {
+                return "Plumbing";
+            }
+            if (containsAny(text, "ac", "air conditioning", "hvac", "cooling", "ventilation", "temperature", "fan")) {
+                return "HVAC";
+            }
+            if (containsAny(text, "chair", "desk", "table", "door", "window", "locker", "furniture", "broken seat")) {
+                return "Furniture";
+            }
+            if (containsAny(text, "dirty", "garbage", "trash", "clean", "stain", "odor", "smell", "wash", "spill")) {
+                return "Cleaning";
+            }
+            if (containsAny(text, "fire", "smoke", "sparks", "security", "unsafe", "danger", "hazard", "emergency", "injury", "alarm", "theft")) {
+                return "Safety";
+            }
+            return "Other";
+        }
+
+        static String detectPriority(String text, String category) {
+            if (containsAny(text, "fire", "smoke", "sparks", "emergency", "urgent", "immediately", "asap", "injury", "danger", "unsafe", "flood", "gas leak", "security breach")) {
+                return "CRITICAL";
+            }
+            if (containsAny(text, "down", "not working", "broken", "failed", "failure", "offline", "no power", "cannot access", "won't start", "wont start", "leaking", "overflow")) {
+                if ("Safety".equals(category) || "Electrical".equals(category) || "Plumbing".equals(category) || "HVAC".equals(category)) {
+                    return "HIGH";
+                }
+            }
+            if (containsAny(text, "projector", "network", "internet", "wifi", "ac", "air conditioning", "toilet", "water", "leak", "broken", "urgent", "important")) {
+                return "HIGH";
+            }
+            if (containsAny(text, "slow", "noise", "intermittent", "damaged", "issue", "problem", "cleaning", "repair")) {
+                return "MEDIUM";
+            }
+            return "LOW";
+        }
+
+        private static boolean containsAny(String text, String... terms) {
+            for (String term : terms) {
+                if (text.contains(term)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.smartcampus.security;
+
+import com.smartcampus.model.User;
+import com.smartcampus.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuthenticatedUserCache Unit Tests")
+class AuthenticatedUserCacheTest {
+
+    @Mock private UserRepository userRepository;
+
+    @Test
+    @DisplayName("get: loads a user once within the TTL and again after invalidate")
+    void get_loadsOnceUntilInvalidated() {
+        AuthenticatedUserCache cache = new AuthenticatedUserCache(userRepository, 60, 100);
+        User technician = user("user-1", User.Role.TECHNICIAN);
+        when(userRepository.findById("user-1")).thenReturn(Optional.of(technician));
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(cache.get("user-1").user()).isSameAs(technician);
+        }
+        assertThat(cache.get("user-1").authorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_TECHNICIAN");
+        verify(userRepository, times(1)).findById("user-1");
+
+        User promoted = user("user-1", User.Role.ADMIN);
+        when(userRepository.findById("user-1")).thenReturn(Optional.of(promoted));
+        cache.invalidate("user-1");
+
+        assertThat(cache.get("user-1").authorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_ADMIN");
+        verify(userRepository, times(2)).findById("user-1");
+    }
+
+    @Test
+    @DisplayName("get: expired entries are reloaded and unknown users are not cached")
+    void get_reloadsExpiredAndSkipsMissing() {
+        AuthenticatedUserCache expiring = new AuthenticatedUserCache(userRepository, 0, 100);
+        when(userRepository.findById("user-1")).thenReturn(Optional.of(user("user-1", User.Role.USER)));
+        when(userRepository.findById("deleted")).thenReturn(Optional.empty());
+
+        expiring.get("user-1");
+        expiring.get("user-1");
+        assertThat(expiring.get("deleted")).isNull();
+        assertThat(expiring.get("deleted")).isNull();
+
+        verify(userRepository, times(2)).findById("user-1");
+        verify(userRepository, times(2)).findById("deleted");
+    }
+
+    @Test
+    @DisplayName("get: never holds more than max-entries users")
+    void get_staysWithinMaxEntries() {
+        AuthenticatedUserCache cache = new AuthenticatedUserCache(userRepository, 60, 3);
+        when(userRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.of(user(invocation.getArgument(0), User.Role.USER)));
+
+        for (int i = 0; i < 50; i++) {
+            assertThat(cache.get("user-" + i)).isNotNull();
+            assertThat(cache.size()).isLessThanOrEqualTo(3);
+        }
+    }
+
+    private static User user(String id, User.Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setRoles(Set.of(role));
+        return user;
+    }
+}
@@ -0,0 +1,57 @@
+package com.smartcampus.security;
+
+import io.jsonwebtoken.security.WeakKeyException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("JwtTokenProvider Unit Tests")
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "SmartCampusHub2026SecretKeyForJWTTokenGenerationAndValidation2026!";
+
+    @Test
+    @DisplayName("verify: one verification returns subject, email, roles, token version and expiry")
+    void verify_returnsAllClaims() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 3_600_000L);
+
+        String token = provider.generateToken("user-1", "tech@campus.edu", Set.of("TECHNICIAN", "USER"), 3L);
+        VerifiedToken verified = provider.verify(token).orElseThrow();
+
+        assertThat(verified.userId()).isEqualTo("user-1");
+        assertThat(verified.email()).isEqualTo("tech@campus.edu");
+        assertThat(verified.roles()).containsExactlyInAnyOrder("TECHNICIAN", "USER");
+        assertThat(verified.tokenVersion()).isEqualTo(3L);
+        assertThat(verified.expiresAt()).isCloseTo(Instant.now().plus(1, ChronoUnit.HOURS), within(5, ChronoUnit.SECONDS));
+        assertThat(provider.validateToken(token)).isTrue();
+    }
+
+    @Test
+    @DisplayName("verify: rejects expired, tampered, foreign and malformed tokens")
+    void verify_rejectsInvalidTokens() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 3_600_000L);
+        JwtTokenProvider expired = new JwtTokenProvider(SECRET, -1_000L);
+        JwtTokenProvider foreign = new JwtTokenProvider(SECRET.replace('S', 'X'), 3_600_000L);
+        String token = provider.generateToken("user-1", "tech@campus.edu", Set.of("USER"));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThat(provider.verify(expired.generateToken("user-1", "tech@campus.edu", Set.of("USER")))).isEmpty();
+        assertThat(provider.verify(tampered)).isEmpty();
+        assertThat(provider.verify(foreign.generateToken("user-1", "tech@campus.edu", Set.of("USER")))).isEmpty();
+        assertThat(provider.verify("not-a-token")).isEmpty();
+        assertThat(provider.verify("")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("constructor: a secret too short for HS256 fails at startup")
+    void constructor_rejectsWeakSecret() {
+        assertThatThrownBy(() -> new JwtTokenProvider("too-short", 3_600_000L)).isInstanceOf(WeakKeyException.class);
+    }
+}
@@ -0,0 +1,143 @@
+package com.smartcampus.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RateLimiter Unit Tests")
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("tryAcquire: allows a full burst, then one request per emission interval")
+    void tryAcquire_burstThenSteadyRate() {
+        RateLimiter limiter = new RateLimiter(5, 10, TimeUnit.SECONDS, 100);
+        long now = 1_000 * SECOND;
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("10.0.0.1", now)).isTrue();
+        }
+        assertThat(limiter.tryAcquire("10.0.0.1", now)).isFalse();
+        assertThat(limiter.tryAcquire("10.0.0.2", now)).isTrue();
+
+        assertThat(limiter.tryAcquire("10.0.0.1", now + SECOND)).isFalse();
+        assertThat(limiter.tryAcquire("10.0.0.1", now + 2 * SECOND)).isTrue();
+        assertThat(limiter.tryAcquire("10.0.0.1", now + 2 * SECOND)).isFalse();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("10.0.0.1", now + 12 * SECOND)).isTrue();
+        }
+        assertThat(limiter.tryAcquire("10.0.0.1", now + 12 * SECOND)).isFalse();
+    }
+
+    @Test
+    @DisplayName("acquire: reports the remaining budget, the refill time and when to retry")
+    void acquire_reportsRemainingResetAndRetryAfter() {
+        RateLimiter limiter = new RateLimiter(5, 10, TimeUnit.SECONDS, 100);
+        long now = 1_000 * SECOND;
+
+        RateLimiter.Decision first = limiter.acquire("10.0.0.1", now);
+        assertThat(first.allowed()).isTrue();
+        assertThat(first.limit()).isEqualTo(5);
+        assertThat(first.remaining()).isEqualTo(4);
+        assertThat(first.resetNanos()).isEqualTo(2 * SECOND);
+
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire("10.0.0.1", now);
+        }
+        RateLimiter.Decision refused = limiter.acquire("10.0.0.1", now + SECOND / 2);
+        assertThat(refused.allowed()).isFalse();
+        assertThat(refused.remaining()).isZero();
+        assertThat(refused.resetNanos()).isEqualTo(10 * SECOND - SECOND / 2);
+        assertThat(refused.retryAfterNanos()).isEqualTo(2 * SECOND - SECOND / 2);
+    }
+
+    @Test
+    @DisplayName("tryAcquire: concurrent requests for one key admit exactly the limit")
+    void tryAcquire_concurrentRequestsAdmitExactlyLimit() throws Exception {
+        RateLimiter limiter = new RateLimiter(1_000, 60, TimeUnit.SECONDS, 100);
+        long now = System.nanoTime();
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Integer>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                int admitted = 0;
+                for (int i = 0; i < 1_000; i++) {
+                    if (limiter.tryAcquire("10.0.0.1", now)) {
+                        admitted++;
+                    }
+                }
+                return admitted;
+            }));
+        }
+        start.countDown();
+
+        int admitted = 0;
+        for (Future<Integer> future : futures) {
+            admitted += future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(admitted).isEqualTo(1_000);
+    }
+
+    @Test
+    @DisplayName("evictIdle: drops keys whose bucket has refilled and keeps the rest")
+    void evictIdle_dropsOnlyRefilledKeys() {
+        RateLimiter limiter = new RateLimiter(2, 10, TimeUnit.SECONDS, 100);
+        long now = 1_000 * SECOND;
+
+        limiter.tryAcquire("quiet", now);
+        limiter.tryAcquire("busy", now);
+        limiter.tryAcquire("busy", now + 9 * SECOND);
+        limiter.tryAcquire("busy", now + 9 * SECOND);
+
+        limiter.evictIdle(now + 10 * SECOND);
+
+        assertThat(limiter.size()).isEqualTo(1);
+        assertThat(limiter.tryAcquire("busy", now + 10 * SECOND)).isFalse();
+        assertThat(limiter.tryAcquire("quiet", now + 10 * SECOND)).isTrue();
+    }
+
+    @Test
+    @DisplayName("memory: one million distinct IPs stay within the key cap and are swept once idle")
+    void memory_millionDistinctIpsStayBounded() {
+        int maxKeys = 100_000;
+        RateLimiter limiter = new RateLimiter(100, 60, TimeUnit.SECONDS, maxKeys);
+        long now = 1_000 * SECOND;
+        long heapBefore = usedHeapAfterGc();
+
+        for (int i = 0; i < 1_000_000; i++) {
+            String ip = "10." + (i >>> 16) + '.' + ((i >>> 8) & 0xff) + '.' + (i & 0xff);
+            assertThat(limiter.tryAcquire(ip, now)).isTrue();
+        }
+
+        long retained = usedHeapAfterGc() - heapBefore;
+        assertThat(limiter.size()).isLessThanOrEqualTo(maxKeys);
+        // Map node, key string and bucket come to roughly 120 bytes per tracked IP
+        assertThat(retained).isLessThan(256L * maxKeys);
+
+        limiter.evictIdle(now + 61 * SECOND);
+        assertThat(limiter.size()).isZero();
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,70 @@
+package com.smartcampus.security;
+
+import com.smartcampus.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenRevocationList Unit Tests")
+class TokenRevocationListTest {
+
+    @Mock private UserRepository userRepository;
+
+    @Test
+    @DisplayName("isRevoked: rejects tokens older than the stored version and tokens of deleted users")
+    void isRevoked_comparesWithStoredVersion() {
+        TokenRevocationList list = new TokenRevocationList(userRepository, 60, 100);
+        when(userRepository.findTokenVersion("user-1")).thenReturn(Optional.of(2L));
+        when(userRepository.findTokenVersion("deleted")).thenReturn(Optional.empty());
+
+        assertThat(list.isRevoked(token("user-1", 1))).isTrue();
+        assertThat(list.isRevoked(token("user-1", 2))).isFalse();
+        assertThat(list.isRevoked(token("deleted", 0))).isTrue();
+        verify(userRepository, times(1)).findTokenVersion("user-1");
+    }
+
+    @Test
+    @DisplayName("revoke: bumps the stored version and drops this node's cached one")
+    void revoke_bumpsVersionAndDropsCachedEntry() {
+        TokenRevocationList list = new TokenRevocationList(userRepository, 60, 100);
+        when(userRepository.findTokenVersion("user-1")).thenReturn(Optional.of(0L)).thenReturn(Optional.of(1L));
+        assertThat(list.isRevoked(token("user-1", 0))).isFalse();
+
+        list.revoke("user-1");
+
+        verify(userRepository).bumpTokenVersion("user-1");
+        assertThat(list.isRevoked(token("user-1", 0))).isTrue();
+        assertThat(list.isRevoked(token("user-1", 1))).isFalse();
+    }
+
+    @Test
+    @DisplayName("isRevoked: keeps at most max-entries cached versions")
+    void isRevoked_boundsCachedVersions() {
+        TokenRevocationList list = new TokenRevocationList(userRepository, 60, 3);
+        for (int i = 0; i < 10; i++) {
+            when(userRepository.findTokenVersion("user-" + i)).thenReturn(Optional.of(0L));
+            list.isRevoked(token("user-" + i, 0));
+        }
+
+        assertThat(list.size()).isLessThanOrEqualTo(3);
+    }
+
+    private static VerifiedToken token(String userId, long tokenVersion) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        return new VerifiedToken(userId, userId + "@campus.edu", Set.of("USER"), tokenVersion, now,
+                now.plus(1, ChronoUnit.HOURS));
+    }
+}
@@ -0,0 +1,136 @@
+package com.smartcampus.service;
+
+import com.smartcampus.model.Booking;
+import com.smartcampus.repository.BookingRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookingConflictIndex Unit Tests")
+class BookingConflictIndexTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 10);
+
+    @Mock private BookingRepository bookingRepository;
+
+    @Test
+    @DisplayName("hasConflict: loads the facility-day once and answers from memory afterwards")
+    void hasConflict_loadsLazilyOnce() {
+        when(bookingRepository.findActiveByFacilityIdAndDate("facility-1", DATE))
+                .thenReturn(List.of(booking("b-1", 9, 0, 10, 0), booking("b-2", 13, 0, 15, 0)));
+        BookingConflictIndex index = new BookingConflictIndex(bookingRepository, true, false, 100);
+
+        assertThat(index.hasConflict("facility-1", DATE, LocalTime.of(9, 30), LocalTime.of(9, 45), null)).isTrue();
+        assertThat(index.hasConflict("facility-1", DATE, LocalTime.of(10, 0), LocalTime.of(13, 0), null)).isFalse();
+        assertThat(index.hasConflict("facility-1", DATE, LocalTime.of(12, 0), LocalTime.of(13, 1), null)).isTrue();
+        assertThat(index.hasConflict("facility-1", DATE, LocalTime.of(14, 0), LocalTime.of(16, 0), "b-2")).isFalse();
+
+        verify(bookingRepository, times(1)).findActiveByFacilityIdAndDate("facility-1", DATE);
+        verify(bookingRepository, never()).findConflictingBookings(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("hasConflict: finds a long booking hidden behind later, shorter ones")
+    void hasConflict_overlappingLegacyData_usesRunningMaxEnd() {
+        when(bookingRepository.findActiveByFacilityIdAndDate("facility-1", DATE))
+                .thenReturn(List.of(booking("long", 8, 0, 18, 0), booking("short", 9, 0, 9, 30)));
+        BookingConflictIndex index = new BookingConflictIndex(bookingRepository, true, false, 100);
+
+        assertThat(index.hasConflict("facility-1", DATE, LocalTime.of(16, 0), LocalTime.of(17, 0), null)).isTrue();
+        assertThat(index.hasConflict("facility-1", DATE, LocalTime.of(18, 0), LocalTime.of(19, 0), null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("record: tracks create, reject and cancel without reloading")
+    void record_appliesStatusTransitions() {
+        when(bookingRepository.findActiveByFacilityIdAndDate("facility-1", DATE)).thenReturn(new ArrayList<>());
+        BookingConflictIndex index = new BookingConflictIndex(bookingRepository, true, false, 100);
+        assertThat(index.hasConflict("facility-1", DATE, LocalTime.of(9, 0), LocalTime.of(10, 0), null)).isFalse();
+
+        Booking created = booking("b-1", 9, 0, 10, 0);
+        index.record(created);
+        assertThat(index.hasConflict("facility-1", DATE, LocalTime.of(9, 0), LocalTime.of(10, 0), null)).isTrue();
+
+        created.setStatus(Booking.BookingStatus.APPROVED);
+        index.record(created);
+        assertThat(index.hasConflict("facility-1", DATE, LocalTime.of(9, 59), LocalTime.of(11, 0), null)).isTrue();
+
+        created.setStatus(Booking.BookingStatus.CANCELLED);
+        index.record(created);
+        assertThat(index.hasConflict("facility-1", DATE, LocalTime.of(9, 0), LocalTime.of(10, 0), null)).isFalse();
+
+        verify(bookingRepository, times(1)).findActiveByFacilityIdAndDate("facility-1", DATE);
+    }
+
+    @Test
+    @DisplayName("hasConflict: verify mode trusts SQL and drops a stale schedule")
+    void hasConflict_verifyMode_fallsBackToSqlOnMismatch() {
+        when(bookingRepository.findActiveByFacilityIdAndDate("facility-1", DATE)).thenReturn(List.of());
+        when(bookingRepository.findConflictingBookings("facility-1", DATE, LocalTime.of(9, 0), LocalTime.of(10, 0)))
+                .thenReturn(List.of(booking("written-elsewhere", 9, 0, 10, 0)));
+        BookingConflictIndex index = new BookingConflictIndex(bookingRepository, true, true, 100);
+
+        assertThat(index.hasConflict("facility-1", DATE, LocalTime.of(9, 0), LocalTime.of(10, 0), null)).isTrue();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("hasConflict: disabled index delegates every check to SQL")
+    void hasConflict_disabled_usesSql() {
+        when(bookingRepository.findConflictingBookings("facility-1", DATE, LocalTime.of(9, 0), LocalTime.of(10, 0)))
+                .thenReturn(List.of(booking("self", 9, 0, 10, 0)));
+        BookingConflictIndex index = new BookingConflictIndex(bookingRepository, false, false, 100);
+
+        assertThat(index.hasConflict("facility-1", DATE, LocalTime.of(9, 0), LocalTime.of(10, 0), "self")).isFalse();
+        verify(bookingRepository, never()).findActiveByFacilityIdAndDate(any(), any());
+    }
+
+    @Test
+    @DisplayName("hasConflict: a full index drops past and farthest-future days and keeps the near ones")
+    void hasConflict_fullIndex_evictsFarthestDaysOnly() {
+        when(bookingRepository.findActiveByFacilityIdAndDate(any(), any())).thenReturn(List.of());
+        BookingConflictIndex index = new BookingConflictIndex(bookingRepository, true, false, 8);
+        LocalDate today = LocalDate.now();
+
+        index.hasConflict("facility-1", today.minusDays(1), LocalTime.of(9, 0), LocalTime.of(10, 0), null);
+        for (int day = 0; day < 7; day++) {
+            index.hasConflict("facility-1", today.plusDays(day), LocalTime.of(9, 0), LocalTime.of(10, 0), null);
+        }
+        assertThat(index.size()).isEqualTo(8);
+
+        index.hasConflict("facility-1", today.plusDays(30), LocalTime.of(9, 0), LocalTime.of(10, 0), null);
+        index.hasConflict("facility-1", today.plusDays(31), LocalTime.of(9, 0), LocalTime.of(10, 0), null);
+        assertThat(index.size()).isEqualTo(8);
+
+        for (int day = 0; day < 7; day++) {
+            index.hasConflict("facility-1", today.plusDays(day), LocalTime.of(11, 0), LocalTime.of(12, 0), null);
+            verify(bookingRepository, times(1)).findActiveByFacilityIdAndDate("facility-1", today.plusDays(day));
+        }
+        verify(bookingRepository, times(1)).findActiveByFacilityIdAndDate("facility-1", today.plusDays(30));
+        index.hasConflict("facility-1", today.plusDays(30), LocalTime.of(11, 0), LocalTime.of(12, 0), null);
+        verify(bookingRepository, times(2)).findActiveByFacilityIdAndDate("facility-1", today.plusDays(30));
+    }
+
+    private Booking booking(String id, int startHour, int startMinute, int endHour, int endMinute) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setFacilityId("facility-1");
+        booking.setDate(DATE);
+        booking.setStartTime(LocalTime.of(startHour, startMinute));
+        booking.setEndTime(LocalTime.of(endHour, endMinute));
+        booking.setStatus(Booking.BookingStatus.PENDING);
+        return booking;
+    }
+}
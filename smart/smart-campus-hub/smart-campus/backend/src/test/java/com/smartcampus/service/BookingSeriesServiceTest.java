@@ -0,0 +1,223 @@
+package com.smartcampus.service;
+
+import com.smartcampus.dto.BookingRequest;
+import com.smartcampus.dto.BookingSeriesResponse;
+import com.smartcampus.exception.BadRequestException;
+import com.smartcampus.exception.ConflictException;
+import com.smartcampus.model.Booking;
+import com.smartcampus.model.Facility;
+import com.smartcampus.model.User;
+import com.smartcampus.repository.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookingSeriesService Unit Tests")
+class BookingSeriesServiceTest {
+
+    private static final LocalDate FIRST = LocalDate.now().plusDays(7);
+
+    @Mock private BookingRepository bookingRepository;
+    @Mock private FacilityService facilityService;
+    @Mock private BookingConflictIndex bookingConflictIndex;
+    @Mock private BookingAdmissionService bookingAdmissionService;
+
+    @InjectMocks private BookingSeriesService bookingSeriesService;
+
+    private User lecturer;
+    private Facility lab;
+    private BookingRequest request;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(bookingAdmissionService.admit(anyCollection(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+
+        lecturer = new User();
+        lecturer.setId("lecturer-1");
+        lecturer.setName("Dr. Perera");
+        lecturer.setRoles(Set.of(User.Role.USER));
+
+        lab = new Facility();
+        lab.setId("lab-1");
+        lab.setName("Computing Lab 1");
+        lab.setStatus(Facility.Status.ACTIVE);
+
+        request = new BookingRequest();
+        request.setFacilityId("lab-1");
+        request.setDate(FIRST);
+        request.setStartTime(LocalTime.of(8, 0));
+        request.setEndTime(LocalTime.of(10, 0));
+        request.setPurpose("Weekly practical");
+        request.setExpectedAttendees(40);
+        request.setRecurrence(BookingRequest.Recurrence.WEEKLY);
+        request.setOccurrences(14);
+    }
+
+    @Test
+    @DisplayName("occurrenceDates: bi-weekly series stops at the end date")
+    void occurrenceDates_biweeklyUntilEndDate() {
+        request.setRecurrence(BookingRequest.Recurrence.BIWEEKLY);
+        request.setOccurrences(null);
+        request.setRecurrenceEndDate(FIRST.plusWeeks(5));
+
+        assertThat(bookingSeriesService.occurrenceDates(request))
+                .containsExactly(FIRST, FIRST.plusWeeks(2), FIRST.plusWeeks(4));
+    }
+
+    @Test
+    @DisplayName("occurrenceDates: rejects series longer than a year")
+    void occurrenceDates_tooMany_throwsBadRequest() {
+        request.setOccurrences(BookingSeriesService.MAX_OCCURRENCES + 1);
+
+        assertThatThrownBy(() -> bookingSeriesService.occurrenceDates(request))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("52");
+    }
+
+    @Test
+    @DisplayName("createSeries: validates all occurrences with one range query and saves them in one batch")
+    void createSeries_noConflicts_savesAllInOneBatch() {
+        when(facilityService.getFacilityById("lab-1")).thenReturn(lab);
+        when(bookingRepository.findConflictingBookingsBetween("lab-1", FIRST, FIRST.plusWeeks(13),
+                LocalTime.of(8, 0), LocalTime.of(10, 0))).thenReturn(List.of());
+        when(bookingRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BookingSeriesResponse response = bookingSeriesService.createSeries(request, lecturer);
+
+        assertThat(response.seriesId()).isNotNull();
+        assertThat(response.bookings()).hasSize(14)
+                .allSatisfy(booking -> assertThat(booking.getSeriesId()).isEqualTo(response.seriesId()));
+        assertThat(response.conflicts()).isEmpty();
+        verify(bookingRepository, times(1)).findConflictingBookingsBetween(any(), any(), any(), any(), any());
+        verify(bookingRepository, times(1)).saveAll(anyList());
+        verify(bookingRepository, never()).save(any());
+        verify(bookingConflictIndex, times(14)).record(any(Booking.class));
+    }
+
+    @Test
+    @DisplayName("createSeries: reports conflicts and creates nothing unless skipConflicts is set")
+    void createSeries_partialConflict_reportsOrSkips() {
+        Booking existing = new Booking();
+        existing.setId("other");
+        existing.setDate(FIRST.plusWeeks(3));
+        when(facilityService.getFacilityById("lab-1")).thenReturn(lab);
+        when(bookingRepository.findConflictingBookingsBetween(any(), any(), any(), any(), any()))
+                .thenReturn(List.of(existing));
+        when(bookingRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BookingSeriesResponse rejected = bookingSeriesService.createSeries(request, lecturer);
+        request.setSkipConflicts(true);
+        BookingSeriesResponse partial = bookingSeriesService.createSeries(request, lecturer);
+
+        assertThat(rejected.bookings()).isEmpty();
+        assertThat(rejected.conflicts()).singleElement()
+                .extracting(BookingSeriesResponse.OccurrenceConflict::date).isEqualTo(FIRST.plusWeeks(3));
+        assertThat(partial.bookings()).hasSize(13)
+                .extracting(Booking::getDate).doesNotContain(FIRST.plusWeeks(3));
+        verify(bookingRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("createSeries: a retried admission reports each conflict once")
+    void createSeries_retriedAdmission_reportsConflictsOnce() {
+        doAnswer(invocation -> {
+            invocation.<Supplier<?>>getArgument(1).get();
+            return invocation.<Supplier<?>>getArgument(1).get();
+        }).when(bookingAdmissionService).admit(anyCollection(), any());
+        Booking existing = new Booking();
+        existing.setId("other");
+        existing.setDate(FIRST.plusWeeks(3));
+        when(facilityService.getFacilityById("lab-1")).thenReturn(lab);
+        when(bookingRepository.findConflictingBookingsBetween(any(), any(), any(), any(), any()))
+                .thenReturn(List.of(existing));
+
+        BookingSeriesResponse rejected = bookingSeriesService.createSeries(request, lecturer);
+
+        assertThat(rejected.conflicts()).singleElement()
+                .extracting(BookingSeriesResponse.OccurrenceConflict::date).isEqualTo(FIRST.plusWeeks(3));
+        verify(bookingRepository, times(2)).findConflictingBookingsBetween(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("getSeries: only the owner or staff can read a series")
+    void getSeries_otherUser_throwsBadRequest() {
+        Booking occurrence = seriesOccurrence("b-1", FIRST, Booking.BookingStatus.APPROVED);
+        when(bookingRepository.findBySeriesIdOrderByDateAsc("series-1")).thenReturn(List.of(occurrence));
+        User student = new User();
+        student.setId("student-1");
+        student.setRoles(Set.of(User.Role.USER));
+        User manager = new User();
+        manager.setId("manager-1");
+        manager.setRoles(Set.of(User.Role.MANAGER));
+
+        assertThat(bookingSeriesService.getSeries("series-1", lecturer)).containsExactly(occurrence);
+        assertThat(bookingSeriesService.getSeries("series-1", manager)).containsExactly(occurrence);
+        assertThatThrownBy(() -> bookingSeriesService.getSeries("series-1", student))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("your own bookings");
+    }
+
+    @Test
+    @DisplayName("cancelSeries: cancels the remaining occurrences with one bulk update")
+    void cancelSeries_bulkUpdatesRemaining() {
+        Booking occurrence = seriesOccurrence("b-1", FIRST, Booking.BookingStatus.APPROVED);
+        when(bookingRepository.findBySeriesIdOrderByDateAsc("series-1")).thenReturn(List.of(occurrence));
+
+        bookingSeriesService.cancelSeries("series-1", lecturer, "Course moved online");
+
+        verify(bookingRepository).cancelSeriesFrom(eq("series-1"), eq(LocalDate.now()), eq("Course moved online"),
+                eq("Dr. Perera"), eq("User"), any());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("updateSeries: throws ConflictException naming the clashing dates")
+    void updateSeries_conflict_throwsConflictException() {
+        when(bookingRepository.findBySeriesIdOrderByDateAsc("series-1")).thenReturn(List.of(
+                seriesOccurrence("b-1", FIRST, Booking.BookingStatus.PENDING),
+                seriesOccurrence("b-2", FIRST.plusWeeks(1), Booking.BookingStatus.PENDING)));
+        when(facilityService.getFacilityById("lab-1")).thenReturn(lab);
+        Booking clash = new Booking();
+        clash.setId("other");
+        clash.setDate(FIRST.plusWeeks(1));
+        when(bookingRepository.findConflictingBookingsBetween(any(), any(), any(), any(), any()))
+                .thenReturn(List.of(clash));
+
+        request.setStartTime(LocalTime.of(13, 0));
+        request.setEndTime(LocalTime.of(15, 0));
+
+        assertThatThrownBy(() -> bookingSeriesService.updateSeries("series-1", request, lecturer))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining(FIRST.plusWeeks(1).toString());
+        verify(bookingRepository, never()).rescheduleSeriesFrom(any(), any(), any(), any(), any(), anyInt(), any());
+    }
+
+    private Booking seriesOccurrence(String id, LocalDate date, Booking.BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setSeriesId("series-1");
+        booking.setFacilityId("lab-1");
+        booking.setUserId("lecturer-1");
+        booking.setDate(date);
+        booking.setStartTime(LocalTime.of(8, 0));
+        booking.setEndTime(LocalTime.of(10, 0));
+        booking.setStatus(status);
+        return booking;
+    }
+}
@@ -15,13 +15,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -34,6 +35,9 @@ class BookingServiceTest {
     @Mock private BookingRepository bookingRepository;
     @Mock private FacilityService facilityService;
     @Mock private NotificationService notificationService;
+    @Mock private BookingConflictIndex bookingConflictIndex;
+    @Mock private BookingAdmissionService bookingAdmissionService;
+    @Mock private PlatformTransactionManager transactionManager;
 
     @InjectMocks private BookingService bookingService;
 
@@ -43,6 +47,11 @@ class BookingServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(bookingAdmissionService.admit(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+        lenient().when(bookingAdmissionService.admit(anyCollection(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+
         testUser = new User();
         testUser.setId("user-1");
         testUser.setName("Jane Student");
@@ -69,8 +78,7 @@ class BookingServiceTest {
     @DisplayName("createBooking: succeeds when no conflicts exist")
     void createBooking_noConflicts_returnsPersistedBooking() {
         when(facilityService.getFacilityById("facility-1")).thenReturn(testFacility);
-        when(bookingRepository.findConflictingBookings(any(), any(), any(), any()))
-                .thenReturn(Collections.emptyList());
+        when(bookingConflictIndex.hasConflict(any(), any(), any(), any(), isNull())).thenReturn(false);
 
         Booking saved = new Booking();
         saved.setId("booking-1");
@@ -82,18 +90,15 @@ class BookingServiceTest {
         assertThat(result.getId()).isEqualTo("booking-1");
         assertThat(result.getStatus()).isEqualTo(Booking.BookingStatus.PENDING);
         verify(bookingRepository).save(any(Booking.class));
+        verify(bookingConflictIndex).record(saved);
     }
 
     @Test
     @DisplayName("createBooking: throws ConflictException when time slot is taken")
     void createBooking_conflictingBooking_throwsConflictException() {
         when(facilityService.getFacilityById("facility-1")).thenReturn(testFacility);
-
-        Booking existing = new Booking();
-        existing.setId("existing-1");
-        existing.setStatus(Booking.BookingStatus.APPROVED);
-        when(bookingRepository.findConflictingBookings(any(), any(), any(), any()))
-                .thenReturn(List.of(existing));
+        when(bookingConflictIndex.hasConflict(eq("facility-1"), eq(LocalDate.of(2026, 3, 10)),
+                eq(LocalTime.of(9, 0)), eq(LocalTime.of(11, 0)), isNull())).thenReturn(true);
 
         assertThatThrownBy(() -> bookingService.createBooking(testRequest, testUser))
                 .isInstanceOf(ConflictException.class)
@@ -115,6 +120,22 @@ class BookingServiceTest {
         verify(bookingRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("createBooking: throws BadRequestException outside the facility's availability windows")
+    void createBooking_outsideAvailabilityWindow_throwsBadRequestException() {
+        // 2026-03-10 is a Tuesday
+        testFacility.setAvailabilityWindows(List.of(
+                new Facility.AvailabilityWindow("TUESDAY", "10:00", "18:00"),
+                new Facility.AvailabilityWindow("WEDNESDAY", "08:00", "18:00")));
+        when(facilityService.getFacilityById("facility-1")).thenReturn(testFacility);
+
+        assertThatThrownBy(() -> bookingService.createBooking(testRequest, testUser))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("availability hours");
+
+        verify(bookingAdmissionService, never()).admit(any(), any(), any());
+    }
+
     @Test
     @DisplayName("createBooking: throws BadRequestException when start time equals end time")
     void createBooking_startEqualsEnd_throwsBadRequestException() {
@@ -215,6 +236,7 @@ class BookingServiceTest {
 
         assertThat(result.getStatus()).isEqualTo(Booking.BookingStatus.CANCELLED);
         assertThat(result.getCancellationReason()).isEqualTo("Change of plans");
+        verify(bookingConflictIndex).record(result);
     }
 
     @Test
@@ -13,6 +13,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.Optional;
 import java.util.Set;
@@ -28,6 +29,7 @@ class CommentServiceTest {
     @Mock private CommentRepository commentRepository;
     @Mock private TicketService ticketService;
     @Mock private NotificationService notificationService;
+    @Mock private PlatformTransactionManager transactionManager;
 
     @InjectMocks private CommentService commentService;
 
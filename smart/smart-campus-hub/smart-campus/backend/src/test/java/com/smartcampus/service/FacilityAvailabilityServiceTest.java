@@ -0,0 +1,144 @@
+package com.smartcampus.service;
+
+import com.smartcampus.dto.BookedSlotView;
+import com.smartcampus.dto.FacilityAvailabilityResponse;
+import com.smartcampus.dto.FacilityHeatmapResponse;
+import com.smartcampus.dto.FacilityWindowView;
+import com.smartcampus.exception.BadRequestException;
+import com.smartcampus.model.Facility;
+import com.smartcampus.repository.BookingRepository;
+import com.smartcampus.repository.FacilityRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FacilityAvailabilityService Unit Tests")
+class FacilityAvailabilityServiceTest {
+
+    // 2026-03-10 is a Tuesday
+    private static final LocalDate TUESDAY = LocalDate.of(2026, 3, 10);
+
+    @Mock private FacilityRepository facilityRepository;
+    @Mock private BookingRepository bookingRepository;
+
+    @InjectMocks private FacilityAvailabilityService facilityAvailabilityService;
+
+    @Test
+    @DisplayName("findAvailability: subtracts bookings from the windows open on that weekday")
+    void findAvailability_subtractsBookingsFromWindows() {
+        when(facilityRepository.findAvailabilityWindows(Facility.Status.ACTIVE, null, 0)).thenReturn(List.of(
+                window("hall", "TUESDAY", "08:00", "12:00"),
+                window("hall", "TUESDAY", "13:00", "17:00"),
+                window("hall", "MONDAY", "08:00", "20:00")));
+        when(bookingRepository.findActiveSlotsOnDate(TUESDAY, LocalTime.MIDNIGHT, LocalTime.MAX)).thenReturn(List.of(
+                slot("hall", 9, 0, 10, 0),
+                slot("hall", 9, 30, 11, 0),
+                slot("hall", 13, 0, 14, 0)));
+
+        List<FacilityAvailabilityResponse> result =
+                facilityAvailabilityService.findAvailability(TUESDAY, null, null, null, null, true);
+
+        assertThat(result).singleElement().satisfies(facility -> {
+            assertThat(facility.freeSlots()).extracting(FacilityAvailabilityResponse.FreeSlot::startTime)
+                    .containsExactly("08:00", "11:00", "14:00");
+            assertThat(facility.freeSlots()).extracting(FacilityAvailabilityResponse.FreeSlot::endTime)
+                    .containsExactly("09:00", "12:00", "17:00");
+            assertThat(facility.freeMinutes()).isEqualTo(300);
+        });
+    }
+
+    @Test
+    @DisplayName("findAvailability: only returns facilities free for the whole range unless partial is asked for")
+    void findAvailability_wholeRangeFilter() {
+        when(facilityRepository.findAvailabilityWindows(Facility.Status.ACTIVE, Facility.FacilityType.LECTURE_HALL, 60))
+                .thenReturn(List.of(
+                        window("free", null, null, null),
+                        window("busy", null, null, null),
+                        window("closed", "MONDAY", "08:00", "18:00")));
+        when(bookingRepository.findActiveSlotsOnDate(TUESDAY, LocalTime.of(10, 0), LocalTime.of(12, 0)))
+                .thenReturn(List.of(slot("busy", 11, 0, 11, 30)));
+
+        List<FacilityAvailabilityResponse> whole = facilityAvailabilityService.findAvailability(
+                TUESDAY, LocalTime.of(10, 0), LocalTime.of(12, 0), 60, "lecture_hall", false);
+        List<FacilityAvailabilityResponse> partial = facilityAvailabilityService.findAvailability(
+                TUESDAY, LocalTime.of(10, 0), LocalTime.of(12, 0), 60, "LECTURE_HALL", true);
+
+        assertThat(whole).extracting(FacilityAvailabilityResponse::facilityId).containsExactly("free");
+        assertThat(whole.get(0).freeSlots()).singleElement()
+                .extracting(FacilityAvailabilityResponse.FreeSlot::minutes).isEqualTo(120);
+        assertThat(partial).extracting(FacilityAvailabilityResponse::facilityId).containsExactly("free", "busy");
+        assertThat(partial.get(1).availableForRange()).isFalse();
+    }
+
+    @Test
+    @DisplayName("findAvailability: skips the booking query when no facility matches")
+    void findAvailability_noFacilities_skipsBookingQuery() {
+        when(facilityRepository.findAvailabilityWindows(Facility.Status.ACTIVE, null, 500)).thenReturn(List.of());
+
+        assertThat(facilityAvailabilityService.findAvailability(TUESDAY, null, null, 500, null, true)).isEmpty();
+        verify(bookingRepository, never()).findActiveSlotsOnDate(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("findAvailability: rejects an empty range and unknown types")
+    void findAvailability_invalidInput_throwsBadRequest() {
+        assertThatThrownBy(() -> facilityAvailabilityService.findAvailability(
+                TUESDAY, LocalTime.of(12, 0), LocalTime.of(10, 0), null, null, false))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> facilityAvailabilityService.findAvailability(
+                TUESDAY, null, null, null, "SPACESHIP", false))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("SPACESHIP");
+    }
+
+    @Test
+    @DisplayName("getOccupancyHeatmap: counts facilities booked in each bucket per day")
+    void getOccupancyHeatmap_countsFacilitiesPerBucket() {
+        when(bookingRepository.findActiveSlotsBetween(TUESDAY, TUESDAY.plusDays(1))).thenReturn(List.of(
+                slot("hall", 9, 0, 10, 0),
+                slot("hall", 9, 30, 11, 15),
+                slot("lab", 10, 55, 11, 0)));
+        when(facilityRepository.countByStatus(Facility.Status.ACTIVE)).thenReturn(3L);
+
+        FacilityHeatmapResponse heatmap =
+                facilityAvailabilityService.getOccupancyHeatmap(TUESDAY, TUESDAY.plusDays(1), 60);
+
+        assertThat(heatmap.activeFacilities()).isEqualTo(3);
+        assertThat(heatmap.days()).hasSize(2);
+        int[] tuesday = heatmap.days().get(0).occupiedFacilities();
+        assertThat(tuesday).hasSize(24);
+        assertThat(tuesday[8]).isZero();
+        assertThat(tuesday[9]).isEqualTo(1);
+        assertThat(tuesday[10]).isEqualTo(2);
+        assertThat(tuesday[11]).isEqualTo(1);
+        assertThat(heatmap.days().get(1).occupiedFacilities()).containsOnly(0);
+    }
+
+    @Test
+    @DisplayName("getOccupancyHeatmap: rejects bucket sizes that do not align with 5-minute slots")
+    void getOccupancyHeatmap_invalidSlotSize_throwsBadRequest() {
+        assertThatThrownBy(() -> facilityAvailabilityService.getOccupancyHeatmap(TUESDAY, TUESDAY, 7))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private FacilityWindowView window(String id, String day, String start, String end) {
+        return new FacilityWindowView(id, id, Facility.FacilityType.LECTURE_HALL, 100, "Block A", "A",
+                day, start, end);
+    }
+
+    private BookedSlotView slot(String facilityId, int startHour, int startMinute, int endHour, int endMinute) {
+        return new BookedSlotView(facilityId, TUESDAY, LocalTime.of(startHour, startMinute), LocalTime.of(endHour, endMinute));
+    }
+}
@@ -0,0 +1,61 @@
+package com.smartcampus.service;
+
+import com.smartcampus.model.Facility;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("FacilityDayCalendar Unit Tests")
+class FacilityDayCalendarTest {
+
+    @Test
+    @DisplayName("openingHours: covers bookings inside the weekday's windows only")
+    void openingHours_coversOnlyWindowsOfThatDay() {
+        FacilityDayCalendar opening = FacilityDayCalendar.openingHours(List.of(
+                new Facility.AvailabilityWindow("TUESDAY", "08:00", "12:00"),
+                new Facility.AvailabilityWindow("tuesday", "13:00", "24:00"),
+                new Facility.AvailabilityWindow("MONDAY", "00:00", "24:00")), DayOfWeek.TUESDAY);
+
+        assertThat(opening.covers(FacilityDayCalendar.range(LocalTime.of(8, 0), LocalTime.of(12, 0)))).isTrue();
+        assertThat(opening.covers(FacilityDayCalendar.range(LocalTime.of(11, 0), LocalTime.of(13, 30)))).isFalse();
+        assertThat(opening.covers(FacilityDayCalendar.range(LocalTime.of(22, 0), LocalTime.MAX))).isTrue();
+        assertThat(FacilityDayCalendar.openingHours(List.of(), DayOfWeek.SUNDAY).cardinality())
+                .isEqualTo(FacilityDayCalendar.SLOTS);
+    }
+
+    @Test
+    @DisplayName("mark: rounds outward to 5-minute slots across word boundaries")
+    void mark_roundsOutwardAcrossWords() {
+        // 05:20 is slot 64, the first slot of the second word
+        FacilityDayCalendar calendar = FacilityDayCalendar.empty().mark(LocalTime.of(5, 17), LocalTime.of(5, 21));
+
+        assertThat(calendar.cardinality()).isEqualTo(2);
+        assertThat(calendar.ranges()).singleElement()
+                .satisfies(range -> assertThat(range).containsExactly(
+                        LocalTime.of(5, 15).toSecondOfDay(), LocalTime.of(5, 25).toSecondOfDay()));
+        assertThat(calendar.anyInSlots(63, 64)).isTrue();
+        assertThat(calendar.anyInSlots(65, 288)).isFalse();
+    }
+
+    @Test
+    @DisplayName("andNot/ranges: free time is the opening minus bookings")
+    void andNot_yieldsFreeRanges() {
+        FacilityDayCalendar opening = FacilityDayCalendar.range(LocalTime.of(8, 0), LocalTime.of(18, 0));
+        FacilityDayCalendar booked = FacilityDayCalendar.empty()
+                .mark(LocalTime.of(9, 0), LocalTime.of(10, 0))
+                .mark(LocalTime.of(12, 0), LocalTime.of(18, 0));
+
+        List<int[]> free = opening.andNot(booked).ranges();
+
+        assertThat(free).hasSize(2);
+        assertThat(free.get(0)).containsExactly(8 * 3600, 9 * 3600);
+        assertThat(free.get(1)).containsExactly(10 * 3600, 12 * 3600);
+        assertThat(opening.intersects(booked)).isTrue();
+        assertThat(booked.or(opening)).isEqualTo(opening);
+    }
+}
@@ -0,0 +1,59 @@
+package com.smartcampus.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("KeywordMatcher Unit Tests")
+class KeywordMatcherTest {
+
+    private enum Tag { A, B }
+
+    @Test
+    @DisplayName("score: whole-word keywords do not match inside longer words")
+    void score_respectsWordBoundaries() {
+        KeywordMatcher<Tag> matcher = KeywordMatcher.builder(Tag.class)
+                .add(Tag.A, 1, "ac", "pc")
+                .build();
+
+        assertThat(matcher.score("no access to the space")).containsExactly(0, 0);
+        assertThat(matcher.score("The AC and the PC.")).containsExactly(2, 0);
+        assertThat(matcher.score("ac-unit, pc/laptop")).containsExactly(2, 0);
+    }
+
+    @Test
+    @DisplayName("score: prefix keywords match stems, phrases and overlapping keywords all count")
+    void score_prefixesPhrasesAndOverlaps() {
+        KeywordMatcher<Tag> matcher = KeywordMatcher.builder(Tag.class)
+                .add(Tag.A, 2, "leak*", "gas leak")
+                .add(Tag.B, 5, "leak")
+                .build();
+
+        assertThat(matcher.score("Leaking pipe")).containsExactly(2, 0);
+        assertThat(matcher.score("gas leak in lab")).containsExactly(4, 5);
+        assertThat(matcher.score("bleak")).containsExactly(0, 0);
+    }
+
+    @Test
+    @DisplayName("score: parts are scanned separately and occurrences are summed")
+    void score_sumsAcrossParts() {
+        KeywordMatcher<Tag> matcher = KeywordMatcher.builder(Tag.class)
+                .add(Tag.A, 1, "short circuit", "fire")
+                .build();
+
+        assertThat(matcher.score("short", "circuit")).containsExactly(0, 0);
+        assertThat(matcher.score("fire, fire", null, "Fire exit")).containsExactly(3, 0);
+        assertThat(matcher.score("café fire")).containsExactly(1, 0);
+    }
+
+    @Test
+    @DisplayName("builder: rejects empty and non-ASCII keywords")
+    void builder_rejectsInvalidKeywords() {
+        assertThatThrownBy(() -> KeywordMatcher.builder(Tag.class).add(Tag.A, 1, "*"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeywordMatcher.builder(Tag.class).add(Tag.A, 1, "café"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,132 @@
+package com.smartcampus.service;
+
+import com.smartcampus.dto.NotificationAnalyticsResponse;
+import com.smartcampus.dto.NotificationCountView;
+import com.smartcampus.dto.NotificationStatView;
+import com.smartcampus.model.Notification;
+import com.smartcampus.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("NotificationAnalyticsIndex Unit Tests")
+class NotificationAnalyticsIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 10);
+
+    @Test
+    @DisplayName("snapshot: aggregates active users, events, and peak hours")
+    void snapshot_returnsDashboardMetrics() {
+        LocalDateTime nineAm = TODAY.atTime(9, 15);
+        LocalDateTime twoPm = TODAY.atTime(14, 30);
+        NotificationAnalyticsIndex index = new NotificationAnalyticsIndex();
+        index.add(entry("user-1", Notification.NotificationType.BOOKING_APPROVED, false, nineAm));
+        index.add(entry("user-1", Notification.NotificationType.BOOKING_APPROVED, true, nineAm.plusMinutes(20)));
+        index.add(entry("user-2", Notification.NotificationType.TICKET_CREATED, false, twoPm));
+        index.add(entry("user-2", Notification.NotificationType.SYSTEM, true, TODAY.minusDays(1).atTime(14, 45)));
+
+        NotificationAnalyticsResponse response = index.snapshot(TODAY, ids -> Map.of(
+                "user-1", user("user-1", "Jane Student", "jane@campus.test"),
+                "user-2", user("user-2", "Alex Admin", "alex@campus.test")));
+
+        assertThat(response.totalNotifications()).isEqualTo(4);
+        assertThat(response.unreadNotifications()).isEqualTo(2);
+        assertThat(response.readRate()).isEqualTo(50.0);
+        assertThat(response.uniqueRecipients()).isEqualTo(2);
+
+        assertThat(response.mostActiveUsers()).hasSize(2);
+        assertThat(response.mostActiveUsers().get(0).name()).isEqualTo("Jane Student");
+        assertThat(response.mostActiveUsers().get(0).count()).isEqualTo(2);
+
+        assertThat(response.mostTriggeredEvents()).hasSize(3);
+        assertThat(response.mostTriggeredEvents().get(0).type()).isEqualTo("BOOKING_APPROVED");
+        assertThat(response.mostTriggeredEvents().get(0).count()).isEqualTo(2);
+        assertThat(response.mostTriggeredEvents().get(0).percentage()).isEqualTo(50.0);
+
+        assertThat(response.busiestHourLabel()).isEqualTo("9:00 AM");
+        assertThat(response.busiestHourCount()).isEqualTo(2);
+        assertThat(response.peakNotificationTimes().stream().filter(point -> point.hour() == 9).findFirst())
+                .get()
+                .extracting(NotificationAnalyticsResponse.HourlyMetric::count)
+                .isEqualTo(2L);
+
+        assertThat(response.recentVolume()).hasSize(7);
+        assertThat(response.recentVolume().stream().mapToLong(NotificationAnalyticsResponse.DailyMetric::count).sum()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("remove and markRead: counters go back down and users without notifications drop out of the top list")
+    void remove_updatesTopUsersAndCounters() {
+        NotificationAnalyticsIndex index = new NotificationAnalyticsIndex();
+        NotificationStatView only = entry("user-1", Notification.NotificationType.SYSTEM, false, TODAY.atTime(8, 0));
+        index.add(only);
+        for (int i = 0; i < 3; i++) {
+            index.add(entry("user-2", Notification.NotificationType.COMMENT_ADDED, false, TODAY.atTime(10, i)));
+        }
+        index.markRead(2);
+        index.remove(only);
+
+        NotificationAnalyticsResponse response = index.snapshot(TODAY, ids -> Map.of());
+
+        assertThat(response.totalNotifications()).isEqualTo(3);
+        assertThat(response.unreadNotifications()).isEqualTo(1);
+        assertThat(response.uniqueRecipients()).isEqualTo(1);
+        assertThat(response.mostActiveUsers()).extracting(NotificationAnalyticsResponse.ActiveUserMetric::userId)
+                .containsExactly("user-2");
+        assertThat(response.mostActiveUsers().get(0).name()).isEqualTo("Unknown User");
+        assertThat(response.mostTriggeredEvents()).extracting(NotificationAnalyticsResponse.EventMetric::type)
+                .containsExactly("COMMENT_ADDED");
+        assertThat(response.busiestHourLabel()).isEqualTo("10:00 AM");
+    }
+
+    @Test
+    @DisplayName("snapshot: a rebuilt index matches one fed entry by entry, ties ordered by id")
+    void snapshot_rebuiltFromCountsMatchesIncremental() {
+        NotificationAnalyticsIndex incremental = new NotificationAnalyticsIndex();
+        for (int user = 0; user < 8; user++) {
+            for (int i = 0; i <= user % 3; i++) {
+                incremental.add(entry("user-" + user, Notification.NotificationType.values()[user],
+                        i == 0, TODAY.minusDays(user).atTime(user * 2, 0)));
+            }
+        }
+        List<NotificationCountView> byUser = new ArrayList<>();
+        List<NotificationCountView> byType = new ArrayList<>();
+        List<NotificationCountView> byHour = new ArrayList<>();
+        List<NotificationCountView> byDay = new ArrayList<>();
+        long total = 0;
+        for (int user = 0; user < 8; user++) {
+            long count = user % 3 + 1;
+            total += count;
+            byUser.add(new NotificationCountView("user-" + user, count));
+            byType.add(new NotificationCountView(Notification.NotificationType.values()[user], count));
+            byHour.add(new NotificationCountView(user * 2, count));
+            byDay.add(new NotificationCountView(TODAY.minusDays(user), count));
+        }
+        NotificationAnalyticsIndex rebuilt = new NotificationAnalyticsIndex(total, total - 8, byUser, byType, byHour, byDay);
+
+        NotificationAnalyticsResponse expected = incremental.snapshot(TODAY, ids -> Map.of());
+        assertThat(rebuilt.snapshot(TODAY, ids -> Map.of())).isEqualTo(expected);
+        assertThat(expected.mostActiveUsers()).extracting(NotificationAnalyticsResponse.ActiveUserMetric::userId)
+                .containsExactly("user-2", "user-5", "user-1", "user-4", "user-7", "user-0");
+    }
+
+    private static NotificationStatView entry(String userId, Notification.NotificationType type,
+                                             boolean read, LocalDateTime createdAt) {
+        return new NotificationStatView(userId, type, read, createdAt);
+    }
+
+    private static User user(String id, String name, String email) {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        user.setEmail(email);
+        return user;
+    }
+}
@@ -0,0 +1,126 @@
+package com.smartcampus.service;
+
+import com.smartcampus.model.Notification;
+import com.smartcampus.model.NotificationOutbox;
+import com.smartcampus.repository.EmailMessageRepository;
+import com.smartcampus.repository.NotificationOutboxRepository;
+import com.smartcampus.repository.NotificationRepository;
+import com.smartcampus.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NotificationOutboxWorker Unit Tests")
+class NotificationOutboxWorkerTest {
+
+    @Mock private NotificationOutboxRepository outboxRepository;
+    @Mock private NotificationRepository notificationRepository;
+    @Mock private UserRepository userRepository;
+    @Mock private EmailMessageRepository emailMessageRepository;
+    @Mock private SimpMessagingTemplate messagingTemplate;
+    @Mock private NotificationMailer notificationMailer;
+    @Mock private NotificationAnalyticsService analyticsService;
+    @Mock private UnreadCounterService unreadCounter;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private NotificationOutboxWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new NotificationOutboxWorker(outboxRepository, notificationRepository, userRepository,
+                emailMessageRepository, messagingTemplate, notificationMailer, analyticsService, unreadCounter,
+                transactionManager, true, 10, 60, 3, 5, 300);
+    }
+
+    @Test
+    @DisplayName("drain: a failing row is isolated, retried with backoff and dead-lettered after max-attempts")
+    void drain_isolatesFailingRowAndDeadLetters() {
+        NotificationOutbox good = row("good", "user-1", 0);
+        NotificationOutbox poison = row("poison", "user-2", 0);
+        NotificationOutbox exhausted = row("exhausted", "user-2", 2);
+        when(outboxRepository.findReadyIds(any(), any()))
+                .thenReturn(List.of("good", "poison", "exhausted"))
+                .thenReturn(List.of());
+        when(outboxRepository.claim(any(), any(), any(), any())).thenReturn(3);
+        when(outboxRepository.findByClaimTokenOrderByAvailableAtAscIdAsc(any()))
+                .thenReturn(List.of(good, poison, exhausted));
+        when(notificationRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Notification> notifications = invocation.getArgument(0);
+            if (notifications.stream().anyMatch(notification -> "user-2".equals(notification.getUserId()))) {
+                throw new DataIntegrityViolationException("bad row");
+            }
+            return notifications;
+        });
+
+        LocalDateTime before = LocalDateTime.now();
+        assertThat(worker.drain()).isEqualTo(1);
+
+        verify(outboxRepository).deleteByIds(List.of("good"));
+        verify(outboxRepository).release(eq("poison"), eq(NotificationOutbox.Status.PENDING), eq(1),
+                argThat(retryAt -> !retryAt.isBefore(before.plusSeconds(5))), eq("bad row"));
+        verify(outboxRepository).release(eq("exhausted"), eq(NotificationOutbox.Status.DEAD), eq(3), any(), eq("bad row"));
+        verify(messagingTemplate, timeout(1000)).convertAndSendToUser(eq("user-1"), eq("/queue/notifications"), any());
+    }
+
+    @Test
+    @DisplayName("drain: events for a notification read since it was loaded go into a new unread notification")
+    void drain_foldIntoReadNotification_insertsNewRow() {
+        NotificationOutbox first = row("first", "user-1", 0);
+        NotificationOutbox second = row("second", "user-1", 0);
+        for (NotificationOutbox row : List.of(first, second)) {
+            row.setReferenceId("ticket-1");
+            row.setReferenceType("TICKET");
+        }
+        second.setTitle("Ticket Resolved");
+        Notification target = new Notification("existing", "user-1", "Ticket Update", "Status changed",
+                Notification.NotificationType.TICKET_STATUS_CHANGED, "ticket-1", "TICKET", false, 0,
+                LocalDateTime.now().minusSeconds(30));
+        when(outboxRepository.findReadyIds(any(), any()))
+                .thenReturn(List.of("first", "second"))
+                .thenReturn(List.of());
+        when(outboxRepository.claim(any(), any(), any(), any())).thenReturn(2);
+        when(outboxRepository.findByClaimTokenOrderByAvailableAtAscIdAsc(any())).thenReturn(List.of(first, second));
+        when(notificationRepository.findMergeTargets(any(), any(), any())).thenReturn(List.of(target));
+        when(notificationRepository.foldInto(eq("existing"), any(), any(), any(), eq(2), any())).thenReturn(0);
+        when(notificationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertThat(worker.drain()).isEqualTo(2);
+
+        verify(notificationRepository).saveAll(argThat((List<Notification> notifications) ->
+                notifications.size() == 1
+                        && notifications.get(0).getId() == null
+                        && !notifications.get(0).isRead()
+                        && notifications.get(0).getMergedCount() == 1
+                        && "Ticket Resolved".equals(notifications.get(0).getTitle())));
+        assertThat(target.getTitle()).isEqualTo("Ticket Update");
+        verify(analyticsService, never()).recordReplaced(any(), any());
+        verify(unreadCounter, timeout(1000)).adjust("user-1", 1L);
+    }
+
+    private static NotificationOutbox row(String id, String userId, int attempts) {
+        NotificationOutbox row = new NotificationOutbox();
+        row.setId(id);
+        row.setUserId(userId);
+        row.setTitle("Ticket Update");
+        row.setMessage("Status changed");
+        row.setType(Notification.NotificationType.TICKET_STATUS_CHANGED);
+        row.setAttempts(attempts);
+        row.setAvailableAt(LocalDateTime.now());
+        row.setCreatedAt(LocalDateTime.now());
+        return row;
+    }
+}
@@ -1,24 +1,29 @@
 package com.smartcampus.service;
 
-import com.smartcampus.dto.NotificationAnalyticsResponse;
 import com.smartcampus.model.Notification;
-import com.smartcampus.model.User;
+import com.smartcampus.model.NotificationOutbox;
+import com.smartcampus.repository.NotificationOutboxRepository;
 import com.smartcampus.repository.NotificationRepository;
 import com.smartcampus.repository.UserRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,62 +31,60 @@ import static org.mockito.Mockito.when;
 class NotificationServiceTest {
 
     @Mock private NotificationRepository notificationRepository;
+    @Mock private NotificationOutboxRepository outboxRepository;
     @Mock private UserRepository userRepository;
+    @Mock private NotificationAnalyticsService analyticsService;
+    @Mock private UnreadCounterService unreadCounter;
     @Mock private SimpMessagingTemplate messagingTemplate;
     @Mock private JavaMailSender mailSender;
 
     @InjectMocks private NotificationService notificationService;
 
     @Test
-    @DisplayName("getAnalyticsSnapshot: aggregates active users, events, and peak hours")
-    void getAnalyticsSnapshot_returnsDashboardMetrics() {
-        User jane = new User();
-        jane.setId("user-1");
-        jane.setName("Jane Student");
-        jane.setEmail("jane@campus.test");
-
-        User alex = new User();
-        alex.setId("user-2");
-        alex.setName("Alex Admin");
-        alex.setEmail("alex@campus.test");
-
-        LocalDate today = LocalDate.now();
-        LocalDateTime nineAm = today.atTime(9, 15);
-        LocalDateTime twoPm = today.atTime(14, 30);
-
-        Notification first = notification("user-1", Notification.NotificationType.BOOKING_APPROVED, false, nineAm);
-        Notification second = notification("user-1", Notification.NotificationType.BOOKING_APPROVED, true, nineAm.plusMinutes(20));
-        Notification third = notification("user-2", Notification.NotificationType.TICKET_CREATED, false, twoPm);
-        Notification fourth = notification("user-2", Notification.NotificationType.SYSTEM, true, today.minusDays(1).atTime(14, 45));
-
-        when(notificationRepository.findAll()).thenReturn(List.of(first, second, third, fourth));
-        when(userRepository.findAll()).thenReturn(List.of(jane, alex));
-
-        NotificationAnalyticsResponse response = notificationService.getAnalyticsSnapshot();
-
-        assertThat(response.totalNotifications()).isEqualTo(4);
-        assertThat(response.unreadNotifications()).isEqualTo(2);
-        assertThat(response.readRate()).isEqualTo(50.0);
-        assertThat(response.uniqueRecipients()).isEqualTo(2);
+    @DisplayName("createNotification: only queues an outbox row, no lookups, WebSocket or email on the caller's thread")
+    void createNotification_writesOutboxRowOnly() {
+        notificationService.createNotification("user-1", "Ticket Assigned", "Assigned to John",
+                Notification.NotificationType.TICKET_ASSIGNED, "ticket-1", "TICKET");
+
+        ArgumentCaptor<NotificationOutbox> queued = ArgumentCaptor.forClass(NotificationOutbox.class);
+        verify(outboxRepository).save(queued.capture());
+        assertThat(queued.getValue().getUserId()).isEqualTo("user-1");
+        assertThat(queued.getValue().getType()).isEqualTo(Notification.NotificationType.TICKET_ASSIGNED);
+        assertThat(queued.getValue().getStatus()).isEqualTo(NotificationOutbox.Status.PENDING);
+        assertThat(queued.getValue().getAvailableAt()).isNotNull();
+        verifyNoInteractions(userRepository, notificationRepository, messagingTemplate, mailSender);
+    }
 
-        assertThat(response.mostActiveUsers()).hasSize(2);
-        assertThat(response.mostActiveUsers().get(0).name()).isEqualTo("Jane Student");
-        assertThat(response.mostActiveUsers().get(0).count()).isEqualTo(2);
+    @Test
+    @DisplayName("markAsRead: only a notification that was unread lowers the analytics unread counter")
+    void markAsRead_reportsReadOnce() {
+        Notification unread = notification("user-1", Notification.NotificationType.TICKET_ASSIGNED, false, LocalDateTime.now());
+        Notification alreadyRead = notification("user-1", Notification.NotificationType.TICKET_ASSIGNED, true, LocalDateTime.now());
+        when(notificationRepository.findById("n-1")).thenReturn(Optional.of(unread));
+        when(notificationRepository.findById("n-2")).thenReturn(Optional.of(alreadyRead));
+        when(notificationRepository.markRead("n-1")).thenReturn(1);
+        when(notificationRepository.markRead("n-2")).thenReturn(0);
+
+        notificationService.markAsRead("n-1");
+        notificationService.markAsRead("n-2");
+
+        assertThat(unread.isRead()).isTrue();
+        verify(analyticsService, times(1)).recordRead(1);
+        verify(unreadCounter, times(1)).adjust("user-1", -1);
+        verify(notificationRepository, never()).save(any(Notification.class));
+    }
 
-        assertThat(response.mostTriggeredEvents()).hasSize(3);
-        assertThat(response.mostTriggeredEvents().get(0).type()).isEqualTo("BOOKING_APPROVED");
-        assertThat(response.mostTriggeredEvents().get(0).count()).isEqualTo(2);
-        assertThat(response.mostTriggeredEvents().get(0).percentage()).isEqualTo(50.0);
+    @Test
+    @DisplayName("deleteNotification: removes the notification from the analytics counters")
+    void deleteNotification_reportsDelete() {
+        Notification stored = notification("user-1", Notification.NotificationType.SYSTEM, false, LocalDateTime.now());
+        when(notificationRepository.findById("n-1")).thenReturn(Optional.of(stored));
 
-        assertThat(response.busiestHourLabel()).isEqualTo("9:00 AM");
-        assertThat(response.busiestHourCount()).isEqualTo(2);
-        assertThat(response.peakNotificationTimes().stream().filter(point -> point.hour() == 9).findFirst())
-                .get()
-                .extracting(NotificationAnalyticsResponse.HourlyMetric::count)
-                .isEqualTo(2L);
+        notificationService.deleteNotification("n-1");
+        notificationService.deleteNotification("missing");
 
-        assertThat(response.recentVolume()).hasSize(7);
-        assertThat(response.recentVolume().stream().mapToLong(NotificationAnalyticsResponse.DailyMetric::count).sum()).isEqualTo(4);
+        verify(notificationRepository).delete(stored);
+        verify(analyticsService).recordDeleted(stored);
     }
 
     private Notification notification(
@@ -0,0 +1,123 @@
+package com.smartcampus.service;
+
+import com.smartcampus.dto.TicketLoadView;
+import com.smartcampus.model.Ticket;
+import com.smartcampus.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TechnicianLoadIndex Unit Tests")
+class TechnicianLoadIndexTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2026, 1, 5, 9, 0);
+
+    @Test
+    @DisplayName("pick: equally loaded specialists take turns instead of the oldest getting everything")
+    void pick_rotatesBetweenEquallyLoadedSpecialists() {
+        TechnicianLoadIndex index = new TechnicianLoadIndex(List.of(
+                technician("plumber-1", 0, "Plumbing"),
+                technician("plumber-2", 1, "plumbing "),
+                technician("electrician", 2, "Electrical")), List.of());
+
+        List<String> picked = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            String id = index.pick("Plumbing", Ticket.Priority.MEDIUM).orElseThrow().getId();
+            index.record("ticket-" + i, id, Ticket.TicketStatus.OPEN, Ticket.Priority.MEDIUM);
+            picked.add(id);
+        }
+
+        assertThat(picked).containsExactly("plumber-1", "plumber-2", "plumber-1", "plumber-2");
+        assertThat(index.load("plumber-1")).isEqualTo(4);
+        assertThat(index.load("electrician")).isZero();
+    }
+
+    @Test
+    @DisplayName("pick: seeds load from open tickets and prefers the least loaded technician")
+    void pick_prefersLeastLoadedFromSeed() {
+        TechnicianLoadIndex index = new TechnicianLoadIndex(List.of(
+                technician("plumber-1", 0, "Plumbing"),
+                technician("plumber-2", 1, "Plumbing")), List.of(
+                new TicketLoadView("t-1", "plumber-1", Ticket.Priority.LOW),
+                new TicketLoadView("t-2", "plumber-1", Ticket.Priority.LOW),
+                new TicketLoadView("t-3", "plumber-2", Ticket.Priority.HIGH)));
+
+        assertThat(index.load("plumber-1")).isEqualTo(2);
+        assertThat(index.load("plumber-2")).isEqualTo(3);
+        assertThat(index.pick("Plumbing", Ticket.Priority.LOW)).get().extracting(User::getId).isEqualTo("plumber-1");
+    }
+
+    @Test
+    @DisplayName("pick: urgent tickets go to the technician with the fewest urgent tickets")
+    void pick_urgentTicketsBalanceUrgentLoad() {
+        TechnicianLoadIndex index = new TechnicianLoadIndex(List.of(
+                technician("plumber-1", 0, "Plumbing"),
+                technician("plumber-2", 1, "Plumbing")), List.of(
+                new TicketLoadView("t-1", "plumber-1", Ticket.Priority.CRITICAL),
+                new TicketLoadView("t-2", "plumber-2", Ticket.Priority.LOW),
+                new TicketLoadView("t-3", "plumber-2", Ticket.Priority.MEDIUM),
+                new TicketLoadView("t-4", "plumber-2", Ticket.Priority.MEDIUM)));
+
+        assertThat(index.pick("Plumbing", Ticket.Priority.LOW)).get().extracting(User::getId).isEqualTo("plumber-1");
+        assertThat(index.pick("Plumbing", Ticket.Priority.CRITICAL)).get().extracting(User::getId).isEqualTo("plumber-2");
+        assertThat(index.urgentLoad("plumber-1")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("record: resolution, reassignment, priority changes and deletes move load without rescans")
+    void record_appliesTicketChanges() {
+        TechnicianLoadIndex index = new TechnicianLoadIndex(List.of(
+                technician("plumber-1", 0, "Plumbing"),
+                technician("plumber-2", 1, "Plumbing")), List.of());
+
+        index.record("t-1", "plumber-1", Ticket.TicketStatus.OPEN, Ticket.Priority.LOW);
+        index.record("t-1", "plumber-1", Ticket.TicketStatus.IN_PROGRESS, Ticket.Priority.LOW);
+        index.record("t-2", "plumber-1", Ticket.TicketStatus.OPEN, Ticket.Priority.LOW);
+        assertThat(index.load("plumber-1")).isEqualTo(2);
+
+        index.record("t-1", "plumber-1", Ticket.TicketStatus.IN_PROGRESS, Ticket.Priority.CRITICAL);
+        assertThat(index.load("plumber-1")).isEqualTo(5);
+        assertThat(index.urgentLoad("plumber-1")).isEqualTo(1);
+
+        index.record("t-1", "plumber-2", Ticket.TicketStatus.IN_PROGRESS, Ticket.Priority.CRITICAL);
+        assertThat(index.load("plumber-1")).isEqualTo(1);
+        assertThat(index.load("plumber-2")).isEqualTo(4);
+
+        index.record("t-1", "plumber-2", Ticket.TicketStatus.RESOLVED, Ticket.Priority.CRITICAL);
+        index.remove("t-2");
+        index.remove("t-2");
+        assertThat(index.load("plumber-1")).isZero();
+        assertThat(index.load("plumber-2")).isZero();
+        assertThat(index.urgentLoad("plumber-2")).isZero();
+    }
+
+    @Test
+    @DisplayName("pick: unknown categories fall back to all technicians, none at all yields empty")
+    void pick_fallsBackToAllTechnicians() {
+        TechnicianLoadIndex index = new TechnicianLoadIndex(List.of(
+                technician("electrician", 0, "Electrical"),
+                technician("generalist", 1)), List.of(
+                new TicketLoadView("t-1", "electrician", Ticket.Priority.MEDIUM),
+                new TicketLoadView("t-2", "admin-1", Ticket.Priority.HIGH)));
+
+        assertThat(index.pick("Grounds", Ticket.Priority.MEDIUM)).get().extracting(User::getId).isEqualTo("generalist");
+        assertThat(index.pick(null, null)).isPresent();
+        assertThat(new TechnicianLoadIndex(List.of(), List.of()).pick("Plumbing", Ticket.Priority.HIGH)).isEmpty();
+    }
+
+    private static User technician(String id, int createdOffsetMinutes, String... specialties) {
+        User user = new User();
+        user.setId(id);
+        user.setName(id);
+        user.setRoles(Set.of(User.Role.TECHNICIAN));
+        user.setTechnicianSpecialties(Set.of(specialties));
+        user.setCreatedAt(CREATED.plusMinutes(createdOffsetMinutes));
+        return user;
+    }
+}
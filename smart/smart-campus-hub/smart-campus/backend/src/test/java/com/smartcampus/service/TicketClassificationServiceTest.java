@@ -55,4 +55,34 @@ class TicketClassificationServiceTest {
         assertThat(result.category()).isEqualTo("Cleaning");
         assertThat(result.priority()).isEqualTo(Ticket.Priority.LOW);
     }
+
+    @Test
+    @DisplayName("classify: short keywords only match whole words")
+    void classify_shortKeywords_requireWordBoundaries() {
+        TicketClassificationService.TicketClassification result = ticketClassificationService.classify(
+                "Cannot get access to the storage space",
+                "Keycard reader rejects staff access",
+                "Admin Block",
+                "AUTO",
+                "AUTO"
+        );
+
+        assertThat(result.category()).isEqualTo("Other");
+        assertThat(result.priority()).isEqualTo(Ticket.Priority.LOW);
+    }
+
+    @Test
+    @DisplayName("classify: the category with the highest keyword score wins over declaration order")
+    void classify_weightedScoring_picksDominantCategory() {
+        TicketClassificationService.TicketClassification result = ticketClassificationService.classify(
+                "AC leaking water onto the floor",
+                "The air conditioning unit is leaking, the cooling has stopped and the temperature keeps rising",
+                "Main Library",
+                "AUTO",
+                "AUTO"
+        );
+
+        assertThat(result.category()).isEqualTo("HVAC");
+        assertThat(result.priority()).isEqualTo(Ticket.Priority.HIGH);
+    }
 }
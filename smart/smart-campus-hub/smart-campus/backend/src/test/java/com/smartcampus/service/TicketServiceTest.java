@@ -13,6 +13,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.Collections;
 import java.util.Optional;
@@ -31,6 +32,7 @@ class TicketServiceTest {
     @Mock private TicketClassificationService ticketClassificationService;
     @Mock private TechnicianAutoAssignmentService technicianAutoAssignmentService;
     @Mock private TicketAuditLogRepository ticketAuditLogRepository;
+    @Mock private PlatformTransactionManager transactionManager;
 
     @InjectMocks private TicketService ticketService;
 
@@ -61,7 +63,7 @@ class TicketServiceTest {
     void createTicket_validRequest_createsOpenTicket() {
         when(ticketClassificationService.classify(any(), any(), any(), any(), any()))
                 .thenReturn(new TicketClassificationService.TicketClassification("EQUIPMENT", Ticket.Priority.HIGH));
-        when(technicianAutoAssignmentService.findBestTechnicianForCategory("EQUIPMENT"))
+        when(technicianAutoAssignmentService.findBestTechnicianForCategory("EQUIPMENT", Ticket.Priority.HIGH))
                 .thenReturn(Optional.empty());
         when(ticketRepository.save(any(Ticket.class))).thenAnswer(invocation -> {
             Ticket ticket = invocation.getArgument(0);
@@ -86,7 +88,7 @@ class TicketServiceTest {
         technician.setName("John Technician");
         when(ticketClassificationService.classify(any(), any(), any(), any(), any()))
                 .thenReturn(new TicketClassificationService.TicketClassification("IT Equipment", Ticket.Priority.HIGH));
-        when(technicianAutoAssignmentService.findBestTechnicianForCategory("IT Equipment"))
+        when(technicianAutoAssignmentService.findBestTechnicianForCategory("IT Equipment", Ticket.Priority.HIGH))
                 .thenReturn(Optional.of(technician));
         when(ticketRepository.save(any(Ticket.class))).thenAnswer(invocation -> {
             Ticket ticket = invocation.getArgument(0);
@@ -99,6 +101,7 @@ class TicketServiceTest {
         assertThat(result.getStatus()).isEqualTo(Ticket.TicketStatus.OPEN);
         assertThat(result.getAssignedTo()).isEqualTo("tech-1");
         assertThat(result.getAssignedToName()).isEqualTo("John Technician");
+        verify(technicianAutoAssignmentService).record(result);
         verify(notificationService, times(2)).createNotification(any(), any(), any(), any(), any(), any());
     }
 
@@ -110,7 +113,7 @@ class TicketServiceTest {
 
         when(ticketClassificationService.classify(any(), any(), any(), any(), any()))
                 .thenReturn(new TicketClassificationService.TicketClassification("IT Equipment", Ticket.Priority.HIGH));
-        when(technicianAutoAssignmentService.findBestTechnicianForCategory("IT Equipment"))
+        when(technicianAutoAssignmentService.findBestTechnicianForCategory("IT Equipment", Ticket.Priority.HIGH))
                 .thenReturn(Optional.empty());
         when(ticketRepository.save(any(Ticket.class))).thenAnswer(invocation -> {
             Ticket ticket = invocation.getArgument(0);
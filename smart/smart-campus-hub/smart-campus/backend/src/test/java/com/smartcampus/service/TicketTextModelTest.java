@@ -0,0 +1,74 @@
+package com.smartcampus.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TicketTextModel Unit Tests")
+class TicketTextModelTest {
+
+    @Test
+    @DisplayName("predict: learns category and priority from labelled text")
+    void predict_learnsFromLabelledText() {
+        TicketTextModel model = corpus().build();
+
+        TicketTextModel.Prediction lift = model.predict("Elevator stuck", "The lift stopped between floors", "Block C");
+        assertThat(lift.category()).isEqualTo("Lifts");
+        assertThat(lift.priority()).isEqualTo("CRITICAL");
+        assertThat(lift.categoryConfidence()).isGreaterThan(0.9);
+
+        TicketTextModel.Prediction grounds = model.predict("Overgrown hedge", "Please trim the hedge", null);
+        assertThat(grounds.category()).isEqualTo("Grounds");
+        assertThat(grounds.priority()).isEqualTo("LOW");
+        assertThat(model.documents()).isEqualTo(40);
+        assertThat(model.categories()).containsExactly("Lifts", "Grounds");
+    }
+
+    @Test
+    @DisplayName("predict: text without learned features stays near the prior")
+    void predict_unseenTextHasLowConfidence() {
+        TicketTextModel model = corpus().build();
+
+        TicketTextModel.Prediction prediction = model.predict("Qwerty zxcv", null, null);
+
+        assertThat(prediction.categoryConfidence()).isLessThan(0.7);
+    }
+
+    @Test
+    @DisplayName("read: binary round trip reproduces predictions")
+    void read_roundTripReproducesPredictions() throws IOException {
+        TicketTextModel.Trainer trainer = corpus();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        trainer.write(bytes);
+
+        TicketTextModel loaded = TicketTextModel.read(new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertThat(loaded.predict("Lift doors jammed")).isEqualTo(trainer.build().predict("Lift doors jammed"));
+        assertThat(bytes.size()).isLessThan(8 * 1024);
+        assertThatThrownBy(() -> TicketTextModel.read(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8})))
+                .isInstanceOf(IOException.class);
+    }
+
+    private static TicketTextModel.Trainer corpus() {
+        TicketTextModel.Trainer trainer = TicketTextModel.trainer();
+        String[] lifts = {"Elevator stuck between floors", "Lift doors jammed", "Lift stopped with people inside",
+                "Elevator buttons unresponsive", "Lift making grinding noise"};
+        String[] grounds = {"Overgrown hedge near entrance", "Trim the hedge by the car park", "Lawn needs mowing",
+                "Fallen branches on the path", "Flower beds need weeding"};
+        for (int i = 0; i < 4; i++) {
+            for (String text : lifts) {
+                trainer.learn("Lifts", "CRITICAL", text, "Reported by staff", "Block " + i);
+            }
+            for (String text : grounds) {
+                trainer.learn("Grounds", "LOW", text, "Reported by staff", "Block " + i);
+            }
+        }
+        return trainer;
+    }
+}
@@ -0,0 +1,75 @@
+package com.smartcampus.service;
+
+import com.smartcampus.repository.NotificationRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UnreadCounterService Unit Tests")
+class UnreadCounterServiceTest {
+
+    @Mock private NotificationRepository notificationRepository;
+    @Mock private SimpMessagingTemplate messagingTemplate;
+    @Mock private SimpUserRegistry userRegistry;
+    @Mock private SimpUser session;
+
+    @Test
+    @DisplayName("get: seeds once from the database, then serves and pushes atomic adjustments")
+    void get_seedsOnceThenAdjustsInMemory() {
+        UnreadCounterService counters = new UnreadCounterService(notificationRepository, messagingTemplate, userRegistry, 300);
+        when(notificationRepository.countByUserIdAndReadFalse("user-1")).thenReturn(4L);
+
+        assertThat(counters.get("user-1")).isEqualTo(4);
+        counters.adjust("user-1", 2);
+        counters.adjust("user-1", -1);
+        assertThat(counters.get("user-1")).isEqualTo(5);
+        counters.reset("user-1");
+
+        assertThat(counters.get("user-1")).isZero();
+        verify(notificationRepository, times(1)).countByUserIdAndReadFalse("user-1");
+        verify(messagingTemplate).convertAndSendToUser("user-1", "/queue/unread-count", Map.of("count", 6L));
+        verify(messagingTemplate).convertAndSendToUser("user-1", "/queue/unread-count", Map.of("count", 5L));
+        verify(messagingTemplate).convertAndSendToUser("user-1", "/queue/unread-count", Map.of("count", 0L));
+    }
+
+    @Test
+    @DisplayName("adjust: offline users without a counter cost nothing; connected ones are seeded with the committed change")
+    void adjust_seedsOnlyConnectedUsers() {
+        UnreadCounterService counters = new UnreadCounterService(notificationRepository, messagingTemplate, userRegistry, 300);
+        when(userRegistry.getUser("offline")).thenReturn(null);
+        when(userRegistry.getUser("online")).thenReturn(session);
+        when(notificationRepository.countByUserIdAndReadFalse("online")).thenReturn(3L);
+
+        counters.adjust("offline", 1);
+        counters.adjust("online", 1);
+
+        assertThat(counters.size()).isEqualTo(1);
+        verify(notificationRepository, never()).countByUserIdAndReadFalse("offline");
+        verify(messagingTemplate).convertAndSendToUser("online", "/queue/unread-count", Map.of("count", 3L));
+        verifyNoMoreInteractions(messagingTemplate);
+    }
+
+    @Test
+    @DisplayName("get: an expired counter is re-seeded from the database and evicted by the sweep")
+    void get_reseedsAfterTtl() {
+        UnreadCounterService counters = new UnreadCounterService(notificationRepository, messagingTemplate, userRegistry, 0);
+        when(notificationRepository.countByUserIdAndReadFalse("user-1")).thenReturn(2L, 7L);
+
+        assertThat(counters.get("user-1")).isEqualTo(2);
+        assertThat(counters.get("user-1")).isEqualTo(7);
+        counters.evictExpired();
+
+        assertThat(counters.size()).isZero();
+    }
+}
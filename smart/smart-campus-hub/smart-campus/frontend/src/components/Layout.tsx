@@ -1,8 +1,8 @@
-import { useState, useEffect } from 'react';
+import { useState } from 'react';
 import { Link, useLocation, useNavigate } from 'react-router-dom';
 import { motion, AnimatePresence } from 'framer-motion';
 import { useAuth } from '@/context/AuthContext';
-import { notificationApi } from '@/lib/api';
+import { useSocket } from '@/context/SocketContext';
 import { pageTransition } from '@/lib/animations';
 import {
   LayoutDashboard, Building2, CalendarDays, Ticket, Bell, LogOut,
@@ -27,21 +27,9 @@ export default function Layout({ children }: LayoutProps) {
   const location = useLocation();
   const navigate = useNavigate();
   const [sidebarOpen, setSidebarOpen] = useState(false);
-  const [unreadCount, setUnreadCount] = useState(0);
+  const { unreadCount } = useSocket();
   const [profileOpen, setProfileOpen] = useState(false);
 
-  useEffect(() => {
-    const fetchUnread = async () => {
-      try {
-        const res = await notificationApi.getCount();
-        setUnreadCount(res.data.count);
-      } catch { /* ignore */ }
-    };
-    fetchUnread();
-    const interval = setInterval(fetchUnread, 30000);
-    return () => clearInterval(interval);
-  }, []);
-
   const handleLogout = () => {
     logout();
     navigate('/login');
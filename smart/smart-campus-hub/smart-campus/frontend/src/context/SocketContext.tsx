@@ -4,7 +4,7 @@ import { Client } from '@stomp/stompjs';
 import SockJS from 'sockjs-client';
 import { useAuth } from './AuthContext';
 import { toast } from 'sonner';
-import { API_BASE_URL } from '@/lib/api';
+import { API_BASE_URL, broadcastApi, notificationApi } from '@/lib/api';
 
 interface Notification {
   id: string;
@@ -15,6 +15,16 @@ interface Notification {
   createdAt: string;
 }
 
+interface Broadcast {
+  id: string;
+  title: string | null;
+  message: string | null;
+  audienceRole: string | null;
+  building: string | null;
+  createdAt: string;
+  readAt: string | null;
+}
+
 interface SocketContextType {
   connected: boolean;
   notifications: Notification[];
@@ -62,14 +72,22 @@ export function SocketProvider({ children }: { children: ReactNode }) {
       console.log('Connected to WebSocket');
       setConnected(true);
 
+      // The server pushes the unread count whenever it changes; fetch it once to start from
+      client.subscribe(`/user/queue/unread-count`, (message) => {
+        setUnreadCount((JSON.parse(message.body) as { count: number }).count);
+      });
+      notificationApi.getCount()
+        .then((res) => setUnreadCount(res.data.count))
+        .catch(() => { /* ignore */ });
+
       // Subscribe to user-specific notifications
       // In Spring Boot UserRegistry, the prefix /user is mapped automatically
       client.subscribe(`/user/queue/notifications`, (message) => {
         const notification = JSON.parse(message.body) as Notification;
         console.log('Received notification:', notification);
         
-        setNotifications((prev) => [notification, ...prev]);
-        setUnreadCount((prev) => prev + 1);
+        // Coalesced updates reuse the id of the unread notification they were merged into
+        setNotifications((prev) => [notification, ...prev.filter((existing) => existing.id !== notification.id)]);
 
         // Show live toast popup
         toast(notification.title, {
@@ -80,6 +98,26 @@ export function SocketProvider({ children }: { children: ReactNode }) {
           },
         });
       });
+
+      // Campus-wide announcements arrive once on a shared topic. Targeted ones carry no text: fetch them,
+      // and the server answers 404 when this user is outside the audience.
+      client.subscribe(`/topic/broadcast`, (message) => {
+        const broadcast = JSON.parse(message.body) as Broadcast;
+        if (broadcast.audienceRole && !user.roles?.includes(broadcast.audienceRole)) {
+          return;
+        }
+        const show = (full: Broadcast) => toast(full.title ?? 'Announcement', {
+          description: full.message ?? undefined,
+          duration: 10000,
+        });
+        if (broadcast.title) {
+          show(broadcast);
+        } else {
+          broadcastApi.getById(broadcast.id)
+            .then((res) => show(res.data as Broadcast))
+            .catch(() => { /* not in the audience */ });
+        }
+      });
     };
 
     client.onStompError = (frame) => {
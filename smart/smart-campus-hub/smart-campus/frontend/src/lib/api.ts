@@ -143,6 +143,7 @@ export const notificationApi = {
   getPreferences: () => api.get('/notifications/preferences'),
   updatePreferences: (data: {
     email: boolean;
+    emailDigest?: 'IMMEDIATE' | 'HOURLY' | 'DAILY';
     dndMode: boolean;
     dndStart: string;
     dndEnd: string;
@@ -152,4 +153,19 @@ export const notificationApi = {
   }) => api.put('/notifications/preferences', data),
 };
 
+// Broadcasts API
+export const broadcastApi = {
+  getFeed: () => api.get('/broadcasts'),
+  getById: (id: string) => api.get(`/broadcasts/${id}`),
+  markAsRead: (id: string) => api.put(`/broadcasts/${id}/read`),
+  getSent: () => api.get('/broadcasts/sent'),
+  send: (data: {
+    title: string;
+    message: string;
+    audienceRole?: string;
+    building?: string;
+    expiresAt?: string;
+  }) => api.post('/broadcasts', data),
+};
+
 export default api;